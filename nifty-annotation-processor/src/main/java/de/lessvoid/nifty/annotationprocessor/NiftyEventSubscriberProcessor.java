@@ -0,0 +1,338 @@
+package de.lessvoid.nifty.annotationprocessor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import de.lessvoid.nifty.NiftyEventSubscriber;
+import de.lessvoid.nifty.NiftyEventSubscriberRegistration;
+
+/**
+ * Generates a NiftyEventSubscriberRegistration for every class with public @NiftyEventSubscriber methods (declared or
+ * inherited). The generated class calls the annotated methods directly so that Nifty doesn't need to scan the class
+ * with reflection and doesn't need Method.invoke() to deliver the events.
+ *
+ * Classes the generated code can't access (private or local classes, methods with private event classes and so on)
+ * are skipped. Nifty will fall back to reflection for them. Invalid annotations are reported as compile errors.
+ */
+@SupportedAnnotationTypes("*")
+public class NiftyEventSubscriberProcessor extends AbstractProcessor {
+  private final Set < String > generated = new HashSet < String >();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set < ? extends TypeElement > annotations, final RoundEnvironment roundEnv) {
+    boolean valid = true;
+    for (Element element : roundEnv.getElementsAnnotatedWith(NiftyEventSubscriber.class)) {
+      if (element.getKind() == ElementKind.METHOD) {
+        String problem = findProblem((ExecutableElement) element);
+        if (problem != null) {
+          error(element, problem);
+          valid = false;
+        }
+      }
+    }
+    if (!valid || roundEnv.errorRaised()) {
+      return false;
+    }
+    // we look at all classes and not only at the ones with annotated methods because subclasses inherit them
+    for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+      processType(type);
+    }
+    return false;
+  }
+
+  private void processType(final TypeElement type) {
+    if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+      List < ExecutableElement > methods = findSubscriberMethods(type);
+      if (!methods.isEmpty()) {
+        generate(type, methods);
+      }
+    }
+    for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+      processType(nested);
+    }
+  }
+
+  /**
+   * Check the annotated method the same way the NiftyEventAnnotationProcessor does at runtime.
+   * @param method the annotated method
+   * @return the error message or null if the method is fine
+   */
+  private String findProblem(final ExecutableElement method) {
+    NiftyEventSubscriber annotation = method.getAnnotation(NiftyEventSubscriber.class);
+    if (!isSet(annotation.id()) && !isSet(annotation.pattern())) {
+      return "id or pattern must have a value for NiftyEventSubscriber annotation";
+    }
+    List < ? extends VariableElement > params = method.getParameters();
+    if (params.size() != 2
+        || !isString(params.get(0).asType())
+        || params.get(1).asType().getKind().isPrimitive()) {
+      return "The subscriptionMethod must have the two parameters, the first one must be a String and the second a non-primitive (Object or derivative).";
+    }
+    if (!isSet(annotation.id())) {
+      try {
+        Pattern.compile(annotation.pattern());
+      } catch (PatternSyntaxException e) {
+        return "invalid pattern for NiftyEventSubscriber annotation: " + e.getMessage();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Find all methods Class.getMethods() would return with a @NiftyEventSubscriber annotation.
+   * @param type the class
+   * @return the methods or an empty list when the class has no such methods or the generated code can't access them
+   */
+  private List < ExecutableElement > findSubscriberMethods(final TypeElement type) {
+    List < ExecutableElement > all = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+    List < ExecutableElement > result = new ArrayList < ExecutableElement >();
+    for (ExecutableElement method : all) {
+      if (method.getAnnotation(NiftyEventSubscriber.class) != null
+          && method.getModifiers().contains(Modifier.PUBLIC)
+          && !isOverridden(method, all, type)) {
+        result.add(method);
+      }
+    }
+    if (result.isEmpty()) {
+      return result;
+    }
+    for (ExecutableElement method : result) {
+      // inherited from an already compiled class. we leave it to the runtime to complain about it.
+      if (findProblem(method) != null) {
+        result.clear();
+        return result;
+      }
+    }
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    boolean accessible = isAccessible(type, pkg);
+    for (ExecutableElement method : result) {
+      accessible = accessible && isAccessible(eventType(method), pkg);
+    }
+    if (!accessible) {
+      processingEnv.getMessager().printMessage(
+          Kind.NOTE,
+          "no NiftyEventSubscriberRegistration generated for " + type + ", Nifty will use reflection instead",
+          type);
+      result.clear();
+    }
+    return result;
+  }
+
+  private boolean isOverridden(final ExecutableElement method, final List < ExecutableElement > all, final TypeElement type) {
+    for (ExecutableElement other : all) {
+      if (other != method && processingEnv.getElementUtils().overrides(other, method, type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isAccessible(final TypeMirror type, final PackageElement pkg) {
+    if (type.getKind() == TypeKind.ARRAY) {
+      return isAccessible(((ArrayType) type).getComponentType(), pkg);
+    }
+    if (type.getKind() != TypeKind.DECLARED) {
+      return true;
+    }
+    return isAccessible((TypeElement) ((DeclaredType) type).asElement(), pkg);
+  }
+
+  private boolean isAccessible(final TypeElement type, final PackageElement pkg) {
+    Element current = type;
+    while (current.getKind() != ElementKind.PACKAGE) {
+      if (!(current instanceof TypeElement)) {
+        return false;
+      }
+      NestingKind nesting = ((TypeElement) current).getNestingKind();
+      if (nesting != NestingKind.TOP_LEVEL && nesting != NestingKind.MEMBER) {
+        return false;
+      }
+      Set < Modifier > modifiers = current.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      if (!modifiers.contains(Modifier.PUBLIC) && !processingEnv.getElementUtils().getPackageOf(current).equals(pkg)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private void generate(final TypeElement type, final List < ExecutableElement > methods) {
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String simpleName =
+      (packageName.length() == 0 ? binaryName : binaryName.substring(packageName.length() + 1)) +
+      NiftyEventSubscriberRegistration.CLASS_NAME_SUFFIX;
+    String qualifiedName = packageName.length() == 0 ? simpleName : packageName + "." + simpleName;
+    if (!generated.add(qualifiedName)) {
+      return;
+    }
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+      PrintWriter out = new PrintWriter(file.openWriter());
+      try {
+        write(out, packageName, simpleName, type, methods);
+      } finally {
+        out.close();
+      }
+    } catch (IOException e) {
+      error(type, "could not generate " + qualifiedName + ": " + e.getMessage());
+    }
+  }
+
+  private void write(
+      final PrintWriter out,
+      final String packageName,
+      final String simpleName,
+      final TypeElement type,
+      final List < ExecutableElement > methods) {
+    String controllerType = erasure(type.asType());
+    if (packageName.length() > 0) {
+      out.println("package " + packageName + ";");
+      out.println();
+    }
+    out.println("/**");
+    out.println(" * Generated by " + getClass().getName() + " for " + type.getQualifiedName() + ". Don't edit.");
+    out.println(" */");
+    out.println("@SuppressWarnings(\"all\")");
+    out.println("public final class " + simpleName + " implements de.lessvoid.nifty.NiftyEventSubscriberRegistration {");
+    for (int i=0; i<methods.size(); i++) {
+      NiftyEventSubscriber annotation = methods.get(i).getAnnotation(NiftyEventSubscriber.class);
+      if (!isSet(annotation.id())) {
+        out.println("  private static final java.util.regex.Pattern PATTERN_" + i + " = java.util.regex.Pattern.compile(" + literal(annotation.pattern()) + ");");
+      }
+    }
+    out.println();
+    out.println("  public void subscribe(final Object object, final de.lessvoid.nifty.NiftyEventDispatcher eventDispatcher) {");
+    out.println("    final " + controllerType + " controller = (" + controllerType + ") object;");
+    for (int i=0; i<methods.size(); i++) {
+      ExecutableElement method = methods.get(i);
+      String eventType = erasure(eventType(method));
+      String target = method.getModifiers().contains(Modifier.STATIC) ? controllerType : "controller";
+      String call = target + "." + method.getSimpleName() + "(topic, data);";
+      out.println("    eventDispatcher.subscribe(" + topic(method, i) + ", " + eventType + ".class, new org.bushe.swing.event.EventTopicSubscriber<" + eventType + ">() {");
+      out.println("      public void onEvent(final String topic, final " + eventType + " data) {");
+      if (method.getThrownTypes().isEmpty()) {
+        out.println("        " + call);
+      } else {
+        out.println("        try {");
+        out.println("          " + call);
+        out.println("        } catch (RuntimeException e) {");
+        out.println("          throw e;");
+        out.println("        } catch (Exception e) {");
+        out.println("          throw new RuntimeException(e);");
+        out.println("        }");
+      }
+      out.println("      }");
+      out.println("    }, object);");
+    }
+    out.println("  }");
+    out.println();
+    out.println("  public void unsubscribe(final Object object, final de.lessvoid.nifty.NiftyEventDispatcher eventDispatcher) {");
+    Set < String > topics = new LinkedHashSet < String >();
+    for (int i=0; i<methods.size(); i++) {
+      topics.add(topic(methods.get(i), i));
+    }
+    for (String topic : topics) {
+      out.println("    eventDispatcher.unsubscribe(" + topic + ", object);");
+    }
+    out.println("  }");
+    out.println("}");
+  }
+
+  private String topic(final ExecutableElement method, final int index) {
+    NiftyEventSubscriber annotation = method.getAnnotation(NiftyEventSubscriber.class);
+    if (isSet(annotation.id())) {
+      return literal(annotation.id());
+    }
+    return "PATTERN_" + index;
+  }
+
+  private TypeMirror eventType(final ExecutableElement method) {
+    return method.getParameters().get(1).asType();
+  }
+
+  private String erasure(final TypeMirror type) {
+    return processingEnv.getTypeUtils().erasure(type).toString();
+  }
+
+  private boolean isString(final TypeMirror type) {
+    return processingEnv.getTypeUtils().isSameType(
+        type,
+        processingEnv.getElementUtils().getTypeElement(String.class.getName()).asType());
+  }
+
+  private static boolean isSet(final String value) {
+    return value != null && value.length() > 0;
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+
+  static String literal(final String value) {
+    StringBuilder result = new StringBuilder("\"");
+    for (int i=0; i<value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        case '\n':
+          result.append("\\n");
+          break;
+        case '\r':
+          result.append("\\r");
+          break;
+        case '\t':
+          result.append("\\t");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+      }
+    }
+    return result.append('"').toString();
+  }
+}
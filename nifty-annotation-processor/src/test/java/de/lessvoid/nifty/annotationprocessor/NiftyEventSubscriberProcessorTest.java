@@ -0,0 +1,219 @@
+package de.lessvoid.nifty.annotationprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.NiftyEventAnnotationProcessor;
+import de.lessvoid.nifty.NiftyEventDispatcher;
+
+public class NiftyEventSubscriberProcessorTest {
+  private File dir;
+  private DiagnosticCollector < JavaFileObject > diagnostics = new DiagnosticCollector < JavaFileObject >();
+
+  @Before
+  public void before() throws IOException {
+    dir = File.createTempFile("nifty-processor", "");
+    dir.delete();
+    dir.mkdirs();
+  }
+
+  @After
+  public void after() {
+    delete(dir);
+  }
+
+  @Test
+  public void testGeneratedRegistration() throws Exception {
+    write("test/Controller.java",
+        "package test;",
+        "public class Controller {",
+        "  public StringBuilder received = new StringBuilder();",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber(id = \"button\")",
+        "  public void onButton(final String id, final String event) {",
+        "    received.append(\"[\" + id + \":\" + event + \"]\");",
+        "  }",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber(pattern = \"slider\\\\d\")",
+        "  public void onSlider(final String id, final Integer event) throws Exception {",
+        "    received.append(\"(\" + id + \":\" + event + \")\");",
+        "  }",
+        "}");
+    assertTrue(compile());
+    assertTrue(new File(dir, "gen/test/Controller_NiftyEventSubscribers.java").exists());
+
+    ClassLoader classLoader = classLoader();
+    Object controller = classLoader.loadClass("test.Controller").newInstance();
+    NiftyEventDispatcher dispatcher = new NiftyEventDispatcher();
+    NiftyEventAnnotationProcessor.process(controller, dispatcher);
+    dispatcher.publish("button", "clicked");
+    dispatcher.publish("slider1", Integer.valueOf(1));
+    dispatcher.publish("sliderX", Integer.valueOf(2));
+    assertEquals("[button:clicked](slider1:1)", received(controller));
+
+    NiftyEventAnnotationProcessor.unprocess(controller, dispatcher);
+    assertFalse(dispatcher.hasSubscriptions());
+  }
+
+  @Test
+  public void testInheritedMethods() throws Exception {
+    write("test/Base.java",
+        "package test;",
+        "public abstract class Base {",
+        "  public StringBuilder received = new StringBuilder();",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber(id = \"base\")",
+        "  public void onBase(final String id, final Object event) {",
+        "    received.append(\"base\");",
+        "  }",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber(id = \"overridden\")",
+        "  public void onOverridden(final String id, final Object event) {",
+        "    received.append(\"overridden\");",
+        "  }",
+        "}");
+    write("test/Sub.java",
+        "package test;",
+        "public class Sub extends Base {",
+        "  public void onOverridden(final String id, final Object event) {",
+        "    received.append(\"sub\");",
+        "  }",
+        "}");
+    assertTrue(compile());
+    assertFalse(new File(dir, "gen/test/Base_NiftyEventSubscribers.java").exists());
+    assertTrue(new File(dir, "gen/test/Sub_NiftyEventSubscribers.java").exists());
+
+    Object controller = classLoader().loadClass("test.Sub").newInstance();
+    NiftyEventDispatcher dispatcher = new NiftyEventDispatcher();
+    NiftyEventAnnotationProcessor.process(controller, dispatcher);
+    dispatcher.publish("base", "event");
+    dispatcher.publish("overridden", "event");
+    assertEquals("base", received(controller));
+  }
+
+  @Test
+  public void testInaccessibleClassIsSkipped() throws Exception {
+    write("test/Outer.java",
+        "package test;",
+        "public class Outer {",
+        "  private static class Inner {",
+        "    @de.lessvoid.nifty.NiftyEventSubscriber(id = \"button\")",
+        "    public void onButton(final String id, final String event) {",
+        "    }",
+        "  }",
+        "  public static class Nested {",
+        "    @de.lessvoid.nifty.NiftyEventSubscriber(id = \"button\")",
+        "    public void onButton(final String id, final String event) {",
+        "    }",
+        "  }",
+        "}");
+    assertTrue(compile());
+    assertFalse(new File(dir, "gen/test/Outer$Inner_NiftyEventSubscribers.java").exists());
+    assertTrue(new File(dir, "gen/test/Outer$Nested_NiftyEventSubscribers.java").exists());
+  }
+
+  @Test
+  public void testInvalidMethodIsAnError() throws Exception {
+    write("test/Invalid.java",
+        "package test;",
+        "public class Invalid {",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber(id = \"button\")",
+        "  public void onButton(final String event) {",
+        "  }",
+        "}");
+    assertFalse(compile());
+  }
+
+  @Test
+  public void testMissingIdIsAnError() throws Exception {
+    write("test/Invalid.java",
+        "package test;",
+        "public class Invalid {",
+        "  @de.lessvoid.nifty.NiftyEventSubscriber",
+        "  public void onButton(final String id, final String event) {",
+        "  }",
+        "}");
+    assertFalse(compile());
+  }
+
+  @Test
+  public void testLiteral() {
+    assertEquals("\"a\\\\d\\\"\\n\\u00e4\"", NiftyEventSubscriberProcessor.literal("a\\d\"\n\u00e4"));
+  }
+
+  private void write(final String name, final String ... lines) throws IOException {
+    File file = new File(new File(dir, "src"), name);
+    file.getParentFile().mkdirs();
+    FileWriter out = new FileWriter(file);
+    try {
+      for (String line : lines) {
+        out.write(line);
+        out.write("\n");
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private boolean compile() {
+    File classes = new File(dir, "classes");
+    File gen = new File(dir, "gen");
+    classes.mkdirs();
+    gen.mkdirs();
+    List < File > sources = new ArrayList < File >();
+    collect(new File(dir, "src"), sources);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+    List < String > options = Arrays.asList(
+        "-classpath", System.getProperty("java.class.path"),
+        "-d", classes.getPath(),
+        "-s", gen.getPath(),
+        "-processor", NiftyEventSubscriberProcessor.class.getName());
+    return compiler.getTask(
+        null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(sources)).call();
+  }
+
+  private ClassLoader classLoader() throws Exception {
+    return new URLClassLoader(new URL[] { new File(dir, "classes").toURI().toURL() }, getClass().getClassLoader());
+  }
+
+  private String received(final Object controller) throws Exception {
+    return controller.getClass().getField("received").get(controller).toString();
+  }
+
+  private static void collect(final File file, final List < File > result) {
+    if (file.isDirectory()) {
+      for (File child : file.listFiles()) {
+        collect(child, result);
+      }
+    } else if (file.getName().endsWith(".java")) {
+      result.add(file);
+    }
+  }
+
+  private static void delete(final File file) {
+    if (file.isDirectory()) {
+      for (File child : file.listFiles()) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -23,7 +23,7 @@ import de.lessvoid.nifty.controls.textfield.format.TextFieldDisplayFormat;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.render.TextRenderer;
-import de.lessvoid.nifty.elements.tools.FontHelper;
+import de.lessvoid.nifty.elements.tools.TextMeasure;
 import de.lessvoid.nifty.input.NiftyInputEvent;
 import de.lessvoid.nifty.input.NiftyStandardInputEvent;
 import de.lessvoid.nifty.screen.Screen;
@@ -122,8 +122,8 @@ public class TextFieldControl extends AbstractController implements TextField, T
 
     final TextRenderer textRenderer = textElement.getRenderer(TextRenderer.class);
     firstVisibleCharacterIndex = 0;
-    lastVisibleCharacterIndex = FontHelper.getVisibleCharactersFromStart(textRenderer.getFont(),
-        textField.getDisplayedText(), fieldWidth, 1.0f);
+    lastVisibleCharacterIndex = getTextMeasure(textRenderer, textField.getDisplayedText())
+        .getVisibleCharactersFromStart(fieldWidth);
 
     updateCursor();
     super.init(parameter, controlDefinitionAttributes);
@@ -169,8 +169,12 @@ public class TextFieldControl extends AbstractController implements TextField, T
 
   private int getCursorPosFromMouse(final int mouseX, final CharSequence visibleString) {
     final TextRenderer textRenderer = textElement.getRenderer(TextRenderer.class);
-    return FontHelper.getCharacterIndexFromPixelPosition(textRenderer.getFont(), visibleString,
-        mouseX - fieldElement.getX(), 1.0f);
+    return getTextMeasure(textRenderer, visibleString).getCharacterIndexFromPixelPosition(
+        mouseX - fieldElement.getX());
+  }
+
+  private TextMeasure getTextMeasure(final TextRenderer textRenderer, final CharSequence text) {
+    return nifty.getRenderEngine().getTextMeasureCache().get(textRenderer.getFont(), text.toString(), 1.0f);
   }
 
   @Override
@@ -251,12 +255,11 @@ public class TextFieldControl extends AbstractController implements TextField, T
     calcFirstVisibleIndex(cursorPos);
     calcLastVisibleIndex(textRenderer);
 
-    final String substring2 = text.substring(0, firstVisibleCharacterIndex);
-    final int d = textRenderer.getFont().getWidth(substring2);
+    final TextMeasure measure = getTextMeasure(textRenderer, text);
+    final int d = measure.getOffset(firstVisibleCharacterIndex);
     textRenderer.setXoffsetHack(-d);
 
-    final String substring = text.substring(0, cursorPos);
-    final int textWidth = textRenderer.getFont().getWidth(substring);
+    final int textWidth = measure.getOffset(cursorPos);
     final int cursorPixelPos = textWidth - d;
 
     final StringBuilder tempBuilder = new StringBuilder(5);
@@ -287,8 +290,7 @@ public class TextFieldControl extends AbstractController implements TextField, T
     if (firstVisibleCharacterIndex > textLen) {
       // re position so that we show at much possible text
       lastVisibleCharacterIndex = textLen;
-      firstVisibleCharacterIndex = FontHelper.getVisibleCharactersFromEnd(textRenderer.getFont(), text, fieldWidth,
-          1.0f);
+      firstVisibleCharacterIndex = getTextMeasure(textRenderer, text).getVisibleCharactersFromEnd(fieldWidth);
     }
   }
 
@@ -296,8 +298,7 @@ public class TextFieldControl extends AbstractController implements TextField, T
     final CharSequence currentText = textField.getDisplayedText();
     if (firstVisibleCharacterIndex < currentText.length()) {
       final CharSequence textToCheck = currentText.subSequence(firstVisibleCharacterIndex, currentText.length());
-      final int lengthFitting = FontHelper.getVisibleCharactersFromStart(textRenderer.getFont(), textToCheck,
-          fieldWidth, 1.0f);
+      final int lengthFitting = getTextMeasure(textRenderer, textToCheck).getVisibleCharactersFromStart(fieldWidth);
       lastVisibleCharacterIndex = lengthFitting + firstVisibleCharacterIndex;
     } else {
       lastVisibleCharacterIndex = firstVisibleCharacterIndex;
@@ -18,16 +18,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.bushe.swing.event.EventService;
-import org.bushe.swing.event.EventServiceExistsException;
-import org.bushe.swing.event.EventServiceLocator;
 import org.bushe.swing.event.EventTopicSubscriber;
-import org.bushe.swing.event.ProxySubscriber;
 import org.bushe.swing.event.ThreadSafeEventService;
-import org.bushe.swing.event.annotation.ReferenceStrength;
 
 import de.lessvoid.nifty.controls.StandardControl;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.ElementLayoutQueue;
 import de.lessvoid.nifty.elements.ElementMoveAction;
 import de.lessvoid.nifty.elements.ElementRemoveAction;
 import de.lessvoid.nifty.elements.EndOfFrameElementAction;
@@ -51,6 +48,7 @@ import de.lessvoid.nifty.loaderv2.types.ResourceBundleType;
 import de.lessvoid.nifty.loaderv2.types.StyleType;
 import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolver;
 import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverDefault;
+import de.lessvoid.nifty.render.DamageRegion;
 import de.lessvoid.nifty.render.NiftyImage;
 import de.lessvoid.nifty.render.NiftyMouseImpl;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
@@ -61,6 +59,7 @@ import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.screen.ScreenController;
 import de.lessvoid.nifty.sound.SoundSystem;
 import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.DamageRegionRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.sound.SoundDevice;
@@ -69,11 +68,21 @@ import de.lessvoid.nifty.tools.ObjectPool;
 import de.lessvoid.nifty.tools.ObjectPool.Factory;
 import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import de.lessvoid.nifty.tools.time.FrameClock;
+import de.lessvoid.xml.tools.InstanceFactoryRegistry;
+import de.lessvoid.xml.tools.MethodBindingCache;
 import de.lessvoid.xml.tools.SpecialValuesReplace;
 import de.lessvoid.xml.xpp3.Attributes;
 
 /**
  * The main Nifty class.
+ *
+ * Threading: A Nifty instance is not thread safe. The instance together with all of its screens, elements, controls
+ * and the RenderDevice, SoundDevice and InputSystem it has been created with must only be used by a single thread at
+ * a time, usually the thread that calls update() and render(). Nifty instances don't share any mutable state with
+ * each other (each instance has its own EventService too) so you can use several instances on different threads in
+ * parallel as long as each of them stays confined to its thread.
+ *
  * @author void
  */
 public class Nifty {
@@ -92,11 +101,14 @@ public class Nifty {
   private boolean exit;
   private boolean resolutionChanged;
   private TimeProvider timeProvider;
+  private FrameClock frameClock;
+  private boolean frameClockSampled;
   private final Set<String> closedPopups = new HashSet<String>();
   private List < ClosePopUp > closePopupList = new ArrayList < ClosePopUp >();
   private NiftyLoader loader;
   private List < ControlToAdd > controlsToAdd = new ArrayList < ControlToAdd >();
   private List < EndOfFrameElementAction > endOfFrameElementActions = new ArrayList < EndOfFrameElementAction >();
+  private ElementLayoutQueue layoutQueue = new ElementLayoutQueue();
   private MouseInputEventProcessor mouseInputEventProcessor;
   private Map < String, ScreenController > registeredScreenControllers = new HashMap < String, ScreenController >();
   private String alternateKeyForNextLoadXml;
@@ -118,16 +130,58 @@ public class Nifty {
   private Clipboard clipboard = null;
   private NiftyResourceLoader resourceLoader = new NiftyResourceLoader();
 
+  /*
+   * every Nifty instance has its own NiftyEventDispatcher so that several instances don't see each others events.
+   */
+  private NiftyEventDispatcher eventDispatcher;
+
+  /*
+   * the resolved methods of all NiftyMethodInvoker of this Nifty instance.
+   */
+  private MethodBindingCache methodBindingCache = new MethodBindingCache();
+
+  /*
+   * creates the controllers, input mappings and effects of this Nifty instance.
+   */
+  private InstanceFactoryRegistry instanceFactoryRegistry = new InstanceFactoryRegistry();
+
+  /*
+   * only created when someone asks for it with getEventService().
+   */
+  private EventService eventService;
+
   /*
    * when set to true Nifty will ignore all mouse events.
    */
   private boolean ignoreMouseEvents;
 
+  /*
+   * when set to true Nifty will merge consecutive mouse move events into a single event per frame.
+   */
+  private boolean coalesceMouseMoveEvents;
+
   /*
    * when set to true Nifty will ignore all keyboard events.
    */
   private boolean ignoreKeyboardEvents;
 
+  /*
+   * true when something has been changed since the last render() call.
+   */
+  private boolean renderRequested = true;
+
+  /*
+   * when set to true Nifty will tell the RenderDevice which parts of the screen have been changed since the last
+   * frame (only when the RenderDevice implements DamageRegionRenderDevice).
+   */
+  private boolean damageRegionMode;
+
+  /*
+   * the parts of the screen changed since the last frame and the parts that are repainted in the current frame.
+   */
+  private DamageRegion damageRegion = new DamageRegion();
+  private DamageRegion frameDamageRegion = new DamageRegion();
+
   /**
    * Create nifty with optional console parameter.
    * @param newRenderDevice the RenderDevice
@@ -187,22 +241,22 @@ public class Nifty {
     this.renderEngine = newRenderDevice;
     this.soundSystem = newSoundSystem;
     this.inputSystem = newInputSystem;
-    this.timeProvider = newTimeProvider;
+    this.frameClock = new FrameClock(newTimeProvider);
+    this.timeProvider = frameClock;
     this.exit = false;
     this.resolutionChanged = false;
     this.currentLoaded = null;
     this.mouseInputEventProcessor = new MouseInputEventProcessor();
     this.lastTime = timeProvider.getMsTime();
     this.niftyMouse = new NiftyMouseImpl(newRenderDevice.getRenderDevice(), inputSystem, timeProvider);
+    initalizeEventBus();
 
     try {
-      loader = new NiftyLoader(this, timeProvider);
+      loader = new NiftyLoader(this, newTimeProvider);
       loader.registerSchema("nifty.nxs", getResourceAsStream("nifty.nxs"));
       loader.registerSchema("nifty-styles.nxs", getResourceAsStream("nifty-styles.nxs"));
       loader.registerSchema("nifty-controls.nxs", getResourceAsStream("nifty-controls.nxs"));
       NiftyDefaults.initDefaultEffects(this);
-
-      initalizeEventBus();
     } catch (Exception e) {
       log.log(Level.WARNING, e.getMessage(), e);
     }
@@ -221,27 +275,66 @@ public class Nifty {
     }
   }
 
-  private void initalizeEventBus() throws EventServiceExistsException {
-    EventServiceLocator.setEventService("NiftyEventBus", new ThreadSafeEventService());
+  private void initalizeEventBus() {
+    eventDispatcher = new NiftyEventDispatcher();
+  }
+
+  /**
+   * Get the NiftyEventDispatcher that delivers all events published by this Nifty instance.
+   * @return the NiftyEventDispatcher
+   */
+  public NiftyEventDispatcher getEventDispatcher() {
+    return eventDispatcher;
+  }
+
+  /**
+   * Get the cache of the methods resolved for method strings like "onClick()". All NiftyMethodInvoker of this Nifty
+   * instance share it so each method string is resolved only once for each class.
+   * @return the MethodBindingCache
+   */
+  public MethodBindingCache getMethodBindingCache() {
+    return methodBindingCache;
+  }
+
+  /**
+   * Get the registry that creates the controllers, input mappings and effects of this Nifty instance. You can register
+   * your own InstanceFactory for a class here to create instances of it without reflection.
+   * @return the InstanceFactoryRegistry
+   */
+  public InstanceFactoryRegistry getInstanceFactoryRegistry() {
+    return instanceFactoryRegistry;
   }
 
+  /**
+   * Get an EventBus EventService that receives all events published by this Nifty instance as well. This is only
+   * kept for compatibility. Events are delivered a lot faster when you use subscribe() or subscribeAnnotations()
+   * instead. The EventService is created with the first call to this method and from then on every event is published
+   * to it too.
+   * @return the EventService
+   */
   public EventService getEventService() {
-    return EventServiceLocator.getEventService("NiftyEventBus");
+    if (eventService == null) {
+      eventService = new ThreadSafeEventService();
+    }
+    return eventService;
   }
 
   public void publishEvent(final String id, final NiftyEvent event) {
     // we can't publish events for elements without an id
     if (id != null) {
-      getEventService().publish(id, event);
+      eventDispatcher.publish(id, event);
+      if (eventService != null) {
+        eventService.publish(id, event);
+      }
     }
   }
 
   public void subscribeAnnotations(final Object object) {
-    NiftyEventAnnotationProcessor.process(object);
+    NiftyEventAnnotationProcessor.process(object, eventDispatcher);
   }
 
   public void unsubscribeAnnotations(final Object object) {
-    NiftyEventAnnotationProcessor.unprocess(object);
+    NiftyEventAnnotationProcessor.unprocess(object, eventDispatcher);
   }
 
   public <T, S extends EventTopicSubscriber<? extends T>> void subscribe(final Screen screen, final String elementId, final Class<T> eventClass, final S subscriber) {
@@ -249,11 +342,12 @@ public class Nifty {
       log.warning("trying to subscribe events for an element with elementId = null. this won't work. offending class \"" + eventClass + "\" and offending subscriber \"" + subscriber + "\". try to find the offending element/control and give it an id!");
       return;
     }
-    ClassSaveEventTopicSubscriber theSubscriber = new ClassSaveEventTopicSubscriber(elementId, subscriber, eventClass);
-    getEventService().subscribeStrongly(elementId, theSubscriber);
-    log.fine("-> subscribe [" + elementId + "] screen [" + screen + "] -> [" + theSubscriber + "(" + subscriber + "),(" + eventClass + ")]");
+    NiftyEventDispatcher.Subscription subscription = eventDispatcher.subscribe(elementId, eventClass, subscriber, subscriber);
+    if (log.isLoggable(Level.FINE)) {
+      log.fine("-> subscribe [" + elementId + "] screen [" + screen + "] -> [" + subscription + "]");
+    }
 
-    subscriberRegister.register(screen, elementId, theSubscriber);
+    subscriberRegister.register(screen, elementId, subscription);
   }
 
   public void unsubscribe(final String elementId, final Object object) {
@@ -263,7 +357,10 @@ public class Nifty {
         log.warning("trying to unsubscribe events for an element with elementId = null. this won't work. offending object \"" + object + "\". try to find the offending element and give it an id!");
         return;
       }
-      getEventService().unsubscribe(elementId, (EventTopicSubscriber<?>) object);
+      eventDispatcher.unsubscribe(elementId, object);
+      if (eventService != null) {
+        eventService.unsubscribe(elementId, (EventTopicSubscriber<?>) object);
+      }
       log.fine("<- unsubscribe [" + elementId + "] -> [" + object + "]");
     }
   }
@@ -285,14 +382,18 @@ public class Nifty {
    * @return true when nifty has finished processing the screen and false when rendering should continue.
    */
   public boolean update() {
+    frameClock.sample();
+    frameClockSampled = true;
     if (!currentScreen.isNull()) {
       mouseInputEventProcessor.begin();
       inputSystem.forwardEvents(niftyInputConsumer);
+      niftyInputConsumer.processPendingMouseMoveEvent();
       if (mouseInputEventProcessor.hasLastMouseDownEvent()) {
         forwardMouseEventToScreen(mouseInputEventProcessor.getLastMouseDownEvent());
       }
     }
     handleDynamicElements();
+    processLayoutRequests();
     updateSoundSystem();
     if (log.isLoggable(Level.FINEST)) {
       log.finest(currentScreen.debugOutput());
@@ -315,6 +416,26 @@ public class Nifty {
    * @param clearScreen true if nifty should clean the screen and false when you've done that already.
    */
   public void render(final boolean clearScreen) {
+    // update() has already started this frame. we only need to sample the time when update() has not been called.
+    if (!frameClockSampled) {
+      frameClock.sample();
+    }
+    frameClockSampled = false;
+
+    // in case someone requested a layout after update() or never calls update() at all. we do this before anything
+    // else so that the damage region of this frame will include the layout changes. the same is true for everything
+    // that is changed when effects end.
+    if (!currentScreen.isNull()) {
+      currentScreen.advanceEffects();
+      processLayoutRequests();
+    }
+
+    // reset this first so that changes made while rendering (effects that end for instance) request the next frame
+    renderRequested = false;
+    if (damageRegionMode) {
+      updateDamageRegion();
+    }
+
     renderEngine.beginFrame();
     if (clearScreen) {
       renderEngine.clear();
@@ -336,6 +457,65 @@ public class Nifty {
     }
   }
 
+  /**
+   * Check if the current screen needs to be rendered again. This is the case when something has been changed since
+   * the last render() call (input events, layout changes, changed text, images or colors, added or removed elements
+   * and so on) or while effects still change. Effects that are rendered with the same state again and again, like an
+   * onActive border without a length, don't keep this true. Effects with neverStopRendering="true" do, so set it on
+   * effects that animate on their own without a length (pulsate for instance).
+   *
+   * When this returns false you can skip calling render() for this frame (you should still call update() each frame
+   * though) or render at some lower rate while idle. Note that Nifty can't detect changes to state it doesn't own.
+   * When you change something Nifty can't know about (a custom ElementRenderer for instance) call requestRender().
+   *
+   * @return true when render() should be called and false when the last frame is still up to date
+   */
+  public boolean needsRender() {
+    if (renderRequested || resolutionChanged || exit) {
+      return true;
+    }
+    if (layoutQueue.hasRequests() || hasDynamics()) {
+      return true;
+    }
+    return currentScreen.isAnyEffectChanging();
+  }
+
+  /**
+   * Tell Nifty that something has been changed and that the current screen needs to be rendered again.
+   * needsRender() will return true until the next render() call.
+   */
+  public void requestRender() {
+    renderRequested = true;
+    damageRegion.addFullScreen();
+  }
+
+  /**
+   * Tell Nifty that the given element (and its child elements) has been changed and needs to be rendered again.
+   * In damage region mode only the area of this element will be repainted.
+   * @param element the changed element
+   */
+  public void requestRender(final Element element) {
+    renderRequested = true;
+    if (damageRegionMode) {
+      element.addRenderArea(damageRegion);
+    }
+  }
+
+  private void updateDamageRegion() {
+    currentScreen.addActiveEffectsRenderArea(damageRegion);
+    frameDamageRegion.reset();
+    frameDamageRegion.add(damageRegion);
+    damageRegion.reset();
+    forwardDamageRegion();
+  }
+
+  private void forwardDamageRegion() {
+    RenderDevice renderDevice = renderEngine.getRenderDevice();
+    if (renderDevice instanceof DamageRegionRenderDevice) {
+      ((DamageRegionRenderDevice) renderDevice).setDamageRegion(frameDamageRegion);
+    }
+  }
+
   private void updateSoundSystem() {
     long current = timeProvider.getMsTime();
     int delta = (int) (current - lastTime);
@@ -351,8 +531,24 @@ public class Nifty {
     }
   }
 
+  /**
+   * Request a layout of the given element. All requests are collected and processed at once in update().
+   * You don't need to call this directly, use Element.requestLayout() instead.
+   * @param element the element that needs to be layouted
+   */
+  public void requestLayout(final Element element) {
+    layoutQueue.add(element);
+  }
+
+  private void processLayoutRequests() {
+    if (layoutQueue.hasRequests()) {
+      layoutQueue.process();
+    }
+  }
+
   private void handleDynamicElements() {
     while (hasDynamics()) {
+      requestRender();
       invokeMethods();
       closePopUps();
       removeLayerElements();
@@ -567,13 +763,13 @@ public class Nifty {
     log.fine("loadFromFile [" + filename + "]");
 
     try {
-      long start = timeProvider.getMsTime();
+      long start = frameClock.getSource().getMsTime();
       NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", getResourceAsStream(filename), this);
       niftyType.create(this, timeProvider);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
       }
-      long end = timeProvider.getMsTime();
+      long end = frameClock.getSource().getMsTime();
       log.fine("loadFromFile took [" + (end - start) + "]");
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -588,13 +784,13 @@ public class Nifty {
     log.fine("loadFromStream []");
 
     try {
-      long start = timeProvider.getMsTime();
+      long start = frameClock.getSource().getMsTime();
       NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream, this);
       niftyType.create(this, timeProvider);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
       }
-      long end = timeProvider.getMsTime();
+      long end = frameClock.getSource().getMsTime();
       log.fine("loadFromStream took [" + (end - start) + "]");
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -665,6 +861,7 @@ public class Nifty {
     }
 
     currentScreen = screens.get(id);
+    requestRender();
     if (currentScreen == null) {
       currentScreen = new NullScreen();
       log.warning("screen [" + id + "] not found");
@@ -714,6 +911,7 @@ public class Nifty {
           new EndNotify() {
             public void perform() {
               currentScreen = new NullScreen();
+              requestRender();
               removeScreenInternal(id);
             }
           });
@@ -753,12 +951,14 @@ public class Nifty {
           public final void perform() {
             exit = true;
             currentScreen = new NullScreen();
+            requestRender();
           }
         });
   }
 
   public void resolutionChanged() {
     resolutionChanged = true;
+    requestRender();
   }
 
   private void displayResolutionChanged() {
@@ -783,6 +983,7 @@ public class Nifty {
 
     // we refresh the current screen right here. all other screens will be refreshed when they are activated.
     currentScreen.layoutLayers();
+    requestRender();
   }
 
   private void updateLayoutPart(final LayoutPart layoutPart, final int width, final int height) {
@@ -1015,6 +1216,7 @@ public class Nifty {
       // on the newControl here manually. It won't be called by the screen anymore.
       if (screen.isBound()) {
         newControl.bindControls(screen);
+        newControl.bindParentEffectScheduler();
         newControl.initControls(false);
       }
       if (screen.isRunning()) {
@@ -1082,10 +1284,23 @@ public class Nifty {
     return loader;
   }
 
+  /**
+   * Get the TimeProvider used by Nifty. This is the FrameClock so the time only changes between frames.
+   * @return the TimeProvider
+   */
   public TimeProvider getTimeProvider() {
     return timeProvider;
   }
 
+  /**
+   * Get the FrameClock that is sampled once at the start of each frame and that provides the time for all effects,
+   * mouse events and the sound system. You can change its source or drive it directly (for replays or benchmarks).
+   * @return the FrameClock
+   */
+  public FrameClock getFrameClock() {
+    return frameClock;
+  }
+
   public class ClosePopUp {
     private String removePopupId;
     private EndNotify closeNotify;
@@ -1330,25 +1545,70 @@ public class Nifty {
     private boolean button0Down = false;
     private boolean button1Down = false;
     private boolean button2Down = false;
+    private boolean lastProcessed = false;
+    private boolean hasPendingMouseMove = false;
+    private int pendingMouseX;
+    private int pendingMouseY;
 
     @Override
     public boolean processMouseEvent(final int mouseX, final int mouseY, final int mouseWheel, final int button, final boolean buttonDown) {
       boolean processed = false;
       if (!isIgnoreMouseEvents()) {
-        processed = processEvent(createEvent(mouseX, mouseY, mouseWheel, button, buttonDown));
-        if (log.isLoggable(Level.FINE)) {
-          log.fine("[processMouseEvent] [" +  mouseX + ", " + mouseY + ", " + mouseWheel + ", " + button + ", " + buttonDown + "] processed [" + processed + "]");
+        if (isCoalesceMouseMoveEvents() && isMouseMoveEvent(mouseWheel, button, buttonDown)) {
+          hasPendingMouseMove = true;
+          pendingMouseX = mouseX;
+          pendingMouseY = mouseY;
+          // the event will be processed later. until then the result of the last processed mouse event is the best
+          // answer we have: the mouse has been over a nifty element before the move or not.
+          processed = lastProcessed;
+        } else {
+          processPendingMouseMoveEvent();
+          processed = processEvent(createEvent(mouseX, mouseY, mouseWheel, button, buttonDown));
+          if (log.isLoggable(Level.FINE)) {
+            log.fine("[processMouseEvent] [" +  mouseX + ", " + mouseY + ", " + mouseWheel + ", " + button + ", " + buttonDown + "] processed [" + processed + "]");
+          }
         }
       }
       niftyInputConsumerNotify.processedMouseEvent(mouseX, mouseY, mouseWheel, button, buttonDown, processed);
       return processed;
     }
 
+    /**
+     * Process the last mouse move event that has been held back because of coalesceMouseMoveEvents.
+     */
+    void processPendingMouseMoveEvent() {
+      if (!hasPendingMouseMove) {
+        return;
+      }
+      hasPendingMouseMove = false;
+      if (!isIgnoreMouseEvents()) {
+        processEvent(createEvent(pendingMouseX, pendingMouseY, 0, -1, false));
+      }
+    }
+
+    private boolean isMouseMoveEvent(final int mouseWheel, final int button, final boolean buttonDown) {
+      if (mouseWheel != 0) {
+        return false;
+      }
+      switch (button) {
+        case 0: return button0Down == buttonDown;
+        case 1: return button1Down == buttonDown;
+        case 2: return button2Down == buttonDown;
+      }
+      return true;
+    }
+
     @Override
     public boolean processKeyboardEvent(final KeyboardInputEvent keyEvent) {
+      // the keyboard event might depend on the mouse position (hover state, mouse focus) so the mouse has to be at
+      // the place it had when the key was pressed
+      processPendingMouseMoveEvent();
+
       boolean processed = false;
       if (!isIgnoreKeyboardEvents()) {
         if (!currentScreen.isNull()) {
+          // the event itself doesn't change the screen. everything that does will request its own damage region.
+          renderRequested = true;
           processed = currentScreen.keyEvent(keyEvent);
           if (log.isLoggable(Level.FINE)) {
             log.fine("[processKeyboardEvent] " + keyEvent + " processed [" + processed + "]");
@@ -1378,61 +1638,17 @@ public class Nifty {
     }
 
     private boolean processEvent(final NiftyMouseInputEvent mouseInputEvent) {
+      // the event itself doesn't change the screen. everything that does will request its own damage region.
+      renderRequested = true;
       mouseInputEventProcessor.process(mouseInputEvent);
       boolean handled = forwardMouseEventToScreen(mouseInputEvent);
       handleDynamicElements();
       pool.free(mouseInputEvent);
+      lastProcessed = handled;
       return handled;
     }
   }
 
-  /**
-   * Helper class to connect better to the eventbus.
-   * @author void
-   */
-  @SuppressWarnings("rawtypes")
-  private static class ClassSaveEventTopicSubscriber implements EventTopicSubscriber, ProxySubscriber {
-    private String elementId;
-    private EventTopicSubscriber target;
-    private Class eventClass;
-
-    private ClassSaveEventTopicSubscriber(final String elementId, final EventTopicSubscriber target, final Class eventClass) {
-      this.elementId = elementId;
-      this.target = target;
-      this.eventClass = eventClass;
-    }
-
-    public String toString() {
-      return super.toString() + "{" + elementId + "}{" + target + "}{" + eventClass + "}";
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public void onEvent(final String topic, final Object data) {
-      if (eventClass.isInstance(data)) {
-        target.onEvent(topic, data);
-      }
-    }
-
-    public String getElementId() {
-      return elementId;
-    }
-
-    @Override
-    public Object getProxiedSubscriber() {
-      return target;
-    }
-
-    @Override
-    public void proxyUnsubscribed() {
-      this.target = null;
-    }
-
-    @Override
-    public ReferenceStrength getReferenceStrength() {
-      return ReferenceStrength.STRONG;
-    }
-  }
   /**
    * Creates an Elment from its type in a specific index in the list of parent
    * @param screen
@@ -1465,6 +1681,7 @@ public class Nifty {
     if (screen.isBound()) {
       //screen.layoutLayers();
       element.bindControls(screen);
+      element.bindParentEffectScheduler();
       element.initControls(false);
       element.startEffect(EffectEventId.onStartScreen);
       element.startEffect(EffectEventId.onActive);
@@ -1510,17 +1727,17 @@ public class Nifty {
   }
 
   private class SubscriberRegistry {
-    private Map < Screen, Map < String, List < ClassSaveEventTopicSubscriber >>> screenBasedSubscribers = new HashMap < Screen, Map < String, List < ClassSaveEventTopicSubscriber >>>();
+    private Map < Screen, Map < String, List < NiftyEventDispatcher.Subscription >>> screenBasedSubscribers = new HashMap < Screen, Map < String, List < NiftyEventDispatcher.Subscription >>>();
 
-    public void register(final Screen screen, final String elementId, final ClassSaveEventTopicSubscriber subscriber) {
-      Map < String, List < ClassSaveEventTopicSubscriber >> elements = screenBasedSubscribers.get(screen);
+    public void register(final Screen screen, final String elementId, final NiftyEventDispatcher.Subscription subscriber) {
+      Map < String, List < NiftyEventDispatcher.Subscription >> elements = screenBasedSubscribers.get(screen);
       if (elements == null) {
-        elements = new HashMap < String, List < ClassSaveEventTopicSubscriber >>();
+        elements = new HashMap < String, List < NiftyEventDispatcher.Subscription >>();
         screenBasedSubscribers.put(screen, elements);
       }
-      List < ClassSaveEventTopicSubscriber > list = elements.get(elementId);
+      List < NiftyEventDispatcher.Subscription > list = elements.get(elementId);
       if (list == null) {
-        list = new ArrayList < ClassSaveEventTopicSubscriber >();
+        list = new ArrayList < NiftyEventDispatcher.Subscription >();
         elements.put(elementId, list);
       }
       list.add(subscriber);
@@ -1530,14 +1747,14 @@ public class Nifty {
       if (screen == null) {
         return;
       }
-      Map < String, List < ClassSaveEventTopicSubscriber >> elements = screenBasedSubscribers.get(screen);
+      Map < String, List < NiftyEventDispatcher.Subscription >> elements = screenBasedSubscribers.get(screen);
       if (elements != null && !elements.isEmpty()) {
-        for (Map.Entry < String, List < ClassSaveEventTopicSubscriber >> entry : elements.entrySet()) {
-          List < ClassSaveEventTopicSubscriber > list = entry.getValue();
+        for (Map.Entry < String, List < NiftyEventDispatcher.Subscription >> entry : elements.entrySet()) {
+          List < NiftyEventDispatcher.Subscription > list = entry.getValue();
           for (int i=0; i<list.size(); i++) {
-            ClassSaveEventTopicSubscriber subscriber = list.get(i);
-            getEventService().unsubscribe(subscriber.getElementId(), subscriber);
-            log.fine("<- unsubscribe screen for [" + screen + "] [" + subscriber.getElementId() + "] -> [" + subscriber + "]");
+            NiftyEventDispatcher.Subscription subscriber = list.get(i);
+            eventDispatcher.unsubscribe(subscriber);
+            log.fine("<- unsubscribe screen for [" + screen + "] [" + subscriber.getTopic() + "] -> [" + subscriber + "]");
           }
           list.clear();
         }
@@ -1550,14 +1767,14 @@ public class Nifty {
       if (screen == null || elementId == null) {
         return;
       }
-      Map < String, List < ClassSaveEventTopicSubscriber >> elements = screenBasedSubscribers.get(screen);
+      Map < String, List < NiftyEventDispatcher.Subscription >> elements = screenBasedSubscribers.get(screen);
       if (elements != null && !elements.isEmpty()) {
-        List < ClassSaveEventTopicSubscriber > list = elements.get(elementId);
+        List < NiftyEventDispatcher.Subscription > list = elements.get(elementId);
         if (list != null && !list.isEmpty()) {
           for (int i=0; i<list.size(); i++) {
-            ClassSaveEventTopicSubscriber subscriber = list.get(i);
-            getEventService().unsubscribe(subscriber.getElementId(), subscriber);
-            log.fine("<- unsubscribe element [" + elementId + "] [" + subscriber.getElementId() + "] -> [" + subscriber + "]");
+            NiftyEventDispatcher.Subscription subscriber = list.get(i);
+            eventDispatcher.unsubscribe(subscriber);
+            log.fine("<- unsubscribe element [" + elementId + "] [" + subscriber.getTopic() + "] -> [" + subscriber + "]");
           }
           list.clear();
         }
@@ -1624,6 +1841,50 @@ public class Nifty {
     return ignoreMouseEvents;
   }
 
+  /**
+   * Enable or disable the merging of mouse move events. When enabled consecutive mouse events that only move
+   * the mouse (no change of the button state and no mouse wheel) are not processed at once. Only the last one
+   * of them will be processed right before the next button/wheel event or at the end of the input processing
+   * in update(). Button and wheel events are still processed exactly and in order. Because a merged mouse move
+   * event is processed later it will report the processed state of the last processed mouse event back to the
+   * InputSystem.
+   *
+   * @param newValue true to merge mouse move events, false to process each mouse move event (default)
+   */
+  public void setCoalesceMouseMoveEvents(final boolean newValue) {
+    coalesceMouseMoveEvents = newValue;
+  }
+
+  public boolean isCoalesceMouseMoveEvents() {
+    return coalesceMouseMoveEvents;
+  }
+
+  /**
+   * Enable or disable the damage region mode. When enabled Nifty collects the areas of all elements that have been
+   * changed since the last frame (shown, hidden, started or ended effects, changed text, images or colors, changed
+   * constraints and the old and new area of everything that has been layouted again) as well as the areas of all
+   * elements with active effects and passes them to the RenderDevice before each frame. A RenderDevice that
+   * implements DamageRegionRenderDevice can then keep the last frame and only repaint the damaged parts of it. Screen
+   * changes, resolution changes, added or removed elements and changes Nifty doesn't know the element of (custom
+   * ElementRenderers calling requestRender()) still damage the whole screen. This only makes sense when you call
+   * render(true) since the damaged parts need to be cleared.
+   *
+   * Effects are expected to render inside of the area of their element. Effects that move or shake the element or
+   * render outside of it in some other way will leave artifacts in this mode.
+   *
+   * @param newValue true to enable the damage region mode, false to always repaint the whole screen (default)
+   */
+  public void setDamageRegionMode(final boolean newValue) {
+    // the RenderDevice only uses a damage region for the frame it has been passed for. so when we stop passing one
+    // the RenderDevice will repaint everything again.
+    damageRegionMode = newValue;
+    damageRegion.addFullScreen();
+  }
+
+  public boolean isDamageRegionMode() {
+    return damageRegionMode;
+  }
+
   public void setIgnoreKeyboardEvents(final boolean newValue) {
     ignoreKeyboardEvents = newValue;
   }
@@ -1,60 +1,114 @@
 package de.lessvoid.nifty;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
-import org.bushe.swing.event.EventService;
-import org.bushe.swing.event.EventServiceLocator;
 import org.bushe.swing.event.EventTopicSubscriber;
-import org.bushe.swing.event.ProxySubscriber;
-import org.bushe.swing.event.annotation.ReferenceStrength;
 
 public class NiftyEventAnnotationProcessor {
   private static Logger log = Logger.getLogger(NiftyEventAnnotationProcessor.class.getName());
 
-  public static void process(final Object obj) {
-    processOrUnprocess(obj, true);
+  public static void process(final Object obj, final NiftyEventDispatcher eventDispatcher) {
+    processOrUnprocess(obj, eventDispatcher, true);
   }
 
-  public static void unprocess(final Object obj) {
-    processOrUnprocess(obj, false);
+  public static void unprocess(final Object obj, final NiftyEventDispatcher eventDispatcher) {
+    processOrUnprocess(obj, eventDispatcher, false);
   }
 
-  private static void processOrUnprocess(final Object obj, final boolean add) {
+  private static void processOrUnprocess(final Object obj, final NiftyEventDispatcher eventDispatcher, final boolean add) {
     if (obj == null) {
       return;
     }
-    Class<?> cl = obj.getClass();
-    Method[] methods = cl.getMethods();
+    NiftyEventSubscriberRegistration registration = getRegistration(obj.getClass(), eventDispatcher);
+    if (add) {
+      registration.subscribe(obj, eventDispatcher);
+    } else {
+      registration.unsubscribe(obj, eventDispatcher);
+    }
+  }
+
+  // The annotated methods of a class never change so we only look at each class once per NiftyEventDispatcher. The
+  // dispatcher belongs to a single Nifty instance so it doesn't keep classes alive after the Nifty instance is gone.
+  private static NiftyEventSubscriberRegistration getRegistration(
+      final Class < ? > cl,
+      final NiftyEventDispatcher eventDispatcher) {
+    NiftyEventSubscriberRegistration result = eventDispatcher.getRegistration(cl);
+    if (result == null) {
+      result = findGeneratedRegistration(cl);
+      if (result == null) {
+        result = new ReflectionRegistration(scan(cl));
+      }
+      eventDispatcher.putRegistration(cl, result);
+    }
+    return result;
+  }
+
+  /**
+   * Look for the class the nifty-annotation-processor generated for the given class.
+   * @param cl the class
+   * @return the generated NiftyEventSubscriberRegistration or null if there is none
+   */
+  private static NiftyEventSubscriberRegistration findGeneratedRegistration(final Class < ? > cl) {
+    ClassLoader classLoader = cl.getClassLoader();
+    if (classLoader == null) {
+      return null;
+    }
+    String name = cl.getName() + NiftyEventSubscriberRegistration.CLASS_NAME_SUFFIX;
+    try {
+      Class < ? > generated = Class.forName(name, true, classLoader);
+      if (!NiftyEventSubscriberRegistration.class.isAssignableFrom(generated)) {
+        return null;
+      }
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("using generated NiftyEventSubscriberRegistration [" + name + "] for class " + cl);
+      }
+      return (NiftyEventSubscriberRegistration) generated.newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (Exception e) {
+      log.log(Level.WARNING, "could not create generated NiftyEventSubscriberRegistration [" + name + "], falling back to reflection", e);
+      return null;
+    }
+  }
+
+  private static SubscriberMethod[] scan(final Class < ? > cl) {
     if (log.isLoggable(Level.FINE)) {
-      log.fine("Looking for EventBus annotations for class " + cl + ", methods:" + Arrays.toString(methods));
+      log.fine("Looking for EventBus annotations for class " + cl);
     }
-    for (Method method : methods) {
+    List < SubscriberMethod > result = new ArrayList < SubscriberMethod >();
+    for (Method method : cl.getMethods()) {
       NiftyEventSubscriber niftyEventSubscriber = method.getAnnotation(NiftyEventSubscriber.class);
       if (niftyEventSubscriber != null) {
         if (log.isLoggable(Level.FINE)) {
           log.fine("Found NiftyEventSubscriber:" + niftyEventSubscriber + " on method:" + method);
         }
-        process(niftyEventSubscriber, obj, method, add);
+        result.add(createSubscriberMethod(niftyEventSubscriber, method));
       }
     }
+    return result.toArray(new SubscriberMethod[result.size()]);
   }
 
-  private static void process(final NiftyEventSubscriber annotation, final Object obj, final Method method, final boolean add) {
+  private static SubscriberMethod createSubscriberMethod(final NiftyEventSubscriber annotation, final Method method) {
     String id = annotation.id();
     String pattern = annotation.pattern();
     ensureNotNull(id, pattern);
     ensureMethodParamCount(method.getParameterTypes());
-    EventService eventService = getEventService();
     Class<?> eventClass = method.getParameterTypes()[1];
+    try {
+      // skips the access check on each invoke and allows public methods of non public classes
+      method.setAccessible(true);
+    } catch (SecurityException e) {
+      log.fine("could not make method [" + method + "] accessible: " + e.getMessage());
+    }
     if (isSet(id)) {
-      idProcess(obj, method, add, id, eventClass, eventService);
-    } else {
-      patternProcess(obj, method, add, pattern, eventClass, eventService);
+      return new SubscriberMethod(method, id, null, eventClass);
     }
+    return new SubscriberMethod(method, null, Pattern.compile(pattern), eventClass);
   }
 
   private static boolean isSet(final String value) {
@@ -73,67 +127,88 @@ public class NiftyEventAnnotationProcessor {
     }
   }
 
-  private static void patternProcess(final Object obj, final Method method, final boolean add, final String topicPattern, final Class<?> eventClass, final EventService eventService) {
-    Pattern pattern = Pattern.compile(topicPattern);
-    if (add) {
-      Subscriber subscriber = new Subscriber(obj, method, eventClass);
-      eventService.subscribeStrongly(pattern, subscriber);
-      log.fine("-> subscribe [" + pattern + "] -> [" + subscriber + "]");
-    } else {
-      eventService.unsubscribe(pattern, obj);
-      log.fine("<- unsubscribe [" + pattern + "] -> [" + obj + "]");
+  /**
+   * The NiftyEventSubscriberRegistration for classes without a generated one.
+   */
+  private static class ReflectionRegistration implements NiftyEventSubscriberRegistration {
+    private final SubscriberMethod[] methods;
+
+    private ReflectionRegistration(final SubscriberMethod[] methods) {
+      this.methods = methods;
     }
-  }
 
-  private static void idProcess(final Object obj, final Method method, final boolean add, final String id, final Class<?> eventClass, final EventService eventService) {
-    if (add) {
-      Subscriber subscriber = new Subscriber(obj, method, eventClass);
-      eventService.subscribeStrongly(id, subscriber);
-      log.fine("-> subscribe [" + id + "] -> [" + subscriber + "]");
-    } else {
-      eventService.unsubscribe(id, obj);
-      log.fine("<- unsubscribe [" + id + "] -> [" + obj + "]");
+    @Override
+    public void subscribe(final Object object, final NiftyEventDispatcher eventDispatcher) {
+      for (int i=0; i<methods.length; i++) {
+        methods[i].subscribe(object, eventDispatcher);
+      }
     }
-  }
 
-  private static EventService getEventService() {
-    return EventServiceLocator.getEventService("NiftyEventBus");
+    @Override
+    public void unsubscribe(final Object object, final NiftyEventDispatcher eventDispatcher) {
+      for (int i=0; i<methods.length; i++) {
+        methods[i].unsubscribe(object, eventDispatcher);
+      }
+    }
   }
 
-  private static class Subscriber implements EventTopicSubscriber<Object>, ProxySubscriber {
-    private final Object obj;
+  /**
+   * The scanned information about a single @NiftyEventSubscriber method. Either id or pattern is set.
+   */
+  private static class SubscriberMethod {
     private final Method method;
+    private final String id;
+    private final Pattern pattern;
     private final Class<?> eventClass;
 
-    private Subscriber(final Object obj, final Method method, final Class<?> eventClass) {
-      this.obj = obj;
+    private SubscriberMethod(final Method method, final String id, final Pattern pattern, final Class<?> eventClass) {
       this.method = method;
+      this.id = id;
+      this.pattern = pattern;
       this.eventClass = eventClass;
     }
 
-    @Override
-    public void onEvent(final String topic, final Object data) {
-      if (eventClass.isInstance(data)) {
-        try {
-          method.invoke(obj, topic, eventClass.cast(data));
-        } catch (Throwable e) {
-          log.log(Level.WARNING, "failed to invoke method [" + method + "] with Exception [" + e.getMessage() + "][" + e.getCause() + "]", e);
-        }
+    private void subscribe(final Object obj, final NiftyEventDispatcher eventDispatcher) {
+      Subscriber subscriber = new Subscriber(obj, method);
+      if (id != null) {
+        eventDispatcher.subscribe(id, eventClass, subscriber, obj);
+      } else {
+        eventDispatcher.subscribe(pattern, eventClass, subscriber, obj);
+      }
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("-> subscribe [" + (id != null ? id : pattern) + "] -> [" + subscriber + "]");
       }
     }
 
-    @Override
-    public Object getProxiedSubscriber() {
-      return obj;
+    private void unsubscribe(final Object obj, final NiftyEventDispatcher eventDispatcher) {
+      if (id != null) {
+        eventDispatcher.unsubscribe(id, obj);
+      } else {
+        eventDispatcher.unsubscribe(pattern, obj);
+      }
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("<- unsubscribe [" + (id != null ? id : pattern) + "] -> [" + obj + "]");
+      }
     }
+  }
 
-    @Override
-    public void proxyUnsubscribed() {
+  private static class Subscriber implements EventTopicSubscriber<Object> {
+    private final Object obj;
+    private final Method method;
+
+    private Subscriber(final Object obj, final Method method) {
+      this.obj = obj;
+      this.method = method;
     }
 
     @Override
-    public ReferenceStrength getReferenceStrength() {
-      return ReferenceStrength.STRONG;
+    public void onEvent(final String topic, final Object data) {
+      // the NiftyEventDispatcher only delivers events of the subscribed event class
+      try {
+        method.invoke(obj, topic, data);
+      } catch (Throwable e) {
+        log.log(Level.WARNING, "failed to invoke method [" + method + "] with Exception [" + e.getMessage() + "][" + e.getCause() + "]", e);
+      }
     }
   }
 }
@@ -0,0 +1,325 @@
+package de.lessvoid.nifty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+
+/**
+ * Delivers the events published with Nifty.publishEvent() to the subscribers of an element id (topic). Subscribers are
+ * indexed by topic and by event class. The subscribers for a (topic, event class) pair are resolved once, including all
+ * pattern subscriptions matching the topic, and reused for all following events. So publishing an event doesn't
+ * allocate anything and doesn't evaluate any regular expressions as long as the subscriptions don't change.
+ *
+ * Only topics with direct subscriptions or with at least one matching pattern subscription are kept. Publishing to
+ * any other topic doesn't add anything so the index doesn't grow with the number of different topics published.
+ *
+ * Like everything else in Nifty this is not thread safe and must only be used from the thread that uses the Nifty
+ * instance this belongs to. Subscribing and unsubscribing from within an event handler is fine though: Events that are
+ * currently delivered will not be delivered to subscriptions that have been removed in the meantime and subscriptions
+ * that have been added will get the next event.
+ */
+public class NiftyEventDispatcher {
+  private static final Logger log = Logger.getLogger(NiftyEventDispatcher.class.getName());
+  private static final Subscription[] EMPTY = new Subscription[0];
+
+  private final Map < String, Topic > topics = new HashMap < String, Topic >();
+  private Subscription[] patternSubscriptions = EMPTY;
+
+  // the annotated subscriber methods of the classes NiftyEventAnnotationProcessor has looked at. they are kept here
+  // so that the classes (and their class loaders) are only referenced as long as the Nifty instance lives.
+  private final Map < Class < ? >, NiftyEventSubscriberRegistration > registrations =
+      new HashMap < Class < ? >, NiftyEventSubscriberRegistration >();
+
+  /**
+   * Subscribe to all events of the given class (or a subclass) published for the given topic.
+   * @param topic the topic (the element id)
+   * @param eventClass the class of the events to receive
+   * @param subscriber the subscriber
+   * @param owner the object this subscription belongs to. unsubscribe(topic, owner) will remove it.
+   * @return the new Subscription
+   */
+  public Subscription subscribe(
+      final String topic,
+      final Class < ? > eventClass,
+      final EventTopicSubscriber < ? > subscriber,
+      final Object owner) {
+    Subscription subscription = new Subscription(topic, null, eventClass, subscriber, owner);
+    Topic t = topics.get(topic);
+    if (t == null) {
+      t = new Topic(topic);
+      topics.put(topic, t);
+    }
+    t.subscriptions = add(t.subscriptions, subscription);
+    t.resolved.clear();
+    return subscription;
+  }
+
+  /**
+   * Subscribe to all events of the given class (or a subclass) published for all topics matching the given pattern.
+   * @param pattern the pattern that needs to match the whole topic
+   * @param eventClass the class of the events to receive
+   * @param subscriber the subscriber
+   * @param owner the object this subscription belongs to. unsubscribe(pattern, owner) will remove it.
+   * @return the new Subscription
+   */
+  public Subscription subscribe(
+      final Pattern pattern,
+      final Class < ? > eventClass,
+      final EventTopicSubscriber < ? > subscriber,
+      final Object owner) {
+    Subscription subscription = new Subscription(null, pattern, eventClass, subscriber, owner);
+    patternSubscriptions = add(patternSubscriptions, subscription);
+    clearResolved();
+    return subscription;
+  }
+
+  /**
+   * Remove the given subscription.
+   * @param subscription the Subscription to remove
+   */
+  public void unsubscribe(final Subscription subscription) {
+    if (!subscription.active) {
+      return;
+    }
+    subscription.active = false;
+    if (subscription.pattern != null) {
+      patternSubscriptions = remove(patternSubscriptions, subscription);
+      clearResolved();
+      removeUnusedTopics();
+      return;
+    }
+    Topic t = topics.get(subscription.topic);
+    if (t != null) {
+      t.subscriptions = remove(t.subscriptions, subscription);
+      t.resolved.clear();
+      if (isUnused(t)) {
+        topics.remove(subscription.topic);
+      }
+    }
+  }
+
+  /**
+   * Remove all subscriptions of the given owner for the given topic.
+   * @param topic the topic
+   * @param owner the owner (or the subscriber itself for subscriptions with the subscriber as the owner)
+   */
+  public void unsubscribe(final String topic, final Object owner) {
+    Topic t = topics.get(topic);
+    if (t == null) {
+      return;
+    }
+    Subscription[] subscriptions = t.subscriptions;
+    for (int i=0; i<subscriptions.length; i++) {
+      if (subscriptions[i].owner == owner) {
+        unsubscribe(subscriptions[i]);
+      }
+    }
+  }
+
+  /**
+   * Remove all subscriptions of the given owner for the given pattern.
+   * @param pattern the pattern (compared by its regular expression)
+   * @param owner the owner (or the subscriber itself for subscriptions with the subscriber as the owner)
+   */
+  public void unsubscribe(final Pattern pattern, final Object owner) {
+    Subscription[] subscriptions = patternSubscriptions;
+    for (int i=0; i<subscriptions.length; i++) {
+      Subscription subscription = subscriptions[i];
+      if (subscription.owner == owner && subscription.pattern.pattern().equals(pattern.pattern())) {
+        unsubscribe(subscription);
+      }
+    }
+  }
+
+  /**
+   * Deliver the event to all subscribers of the topic that subscribed to the class of the event (or a super class).
+   * @param topic the topic
+   * @param event the event
+   */
+  public void publish(final String topic, final Object event) {
+    Topic t = topics.get(topic);
+    if (t == null) {
+      if (!matchesPatternSubscription(topic)) {
+        return;
+      }
+      // we'll remember the pattern subscriptions for this topic so that we only need to match them once
+      t = new Topic(topic);
+      topics.put(topic, t);
+    }
+    Subscription[] subscriptions = t.resolve(event.getClass());
+    for (int i=0; i<subscriptions.length; i++) {
+      Subscription subscription = subscriptions[i];
+      if (subscription.active) {
+        subscription.deliver(topic, event);
+      }
+    }
+  }
+
+  /**
+   * @return true when there is at least one subscription
+   */
+  public boolean hasSubscriptions() {
+    if (patternSubscriptions.length > 0) {
+      return true;
+    }
+    for (Topic t : topics.values()) {
+      if (t.subscriptions.length > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of topics currently indexed
+   */
+  int getTopicCount() {
+    return topics.size();
+  }
+
+  NiftyEventSubscriberRegistration getRegistration(final Class < ? > cl) {
+    return registrations.get(cl);
+  }
+
+  void putRegistration(final Class < ? > cl, final NiftyEventSubscriberRegistration registration) {
+    registrations.put(cl, registration);
+  }
+
+  /**
+   * @return the number of classes with a cached NiftyEventSubscriberRegistration
+   */
+  int getRegistrationCount() {
+    return registrations.size();
+  }
+
+  private void clearResolved() {
+    for (Topic t : topics.values()) {
+      t.resolved.clear();
+    }
+  }
+
+  private void removeUnusedTopics() {
+    Iterator < Topic > it = topics.values().iterator();
+    while (it.hasNext()) {
+      if (isUnused(it.next())) {
+        it.remove();
+      }
+    }
+  }
+
+  private boolean isUnused(final Topic t) {
+    return t.subscriptions.length == 0 && !matchesPatternSubscription(t.name);
+  }
+
+  private boolean matchesPatternSubscription(final String topic) {
+    for (int i=0; i<patternSubscriptions.length; i++) {
+      if (patternSubscriptions[i].pattern.matcher(topic).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Subscription[] add(final Subscription[] subscriptions, final Subscription subscription) {
+    Subscription[] result = new Subscription[subscriptions.length + 1];
+    System.arraycopy(subscriptions, 0, result, 0, subscriptions.length);
+    result[subscriptions.length] = subscription;
+    return result;
+  }
+
+  private static Subscription[] remove(final Subscription[] subscriptions, final Subscription subscription) {
+    for (int i=0; i<subscriptions.length; i++) {
+      if (subscriptions[i] == subscription) {
+        if (subscriptions.length == 1) {
+          return EMPTY;
+        }
+        Subscription[] result = new Subscription[subscriptions.length - 1];
+        System.arraycopy(subscriptions, 0, result, 0, i);
+        System.arraycopy(subscriptions, i + 1, result, i, subscriptions.length - i - 1);
+        return result;
+      }
+    }
+    return subscriptions;
+  }
+
+  private class Topic {
+    private final String name;
+    private Subscription[] subscriptions = EMPTY;
+    private final Map < Class < ? >, Subscription[] > resolved = new HashMap < Class < ? >, Subscription[] >();
+
+    private Topic(final String name) {
+      this.name = name;
+    }
+
+    private Subscription[] resolve(final Class < ? > eventClass) {
+      Subscription[] result = resolved.get(eventClass);
+      if (result != null) {
+        return result;
+      }
+      List < Subscription > matching = new ArrayList < Subscription >();
+      for (int i=0; i<subscriptions.length; i++) {
+        if (subscriptions[i].eventClass.isAssignableFrom(eventClass)) {
+          matching.add(subscriptions[i]);
+        }
+      }
+      for (int i=0; i<patternSubscriptions.length; i++) {
+        Subscription subscription = patternSubscriptions[i];
+        if (subscription.eventClass.isAssignableFrom(eventClass) && subscription.pattern.matcher(name).matches()) {
+          matching.add(subscription);
+        }
+      }
+      result = matching.isEmpty() ? EMPTY : matching.toArray(new Subscription[matching.size()]);
+      resolved.put(eventClass, result);
+      return result;
+    }
+  }
+
+  /**
+   * A single subscription. Keep this if you want to remove exactly this subscription later.
+   */
+  public static class Subscription {
+    private final String topic;
+    private final Pattern pattern;
+    private final Class < ? > eventClass;
+    private final EventTopicSubscriber < ? > subscriber;
+    private final Object owner;
+    private boolean active = true;
+
+    private Subscription(
+        final String topic,
+        final Pattern pattern,
+        final Class < ? > eventClass,
+        final EventTopicSubscriber < ? > subscriber,
+        final Object owner) {
+      this.topic = topic;
+      this.pattern = pattern;
+      this.eventClass = eventClass;
+      this.subscriber = subscriber;
+      this.owner = owner;
+    }
+
+    public String getTopic() {
+      return topic;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void deliver(final String publishedTopic, final Object event) {
+      try {
+        ((EventTopicSubscriber) subscriber).onEvent(publishedTopic, event);
+      } catch (RuntimeException e) {
+        log.log(Level.WARNING, "subscriber [" + subscriber + "] failed to process event [" + event + "] for [" + publishedTopic + "]", e);
+      }
+    }
+
+    public String toString() {
+      return super.toString() + "{" + (topic != null ? topic : pattern) + "}{" + subscriber + "}{" + eventClass + "}";
+    }
+  }
+}
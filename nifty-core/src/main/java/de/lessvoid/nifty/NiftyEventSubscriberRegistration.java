@@ -0,0 +1,29 @@
+package de.lessvoid.nifty;
+
+/**
+ * Subscribes and unsubscribes all @NiftyEventSubscriber methods of a single controller class.
+ *
+ * Implementations are generated at compile time by the annotation processor of the nifty-annotation-processor module.
+ * The generated class has the binary name of the controller class plus CLASS_NAME_SUFFIX. When there is no generated
+ * class for a controller the NiftyEventAnnotationProcessor falls back to scanning the class with reflection.
+ */
+public interface NiftyEventSubscriberRegistration {
+  /**
+   * The suffix that is appended to the binary name of the controller class to get the name of the generated class.
+   */
+  String CLASS_NAME_SUFFIX = "_NiftyEventSubscribers";
+
+  /**
+   * Subscribe all annotated methods of the given object.
+   * @param object the object to subscribe
+   * @param eventDispatcher the NiftyEventDispatcher to subscribe to
+   */
+  void subscribe(Object object, NiftyEventDispatcher eventDispatcher);
+
+  /**
+   * Remove all subscriptions of the annotated methods of the given object.
+   * @param object the object to unsubscribe
+   * @param eventDispatcher the NiftyEventDispatcher to unsubscribe from
+   */
+  void unsubscribe(Object object, NiftyEventDispatcher eventDispatcher);
+}
@@ -1,9 +1,9 @@
 package de.lessvoid.nifty;
 
-import java.lang.reflect.Method;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import de.lessvoid.xml.tools.MethodResolver;
+import de.lessvoid.xml.tools.MethodBinding;
 
 /**
  * A object and a method for the object.
@@ -16,6 +16,10 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   private String methodWithName;
   private Nifty nifty;
 
+  // the resolved methods for the target objects. this is created on the first call. the bindings themselves are
+  // shared with all other invokers of the same Nifty instance.
+  private MethodBinding[] bindings;
+
   /**
    * create null MethodInvoker.
    */
@@ -39,9 +43,11 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
       this.target = new Object[targetParam.length];
       System.arraycopy(targetParam, 0, target, 0, targetParam.length);
 
-      log.fine("target objects for [" + methodWithName + "]");
-      for (Object o : target) {
-        log.fine(o.toString());
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("target objects for [" + methodWithName + "]");
+        for (Object o : target) {
+          log.fine(o.toString());
+        }
       }
     }
   }
@@ -66,11 +72,19 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   }
 
   public void performInvoke(final Object ... invokeParametersParam) {
+    if (bindings == null) {
+      bindings = new MethodBinding[target.length];
+    }
+
     // process all methods (first one wins)
-    for (Object object : target) {
+    for (int i=0; i<target.length; i++) {
+      Object object = target[i];
       if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
-        if (method != null) {
+        if (bindings[i] == null) {
+          bindings[i] = nifty.getMethodBindingCache().get(object.getClass(), methodWithName);
+        }
+        MethodBinding binding = bindings[i];
+        if (binding.getMethod() != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
           // 1) if the method we want to call (the string from the xml that is!) has parameters
@@ -82,41 +96,55 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
           Object methodResult = null;
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = binding.getParameters();
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
-            if (getMethodParameterCount(method) == invokeParameters.length) {
-              log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
-              methodResult = callMethod(object, method, invokeParameters);
+            if (binding.getMethodParameterCount() == invokeParameters.length) {
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              }
+              methodResult = callMethod(object, binding, invokeParameters);
             } else {
-              log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
-              methodResult = callMethod(object, method, new Object[0]);
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
+              }
+              methodResult = callMethod(object, binding, new Object[0]);
             }
           } else {
             // no invokeParameters encoded. this means we can call the method as is or with the invokeParametersParam
             if (invokeParametersParam.length > 0) {
-              if (getMethodParameterCount(method) == invokeParametersParam.length) {
-                log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
-                methodResult = callMethod(object, method, invokeParametersParam);
+              if (binding.getMethodParameterCount() == invokeParametersParam.length) {
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                }
+                methodResult = callMethod(object, binding, invokeParametersParam);
               } else {
-                log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
-                methodResult = callMethod(object, method, null);
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
+                }
+                methodResult = callMethod(object, binding, null);
               }
             } else {
-              log.fine("invoking method '" + methodWithName + "' without parameters");
-              methodResult = callMethod(object, method, null);
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' without parameters");
+              }
+              methodResult = callMethod(object, binding, null);
             }
           }
           if (methodResult != null && (methodResult.getClass().equals(Boolean.class))) {
             if ((Boolean) methodResult) {
-              log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not calling any other targets for this method.");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not calling any other targets for this method.");
+              }
               return;
             }
             
           }
         } else {
-          log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          if (log.isLoggable(Level.FINE)) {
+            log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          }
         }
       } else {
         log.warning("target object is null");
@@ -127,22 +155,22 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   /**
    * Invoke the given method on the given object.
    * @param targetObject target object to invoke method on
-   * @param method method to invoke
+   * @param binding method to invoke
    * @param invokeParameters parameters to use
    * @return result
    */
-  private Object callMethod(final Object targetObject, final Method method, final Object[] invokeParameters) {
+  private Object callMethod(final Object targetObject, final MethodBinding binding, final Object[] invokeParameters) {
     try {
-      log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + invokeParameters);
-      if (method != null) {
-        log.fine(method.getName());
-      }
-      if (invokeParameters != null) {
-        for (Object o : invokeParameters) {
-          log.fine("parameter: " + o);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("method: " + binding.getMethod() + "on targetObject: " + targetObject + ", parameters: " + invokeParameters);
+        log.fine(binding.getMethod().getName());
+        if (invokeParameters != null) {
+          for (Object o : invokeParameters) {
+            log.fine("parameter: " + o);
+          }
         }
       }
-      return method.invoke(targetObject, invokeParameters);
+      return binding.invoke(targetObject, invokeParameters);
     } catch (RuntimeException e) {
       log.warning("RuntimeException: " + e.toString());
       logException(e);
@@ -169,16 +197,6 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
     }
   }
 
-  /**
-   * return count of actual method parameters.
-   * @param method method
-   * @return count of parameters the method needs
-   */
-  private int getMethodParameterCount(final Method method) {
-    Class < ? > [] parameterTypes = method.getParameterTypes();
-    return parameterTypes.length;
-  }
-
   /**
    * helper method to convert the given parameter object array into a string for debugging.
    * @param invokeParameters parameter array
@@ -2,27 +2,41 @@ package de.lessvoid.nifty;
 
 import java.util.Date;
 import java.util.Stack;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Simple nested time measurement. Each thread has its own stack of running measurements so that several Nifty
+ * instances can be used on different threads at the same time.
+ */
 public class NiftyStopwatch {
   private static Logger log = Logger.getLogger(NiftyStopwatch.class.getName());
-  private static Stack<Long> stack = new Stack<Long>();
+  private static final ThreadLocal < Stack < Long >> stack = new ThreadLocal < Stack < Long >>() {
+    @Override
+    protected Stack < Long > initialValue() {
+      return new Stack < Long >();
+    }
+  };
 
   public static void start() {
-    stack.push(now());
+    stack.get().push(now());
   }
 
   public static void stop(final String message) {
-    long length = now() - stack.pop();
+    Stack < Long > current = stack.get();
+    long length = now() - current.pop();
+    if (!log.isLoggable(Level.FINE)) {
+      return;
+    }
     StringBuffer b = new StringBuffer();
-    for (int i=0; i<stack.size(); i++) {
+    for (int i=0; i<current.size(); i++) {
       b.append(".");
     }
     log.fine("[" + String.format("%04d", length) + "] " + b + message);
   }
 
   public static long stop() {
-    return now() - stack.pop();
+    return now() - stack.get().pop();
   }
 
   private static long now() {
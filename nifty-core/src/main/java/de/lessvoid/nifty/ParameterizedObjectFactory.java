@@ -1,13 +1,20 @@
 package de.lessvoid.nifty;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
+import de.lessvoid.xml.tools.ClassHelper;
+import de.lessvoid.xml.tools.InstanceFactory;
+
 public class ParameterizedObjectFactory<T extends Parameterizable> {
 	private static Logger log = Logger.getLogger(ParameterizedObjectFactory.class.getName());
 
 	private final Map<String, Class<? extends T>> m_objectNameToClassMapping;
 	private final String m_fallbackObjectName;
+	// the constructor of each mapped class is only looked up once. this might be shared between threads.
+	private final Map<Class<? extends T>, InstanceFactory<? extends T>> m_instanceFactories =
+			new ConcurrentHashMap<Class<? extends T>, InstanceFactory<? extends T>>();
 
 	public ParameterizedObjectFactory(Map<String, Class<? extends T>> objectNameToClassMapping,
 			String fallbackObjectName) {
@@ -46,12 +53,22 @@ public class ParameterizedObjectFactory<T extends Parameterizable> {
 		}
 
 		try {
-			return objectClass.newInstance();
+			return getInstanceFactory(objectClass).createInstance();
 		} catch (Exception e) {
 			throw new RuntimeException("Unable to instantiate class [" + objectClass.getName() + "].", e);
 		}
 	}
 
+	private InstanceFactory<? extends T> getInstanceFactory(Class<? extends T> objectClass)
+			throws NoSuchMethodException {
+		InstanceFactory<? extends T> factory = m_instanceFactories.get(objectClass);
+		if (factory == null) {
+			factory = ClassHelper.createFactory(objectClass);
+			m_instanceFactories.put(objectClass, factory);
+		}
+		return factory;
+	}
+
 	private void initializeObject(T object, String objectDescription) {
 		String objectParameters = null;
 		if (objectDescription != null) {
@@ -2,9 +2,11 @@ package de.lessvoid.nifty.batch;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.FloatBuffer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -12,9 +14,10 @@ import java.util.logging.Logger;
 import org.jglfont.BitmapFontFactory;
 import org.jglfont.spi.BitmapFontRenderer;
 
-import de.lessvoid.nifty.batch.TextureAtlasGenerator.Result;
+import de.lessvoid.nifty.batch.TextureAtlasGenerator.Relocation;
 import de.lessvoid.nifty.batch.spi.BatchRenderBackend;
 import de.lessvoid.nifty.batch.spi.BatchRenderBackend.Image;
+import de.lessvoid.nifty.batch.spi.BulkBatchRenderBackend;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.spi.render.MouseCursor;
 import de.lessvoid.nifty.spi.render.RenderDevice;
@@ -63,8 +66,13 @@ public class BatchRenderDevice implements RenderDevice {
   private final int atlasWidth;
   private final int atlasHeight;
   private final Set<BatchRenderFont> fontCache = new HashSet<BatchRenderFont>();
+  private final Map<String, BatchRenderImage> uploadedImages = new HashMap<String, BatchRenderImage>();
+  private int createdImageCount;
   private final FontRenderer fontRenderer;
 
+  // when the renderBackend supports BulkBatchRenderBackend the quads are written directly into its vertex buffer
+  private final BulkBatchRenderBackend bulkRenderBackend;
+
   /**
    * The standard constructor. You'll use this in production code. Using this
    * constructor will configure the RenderDevice to not log FPS on System.out.
@@ -76,9 +84,15 @@ public class BatchRenderDevice implements RenderDevice {
     this.atlasWidth = atlasWidth;
     this.atlasHeight = atlasHeight;
 
+    if (renderBackend instanceof BulkBatchRenderBackend) {
+      bulkRenderBackend = (BulkBatchRenderBackend) renderBackend;
+    } else {
+      bulkRenderBackend = null;
+    }
+
     time = System.currentTimeMillis();
     frames = 0;
-    generator = new TextureAtlasGenerator(atlasWidth, atlasHeight);
+    generator = new TextureAtlasGenerator(atlasWidth, atlasHeight, TextureAtlasGenerator.Algorithm.MAX_RECTS);
     fontRenderer = new FontRenderer(this);
     factory = new BitmapFontFactory(fontRenderer);
     renderBackend.createAtlasTexture(atlasWidth, atlasHeight);
@@ -205,7 +219,10 @@ public class BatchRenderDevice implements RenderDevice {
   @Override
   public RenderImage createImage(final String filename, final boolean filterLinear) {
     Image image = renderBackend.loadImage(filename);
-    return new BatchRenderImage(image, generator, filename, renderBackend);
+    // the same file might be loaded more than once (with different filterLinear values or as a font page) so each image
+    // gets its own name in the texture atlas
+    String atlasName = filename + "#" + createdImageCount++;
+    return new BatchRenderImage(image, generator, filename, atlasName, renderBackend, uploadedImages);
   }
 
   @Override
@@ -369,6 +386,48 @@ public class BatchRenderDevice implements RenderDevice {
     generator.reset();
     renderBackend.clearAtlasTexture(atlasWidth, atlasHeight);
     fontRenderer.unload();
+    uploadedImages.clear();
+  }
+
+  /**
+   * Pack all images of the texture atlas again so that the free space is available in as few pieces as possible. The
+   * moved images are copied to their new positions from the image data the BatchRenderBackend still has, so nothing
+   * is loaded again. Call this outside of beginFrame()/endFrame() because quads already added in the current frame
+   * still use the old positions.
+   *
+   * @return the number of images that have been moved
+   */
+  public int defragmentTextureAtlas() {
+    List<Relocation> relocations;
+    try {
+      relocations = generator.defragment(BatchRenderImage.ATLAS_PADDING);
+    } catch (TextureAtlasGeneratorException e) {
+      log.warning("texture atlas could not be defragmented, image [" + e.getName() + "] did not fit");
+      return 0;
+    }
+    for (int i = 0; i < relocations.size(); i++) {
+      Relocation relocation = relocations.get(i);
+      BatchRenderImage image = uploadedImages.get(relocation.getName());
+      if (image != null) {
+        image.relocate(relocation.getNewX(), relocation.getNewY());
+      }
+    }
+    log.fine("texture atlas defragmented, " + relocations.size() + " images moved");
+    return relocations.size();
+  }
+
+  /**
+   * @return the part of the texture atlas covered by images in the range 0 to 1
+   */
+  public float getTextureAtlasOccupancy() {
+    return generator.getOccupancy();
+  }
+
+  /**
+   * @return the fragmentation of the free space of the texture atlas in the range 0 (a single free rectangle) to 1
+   */
+  public float getTextureAtlasFragmentation() {
+    return generator.getFragmentation();
   }
 
   // Internal implementations
@@ -474,21 +533,74 @@ public class BatchRenderDevice implements RenderDevice {
       renderBackend.beginBatch(currentBlendMode);
       activeBatch = true;
     }
-    renderBackend.addQuad(
-        x, y,
-        width,
-        height,
-        color1,
-        color2,
-        color3,
-        color4,
-        calcU(textureX, atlasWidth),
-        calcU(textureY, atlasHeight),
-        calcU(textureWidth - 1, atlasWidth),
-        calcU(textureHeight - 1, atlasHeight));
+    if (bulkRenderBackend != null) {
+      addBulkQuad(
+          x, y,
+          width,
+          height,
+          color1,
+          color2,
+          color3,
+          color4,
+          calcU(textureX, atlasWidth),
+          calcU(textureY, atlasHeight),
+          calcU(textureWidth - 1, atlasWidth),
+          calcU(textureHeight - 1, atlasHeight));
+    } else {
+      renderBackend.addQuad(
+          x, y,
+          width,
+          height,
+          color1,
+          color2,
+          color3,
+          color4,
+          calcU(textureX, atlasWidth),
+          calcU(textureY, atlasHeight),
+          calcU(textureWidth - 1, atlasWidth),
+          calcU(textureHeight - 1, atlasHeight));
+    }
     quadCount++;
   }
 
+  private void addBulkQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      final Color color1,
+      final Color color2,
+      final Color color3,
+      final Color color4,
+      final float textureX,
+      final float textureY,
+      final float textureWidth,
+      final float textureHeight) {
+    FloatBuffer buffer = bulkRenderBackend.getQuadBuffer();
+    // color4 is the bottom right and color3 the bottom left color (see the callers of addQuad)
+    putVertex(buffer, x, y, color1, textureX, textureY);
+    putVertex(buffer, x + width, y, color2, textureX + textureWidth, textureY);
+    putVertex(buffer, x + width, y + height, color4, textureX + textureWidth, textureY + textureHeight);
+    putVertex(buffer, x, y + height, color3, textureX, textureY + textureHeight);
+  }
+
+  private void putVertex(
+      final FloatBuffer buffer,
+      final float x,
+      final float y,
+      final Color color,
+      final float textureX,
+      final float textureY) {
+    buffer.put(x);
+    buffer.put(y);
+    buffer.put(color.getRed());
+    buffer.put(color.getGreen());
+    buffer.put(color.getBlue());
+    buffer.put(color.getAlpha());
+    buffer.put(textureX);
+    buffer.put(textureY);
+  }
+
   private float calcU(final int value, final int max) {
     return (0.5f / (float) max) + (value / (float) max);
   }
@@ -671,7 +783,6 @@ public class BatchRenderDevice implements RenderDevice {
   private static class BitmapInfo {
     private final BatchRenderImage image;
     private final Map<Character, CharRenderInfo> characterIndices = new Hashtable<Character, CharRenderInfo>();
-    private Result result;
 
     public BitmapInfo(final BatchRenderImage image) {
       this.image = image;
@@ -682,7 +793,6 @@ public class BatchRenderDevice implements RenderDevice {
         return;
       }
       image.upload();
-      result = new Result(image.getX(), image.getY(), image.getWidth(), image.getHeight());
     }
 
     private void unload() {
@@ -690,10 +800,11 @@ public class BatchRenderDevice implements RenderDevice {
     }
 
     public void renderCharacter(char c, int x, int y, float sx, float sy, Color textColor) {
-      int atlasX0 = result.getX();
-      int atlasY0 = result.getY();
-      int atlasImageW = result.getOriginalImageWidth();
-      int atlasImageH = result.getOriginalImageHeight();
+      // the position is taken from the image every time since it changes when the texture atlas is defragmented
+      int atlasX0 = image.getX();
+      int atlasY0 = image.getY();
+      int atlasImageW = image.getWidth();
+      int atlasImageH = image.getHeight();
       characterIndices.get(c).renderQuad(x, y, sx, sy, textColor, atlasX0, atlasY0, atlasImageW, atlasImageH);
     }
 
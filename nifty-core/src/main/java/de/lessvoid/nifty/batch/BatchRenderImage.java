@@ -1,5 +1,6 @@
 package de.lessvoid.nifty.batch;
 
+import java.util.Map;
 import java.util.logging.Logger;
 
 import de.lessvoid.nifty.batch.TextureAtlasGenerator.Result;
@@ -15,10 +16,17 @@ import de.lessvoid.nifty.spi.render.RenderImage;
 public class BatchRenderImage implements RenderImage {
   private static final Logger log = Logger.getLogger(BatchRenderImage.class.getName());
 
+  /**
+   * The padding between images in the texture atlas.
+   */
+  public static final int ATLAS_PADDING = 5;
+
   private final TextureAtlasGenerator generator;
   private final String filename;
+  private final String atlasName;
   private final BatchRenderBackend renderBackend;
   private final Image image;
+  private final Map<String, BatchRenderImage> uploadedImages;
   private int x;
   private int y;
   private boolean uploaded;
@@ -28,9 +36,27 @@ public class BatchRenderImage implements RenderImage {
       final TextureAtlasGenerator generator,
       final String filename,
       final BatchRenderBackend renderBackend) {
+    this(image, generator, filename, filename, renderBackend, null);
+  }
+
+  /**
+   * @param atlasName the name of the image in the texture atlas. This must be unique for each BatchRenderImage
+   * because the same file can be loaded more than once.
+   * @param uploadedImages the image will add itself to this map with its atlasName as the key while it is uploaded so
+   * that it can be found when the texture atlas is defragmented (can be null)
+   */
+  public BatchRenderImage(
+      final Image image,
+      final TextureAtlasGenerator generator,
+      final String filename,
+      final String atlasName,
+      final BatchRenderBackend renderBackend,
+      final Map<String, BatchRenderImage> uploadedImages) {
     this.image = image;
+    this.uploadedImages = uploadedImages;
     this.generator = generator;
     this.filename = filename;
+    this.atlasName = atlasName;
     this.renderBackend = renderBackend;
 
     // the real x and y will be calculated in the upload() method
@@ -63,11 +89,14 @@ public class BatchRenderImage implements RenderImage {
       return;
     }
     try {
-      Result result = generator.addImage(image.getWidth(), image.getHeight(), filename, 5);
+      Result result = generator.addImage(image.getWidth(), image.getHeight(), atlasName, ATLAS_PADDING);
       renderBackend.addImageToTexture(image, result.getX(), result.getY());
       x = result.getX();
       y = result.getY();
       uploaded = true;
+      if (uploadedImages != null) {
+        uploadedImages.put(atlasName, this);
+      }
       log.finer("image [" + filename + "] uploaded (texture atlas)");
     } catch (TextureAtlasGeneratorException e) {
       log.severe("Image [" + filename + "] did not fit into the texture atlas and will be missing in your screen");
@@ -78,9 +107,10 @@ public class BatchRenderImage implements RenderImage {
     if (!uploaded) {
       return;
     }
-    Result result = generator.removeImage(filename);
+    Result result = generator.removeImage(atlasName);
     renderBackend.removeFromTexture(image, result.getX(), result.getY(), result.getOriginalImageWidth(), result.getOriginalImageHeight());
     uploaded = false;
+    removeFromUploadedImages();
     log.finer("image [" + filename + "] unloaded (texture atlas)");
   }
 
@@ -90,9 +120,29 @@ public class BatchRenderImage implements RenderImage {
 
   public void markAsUnloaded() {
     uploaded = false;
+    removeFromUploadedImages();
     log.finer("image [" + filename + "] marked as unloaded (texture atlas)");
   }
 
+  /**
+   * The image has been moved to a new position in the texture atlas. We copy the image data that is still available
+   * from the BatchRenderBackend to the new position.
+   * @param newX new x position in the texture atlas
+   * @param newY new y position in the texture atlas
+   */
+  void relocate(final int newX, final int newY) {
+    x = newX;
+    y = newY;
+    renderBackend.addImageToTexture(image, x, y);
+    log.finer("image [" + filename + "] relocated (texture atlas)");
+  }
+
+  private void removeFromUploadedImages() {
+    if (uploadedImages != null && uploadedImages.get(atlasName) == this) {
+      uploadedImages.remove(atlasName);
+    }
+  }
+
   public String toString() {
     return super.toString() + " {" + filename + "}";
   }
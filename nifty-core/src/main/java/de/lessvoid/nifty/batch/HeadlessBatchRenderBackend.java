@@ -0,0 +1,268 @@
+package de.lessvoid.nifty.batch;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.lessvoid.nifty.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.batch.spi.BulkBatchRenderBackend;
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+/**
+ * A pure Java BatchRenderBackend that doesn't render anything but records all the quads of a frame in the vertex
+ * format of BulkBatchRenderBackend. It's meant as a reference implementation and to test and benchmark the
+ * BatchRenderDevice without any graphics system available.
+ *
+ * Images are not loaded. loadImage() returns images with the size given with setImageSize() or the default image size
+ * for unknown files.
+ */
+public class HeadlessBatchRenderBackend implements BatchRenderBackend, BulkBatchRenderBackend {
+  private final int width;
+  private final int height;
+  private final Map < String, int[] > imageSizes = new HashMap < String, int[] >();
+  private int defaultImageWidth = 16;
+  private int defaultImageHeight = 16;
+  private NiftyResourceLoader resourceLoader;
+  private int atlasWidth;
+  private int atlasHeight;
+
+  private final List < BlendMode > batchBlendModes = new ArrayList < BlendMode >();
+  private final List < Integer > batchStarts = new ArrayList < Integer >();
+  private FloatBuffer vertices = FloatBuffer.allocate(1024 * QUAD_SIZE);
+  private int quadCount;
+
+  public HeadlessBatchRenderBackend(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Set the size loadImage() should report for the given file.
+   * @param filename the filename
+   * @param imageWidth the width of the image
+   * @param imageHeight the height of the image
+   */
+  public void setImageSize(final String filename, final int imageWidth, final int imageHeight) {
+    imageSizes.put(filename, new int[] { imageWidth, imageHeight });
+  }
+
+  /**
+   * Set the size loadImage() should report for files without a size set with setImageSize().
+   * @param imageWidth the width of the image
+   * @param imageHeight the height of the image
+   */
+  public void setDefaultImageSize(final int imageWidth, final int imageHeight) {
+    defaultImageWidth = imageWidth;
+    defaultImageHeight = imageHeight;
+  }
+
+  @Override
+  public void setResourceLoader(final NiftyResourceLoader niftyResourceLoader) {
+    this.resourceLoader = niftyResourceLoader;
+  }
+
+  public NiftyResourceLoader getResourceLoader() {
+    return resourceLoader;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void beginFrame() {
+    batchBlendModes.clear();
+    batchStarts.clear();
+    vertices.clear();
+    quadCount = 0;
+  }
+
+  @Override
+  public void endFrame() {
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Override
+  public MouseCursor createMouseCursor(final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+
+  @Override
+  public void createAtlasTexture(final int width, final int height) {
+    atlasWidth = width;
+    atlasHeight = height;
+  }
+
+  @Override
+  public void clearAtlasTexture(final int width, final int height) {
+  }
+
+  public int getAtlasWidth() {
+    return atlasWidth;
+  }
+
+  public int getAtlasHeight() {
+    return atlasHeight;
+  }
+
+  @Override
+  public Image loadImage(final String filename) {
+    int[] size = imageSizes.get(filename);
+    if (size == null) {
+      return new ImageImpl(defaultImageWidth, defaultImageHeight);
+    }
+    return new ImageImpl(size[0], size[1]);
+  }
+
+  @Override
+  public void addImageToTexture(final Image image, final int x, final int y) {
+  }
+
+  @Override
+  public void removeFromTexture(final Image image, final int x, final int y, final int w, final int h) {
+  }
+
+  @Override
+  public void beginBatch(final BlendMode blendMode) {
+    batchBlendModes.add(blendMode);
+    batchStarts.add(quadCount);
+  }
+
+  @Override
+  public void addQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      final Color color1,
+      final Color color2,
+      final Color color3,
+      final Color color4,
+      final float textureX,
+      final float textureY,
+      final float textureWidth,
+      final float textureHeight) {
+    // same vertex order as the other backends use: color4 is the bottom right and color3 the bottom left color
+    FloatBuffer buffer = getQuadBuffer();
+    putVertex(buffer, x, y, color1, textureX, textureY);
+    putVertex(buffer, x + width, y, color2, textureX + textureWidth, textureY);
+    putVertex(buffer, x + width, y + height, color4, textureX + textureWidth, textureY + textureHeight);
+    putVertex(buffer, x, y + height, color3, textureX, textureY + textureHeight);
+  }
+
+  @Override
+  public FloatBuffer getQuadBuffer() {
+    if (vertices.remaining() < QUAD_SIZE) {
+      FloatBuffer newVertices = FloatBuffer.allocate(vertices.capacity() * 2);
+      vertices.flip();
+      newVertices.put(vertices);
+      vertices = newVertices;
+    }
+    quadCount++;
+    return vertices;
+  }
+
+  @Override
+  public int render() {
+    return batchBlendModes.size();
+  }
+
+  /**
+   * @return the number of batches started in the current frame
+   */
+  public int getBatchCount() {
+    return batchBlendModes.size();
+  }
+
+  /**
+   * @param batch the batch index
+   * @return the BlendMode of the batch
+   */
+  public BlendMode getBatchBlendMode(final int batch) {
+    return batchBlendModes.get(batch);
+  }
+
+  /**
+   * @param batch the batch index
+   * @return the index of the first quad of the batch
+   */
+  public int getBatchStart(final int batch) {
+    return batchStarts.get(batch);
+  }
+
+  /**
+   * @return the number of quads added in the current frame
+   */
+  public int getQuadCount() {
+    return quadCount;
+  }
+
+  /**
+   * Get a vertex value of the current frame. The vertex data holds BulkBatchRenderBackend.QUAD_SIZE floats for each
+   * quad.
+   * @param index the index into the vertex data
+   * @return the value
+   */
+  public float getVertexData(final int index) {
+    return vertices.get(index);
+  }
+
+  private void putVertex(
+      final FloatBuffer buffer,
+      final float x,
+      final float y,
+      final Color color,
+      final float textureX,
+      final float textureY) {
+    buffer.put(x);
+    buffer.put(y);
+    buffer.put(color.getRed());
+    buffer.put(color.getGreen());
+    buffer.put(color.getBlue());
+    buffer.put(color.getAlpha());
+    buffer.put(textureX);
+    buffer.put(textureY);
+  }
+
+  private static class ImageImpl implements BatchRenderBackend.Image {
+    private final int width;
+    private final int height;
+
+    private ImageImpl(final int width, final int height) {
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+      return width;
+    }
+
+    @Override
+    public int getHeight() {
+      return height;
+    }
+  }
+}
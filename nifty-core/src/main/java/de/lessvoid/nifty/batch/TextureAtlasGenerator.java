@@ -1,6 +1,9 @@
 package de.lessvoid.nifty.batch;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -14,15 +17,33 @@ import java.util.TreeMap;
  * This class tries to separate the actual algorithm from the image manipulating code so that this can be used with
  * different rendering/image frameworks.
  *
+ * Two packing algorithms are available:
+ *
+ * - BINARY_TREE is the original blackpawn algorithm. The space of a removed image can only be reused by an image that
+ *   fits into the very same node and free space never merges. So the atlas fragments when images are added and
+ *   removed a lot.
+ * - MAX_RECTS keeps a list of the maximal free rectangles (see "A Thousand Ways to Pack the Bin" by Jukka Jylanki) and
+ *   places images with the best short side fit. The space of a removed image is added to the free rectangles and
+ *   merged with the free rectangles it touches, so that freed space grows together with the free space around it.
+ *
+ * When the atlas got fragmented anyway defragment() packs all images again and tells you which of them have moved.
+ *
  * @author void
  */
 public class TextureAtlasGenerator {
-  private final int width;
-  private final int height;
+  public enum Algorithm {
+    BINARY_TREE,
+    MAX_RECTS
+  }
+
+  private int width;
+  private int height;
+  private final Algorithm algorithm;
   private Node root;
+  private List<Rectangle> freeRectangles;
 
-  // for easy access we keep each node in a map with the passed name as the key so we can look up a Node directly
-  private Map<String, Node> rectangleMap;
+  // for easy access we keep each image in a map with the passed name as the key so we can look up its place directly
+  private Map<String, Placement> rectangleMap;
 
   /**
    * You'll get an instance of this class back when you add an image. This class will show you where you'll need to
@@ -57,19 +78,87 @@ public class TextureAtlasGenerator {
     public int getOriginalImageHeight() {
       return originalImageHeight;
     }
-}
+  }
 
   /**
-   * Create a new TextureAtlasGenerator 
-   * @param destination
-   * @param width
-   * @param height
+   * defragment() returns an instance of this class for each image that has been moved to a new position.
+   * @author void
+   */
+  public static class Relocation {
+    private final String name;
+    private final int oldX;
+    private final int oldY;
+    private final int newX;
+    private final int newY;
+    private final int width;
+    private final int height;
+
+    public Relocation(
+        final String name,
+        final int oldX,
+        final int oldY,
+        final int newX,
+        final int newY,
+        final int width,
+        final int height) {
+      this.name = name;
+      this.oldX = oldX;
+      this.oldY = oldY;
+      this.newX = newX;
+      this.newY = newY;
+      this.width = width;
+      this.height = height;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getOldX() {
+      return oldX;
+    }
+
+    public int getOldY() {
+      return oldY;
+    }
+
+    public int getNewX() {
+      return newX;
+    }
+
+    public int getNewY() {
+      return newY;
+    }
+
+    public int getWidth() {
+      return width;
+    }
+
+    public int getHeight() {
+      return height;
+    }
+  }
+
+  /**
+   * Create a new TextureAtlasGenerator using the BINARY_TREE algorithm.
+   * @param width width of the texture atlas
+   * @param height height of the texture atlas
    */
   public TextureAtlasGenerator(final int width, final int height) {
+    this(width, height, Algorithm.BINARY_TREE);
+  }
+
+  /**
+   * Create a new TextureAtlasGenerator.
+   * @param width width of the texture atlas
+   * @param height height of the texture atlas
+   * @param algorithm the packing algorithm to use
+   */
+  public TextureAtlasGenerator(final int width, final int height, final Algorithm algorithm) {
     this.width = width;
     this.height = height;
-    this.root = new Node(0, 0, width, height);
-    this.rectangleMap = new TreeMap<String, Node>();
+    this.algorithm = algorithm;
+    reset();
   }
 
   /**
@@ -82,40 +171,308 @@ public class TextureAtlasGenerator {
    * @param padding padding to apply
    * @return the position of the image in the bigger texture taking all other previously added images into account
    * @throws TextureAtlasGeneratorException when the image could not be added
+   * @throws IllegalArgumentException when an image with the same name has already been added
    */
   public Result addImage(final int imageWidth, final int imageHeight, final String name, final int padding)
       throws TextureAtlasGeneratorException {
-      Node node = root.insert(imageWidth, imageHeight, padding);
-      if (node == null) {
-        throw new TextureAtlasGeneratorException(imageWidth, imageHeight, name);
-      }
+    if (rectangleMap.containsKey(name)) {
+      // replacing the placement would lose track of the space the first image still uses
+      throw new IllegalArgumentException("image [" + name + "] has already been added to the texture atlas");
+    }
+    Node node = null;
+    Rectangle reserved;
+    if (algorithm == Algorithm.MAX_RECTS) {
+      reserved = insertMaxRects(imageWidth, imageHeight, padding);
+    } else {
+      node = root.insert(imageWidth, imageHeight, padding);
+      reserved = node == null ? null : node.rect;
+    }
+    if (reserved == null) {
+      throw new TextureAtlasGeneratorException(imageWidth, imageHeight, name);
+    }
 
-      rectangleMap.put(name, node);
-      return new Result(node.rect.x, node.rect.y, imageWidth, imageHeight);
+    rectangleMap.put(name, new Placement(reserved, imageWidth, imageHeight, node));
+    return new Result(reserved.x, reserved.y, imageWidth, imageHeight);
   }
 
   public Result removeImage(final String name) {
-    Node node = rectangleMap.remove(name);
-    if (node == null) {
+    Placement placement = rectangleMap.remove(name);
+    if (placement == null) {
       return null;
     }
-    
-    node.occupied = false;
-    node.child[0] = null;
-    node.child[1] = null;
-    return new Result(node.rect.x, node.rect.y, node.rect.width, node.rect.height);
+
+    if (placement.node != null) {
+      placement.node.occupied = false;
+      placement.node.child[0] = null;
+      placement.node.child[1] = null;
+    } else {
+      freeMaxRects(placement.reserved);
+    }
+    return new Result(placement.reserved.x, placement.reserved.y, placement.imageWidth, placement.imageHeight);
   }
 
+  /**
+   * Add all images again to an empty texture atlas of the given size. The images are added in the order of their names.
+   * @param width the new width of the texture atlas
+   * @param height the new height of the texture atlas
+   * @param padding padding to apply
+   * @return the new positions of the images
+   * @throws TextureAtlasGeneratorException when an image could not be added
+   */
   public List<Result> rebuild(final int width, final int height, final int padding) throws TextureAtlasGeneratorException {
+    List<Map.Entry<String, Placement>> entries = new ArrayList<Map.Entry<String, Placement>>(rectangleMap.entrySet());
+    this.width = width;
+    this.height = height;
+    reset();
+
     List<Result> results = new ArrayList<Result>();
-    root = new Node(0, 0, width, height);
-    for (Map.Entry<String, Node> entry : rectangleMap.entrySet()) {
-      Rectangle rect = entry.getValue().rect;
-      results.add(addImage(rect.width, rect.height, entry.getKey(), padding));
+    for (Map.Entry<String, Placement> entry : entries) {
+      Placement placement = entry.getValue();
+      results.add(addImage(placement.imageWidth, placement.imageHeight, entry.getKey(), padding));
     }
     return results;
   }
 
+  /**
+   * Pack all images again starting with the largest ones. This usually frees a lot more continuous space than the
+   * incremental adding and removing of images leaves. When the images don't fit anymore the old positions are kept.
+   *
+   * It's up to you to copy the moved images to their new positions.
+   *
+   * @param padding padding to apply
+   * @return the images that have been moved
+   * @throws TextureAtlasGeneratorException when the images could not be packed again
+   */
+  public List<Relocation> defragment(final int padding) throws TextureAtlasGeneratorException {
+    List<Map.Entry<String, Placement>> entries = new ArrayList<Map.Entry<String, Placement>>(rectangleMap.entrySet());
+    Collections.sort(entries, new LargestFirst());
+
+    Node oldRoot = root;
+    List<Rectangle> oldFreeRectangles = freeRectangles;
+    Map<String, Placement> oldRectangleMap = rectangleMap;
+    reset();
+    try {
+      for (Map.Entry<String, Placement> entry : entries) {
+        Placement placement = entry.getValue();
+        addImage(placement.imageWidth, placement.imageHeight, entry.getKey(), padding);
+      }
+    } catch (TextureAtlasGeneratorException e) {
+      root = oldRoot;
+      freeRectangles = oldFreeRectangles;
+      rectangleMap = oldRectangleMap;
+      throw e;
+    }
+
+    List<Relocation> relocations = new ArrayList<Relocation>();
+    for (Map.Entry<String, Placement> entry : entries) {
+      Rectangle oldRect = entry.getValue().reserved;
+      Placement placement = rectangleMap.get(entry.getKey());
+      if (oldRect.x != placement.reserved.x || oldRect.y != placement.reserved.y) {
+        relocations.add(new Relocation(
+            entry.getKey(),
+            oldRect.x,
+            oldRect.y,
+            placement.reserved.x,
+            placement.reserved.y,
+            placement.imageWidth,
+            placement.imageHeight));
+      }
+    }
+    return relocations;
+  }
+
+  /**
+   * @return the part of the texture atlas that is covered by images in the range 0 to 1 (padding is not counted)
+   */
+  public float getOccupancy() {
+    long used = 0;
+    for (Placement placement : rectangleMap.values()) {
+      used += (long) placement.imageWidth * placement.imageHeight;
+    }
+    return used / ((float) width * height);
+  }
+
+  /**
+   * Get the fragmentation of the free space. This is 0 when all of the free space is available as a single rectangle
+   * and approaches 1 the more the free space is split into small pieces. This is calculated as one minus the area of
+   * the largest free rectangle divided by the whole free area.
+   * @return the fragmentation in the range 0 to 1
+   */
+  public float getFragmentation() {
+    long[] freeArea = new long[2];
+    if (algorithm == Algorithm.MAX_RECTS) {
+      // the free rectangles overlap so the free area is calculated from the space the images take
+      freeArea[0] = (long) width * height;
+      for (Placement placement : rectangleMap.values()) {
+        freeArea[0] -= placement.reserved.area();
+      }
+      for (Rectangle free : freeRectangles) {
+        freeArea[1] = Math.max(freeArea[1], free.area());
+      }
+    } else {
+      root.collectFreeArea(freeArea);
+    }
+    if (freeArea[0] <= 0) {
+      return 0.f;
+    }
+    return 1.f - freeArea[1] / (float) freeArea[0];
+  }
+
+  public Algorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public void reset() {
+    this.root = new Node(0, 0, width, height);
+    this.freeRectangles = new ArrayList<Rectangle>();
+    this.freeRectangles.add(new Rectangle(0, 0, width, height));
+    this.rectangleMap = new TreeMap<String, Placement>();
+  }
+
+  // MaxRects with the best short side fit rule
+
+  private Rectangle insertMaxRects(final int imageWidth, final int imageHeight, final int padding) {
+    Rectangle best = null;
+    int bestShortSide = Integer.MAX_VALUE;
+    int bestLongSide = Integer.MAX_VALUE;
+    for (int i = 0; i < freeRectangles.size(); i++) {
+      Rectangle free = freeRectangles.get(i);
+      if (imageWidth > free.width || imageHeight > free.height) {
+        continue;
+      }
+      // the padding is not necessary at the right and bottom border of the atlas
+      int reservedWidth = Math.min(imageWidth + padding, width - free.x);
+      int reservedHeight = Math.min(imageHeight + padding, height - free.y);
+      if (reservedWidth > free.width || reservedHeight > free.height) {
+        continue;
+      }
+      int leftoverX = free.width - reservedWidth;
+      int leftoverY = free.height - reservedHeight;
+      int shortSide = Math.min(leftoverX, leftoverY);
+      int longSide = Math.max(leftoverX, leftoverY);
+      if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+        best = new Rectangle(free.x, free.y, reservedWidth, reservedHeight);
+        bestShortSide = shortSide;
+        bestLongSide = longSide;
+      }
+    }
+    if (best != null) {
+      splitFreeRectangles(best);
+    }
+    return best;
+  }
+
+  private void splitFreeRectangles(final Rectangle used) {
+    List<Rectangle> result = new ArrayList<Rectangle>(freeRectangles.size() + 4);
+    List<Rectangle> pieces = new ArrayList<Rectangle>();
+    for (int i = 0; i < freeRectangles.size(); i++) {
+      Rectangle free = freeRectangles.get(i);
+      if (!free.intersects(used)) {
+        result.add(free);
+        continue;
+      }
+      if (used.x > free.x) {
+        pieces.add(new Rectangle(free.x, free.y, used.x - free.x, free.height));
+      }
+      if (used.right() < free.right()) {
+        pieces.add(new Rectangle(used.right(), free.y, free.right() - used.right(), free.height));
+      }
+      if (used.y > free.y) {
+        pieces.add(new Rectangle(free.x, free.y, free.width, used.y - free.y));
+      }
+      if (used.bottom() < free.bottom()) {
+        pieces.add(new Rectangle(free.x, used.bottom(), free.width, free.bottom() - used.bottom()));
+      }
+    }
+
+    // the untouched free rectangles don't contain each other, so only the new pieces need to be checked
+    for (int i = 0; i < pieces.size(); i++) {
+      Rectangle piece = pieces.get(i);
+      if (!isContained(piece, result, 0) && !isContained(piece, pieces, i + 1)) {
+        result.add(piece);
+      }
+    }
+    freeRectangles = result;
+  }
+
+  // adds the freed space and all rectangles it forms together with the free rectangles around it
+  private void freeMaxRects(final Rectangle freed) {
+    List<Rectangle> added = new ArrayList<Rectangle>();
+    addFreeRectangle(freed, added);
+    for (int i = 0; i < added.size(); i++) {
+      Rectangle current = added.get(i);
+      List<Rectangle> merged = new ArrayList<Rectangle>();
+      for (int j = 0; j < freeRectangles.size(); j++) {
+        Rectangle free = freeRectangles.get(j);
+        if (free != current) {
+          merged.add(current.mergeHorizontally(free));
+          merged.add(current.mergeVertically(free));
+        }
+      }
+      for (int j = 0; j < merged.size(); j++) {
+        addFreeRectangle(merged.get(j), added);
+      }
+    }
+  }
+
+  // adds the rectangle unless a free rectangle already contains it and drops the free rectangles it contains
+  private void addFreeRectangle(final Rectangle candidate, final List<Rectangle> added) {
+    if (candidate == null || isContained(candidate, freeRectangles, 0)) {
+      return;
+    }
+    for (Iterator<Rectangle> it = freeRectangles.iterator(); it.hasNext(); ) {
+      if (candidate.contains(it.next())) {
+        it.remove();
+      }
+    }
+    freeRectangles.add(candidate);
+    added.add(candidate);
+  }
+
+  private static boolean isContained(final Rectangle rectangle, final List<Rectangle> rectangles, final int start) {
+    for (int i = start; i < rectangles.size(); i++) {
+      if (rectangles.get(i).contains(rectangle)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class LargestFirst implements Comparator<Map.Entry<String, Placement>> {
+    @Override
+    public int compare(final Map.Entry<String, Placement> o1, final Map.Entry<String, Placement> o2) {
+      Placement p1 = o1.getValue();
+      Placement p2 = o2.getValue();
+      int side1 = Math.max(p1.imageWidth, p1.imageHeight);
+      int side2 = Math.max(p2.imageWidth, p2.imageHeight);
+      if (side1 != side2) {
+        return side2 - side1;
+      }
+      int area1 = p1.imageWidth * p1.imageHeight;
+      int area2 = p2.imageWidth * p2.imageHeight;
+      if (area1 != area2) {
+        return area2 - area1;
+      }
+      return o1.getKey().compareTo(o2.getKey());
+    }
+  }
+
+  private static class Placement {
+    // the part of the atlas taken by the image including the padding
+    private final Rectangle reserved;
+    private final int imageWidth;
+    private final int imageHeight;
+    // only used for the BINARY_TREE algorithm
+    private final Node node;
+
+    private Placement(final Rectangle reserved, final int imageWidth, final int imageHeight, final Node node) {
+      this.reserved = reserved;
+      this.imageWidth = imageWidth;
+      this.imageHeight = imageHeight;
+      this.node = node;
+    }
+  }
+
   private static class Rectangle {
     private int x;
     private int y;
@@ -128,6 +485,49 @@ public class TextureAtlasGenerator {
       this.width = width;
       this.height = height;
     }
+
+    public int right() {
+      return x + width;
+    }
+
+    public int bottom() {
+      return y + height;
+    }
+
+    public long area() {
+      return (long) width * height;
+    }
+
+    public boolean intersects(final Rectangle other) {
+      return x < other.right() && other.x < right() && y < other.bottom() && other.y < bottom();
+    }
+
+    public boolean contains(final Rectangle other) {
+      return other.x >= x && other.y >= y && other.right() <= right() && other.bottom() <= bottom();
+    }
+
+    // the rectangle covering both side by side when they overlap or touch horizontally, limited to their common rows
+    public Rectangle mergeHorizontally(final Rectangle other) {
+      int top = Math.max(y, other.y);
+      int bottom = Math.min(bottom(), other.bottom());
+      if (x > other.right() || other.x > right() || top >= bottom) {
+        return null;
+      }
+      int left = Math.min(x, other.x);
+      return new Rectangle(left, top, Math.max(right(), other.right()) - left, bottom - top);
+    }
+
+    // the rectangle covering both on top of each other when they overlap or touch vertically, limited to their
+    // common columns
+    public Rectangle mergeVertically(final Rectangle other) {
+      int left = Math.max(x, other.x);
+      int right = Math.min(right(), other.right());
+      if (y > other.bottom() || other.y > bottom() || left >= right) {
+        return null;
+      }
+      int top = Math.min(y, other.y);
+      return new Rectangle(left, top, right - left, Math.max(bottom(), other.bottom()) - top);
+    }
   }
 
   private static class Node {
@@ -147,6 +547,19 @@ public class TextureAtlasGenerator {
       return child[0] == null && child[1] == null;
     }
 
+    // adds the free area of all unoccupied leafs to freeArea[0] and keeps the largest one in freeArea[1]
+    public void collectFreeArea(final long[] freeArea) {
+      if (!isLeaf()) {
+        child[0].collectFreeArea(freeArea);
+        child[1].collectFreeArea(freeArea);
+        return;
+      }
+      if (!occupied && rect.width > 0 && rect.height > 0) {
+        freeArea[0] += rect.area();
+        freeArea[1] = Math.max(freeArea[1], rect.area());
+      }
+    }
+
     // Algorithm from http://www.blackpawn.com/texts/lightmaps/
     public Node insert(final int imageWidth, final int imageHeight, final int padding) {
       if (!isLeaf()) {
@@ -183,9 +596,4 @@ public class TextureAtlasGenerator {
       return child[0].insert(imageWidth, imageHeight, padding);
     }
   }
-
-  public void reset() {
-    this.root = new Node(0, 0, width, height);
-    this.rectangleMap = new TreeMap<String, Node>();
-  }
 }
@@ -0,0 +1,41 @@
+package de.lessvoid.nifty.batch.spi;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Optional interface a BatchRenderBackend can implement to receive quads without one addQuad() call per quad. When the
+ * BatchRenderBackend given to the BatchRenderDevice implements this interface the BatchRenderDevice writes all quads
+ * directly into the vertex buffer of the current batch, so there is no copy of the vertex data in between.
+ *
+ * Each quad consists of four vertices in the order top left, top right, bottom right and bottom left. Each vertex
+ * uses VERTEX_SIZE floats:
+ *
+ * - 2 x pos (screen coordinates with 0,0 being the left, upper corner)
+ * - 4 x color (red, green, blue and alpha in the range 0 to 1)
+ * - 2 x texture (already normalized in the range 0 to 1)
+ *
+ * As with addQuad() there will always be a beginBatch() call before any getQuadBuffer() call and all quads belong to
+ * the current batch. If the current batch is full the BatchRenderBackend implementation might create a new batch
+ * automatically.
+ */
+public interface BulkBatchRenderBackend {
+
+  /**
+   * Number of floats per vertex.
+   */
+  int VERTEX_SIZE = 8;
+
+  /**
+   * Number of floats per quad.
+   */
+  int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+  /**
+   * Add a quad to the current batch and get the buffer to write it to. The caller must put exactly QUAD_SIZE floats
+   * with relative put() calls starting at the current position of the buffer before it calls any other method of
+   * the BatchRenderBackend.
+   *
+   * @return the vertex buffer of the current batch with room for at least one more quad
+   */
+  FloatBuffer getQuadBuffer();
+}
@@ -8,7 +8,6 @@ import de.lessvoid.nifty.input.NiftyInputMapping;
 import de.lessvoid.nifty.screen.KeyInputHandler;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.screen.ScreenController;
-import de.lessvoid.xml.tools.ClassHelper;
 
 public class ScreenCreator {
   private static Logger log = Logger.getLogger(ScreenCreator.class.getName());
@@ -49,8 +48,8 @@ public class ScreenCreator {
 
     addRootElement(nifty, screen);
     addDefaultFocusElement(screen);
-    addInputMapping(screen, inputMapping);
-    addPreInputMapping(screen, inputMappingPre);
+    addInputMapping(nifty, screen, inputMapping);
+    addPreInputMapping(nifty, screen, inputMappingPre);
 
     nifty.addScreen(id, screen);
     return screen;
@@ -69,9 +68,9 @@ public class ScreenCreator {
     screen.setDefaultFocusElement(defaultFocusElement);
   }
 
-  private void addInputMapping(final Screen screen, final String inputMappingClass) {
+  private void addInputMapping(final Nifty nifty, final Screen screen, final String inputMappingClass) {
     if (inputMappingClass != null) {
-      NiftyInputMapping inputMapping = ClassHelper.getInstance(inputMappingClass, NiftyInputMapping.class);
+      NiftyInputMapping inputMapping = nifty.getInstanceFactoryRegistry().getInstance(inputMappingClass, NiftyInputMapping.class);
       if (!(screenController instanceof KeyInputHandler)) {
         log.warning("class [" + screenController + "] tries to use inputMapping [" + inputMappingClass + "] but does not implement [" + KeyInputHandler.class.getName() + "]");
       } else {
@@ -80,9 +79,9 @@ public class ScreenCreator {
     }
   }
 
-  private void addPreInputMapping(final Screen screen, final String inputMappingClass) {
+  private void addPreInputMapping(final Nifty nifty, final Screen screen, final String inputMappingClass) {
     if (inputMappingClass != null) {
-      NiftyInputMapping inputMapping = ClassHelper.getInstance(inputMappingClass, NiftyInputMapping.class);
+      NiftyInputMapping inputMapping = nifty.getInstanceFactoryRegistry().getInstance(inputMappingClass, NiftyInputMapping.class);
       if (!(screenController instanceof KeyInputHandler)) {
         log.warning("class [" + screenController + "] tries to use inputMapping [" + inputMappingClass + "] but does not implement [" + KeyInputHandler.class.getName() + "]");
       } else {
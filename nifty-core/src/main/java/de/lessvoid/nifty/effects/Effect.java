@@ -145,6 +145,14 @@ public class Effect {
     setActiveInternal(timeInterpolator.update(), !neverStopRendering);
   }
 
+  /**
+   * Update this effect with the given time instead of asking the TimeProvider.
+   * @param now the current time in ms
+   */
+  public void update(final long now) {
+    setActiveInternal(timeInterpolator.update(now), !neverStopRendering);
+  }
+
   public void execute(final NiftyRenderEngine r) {
     if (isHoverEffect()) {
       effectImpl.execute(element, timeInterpolator.getValue(), falloff, r);
@@ -157,6 +165,15 @@ public class Effect {
     return active;
   }
 
+  /**
+   * Returns true while this effect is active and its time interpolation still changes the value it is rendered with.
+   * An infinite effect without a length keeps the same value so it doesn't change anymore once it has been started.
+   * @return true when the effect still changes
+   */
+  public boolean isChanging() {
+    return active && timeInterpolator.isChanging();
+  }
+
   public void deactivate() {
     setActiveInternal(false, true);
   }
@@ -217,13 +234,21 @@ public class Effect {
   }
 
   public boolean isInsideFalloff(final int x, final int y) {
-    if (falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none) {
+    if (hasHoverFalloff()) {
       return falloff.isInside(element, x, y);
     } else {
       return element.isMouseInsideElement(x, y);
     }
   }
 
+  /**
+   * Returns true when this hover effect uses a falloff area instead of the area of the element.
+   * @return true when a falloff area is used
+   */
+  public boolean hasHoverFalloff() {
+    return falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none;
+  }
+
   public boolean isOverlay() {
     return overlay;
   }
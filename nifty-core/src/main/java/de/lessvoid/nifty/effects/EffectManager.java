@@ -62,15 +62,20 @@ public class EffectManager {
   private Falloff hoverFalloff;
   private String alternateKey;
   private boolean isEmpty = true;
+  private boolean hoverEffects;
   private Notify notify;
+  private EffectScheduler scheduler;
 
-  // we're not multi-threaded so we can use static in here to save memory allocation when creating lots of elements
-  private static NiftyRenderDeviceProxy renderDeviceProxy = new NiftyRenderDeviceProxy();
-  private static RenderPhase renderPhasePre = new RenderPhasePre();
-  private static RenderPhase renderPhasePost = new RenderPhasePost();
-  private static RenderPhase renderPhaseOverlay = new RenderPhaseOverlay();
-  private static EffectProcessorNull effectProcessorNull = new EffectProcessorNull();
-  private static RenderStates savedRenderStates = new RenderStates();
+  // these don't have any state so they can be shared between all instances (and all Nifty instances and threads)
+  private static final RenderPhase renderPhasePre = new RenderPhasePre();
+  private static final RenderPhase renderPhasePost = new RenderPhasePost();
+  private static final RenderPhase renderPhaseOverlay = new RenderPhaseOverlay();
+  private static final EffectProcessorNull effectProcessorNull = new EffectProcessorNull();
+
+  // temporary state used in begin(). these are only created for EffectManagers that actually render effects so that
+  // creating lots of elements without effects doesn't allocate them.
+  private NiftyRenderDeviceProxy renderDeviceProxy;
+  private RenderStates savedRenderStates;
 
   /**
    * create a new effectManager with the given listener.
@@ -89,11 +94,34 @@ public class EffectManager {
     EffectProcessor processor = effectProcessor.get(id);
     if (processor == null) {
       processor = id.createEffectProcessor(new NotifyAdapter(id, notify));
+      processor.setScheduler(scheduler);
       effectProcessor.put(id, processor);
       effectProcessorList.add(processor);
     }
     processor.registerEffect(e);
     isEmpty = false;
+    if (isHoverEffectEventId(id)) {
+      hoverEffects = true;
+      notify.hoverEffectsChanged();
+    }
+  }
+
+  /**
+   * Set the EffectScheduler that advances the active effects of this EffectManager once per frame.
+   * @param newScheduler the EffectScheduler of the Screen the element belongs to
+   */
+  public void setEffectScheduler(final EffectScheduler newScheduler) {
+    scheduler = newScheduler;
+    for (int i=0; i<effectProcessorList.size(); i++) {
+      effectProcessorList.get(i).setScheduler(newScheduler);
+    }
+  }
+
+  /**
+   * @return the EffectScheduler that advances the active effects of this EffectManager or null
+   */
+  public EffectScheduler getEffectScheduler() {
+    return scheduler;
   }
 
   /**
@@ -130,6 +158,10 @@ public class EffectManager {
    * @param renderDevice RenderDevice
    */
   public void begin(final NiftyRenderEngine renderDevice, final Element element) {
+    if (savedRenderStates == null) {
+      renderDeviceProxy = new NiftyRenderDeviceProxy();
+      savedRenderStates = new RenderStates();
+    }
     savedRenderStates.addAll();
     for (int i=0; i<effectProcessorList.size(); i++) {
       effectProcessorList.get(i).getRenderStatesToSave(renderDeviceProxy);
@@ -195,6 +227,15 @@ public class EffectManager {
     return getEffectProcessor(effectEventId).isActive();
   }
 
+  /**
+   * checks if the effects of a certain effect type still change what is rendered.
+   * @param effectEventId the effectEventId to check
+   * @return true, if changing, false otherwise
+   */
+  public final boolean isChanging(final EffectEventId effectEventId) {
+    return getEffectProcessor(effectEventId).isChanging();
+  }
+
   public void reset() {
 	// onHover should stay active and is not reset
 	// onActive should stay active and is not reset
@@ -282,16 +323,86 @@ public class EffectManager {
       effectProcessorList.get(i).removeAllEffects();
     }
     isEmpty = true;
+    if (hoverEffects) {
+      hoverEffects = false;
+      notify.hoverEffectsChanged();
+    }
+  }
+
+  /**
+   * Returns true when there is at least one onHover, onStartHover or onEndHover effect registered. Mouse events
+   * only need to be forwarded to the hover effect processing when this returns true.
+   * @return true when hover effects are available
+   */
+  public boolean hasHoverEffects() {
+    return hoverEffects;
   }
 
   public boolean isEmpty() {
     return isEmpty;
   }
 
+  /**
+   * Returns true when at least one effect of any effect type is currently active.
+   * @return true when an effect is active
+   */
+  public boolean isActive() {
+    for (int i=0; i<effectProcessorList.size(); i++) {
+      if (effectProcessorList.get(i).isActive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when at least one effect of any effect type still changes what is rendered.
+   * @return true when an effect is changing
+   */
+  public boolean isChanging() {
+    for (int i=0; i<effectProcessorList.size(); i++) {
+      if (effectProcessorList.get(i).isChanging()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when at least one of the hover effects uses a falloff area. Such an effect can be activated
+   * by the mouse even when the mouse is outside of the element.
+   * @return true when a hover effect with a falloff area is available
+   */
+  public boolean hasHoverFalloff() {
+    if (!hoverEffects) {
+      return false;
+    }
+    return hasHoverFalloff(EffectEventId.onHover)
+        || hasHoverFalloff(EffectEventId.onStartHover)
+        || hasHoverFalloff(EffectEventId.onEndHover);
+  }
+
+  private boolean hasHoverFalloff(final EffectEventId effectEventId) {
+    List<Effect> effects = getEffects(effectEventId, EffectImpl.class);
+    if (effects == null) {
+      return false;
+    }
+    for (int i=0; i<effects.size(); i++) {
+      if (effects.get(i).hasHoverFalloff()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public <T extends EffectImpl> List<Effect> getEffects(final EffectEventId effectEventId, final Class<T> requestedClass) {
     return getEffectProcessor(effectEventId).getEffects(requestedClass);
   }
 
+  private static boolean isHoverEffectEventId(final EffectEventId id) {
+    return id == EffectEventId.onHover || id == EffectEventId.onStartHover || id == EffectEventId.onEndHover;
+  }
+
   interface RenderPhase {
     public void render(EffectProcessor effectProcessor,  NiftyRenderEngine renderEngine);
   }
@@ -316,6 +427,7 @@ public class EffectManager {
 
   public interface Notify {
     void effectStateChanged(EffectEventId eventId, boolean active);
+    void hoverEffectsChanged();
   }
 
   private class NotifyAdapter implements EffectProcessorImpl.Notify {
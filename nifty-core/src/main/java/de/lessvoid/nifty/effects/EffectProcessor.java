@@ -7,11 +7,13 @@ import de.lessvoid.nifty.render.NiftyRenderEngine;
 
 public interface EffectProcessor {
   void registerEffect(final Effect e);
+  void setScheduler(final EffectScheduler scheduler);
   void getRenderStatesToSave(final NiftyRenderDeviceProxy renderDeviceProxy);
   void renderPre(final NiftyRenderEngine renderDevice);
   void renderPost(final NiftyRenderEngine renderDevice);
   void renderOverlay(final NiftyRenderEngine renderDevice);
   boolean isActive();
+  boolean isChanging();
   void saveActiveNeverStopRenderingEffects();
   void restoreNeverStopRenderingEffects();
   void reset();
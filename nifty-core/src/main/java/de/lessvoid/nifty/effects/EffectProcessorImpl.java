@@ -23,12 +23,16 @@ public class EffectProcessorImpl implements EffectProcessor {
   private List<Effect> pushedEffects = new ArrayList<Effect>();
 
   private boolean active = false;
+  private boolean changing = false;
   private EndNotify listener;
 
   private boolean neverStopRendering;
   private boolean processingEffects;
   private boolean pendingEffectsRemove;
 
+  private EffectScheduler scheduler;
+  private boolean scheduled;
+
   public EffectProcessorImpl(final Notify notify, final boolean neverStopRenderingParam) {
     this.notify = notify;
     this.neverStopRendering = neverStopRenderingParam;
@@ -39,6 +43,23 @@ public class EffectProcessorImpl implements EffectProcessor {
     allEffects.add(e);
   }
 
+  /**
+   * Set the EffectScheduler that advances the active effects of this processor once per frame. Without an
+   * EffectScheduler the effects are updated while they are rendered.
+   * @param newScheduler the EffectScheduler or null
+   */
+  @Override
+  public void setScheduler(final EffectScheduler newScheduler) {
+    if (scheduler == newScheduler) {
+      return;
+    }
+    scheduler = newScheduler;
+    scheduled = false;
+    if (scheduler != null && !activeEffects.isEmpty()) {
+      schedule();
+    }
+  }
+
   @Override
   public void getRenderStatesToSave(final NiftyRenderDeviceProxy renderDeviceProxy) {
     if (isInactive()) {
@@ -77,6 +98,17 @@ public class EffectProcessorImpl implements EffectProcessor {
     return active;
   }
 
+  /**
+   * Returns true when the effects of this processor still change what is rendered. A processor that keeps rendering
+   * its effects (like onActive) only counts as changing while one of its effects still changes. Effects that set
+   * neverStopRendering themselves always count as changing.
+   * @return true when the effects still change
+   */
+  @Override
+  public boolean isChanging() {
+    return changing;
+  }
+
   @Override
   public void saveActiveNeverStopRenderingEffects() {
     pushedEffects.clear();
@@ -135,6 +167,7 @@ public class EffectProcessorImpl implements EffectProcessor {
          activeEffects.remove(e);
        }
      }
+     updateChanging();
   }
 
   @Override
@@ -271,6 +304,7 @@ public class EffectProcessorImpl implements EffectProcessor {
   public void removeAllEffects() {
     allEffects.clear();
     activeEffects.clear();
+    updateChanging();
   }
 
   /**
@@ -302,18 +336,80 @@ public class EffectProcessorImpl implements EffectProcessor {
     }
 
     processingEffects = true;
-    for (int i=0; i<effects.size(); i++) {
-      Effect e = effects.get(i);
-      if (isActive(e)) {
-        e.update();
+    if (scheduled) {
+      // the EffectScheduler has already updated the effects for this frame
+      for (int i=0; i<effects.size(); i++) {
+        Effect e = effects.get(i);
         if (isActive(e)) {
           e.execute(renderDevice);
         }
       }
+    } else {
+      for (int i=0; i<effects.size(); i++) {
+        Effect e = effects.get(i);
+        if (isActive(e)) {
+          e.update();
+          if (isActive(e)) {
+            e.execute(renderDevice);
+          }
+        }
+      }
+      checkFinish();
+      updateChanging();
     }
+    checkPendingEffectsRemove();
+  }
 
-    checkFinish();
+  /**
+   * Called by the EffectScheduler once per frame to update all active effects.
+   * @param caller the EffectScheduler calling this method
+   * @param now the current time in ms
+   * @return true when this processor still needs to be advanced and false when it should be removed from the caller
+   */
+  boolean advance(final EffectScheduler caller, final long now) {
+    if (caller != scheduler) {
+      return false;
+    }
+    if (isInactive() || activeEffects.isEmpty()) {
+      scheduled = false;
+      return false;
+    }
+
+    processingEffects = true;
+    List<Effect> effects = activeEffects.getActive();
+    for (int i=0; i<effects.size(); i++) {
+      Effect e = effects.get(i);
+      if (isActive(e)) {
+        e.update(now);
+      }
+    }
     checkPendingEffectsRemove();
+    return true;
+  }
+
+  /**
+   * Called by the EffectScheduler after all effects have been advanced to fire the end notification.
+   * @param caller the EffectScheduler calling this method
+   * @return true when this processor still needs to be advanced and false when it should be removed from the caller
+   */
+  boolean finishAdvance(final EffectScheduler caller) {
+    checkFinish();
+    updateChanging();
+    if (caller != scheduler) {
+      return false;
+    }
+    if (isInactive() || activeEffects.isEmpty()) {
+      scheduled = false;
+      return false;
+    }
+    return true;
+  }
+
+  private void schedule() {
+    if (scheduler != null && !scheduled) {
+      scheduled = true;
+      scheduler.schedule(this);
+    }
   }
 
   private void startEffect(final Effect e, final String alternate, final String customKey) {
@@ -327,6 +423,7 @@ public class EffectProcessorImpl implements EffectProcessor {
     } else {
       log.fine("NOT adding effect as active because it's already registered as active");
     }
+    schedule();
   }
 
   private void checkFinish() {
@@ -377,9 +474,37 @@ public class EffectProcessorImpl implements EffectProcessor {
 
   private void internalSetActive(final boolean newActive) {
     boolean oldActive = active;
+    boolean oldChanging = changing;
     this.active = newActive;
-    if (newActive != oldActive) {
+    this.changing = isAnyEffectChanging();
+    if (newActive != oldActive || changing != oldChanging) {
       notify.effectProcessorStateChanged(newActive);
     }
   }
+
+  private void updateChanging() {
+    internalSetActive(active);
+  }
+
+  private boolean isAnyEffectChanging() {
+    List<Effect> effects = activeEffects.getActive();
+    for (int i=0; i<effects.size(); i++) {
+      if (effects.get(i).isNeverStopRendering()) {
+        return true;
+      }
+    }
+    if (!active) {
+      return false;
+    }
+    if (!neverStopRendering) {
+      return true;
+    }
+    // the processor keeps rendering its effects but that alone doesn't change anything
+    for (int i=0; i<effects.size(); i++) {
+      if (effects.get(i).isChanging()) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
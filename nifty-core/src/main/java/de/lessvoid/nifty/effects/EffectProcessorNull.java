@@ -10,6 +10,10 @@ public class EffectProcessorNull implements EffectProcessor {
   public void registerEffect(Effect e) {
   }
 
+  @Override
+  public void setScheduler(EffectScheduler scheduler) {
+  }
+
   @Override
   public void getRenderStatesToSave(NiftyRenderDeviceProxy renderDeviceProxy) {
   }
@@ -31,6 +35,11 @@ public class EffectProcessorNull implements EffectProcessor {
     return false;
   }
 
+  @Override
+  public boolean isChanging() {
+    return false;
+  }
+
   @Override
   public void saveActiveNeverStopRenderingEffects() {
   }
@@ -1,14 +1,111 @@
 package de.lessvoid.nifty.effects;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
+import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
+import de.lessvoid.nifty.tools.Alpha;
+import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.LinearInterpolator;
+import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.xml.xpp3.Attributes;
 
+/**
+ * The parameters of an effect. An instance is created once when the effect is created and is given to
+ * EffectImpl.activate() each time the effect starts.
+ *
+ * This is still a Properties instance so effects can read their parameters as Strings. Effects that are started often
+ * (hover effects for instance) should use the typed getters like getColor() or getSizeValue() instead. These parse
+ * the value only once and return the parsed value again as long as the property doesn't change.
+ */
 public class EffectProperties extends Properties {
   private static final long serialVersionUID = 1L;
+
+  public static final ValueParser < Long > LONG = new ValueParser < Long >() {
+    @Override
+    public Long parse(final String value) {
+      return Long.valueOf(value);
+    }
+  };
+
+  public static final ValueParser < Integer > INTEGER = new ValueParser < Integer >() {
+    @Override
+    public Integer parse(final String value) {
+      return Integer.valueOf(value);
+    }
+  };
+
+  public static final ValueParser < Float > FLOAT = new ValueParser < Float >() {
+    @Override
+    public Float parse(final String value) {
+      return Float.valueOf(value);
+    }
+  };
+
+  public static final ValueParser < Boolean > BOOLEAN = new ValueParser < Boolean >() {
+    @Override
+    public Boolean parse(final String value) {
+      return Boolean.valueOf(value);
+    }
+  };
+
+  public static final ValueParser < Color > COLOR = new ValueParser < Color >() {
+    @Override
+    public Color parse(final String value) {
+      return new Color(value);
+    }
+  };
+
+  public static final ValueParser < Alpha > ALPHA = new ValueParser < Alpha >() {
+    @Override
+    public Alpha parse(final String value) {
+      return new Alpha(value);
+    }
+  };
+
+  public static final ValueParser < SizeValue > SIZE_VALUE = new ValueParser < SizeValue >() {
+    @Override
+    public SizeValue parse(final String value) {
+      return new SizeValue(value);
+    }
+  };
+
+  /**
+   * Parses a padding like value ("1px", "1px,2px", ...) into four SizeValues in the order left, right, top, bottom.
+   */
+  public static final ValueParser < SizeValue[] > SIZE_VALUE_SIDES = new ValueParser < SizeValue[] >() {
+    @Override
+    public SizeValue[] parse(final String value) {
+      PaddingAttributeParser parser = parsePadding(value);
+      return new SizeValue[] {
+          new SizeValue(parser.getLeft()),
+          new SizeValue(parser.getRight()),
+          new SizeValue(parser.getTop()),
+          new SizeValue(parser.getBottom()) };
+    }
+  };
+
+  /**
+   * Parses a padding like value ("#fff", "#fff,#000", ...) into four Colors in the order left, right, top, bottom.
+   */
+  public static final ValueParser < Color[] > COLOR_SIDES = new ValueParser < Color[] >() {
+    @Override
+    public Color[] parse(final String value) {
+      PaddingAttributeParser parser = parsePadding(value);
+      return new Color[] {
+          new Color(parser.getLeft()),
+          new Color(parser.getRight()),
+          new Color(parser.getTop()),
+          new Color(parser.getBottom()) };
+    }
+  };
+
   private EffectPropertiesValues effectValues;
+
+  // the parsed values by property key. we keep the String the value has been parsed from together with the parsed
+  // value so that a changed property is parsed again.
+  private transient Map < String, ParsedValue > parsedValues;
   
   public EffectProperties(final Properties createProperties) {
     super();
@@ -42,6 +139,115 @@ public class EffectProperties extends Properties {
     return interpolator;
   }
 
+  /**
+   * Get the property parsed as long.
+   * @param key the key
+   * @param defaultValue the value to use when the property is not set
+   * @return the value
+   */
+  public long getLong(final String key, final long defaultValue) {
+    Long value = getParsed(key, null, LONG);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Get the property parsed as int.
+   * @param key the key
+   * @param defaultValue the value to use when the property is not set
+   * @return the value
+   */
+  public int getInt(final String key, final int defaultValue) {
+    Integer value = getParsed(key, null, INTEGER);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Get the property parsed as float.
+   * @param key the key
+   * @param defaultValue the value to use when the property is not set
+   * @return the value
+   */
+  public float getFloat(final String key, final float defaultValue) {
+    Float value = getParsed(key, null, FLOAT);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Get the property parsed as boolean.
+   * @param key the key
+   * @param defaultValue the value to use when the property is not set
+   * @return the value
+   */
+  public boolean getBoolean(final String key, final boolean defaultValue) {
+    Boolean value = getParsed(key, null, BOOLEAN);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Get the property parsed as Color. The returned Color is shared. Copy it if you need to modify it.
+   * @param key the key
+   * @param defaultValue the color String to use when the property is not set
+   * @return the Color
+   */
+  public Color getColor(final String key, final String defaultValue) {
+    return getParsed(key, defaultValue, COLOR);
+  }
+
+  /**
+   * Get the property parsed as Alpha. The returned Alpha is shared. Copy it if you need to modify it.
+   * @param key the key
+   * @param defaultValue the alpha String to use when the property is not set
+   * @return the Alpha
+   */
+  public Alpha getAlpha(final String key, final String defaultValue) {
+    return getParsed(key, defaultValue, ALPHA);
+  }
+
+  /**
+   * Get the property parsed as SizeValue.
+   * @param key the key
+   * @param defaultValue the SizeValue String to use when the property is not set
+   * @return the SizeValue
+   */
+  public SizeValue getSizeValue(final String key, final String defaultValue) {
+    return getParsed(key, defaultValue, SIZE_VALUE);
+  }
+
+  /**
+   * Get the property converted with the given ValueParser. The value is only parsed again when the property changes.
+   * @param key the key
+   * @param defaultValue the String to parse when the property is not set. When this is null the parser is not called
+   * and null is returned.
+   * @param parser the ValueParser
+   * @param <T> the type of the parsed value
+   * @return the parsed value
+   */
+  @SuppressWarnings("unchecked")
+  public < T > T getParsed(final String key, final String defaultValue, final ValueParser < T > parser) {
+    String value = getProperty(key, defaultValue);
+    if (value == null) {
+      return null;
+    }
+    if (parsedValues == null) {
+      parsedValues = new HashMap < String, ParsedValue >();
+    }
+    ParsedValue parsed = parsedValues.get(key);
+    if (parsed != null && parsed.parser == parser && parsed.source.equals(value)) {
+      return (T) parsed.value;
+    }
+    T result = parser.parse(value);
+    parsedValues.put(key, new ParsedValue(value, parser, result));
+    return result;
+  }
+
+  private static PaddingAttributeParser parsePadding(final String value) {
+    try {
+      return new PaddingAttributeParser(value);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+  }
+
   private EffectPropertiesValues getEffectPropertiesValueLazy() {
     if (effectValues != null) {
       return effectValues;
@@ -49,4 +255,25 @@ public class EffectProperties extends Properties {
     effectValues = new EffectPropertiesValues();
     return effectValues;
   }
+
+  /**
+   * Converts a property String into a typed value. The result is cached so a ValueParser must always return the same
+   * result for the same String and the returned value should not be modified.
+   * @param <T> the type of the parsed value
+   */
+  public interface ValueParser < T > {
+    T parse(String value);
+  }
+
+  private static class ParsedValue {
+    private final String source;
+    private final ValueParser < ? > parser;
+    private final Object value;
+
+    private ParsedValue(final String source, final ValueParser < ? > parser, final Object value) {
+      this.source = source;
+      this.parser = parser;
+      this.value = value;
+    }
+  }
 }
@@ -0,0 +1,79 @@
+package de.lessvoid.nifty.effects;
+
+/**
+ * Advances all active effects of a Screen once per frame. EffectProcessorImpl instances that have active effects are
+ * scheduled here and the Screen calls advance() with a single time sample before it renders anything. All effects are
+ * updated in one loop and the EndNotify events of effects that have ended are fired afterwards in one batch. The render
+ * passes then only execute the effects with the values calculated here.
+ *
+ * EffectProcessorImpl instances remove themselves from this scheduler as soon as they don't have any active effects
+ * anymore so that the cost of advance() only depends on the number of currently active effects.
+ */
+public class EffectScheduler {
+  private EffectProcessorImpl[] processors = new EffectProcessorImpl[16];
+  private int count;
+
+  /**
+   * Add the given EffectProcessorImpl. It will be advanced with all the others until it has no active effects anymore.
+   * @param processor the EffectProcessorImpl to add
+   */
+  void schedule(final EffectProcessorImpl processor) {
+    if (count == processors.length) {
+      EffectProcessorImpl[] newProcessors = new EffectProcessorImpl[count * 2];
+      System.arraycopy(processors, 0, newProcessors, 0, count);
+      processors = newProcessors;
+    }
+    processors[count++] = processor;
+  }
+
+  /**
+   * @return true when there is no EffectProcessorImpl scheduled
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * @return the number of scheduled EffectProcessorImpl instances
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Update all scheduled effects with the given time and fire the end notifications of the effects that have ended.
+   * @param now the current time in ms
+   */
+  public void advance(final long now) {
+    // effects that are started while we're updating are added at the end and are updated as well
+    int keep = 0;
+    for (int i=0; i<count; i++) {
+      EffectProcessorImpl processor = processors[i];
+      processors[i] = null;
+      if (processor.advance(this, now)) {
+        processors[keep++] = processor;
+      }
+    }
+    count = keep;
+
+    // end notifications can start new effects. these are scheduled as usual and advanced with the next frame.
+    // processors whose effects have all ended are removed right away.
+    int advanced = keep;
+    keep = 0;
+    for (int i=0; i<advanced; i++) {
+      EffectProcessorImpl processor = processors[i];
+      processors[i] = null;
+      if (processor.finishAdvance(this)) {
+        processors[keep++] = processor;
+      }
+    }
+
+    // the processors scheduled by the end notifications follow the ones we keep
+    for (int i=advanced; i<count; i++) {
+      EffectProcessorImpl processor = processors[i];
+      processors[i] = null;
+      processors[keep++] = processor;
+    }
+    count = keep;
+  }
+}
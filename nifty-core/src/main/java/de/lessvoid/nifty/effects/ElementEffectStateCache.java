@@ -5,6 +5,9 @@ import java.util.Map;
 
 public class ElementEffectStateCache {
   private Map<EffectEventId, Boolean> states = new Hashtable<EffectEventId, Boolean>();
+  private int activeCount = 0;
+  private Map<EffectEventId, Boolean> changingStates = new Hashtable<EffectEventId, Boolean>();
+  private int changingCount = 0;
 
   public ElementEffectStateCache() {
     states.put(EffectEventId.onStartScreen, false);
@@ -29,6 +32,39 @@ public class ElementEffectStateCache {
   }
 
   public void set(final EffectEventId eventId, final boolean effectActive) {
-    states.put(eventId, effectActive);
+    Boolean oldActive = states.put(eventId, effectActive);
+    if (oldActive != null && oldActive) {
+      activeCount--;
+    }
+    if (effectActive) {
+      activeCount++;
+    }
+  }
+
+  public boolean isAnyActive() {
+    return activeCount > 0;
+  }
+
+  public boolean isChanging(final EffectEventId effectEventId) {
+    Boolean changing = changingStates.get(effectEventId);
+    return changing != null && changing;
+  }
+
+  public void setChanging(final EffectEventId eventId, final boolean effectChanging) {
+    Boolean oldChanging = changingStates.put(eventId, effectChanging);
+    if (oldChanging != null && oldChanging) {
+      changingCount--;
+    }
+    if (effectChanging) {
+      changingCount++;
+    }
+  }
+
+  /**
+   * Active effects that keep rendering without changing anything (like an onActive border) are not counted here.
+   * @return true when at least one effect still changes what is rendered
+   */
+  public boolean isAnyChanging() {
+    return changingCount > 0;
   }
 }
@@ -2,6 +2,8 @@ package de.lessvoid.nifty.effects;
 
 import java.util.Collection;
 
+import de.lessvoid.nifty.elements.tools.TextMeasureCache;
+import de.lessvoid.nifty.elements.tools.TextWrapCache;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.render.NiftyImage;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
@@ -18,6 +20,8 @@ import de.lessvoid.nifty.tools.Color;
  */
 public class NiftyRenderDeviceProxy implements NiftyRenderEngine {
   private RenderStates renderStates = new RenderStates();
+  private TextMeasureCache textMeasureCache = new TextMeasureCache(0);
+  private TextWrapCache textWrapCache = new TextWrapCache(0);
 
   @Override
   public void beginFrame() {
@@ -41,6 +45,16 @@ public class NiftyRenderDeviceProxy implements NiftyRenderEngine {
     return null;
   }
 
+  @Override
+  public TextMeasureCache getTextMeasureCache() {
+    return textMeasureCache;
+  }
+
+  @Override
+  public TextWrapCache getTextWrapCache() {
+    return textWrapCache;
+  }
+
   @Override
   public NiftyImage createImage(final Screen screen, final String name, final boolean filterLinear) {
     return null;
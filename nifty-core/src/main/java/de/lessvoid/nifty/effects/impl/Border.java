@@ -8,7 +8,6 @@ import de.lessvoid.nifty.effects.EffectImpl;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
-import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.SizeValue;
@@ -34,23 +33,23 @@ public class Border implements EffectImpl {
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
     try {
-      PaddingAttributeParser parser = new PaddingAttributeParser(parameter.getProperty("border", "1px"));
-      borderLeft = new SizeValue(parser.getLeft());
-      borderRight = new SizeValue(parser.getRight());
-      borderTop = new SizeValue(parser.getTop());
-      borderBottom = new SizeValue(parser.getBottom());
+      SizeValue[] border = parameter.getParsed("border", "1px", EffectProperties.SIZE_VALUE_SIDES);
+      borderLeft = border[0];
+      borderRight = border[1];
+      borderTop = border[2];
+      borderBottom = border[3];
 
-      parser = new PaddingAttributeParser(parameter.getProperty("color", "#ffff"));
-      colorLeft = new Color(parser.getLeft());
-      colorRight = new Color(parser.getRight());
-      colorTop = new Color(parser.getTop());
-      colorBottom = new Color(parser.getBottom());
+      Color[] color = parameter.getParsed("color", "#ffff", EffectProperties.COLOR_SIDES);
+      colorLeft = color[0];
+      colorRight = color[1];
+      colorTop = color[2];
+      colorBottom = color[3];
 
-      parser = new PaddingAttributeParser(parameter.getProperty("inset", "0px"));
-      insetLeft = new SizeValue(parser.getLeft());
-      insetRight = new SizeValue(parser.getRight());
-      insetTop = new SizeValue(parser.getTop());
-      insetBottom = new SizeValue(parser.getBottom());
+      SizeValue[] inset = parameter.getParsed("inset", "0px", EffectProperties.SIZE_VALUE_SIDES);
+      insetLeft = inset[0];
+      insetRight = inset[1];
+      insetTop = inset[2];
+      insetBottom = inset[3];
     } catch (Exception e) {
       log.warning(e.getMessage());
     }
@@ -8,7 +8,6 @@ import de.lessvoid.nifty.effects.EffectImpl;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
-import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.SizeValue;
@@ -28,14 +27,17 @@ public class ColorBar implements EffectImpl {
   private SizeValue insetBottom = new SizeValue("0px");
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    color = new Color(parameter.getProperty("color", "#ffffffff"));
-    width = new SizeValue(parameter.getProperty("width"));
+    color = parameter.getColor("color", "#ffffffff");
+    width = parameter.getSizeValue("width", null);
+    if (width == null) {
+      width = new SizeValue(null);
+    }
     try {
-      PaddingAttributeParser parser = new PaddingAttributeParser(parameter.getProperty("inset", "0px"));
-      insetLeft = new SizeValue(parser.getLeft());
-      insetRight = new SizeValue(parser.getRight());
-      insetTop = new SizeValue(parser.getTop());
-      insetBottom = new SizeValue(parser.getBottom());
+      SizeValue[] inset = parameter.getParsed("inset", "0px", EffectProperties.SIZE_VALUE_SIDES);
+      insetLeft = inset[0];
+      insetRight = inset[1];
+      insetTop = inset[2];
+      insetBottom = inset[3];
     } catch (Exception e) {
       log.warning(e.getMessage());
     }
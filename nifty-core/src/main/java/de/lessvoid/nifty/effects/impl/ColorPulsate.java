@@ -21,8 +21,8 @@ public class ColorPulsate implements EffectImpl {
   private Color currentColor = new Color("#000f");
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#00000000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffffffff"));
+    startColor = parameter.getColor("startColor", "#00000000");
+    endColor = parameter.getColor("endColor", "#ffffffff");
     pulsator = new Pulsator(parameter, nifty.getTimeProvider());
   }
 
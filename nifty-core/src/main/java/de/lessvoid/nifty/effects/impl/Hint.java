@@ -31,7 +31,7 @@ public class Hint implements EffectImpl {
     final String hintControl = parameter.getProperty("hintControl", "nifty-default-hint");
     final String hintStyle = parameter.getProperty("hintStyle", null);
     final String hintText = parameter.getProperty("hintText", "hint: add a 'hintText' attribute to the hint effect :)");
-    hintDelay = Integer.valueOf(parameter.getProperty("hintDelay", "0"));
+    hintDelay = parameter.getInt("hintDelay", 0);
     offsetX = parameter.getProperty("offsetX", "0");
     offsetY = parameter.getProperty("offsetY", "0");
 
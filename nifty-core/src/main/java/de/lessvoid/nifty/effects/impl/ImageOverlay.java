@@ -33,13 +33,19 @@ public class ImageOverlay implements EffectImpl {
 	    		renderStrategyProperty));
     }
 
-    alpha = new Alpha(parameter.getProperty("alpha", "#f"));
-    inset = new SizeValue(parameter.getProperty("inset", "0px"));
-    width = new SizeValue(parameter.getProperty("width", element.getWidth() + "px"));
-    height = new SizeValue(parameter.getProperty("height", element.getHeight() + "px"));
-    center = Boolean.valueOf(parameter.getProperty("center", "false"));
-    hideIfNotEnoughSpace = Boolean.valueOf(parameter.getProperty("hideIfNotEnoughSpace", "false"));
-    activeBeforeStartDelay = Boolean.valueOf(parameter.getProperty("activeBeforeStartDelay", "false"));
+    alpha = parameter.getAlpha("alpha", "#f");
+    inset = parameter.getSizeValue("inset", "0px");
+    width = parameter.getSizeValue("width", null);
+    if (width == null) {
+      width = SizeValue.px(element.getWidth());
+    }
+    height = parameter.getSizeValue("height", null);
+    if (height == null) {
+      height = SizeValue.px(element.getHeight());
+    }
+    center = parameter.getBoolean("center", false);
+    hideIfNotEnoughSpace = parameter.getBoolean("hideIfNotEnoughSpace", false);
+    activeBeforeStartDelay = parameter.getBoolean("activeBeforeStartDelay", false);
   }
 
   public void execute(
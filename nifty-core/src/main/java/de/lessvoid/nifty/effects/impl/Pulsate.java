@@ -25,10 +25,13 @@ public class Pulsate implements EffectImpl {
   private boolean activated = false;
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#00000000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffffffff"));
-    width = new SizeValue(parameter.getProperty("width"));
-    changeColorOnly = new Boolean(parameter.getProperty("changeColorOnly", "false"));
+    startColor = parameter.getColor("startColor", "#00000000");
+    endColor = parameter.getColor("endColor", "#ffffffff");
+    width = parameter.getSizeValue("width", null);
+    if (width == null) {
+      width = new SizeValue(null);
+    }
+    changeColorOnly = parameter.getBoolean("changeColorOnly", false);
     pulsator = new Pulsator(parameter, nifty.getTimeProvider());
   }
 
@@ -23,9 +23,12 @@ public class RenderQuad implements EffectImpl {
   private SizeValue width;
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#0000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffff"));
-    width = new SizeValue(parameter.getProperty("width"));
+    startColor = parameter.getColor("startColor", "#0000");
+    endColor = parameter.getColor("endColor", "#ffff");
+    width = parameter.getSizeValue("width", null);
+    if (width == null) {
+      width = new SizeValue(null);
+    }
   }
 
   public void execute(
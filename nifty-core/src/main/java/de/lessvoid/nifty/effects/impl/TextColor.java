@@ -17,7 +17,7 @@ public class TextColor implements EffectImpl {
   private Color color;
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    color = new de.lessvoid.nifty.tools.Color(parameter.getProperty("color", "#ffff"));
+    color = parameter.getColor("color", "#ffff");
   }
 
   public void execute(
@@ -22,13 +22,13 @@ public class TextSize implements EffectImpl {
   private SizeValue textSize = new SizeValue("100%");
 
   public void activate(final Nifty nifty, final Element element, final EffectProperties parameter) {
-    startSize = Float.parseFloat(parameter.getProperty("startSize", "1.0"));
-    endSize = Float.parseFloat(parameter.getProperty("endSize", "2.0"));
+    startSize = parameter.getFloat("startSize", 1.0f);
+    endSize = parameter.getFloat("endSize", 2.0f);
 
     // hover mode only
-    String maxSizeString = parameter.getProperty("maxSize");
-    if (maxSizeString != null) {
-      textSize = new SizeValue(maxSizeString);
+    SizeValue maxSize = parameter.getSizeValue("maxSize", null);
+    if (maxSize != null) {
+      textSize = maxSize;
     }
   }
 
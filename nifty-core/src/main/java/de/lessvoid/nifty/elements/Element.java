@@ -1,6 +1,7 @@
 package de.lessvoid.nifty.elements;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -8,7 +9,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import de.lessvoid.nifty.EndNotify;
@@ -23,6 +23,7 @@ import de.lessvoid.nifty.effects.Effect;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.effects.EffectImpl;
 import de.lessvoid.nifty.effects.EffectManager;
+import de.lessvoid.nifty.effects.EffectScheduler;
 import de.lessvoid.nifty.effects.ElementEffectStateCache;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.events.ElementDisableEvent;
@@ -36,6 +37,7 @@ import de.lessvoid.nifty.elements.render.TextRenderer;
 import de.lessvoid.nifty.elements.tools.ElementTreeTraverser;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
+import de.lessvoid.nifty.layout.Box;
 import de.lessvoid.nifty.layout.LayoutPart;
 import de.lessvoid.nifty.layout.align.HorizontalAlign;
 import de.lessvoid.nifty.layout.align.VerticalAlign;
@@ -48,6 +50,7 @@ import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererImage;
 import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererPanel;
 import de.lessvoid.nifty.loaderv2.types.apply.Convert;
 import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
+import de.lessvoid.nifty.render.DamageRegion;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.screen.KeyInputHandler;
 import de.lessvoid.nifty.screen.MouseOverHandler;
@@ -90,17 +93,17 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   private List < Element > elements = new ArrayList < Element >(0);
 
   /**
-   * This set defines the render order of the child elements using a Comparator.
+   * This Comparator defines the render order of the child elements.
    */
-  private Set < Element > elementsRenderOrderSet = new TreeSet < Element >(new Comparator<Element>() {
+  private Comparator < Element > renderOrderComparator = new Comparator < Element >() {
 
     /**
      * This uses the renderOrder attribute of the elements to compare them. If the renderOrder
      * attribute is not set (is 0) then the index of the element in the elements list is used
      * as the renderOrder value. This is done to keep the original sort order of the elements for
      * rendering. The value is not cached and is directly recalculated using the element index in
-     * the list. The child count for an element is usually low (< 10) and the comparator is only
-     * executed when the child elements change. So this lookup shouldn't hurt performance too much.
+     * the list. The comparator is only used when at least one of the child elements has a renderOrder
+     * set. Without any renderOrder the render order is simply the order of the elements list.
      *
      * If you change the default value of renderOrder then your value is being used. So if you set it
      * to some high value (> 1000 to be save) this element is rendered after all the other elements.
@@ -149,13 +152,32 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       }
       return elements.indexOf(element);
     }
-  });
+  };
 
   /**
-   * We keep a copy of the elementsRenderOrderSet in a simple array for being more GC friendly while rendering.
+   * The child elements in render order. We keep them in a simple array for being more GC friendly while rendering.
+   * The array is not updated each time the child elements change. It is rebuild when it is needed the next time
+   * so that adding lots of child elements at once only rebuilds it once.
    */
   private Element[] elementsRenderOrder = new Element[0];
 
+  /**
+   * When true elementsRenderOrder is outdated and needs to be rebuild before it is used.
+   */
+  private boolean elementsRenderOrderDirty = false;
+
+  /**
+   * The clip area for our child elements when clipChildren is enabled. We keep the instance to reuse it each frame.
+   */
+  private Box renderClipArea;
+
+  /**
+   * The number of subtrees (a child element together with all of its children) that have been skipped during the
+   * last render() call because they are completely outside of the current clip area. This includes the numbers of
+   * all child elements that have been rendered.
+   */
+  private int renderCulledCount;
+
   /**
    * The LayoutManager we should use for all child elements.
    */
@@ -171,6 +193,14 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
   private ElementRenderer[] elementRenderer = new ElementRenderer[0];
 
+  /**
+   * The first TextRenderer, ImageRenderer and PanelRenderer of the elementRenderer array. These are resolved once
+   * so that the lookup of the built-in renderers doesn't need to search the elementRenderer array.
+   */
+  private TextRenderer textRenderer;
+  private ImageRenderer imageRenderer;
+  private PanelRenderer panelRenderer;
+
   /**
    * the effect manager for this element.
    */
@@ -295,16 +325,28 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
   private boolean ignoreKeyboardEvents;
 
-  private static Convert convert = new Convert();
-  private static Map < Class < ? extends ElementRenderer >, ApplyRenderer > rendererApplier = new HashMap < Class < ? extends ElementRenderer>, ApplyRenderer >();
-  {
-    rendererApplier.put(TextRenderer.class, new ApplyRenderText(convert));
-    rendererApplier.put(ImageRenderer.class, new ApplyRendererImage(convert));
-    rendererApplier.put(PanelRenderer.class, new ApplyRendererPanel(convert));
-  }
+  /*
+   * these don't have any state so they can be shared between all elements of all Nifty instances and threads.
+   */
+  private static final Convert convert = new Convert();
+  private static final ApplyRenderer applyRenderText = new ApplyRenderText(convert);
+  private static final ApplyRenderer applyRendererImage = new ApplyRendererImage(convert);
+  private static final ApplyRenderer applyRendererPanel = new ApplyRendererPanel(convert);
 
   private Map<String, Object> userData;
 
+  /**
+   * The id index of the screen this element is registered with or null when this element is currently not
+   * connected to any of the layers of a screen.
+   */
+  private ElementIdIndex idIndex;
+
+  /**
+   * This is true when the constraints or the content of this element have been changed and the layout of this
+   * element has been requested but not processed yet.
+   */
+  private boolean layoutRequested;
+
   /**
    * construct new instance of Element.
    * @param newNifty Nifty
@@ -433,9 +475,23 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     this.focusableInsertBeforeElementId = attributes.get("focusableInsertBeforeElementId");
     for (int i=0; i<elementRenderer.length; i++) {
       ElementRenderer renderer = elementRenderer[i];
-      ApplyRenderer rendererApply = rendererApplier.get(renderer.getClass());
-      rendererApply.apply(targetScreen, this, attributes, renderEngine);
+      ApplyRenderer rendererApply = getRendererApplier(renderer);
+      if (rendererApply != null) {
+        rendererApply.apply(targetScreen, this, attributes, renderEngine);
+      }
+    }
+  }
+
+  private ApplyRenderer getRendererApplier(final ElementRenderer renderer) {
+    Class < ? extends ElementRenderer > rendererClass = renderer.getClass();
+    if (rendererClass == TextRenderer.class) {
+      return applyRenderText;
+    } else if (rendererClass == ImageRenderer.class) {
+      return applyRendererImage;
+    } else if (rendererClass == PanelRenderer.class) {
+      return applyRendererPanel;
     }
+    return null;
   }
 
   public void initializeFromPostAttributes(final Attributes attributes) {
@@ -484,6 +540,18 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     } else {
       this.elementRenderer = newElementRenderer;
     }
+    this.textRenderer = findRenderer(TextRenderer.class);
+    this.imageRenderer = findRenderer(ImageRenderer.class);
+    this.panelRenderer = findRenderer(PanelRenderer.class);
+    if (textRenderer != null) {
+      textRenderer.setElement(this);
+    }
+    if (imageRenderer != null) {
+      imageRenderer.setElement(this);
+    }
+    if (panelRenderer != null) {
+      panelRenderer.setElement(this);
+    }
     this.effectManager = new EffectManager(this);
     this.effectManager.setAlternateKey(nifty.getAlternateKey());
     this.layoutPart = newLayoutPart;
@@ -586,7 +654,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
     StringBuffer renderOrder = new StringBuffer();
     renderOrder.append(" render order: ");
-    for (Element e : elementsRenderOrderSet) {
+    for (Element e : getElementsRenderOrder()) {
       renderOrder.append("[" + e.getId() + " (" + ((e.renderOrder == 0) ? elements.indexOf(e) : e.renderOrder) + ")]");
     }
     elementDebugOut.add(renderOrder.toString());
@@ -717,8 +785,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
    public void add(final Element widget, final int index) {
 	    elements.add(index, widget);
-	    elementsRenderOrderSet.add(widget);
-	    elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[0]);
+	    elementsRenderOrderDirty = true;
+	    if (idIndex != null) {
+	      idIndex.add(widget);
+	    }
    }
    /**
     * Set the index of this element in the list of its parent
@@ -729,6 +799,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 	  if(curInd>=0 && index !=curInd){
 		  this.parent.elements.remove(curInd);
 		  this.parent.elements.add(index, this);
+		  this.parent.elementsRenderOrderDirty = true;
 		  this.parent.layoutElements();
 	  }
    }
@@ -737,11 +808,28 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param r the RenderDevice to use
    */
   public void render(final NiftyRenderEngine r) {
+    render(r, null, true);
+  }
+
+  /**
+   * Render this element and all of its child elements. Child elements that are completely outside of clipArea are
+   * skipped. Note that the RenderEngine will ignore the clip area of an element when one of its parent elements has
+   * already enabled a clip area. So clipArea is always the outermost clip area and not the intersection of all of
+   * them.
+   *
+   * @param r the RenderDevice to use
+   * @param clipArea the current clip area or null when there is no clip area enabled
+   * @param cullingEnabled false when we can't tell where this element will be rendered to. This is the case when
+   * an effect of a parent element is active since effects might move the render position or enable some other clip
+   * area
+   */
+  private void render(final NiftyRenderEngine r, final Box clipArea, final boolean cullingEnabled) {
+    renderCulledCount = 0;
     if (visible) {
       if (effectManager.isEmpty()) {
         r.saveState(null);
         renderElement(r);
-        renderChildren(r);
+        renderChildren(r, clipArea, cullingEnabled);
         r.restoreState();
       } else {
         r.saveState(null);
@@ -750,7 +838,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         renderElement(r);
         effectManager.renderPost(r, this);
         effectManager.end(r);
-        renderChildren(r);
+        renderChildren(r, clipArea, cullingEnabled && !effectManager.isActive());
         r.restoreState();
         r.saveState(null);
         effectManager.renderOverlay(r, this);
@@ -766,21 +854,172 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
-  private void renderChildren(final NiftyRenderEngine r) {
+  private void renderChildren(final NiftyRenderEngine r, final Box clipArea, final boolean cullingEnabled) {
     if (clipChildren) {
       r.enableClip(getX(), getY(), getX() + getWidth(), getY() + getHeight());
-      renderInternalChildElements(r);
+      if (clipArea == null && cullingEnabled) {
+        renderInternalChildElements(r, getRenderClipArea(), cullingEnabled);
+      } else {
+        renderInternalChildElements(r, clipArea, cullingEnabled);
+      }
       r.disableClip();
     } else {
-      renderInternalChildElements(r);
+      renderInternalChildElements(r, clipArea, cullingEnabled);
+    }
+  }
+
+  private void renderInternalChildElements(final NiftyRenderEngine r, final Box clipArea, final boolean cullingEnabled) {
+    Element[] renderOrder = getElementsRenderOrder();
+    for (int i=0; i<renderOrder.length; i++) {
+      Element p = renderOrder[i];
+      if (cullingEnabled && clipArea != null && p.visible && p.isRenderedOutside(clipArea)) {
+        renderCulledCount++;
+        continue;
+      }
+      p.render(r, clipArea, cullingEnabled);
+      renderCulledCount += p.renderCulledCount;
+    }
+  }
+
+  private Box getRenderClipArea() {
+    if (renderClipArea == null) {
+      renderClipArea = new Box();
+    }
+    renderClipArea.setX(getX());
+    renderClipArea.setY(getY());
+    renderClipArea.setWidth(getWidth());
+    renderClipArea.setHeight(getHeight());
+    return renderClipArea;
+  }
+
+  /**
+   * Check if rendering this element and all of its child elements would not draw anything inside the given area.
+   * This is a conservative check: Elements with active effects or with renderers we don't know might draw anywhere
+   * so they are always considered to be inside. Walking the child elements is still a lot cheaper than rendering
+   * them.
+   *
+   * @param area the area to check
+   * @return true when nothing will be rendered inside the area
+   */
+  private boolean isRenderedOutside(final Box area) {
+    if (!visible) {
+      return true;
+    }
+    if (!effectManager.isEmpty() && effectManager.isActive()) {
+      return false;
+    }
+    int overflowX = 0;
+    int overflowY = 0;
+    for (int i=0; i<elementRenderer.length; i++) {
+      ElementRenderer renderer = elementRenderer[i];
+      if (renderer == textRenderer) {
+        // the text might be larger than the element and depending on the alignment it could overflow at each side
+        if (textRenderer.getFont() == null) {
+          return false;
+        }
+        overflowX = Math.max(0, textRenderer.getTextWidth() - getWidth());
+        overflowY = Math.max(0, textRenderer.getTextHeight() - getHeight());
+      } else if (renderer != imageRenderer && renderer != panelRenderer) {
+        return false;
+      }
+    }
+    if (getX() - overflowX < area.getX() + area.getWidth() &&
+        getX() + getWidth() + overflowX > area.getX() &&
+        getY() - overflowY < area.getY() + area.getHeight() &&
+        getY() + getHeight() + overflowY > area.getY()) {
+      return false;
+    }
+    for (int i=0; i<elements.size(); i++) {
+      if (!elements.get(i).isRenderedOutside(area)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the number of subtrees (a child element together with all of its children) that have been skipped during the
+   * last render() call because they would have been rendered completely outside of the current clip area.
+   *
+   * @return the number of skipped subtrees
+   */
+  public int getRenderCulledCount() {
+    return renderCulledCount;
+  }
+
+  /**
+   * Add the area of the screen this element and all of its child elements render to to the given DamageRegion. Text
+   * that is larger than the element is taken into account. Elements with renderers we don't know might draw anywhere
+   * so in this case the whole screen is added.
+   *
+   * @param damageRegion the DamageRegion to add the area to
+   */
+  public void addRenderArea(final DamageRegion damageRegion) {
+    if (damageRegion.isFull()) {
+      return;
+    }
+    int overflowX = 0;
+    int overflowY = 0;
+    for (int i=0; i<elementRenderer.length; i++) {
+      ElementRenderer renderer = elementRenderer[i];
+      if (renderer == textRenderer) {
+        if (textRenderer.getFont() == null) {
+          damageRegion.addFullScreen();
+          return;
+        }
+        overflowX = Math.max(0, textRenderer.getTextWidth() - getWidth());
+        overflowY = Math.max(0, textRenderer.getTextHeight() - getHeight());
+      } else if (renderer != imageRenderer && renderer != panelRenderer) {
+        damageRegion.addFullScreen();
+        return;
+      }
+    }
+    damageRegion.add(getX() - overflowX, getY() - overflowY, getWidth() + 2 * overflowX, getHeight() + 2 * overflowY);
+
+    // we add invisible child elements as well because this is called for elements that have just been hidden too
+    for (int i=0; i<elements.size(); i++) {
+      elements.get(i).addRenderArea(damageRegion);
+    }
+  }
+
+  /**
+   * Add the render area of all elements with changing effects to the given DamageRegion. Effects are expected to render
+   * inside of the area of their element. Effects that don't (moving or shaking the element for instance) will only be
+   * repainted correctly when the whole screen is rendered.
+   *
+   * @param damageRegion the DamageRegion to add the areas to
+   */
+  public void addActiveEffectsRenderArea(final DamageRegion damageRegion) {
+    if (!visible || !effectStateCache.isAnyChanging()) {
+      return;
+    }
+    if (!effectManager.isEmpty() && effectManager.isChanging()) {
+      addRenderArea(damageRegion);
+      return;
+    }
+    for (int i=0; i<elements.size(); i++) {
+      elements.get(i).addActiveEffectsRenderArea(damageRegion);
+    }
+  }
+
+  private Element[] getElementsRenderOrder() {
+    if (elementsRenderOrderDirty) {
+      elementsRenderOrderDirty = false;
+      elementsRenderOrder = elements.toArray(new Element[elements.size()]);
+      if (hasChildWithRenderOrder()) {
+        Arrays.sort(elementsRenderOrder, renderOrderComparator);
+      }
     }
+    return elementsRenderOrder;
   }
 
-  private void renderInternalChildElements(final NiftyRenderEngine r) {
-    for (int i=0; i<elementsRenderOrder.length; i++) {
-      Element p = elementsRenderOrder[i];
-      p.render(r);
+  private boolean hasChildWithRenderOrder() {
+    for (int i=0; i<elements.size(); i++) {
+      if (elements.get(i).renderOrder != 0) {
+        return true;
+      }
     }
+    return false;
   }
 
   /**
@@ -795,7 +1034,6 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     isCalcWidthConstraint = false;
     isCalcHeightConstraint = false;
 
-    TextRenderer textRenderer = getRenderer(TextRenderer.class);
     if (textRenderer != null) {
       textRenderer.resetLayout(this);
     }
@@ -845,7 +1083,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
           int newWidthPx = newWidth.getValueAsInt(0);
           newWidthPx += this.layoutPart.getBoxConstraints().getPaddingLeft().getValueAsInt(newWidth.getValueAsInt(newWidthPx));
           newWidthPx += this.layoutPart.getBoxConstraints().getPaddingRight().getValueAsInt(newWidth.getValueAsInt(newWidthPx));
-          setConstraintWidth(SizeValue.px(newWidthPx));
+          setCalculatedConstraintWidth(SizeValue.px(newWidthPx));
           isCalcWidthConstraint = true;
         }
       } else {
@@ -861,7 +1099,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     // this now means we had a calculatedWidthConstrained before but for whatever reason
     // that is not valid anymore so we need to reset it here.
     if (currentWidthConstraint != null) {
-      setConstraintWidth(null);
+      setCalculatedConstraintWidth(null);
     }
   }
 
@@ -903,7 +1141,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
           int newHeightPx = newHeight.getValueAsInt(0);
           newHeightPx += this.layoutPart.getBoxConstraints().getPaddingTop().getValueAsInt(newHeight.getValueAsInt(newHeightPx));
           newHeightPx += this.layoutPart.getBoxConstraints().getPaddingBottom().getValueAsInt(newHeight.getValueAsInt(newHeightPx));
-          setConstraintHeight(SizeValue.px(newHeightPx));
+          setCalculatedConstraintHeight(SizeValue.px(newHeightPx));
           isCalcHeightConstraint = true;
         }
       } else {
@@ -919,16 +1157,15 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     // this now means we had a calculatedWidthConstrained before but for whatever reason
     // that is not valid anymore so we need to reset it here.
     if (myHeightConstraint != null) {
-      setConstraintHeight(null);
+      setCalculatedConstraintHeight(null);
     }
   }
 
   private void processLayoutInternal() {
     for (int i=0; i<elements.size(); i++) {
       Element w = elements.get(i);
-      TextRenderer textRenderer = w.getRenderer(TextRenderer.class);
-      if (textRenderer != null) {
-        textRenderer.setWidthConstraint(w, w.getConstraintWidth(), getWidth(), nifty.getRenderEngine());
+      if (w.textRenderer != null) {
+        w.textRenderer.setWidthConstraint(w, w.getConstraintWidth(), getWidth(), nifty.getRenderEngine());
       }
     }
   }
@@ -972,11 +1209,117 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void layoutElements() {
+    SizeValue oldWidth = getConstraintWidth();
+    SizeValue oldHeight = getConstraintHeight();
+
+    // the area the child elements have been rendered to before the layout needs to be repainted too
+    nifty.requestRender(this);
+
     prepareLayout();
     processLayout();
 
     prepareLayout();
     processLayout();
+
+    // all of our child elements are up to date now. only our parent can react to a change of our own size
+    // so we'll request that when our size has been changed.
+    clearChildLayoutRequests();
+    if (parent == null) {
+      layoutRequested = false;
+    } else if (isChanged(oldWidth, getConstraintWidth()) || isChanged(oldHeight, getConstraintHeight())) {
+      requestLayout();
+    }
+    notifyScreenLayoutChanged();
+  }
+
+  /**
+   * Request a new layout for this element. In contrast to layoutElements() this will not layout anything at once.
+   * The request will be processed together with all other requests once per frame in Nifty.update() and only
+   * the part of the element tree that is actually affected by the change of this element will be layouted again.
+   * This is called automatically when the constraints of this element change.
+   */
+  public void requestLayout() {
+    if (layoutRequested) {
+      return;
+    }
+    layoutRequested = true;
+    // remember the area we've been rendered to so far. the new area is added when the layout has been processed.
+    nifty.requestRender(this);
+    nifty.requestLayout(this);
+  }
+
+  /**
+   * Returns true when the layout of this element has been requested but has not been processed yet.
+   * @return true when a layout is pending for this element
+   */
+  public boolean isLayoutRequested() {
+    return layoutRequested;
+  }
+
+  // package private to prevent public access
+  Element prepareRequestedLayout() {
+    layoutRequested = false;
+
+    // our own size might depend on our child elements
+    Element root = this;
+    updateCalculatedConstraints();
+
+    // our parent will need to layout us again in any case but we only need to walk further up
+    // as long as the size of the parent changes too
+    if (root.parent != null) {
+      root = root.parent;
+      while (root.updateCalculatedConstraints() && root.parent != null) {
+        root = root.parent;
+      }
+    }
+    return root;
+  }
+
+  // package private to prevent public access
+  void processRequestedLayout() {
+    nifty.requestRender(this);
+    processLayout();
+    notifyScreenLayoutChanged();
+  }
+
+  // package private to prevent public access
+  void cancelRequestedLayout() {
+    layoutRequested = false;
+  }
+
+  private void notifyScreenLayoutChanged() {
+    if (screen != null) {
+      screen.layoutChanged(this);
+    }
+  }
+
+  private void notifyScreenMouseAreaChanged() {
+    if (screen != null) {
+      screen.mouseAreaChanged(this);
+    }
+  }
+
+  private boolean updateCalculatedConstraints() {
+    SizeValue oldWidth = getConstraintWidth();
+    SizeValue oldHeight = getConstraintHeight();
+    preProcessConstraintWidthThisLevel();
+    preProcessConstraintHeightThisLevel();
+    return isChanged(oldWidth, getConstraintWidth()) || isChanged(oldHeight, getConstraintHeight());
+  }
+
+  private void clearChildLayoutRequests() {
+    for (int i=0; i<elements.size(); i++) {
+      Element e = elements.get(i);
+      e.layoutRequested = false;
+      e.clearChildLayoutRequests();
+    }
+  }
+
+  private boolean isChanged(final SizeValue oldValue, final SizeValue newValue) {
+    if (oldValue == null) {
+      return newValue != null;
+    }
+    return !oldValue.equals(newValue);
   }
 
   private void prepareLayout() {
@@ -997,6 +1340,33 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
+  /**
+   * Advance the effects of this element and all of its children with the given EffectScheduler from now on. This is
+   * used when a popup that has been created for one screen is shown on another screen.
+   * @param effectScheduler the EffectScheduler of the screen the element is shown on
+   */
+  public void bindEffectScheduler(final EffectScheduler effectScheduler) {
+    effectManager.setEffectScheduler(effectScheduler);
+    for (int i=0; i<elements.size(); i++) {
+      elements.get(i).bindEffectScheduler(effectScheduler);
+    }
+  }
+
+  /**
+   * Advance the effects of this element and all of its children with the EffectScheduler of the parent element. This
+   * is used for elements that are added at runtime so that they use the same EffectScheduler as their parent, f.i.
+   * when the parent is part of a popup that is shown on another screen than the one it has been created for.
+   */
+  public void bindParentEffectScheduler() {
+    if (parent == null) {
+      return;
+    }
+    EffectScheduler parentScheduler = parent.getEffectManager().getEffectScheduler();
+    if (parentScheduler != null) {
+      bindEffectScheduler(parentScheduler);
+    }
+  }
+
   /**
    * reset all effects.
    */
@@ -1053,6 +1423,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newX new x constraint.
    */
   public void setConstraintX(final SizeValue newX) {
+    if (isChanged(layoutPart.getBoxConstraints().getX(), newX)) {
+      requestLayout();
+    }
     layoutPart.getBoxConstraints().setX(newX);
     notifyListeners();
   }
@@ -1062,6 +1435,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newY new y constaint.
    */
   public void setConstraintY(final SizeValue newY) {
+    if (isChanged(layoutPart.getBoxConstraints().getY(), newY)) {
+      requestLayout();
+    }
     layoutPart.getBoxConstraints().setY(newY);
     notifyListeners();
   }
@@ -1071,8 +1447,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newWidth new width constraint.
    */
   public void setConstraintWidth(final SizeValue newWidth) {
-    layoutPart.getBoxConstraints().setWidth(newWidth);
-    notifyListeners();
+    if (isChanged(layoutPart.getBoxConstraints().getWidth(), newWidth)) {
+      requestLayout();
+    }
+    setCalculatedConstraintWidth(newWidth);
   }
 
   /**
@@ -1080,6 +1458,19 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newHeight new height constraint.
    */
   public void setConstraintHeight(final SizeValue newHeight) {
+    if (isChanged(layoutPart.getBoxConstraints().getHeight(), newHeight)) {
+      requestLayout();
+    }
+    setCalculatedConstraintHeight(newHeight);
+  }
+
+  // the layout itself changes the constraints without requesting a new layout
+  private void setCalculatedConstraintWidth(final SizeValue newWidth) {
+    layoutPart.getBoxConstraints().setWidth(newWidth);
+    notifyListeners();
+  }
+
+  private void setCalculatedConstraintHeight(final SizeValue newHeight) {
     layoutPart.getBoxConstraints().setHeight(newHeight);
     notifyListeners();
   }
@@ -1312,6 +1703,15 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     return effectStateCache.get(effectEventId);
   }
 
+  /**
+   * check if any effect still changes what is rendered. travels down to child elements. Effects that are active but
+   * are only rendered with the same state again (like an onActive effect without a length) don't count.
+   * @return true, if at least one effect of this element or of one of its child elements is changing
+   */
+  public boolean isAnyEffectChanging() {
+    return effectStateCache.isAnyChanging();
+  }
+
   /**
    * enable this element.
    */
@@ -1428,6 +1828,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       element.internalShow();
     }
 
+    nifty.requestRender(this);
     nifty.publishEvent(getId(), new ElementShowEvent(this));
   }
 
@@ -1497,6 +1898,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       element.internalHide();
     }
 
+    nifty.requestRender(this);
     nifty.publishEvent(getId(), new ElementHideEvent(this));
   }
 
@@ -1601,6 +2003,22 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       final NiftyMouseInputEvent mouseEvent,
       final long eventTime,
       final MouseOverHandler mouseOverHandler) {
+    buildMouseOverElement(mouseEvent, eventTime, mouseOverHandler);
+    if (visible) {
+      for (int i=0; i<elements.size(); i++) {
+        Element w = elements.get(i);
+        w.buildMouseOverElements(mouseEvent, eventTime, mouseOverHandler);
+      }
+    }
+  }
+
+  /**
+   * Same as buildMouseOverElements() but for this element only. The child elements are not processed.
+   */
+  public void buildMouseOverElement(
+      final NiftyMouseInputEvent mouseEvent,
+      final long eventTime,
+      final MouseOverHandler mouseOverHandler) {
     boolean isInside = isInside(mouseEvent);
     if (canHandleMouseEvents()) {
       if (isInside) {
@@ -1613,16 +2031,42 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         mouseOverHandler.canTheoreticallyHandleMouse(this);
       }
     }
-    if (visible) {
-      for (int i=0; i<elements.size(); i++) {
-        Element w = elements.get(i);
-        w.buildMouseOverElements(mouseEvent, eventTime, mouseOverHandler);
+  }
+
+  /**
+   * Returns true while a mouse button has been pressed on this element and has not been released yet.
+   * @return true when a mouse button is down on this element
+   */
+  public boolean isMouseDown() {
+    return interaction.isMouseDown();
+  }
+
+  /**
+   * Get the area of the screen where this element can be hit by the mouse. This is the box of this element
+   * clipped by the clip area of the parent element.
+   * @return the area or null when this element is completely clipped
+   */
+  public Box getMouseArea() {
+    int x0 = getX();
+    int y0 = getY();
+    int x1 = getX() + getWidth();
+    int y1 = getY() + getHeight();
+    if (parentClipArea) {
+      x0 = Math.max(x0, parentClipX);
+      y0 = Math.max(y0, parentClipY);
+      x1 = Math.min(x1, parentClipX + parentClipWidth);
+      y1 = Math.min(y1, parentClipY + parentClipHeight);
+      if (x1 < x0 || y1 < y0) {
+        return null;
       }
     }
+    return new Box(x0, y0, x1 - x0, y1 - y0);
   }
 
   public void mouseEventHoverPreprocess(final NiftyMouseInputEvent mouseEvent, final long eventTime) {
-    effectManager.handleHoverDeactivate(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
+    if (effectManager.hasHoverEffects()) {
+      effectManager.handleHoverDeactivate(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
+    }
   }
 
   /**
@@ -1636,6 +2080,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   private void mouseEventHover(final NiftyMouseInputEvent mouseEvent) {
+    if (!effectManager.hasHoverEffects()) {
+      return;
+    }
     effectManager.handleHover(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
     effectManager.handleHoverStartAndEnd(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
   }
@@ -1729,6 +2176,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       return null;
     }
 
+    // when we're connected to a screen the index knows all of our child elements
+    if (idIndex != null) {
+      return idIndex.findElementById(this, findId);
+    }
+
     if (id != null && id.equals(findId)) {
       return this;
     }
@@ -1792,11 +2244,16 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
   public void setEffectManager(final EffectManager effectManagerParam) {
     effectManager = effectManagerParam;
+    if (screen != null) {
+      effectManager.setEffectScheduler(screen.getEffectScheduler());
+    }
+    notifyScreenMouseAreaChanged();
   }
 
   private void bindToScreen(final Screen newScreen) {
     screen = newScreen;
     screen.registerElementId(id);
+    effectManager.setEffectScheduler(screen.getEffectScheduler());
   }
 
   private void bindToFocusHandler(final boolean isPopup) {
@@ -1863,6 +2320,43 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @return the ElementRenderer that matches the class
    */
   public < T extends ElementRenderer > T getRenderer(final Class < T > requestedRendererClass) {
+    if (requestedRendererClass == TextRenderer.class) {
+      return requestedRendererClass.cast(textRenderer);
+    }
+    if (requestedRendererClass == ImageRenderer.class) {
+      return requestedRendererClass.cast(imageRenderer);
+    }
+    if (requestedRendererClass == PanelRenderer.class) {
+      return requestedRendererClass.cast(panelRenderer);
+    }
+    return findRenderer(requestedRendererClass);
+  }
+
+  /**
+   * Get the TextRenderer of this element.
+   * @return the TextRenderer or null when this element doesn't have one
+   */
+  public TextRenderer getTextRenderer() {
+    return textRenderer;
+  }
+
+  /**
+   * Get the ImageRenderer of this element.
+   * @return the ImageRenderer or null when this element doesn't have one
+   */
+  public ImageRenderer getImageRenderer() {
+    return imageRenderer;
+  }
+
+  /**
+   * Get the PanelRenderer of this element.
+   * @return the PanelRenderer or null when this element doesn't have one
+   */
+  public PanelRenderer getPanelRenderer() {
+    return panelRenderer;
+  }
+
+  private < T extends ElementRenderer > T findRenderer(final Class < T > requestedRendererClass) {
     for (int i=0; i<elementRenderer.length; i++) {
       ElementRenderer renderer = elementRenderer[i];
       if (requestedRendererClass.isInstance(renderer)) {
@@ -1877,7 +2371,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newVisibleToMouseEvents true or false
    */
   public void setVisibleToMouseEvents(final boolean newVisibleToMouseEvents) {
+    if (visibleToMouseEvents == newVisibleToMouseEvents) {
+      return;
+    }
     this.visibleToMouseEvents = newVisibleToMouseEvents;
+    notifyScreenMouseAreaChanged();
   }
 
   /**
@@ -1897,6 +2395,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
   public void setClipChildren(final boolean clipChildrenParam) {
     this.clipChildren = clipChildrenParam;
+    nifty.requestRender(this);
   }
 
   /**
@@ -1913,9 +2412,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   private void renderOrderChanged(final Element element) {
-    elementsRenderOrderSet.remove(element);
-    elementsRenderOrderSet.add(element);
-    elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[0]);
+    elementsRenderOrderDirty = true;
+    nifty.requestRender(element);
   }
 
   public int getRenderOrder() {
@@ -2013,7 +2511,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * @param newId new id
    */
   public void setId(final String newId) {
+    String oldId = this.id;
     this.id = newId;
+    if (idIndex != null) {
+      idIndex.changeId(this, oldId, newId);
+    }
   }
 
   /**
@@ -2193,7 +2695,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       }
     }
     log.warning("missing element/control with id [" + getId() + "] for requested control class [" + requestedControlClass.getName() + "]");
-    return NullObjectFactory.createNull(requestedControlClass);
+    return NullObjectFactory.createNull(requestedControlClass, nifty.getInstanceFactoryRegistry());
   }
 
   /**
@@ -2428,21 +2930,35 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   @Override
   public void effectStateChanged(final EffectEventId eventId, final boolean active) {
+    // started effects need to be rendered and so does the final state of ended effects
+    nifty.requestRender(this);
+    updateEffectState(eventId);
+  }
+
+  @Override
+  public void hoverEffectsChanged() {
+    notifyScreenMouseAreaChanged();
+  }
+
+  private void updateEffectState(final EffectEventId eventId) {
     // Get the oldState first.
     boolean oldState = effectStateCache.get(eventId);
+    boolean oldChanging = effectStateCache.isChanging(eventId);
 
     // The given EffectEventId changed its state. This means we now must update
     // the ElementEffectStatetCache for this element. We do this by recalculating
     // our state taking the state of all child elements into account.
     boolean newState = isEffectActiveRecalc(eventId);
+    boolean newChanging = isEffectChangingRecalc(eventId);
 
     // When our state has been changed due to the update we will update the cache
     // and tell our parent element to update as well.
-    if (newState != oldState) {
+    if (newState != oldState || newChanging != oldChanging) {
       effectStateCache.set(eventId, newState);
+      effectStateCache.setChanging(eventId, newChanging);
 
       if (parent != null) {
-        parent.effectStateChanged(eventId, newState);
+        parent.updateEffectState(eventId);
       }
     }
   }
@@ -2457,22 +2973,24 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     return effectManager.isActive(eventId);
   }
 
+  private boolean isEffectChangingRecalc(final EffectEventId eventId) {
+    for (int i=0; i<elements.size(); i++) {
+      Element w = elements.get(i);
+      if (w.isEffectChangingRecalc(eventId)) {
+        return true;
+      }
+    }
+    return effectManager.isChanging(eventId);
+  }
+
   // package private to prevent public access
   void internalRemoveElement(final Element element) {
-    // so now that's odd: we need to remove the element first from the
-    // elementsRenderOrder and THEN from the elements list. this is because
-    // the elementsRenderOrder comparator uses the index of the element in
-    // the elements list >_<
-    //
-    // the main issue here is of course the splitted data structure. something
-    // we need to adress in 1.4 or 2.0.
-    elementsRenderOrderSet.remove(element);
-
-    // now that the element has been removed from the elementsRenderOrder set
-    // we can remove it from the elements list as well.
     elements.remove(element);
+    elementsRenderOrderDirty = true;
 
-    elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[0]);
+    if (idIndex != null) {
+      idIndex.remove(element);
+    }
   }
 
   // package private to prevent public access
@@ -2481,11 +2999,24 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     while (elementIt.hasNext()) {
       Element el = elementIt.next();
       el.internalRemoveElementWithChilds();
+      if (idIndex != null) {
+        idIndex.remove(el);
+      }
     }
 
-    elementsRenderOrderSet.clear();
     elements.clear();
-    elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[0]);
+    elementsRenderOrder = new Element[0];
+    elementsRenderOrderDirty = false;
+  }
+
+  // package private to prevent public access
+  ElementIdIndex getIdIndex() {
+    return idIndex;
+  }
+
+  // package private to prevent public access
+  void setIdIndex(final ElementIdIndex newIdIndex) {
+    idIndex = newIdIndex;
   }
 
   /**
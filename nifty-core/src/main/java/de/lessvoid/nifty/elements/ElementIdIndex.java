@@ -0,0 +1,226 @@
+package de.lessvoid.nifty.elements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An id index for all elements that are connected to the layers of a single Screen. This replaces the
+ * depth first walk of the whole element tree in findElementById() with a map lookup.
+ *
+ * Elements are registered when their layer becomes part of the layers of the Screen and they will stay
+ * registered as long as they're connected to such a layer. Element.add(), Element.setId() and the internal
+ * remove methods of Element keep the index current.
+ *
+ * Besides the full id every element is registered with all of its "#suffix" parts too. So an element with
+ * the id "window#content#text" can be found by "#content#text" and "#text" with a single lookup.
+ *
+ * @author void
+ */
+public class ElementIdIndex {
+  private final Map < String, List < Element >> idMap = new HashMap < String, List < Element >>();
+  private final Map < String, List < Element >> suffixMap = new HashMap < String, List < Element >>();
+  private final List < Element > layers = new ArrayList < Element >();
+
+  /**
+   * Synchronize the index with the current list of layers. Layers that are not part of the given list
+   * anymore will be removed together with all of their child elements and new layers will be added.
+   * @param currentLayers the current layers of the Screen in the order they are searched
+   */
+  public void updateLayers(final List < Element > currentLayers) {
+    for (int i=0; i<layers.size(); i++) {
+      Element layer = layers.get(i);
+      if (!currentLayers.contains(layer)) {
+        remove(layer);
+      }
+    }
+    layers.clear();
+    for (int i=0; i<currentLayers.size(); i++) {
+      Element layer = currentLayers.get(i);
+      add(layer);
+      layers.add(layer);
+    }
+  }
+
+  /**
+   * Find the element with the given id or the element with an id that ends with the given id when the id
+   * starts with "#". In case there is more than one matching element the first one in the order of the
+   * layers and in depth first order of the element tree is returned.
+   * @param findId the id to find
+   * @return the element or null
+   */
+  public Element findElementById(final String findId) {
+    return findElementById(null, findId);
+  }
+
+  /**
+   * Same as findElementById(String) but only elements that are the given parent element or that are
+   * connected to the given parent element are taken into account.
+   * @param parent the parent element to search or null to search all layers
+   * @param findId the id to find
+   * @return the element or null
+   */
+  public Element findElementById(final Element parent, final String findId) {
+    if (findId == null) {
+      return null;
+    }
+    List < Element > candidates;
+    if (findId.startsWith("#")) {
+      candidates = suffixMap.get(findId);
+    } else {
+      candidates = idMap.get(findId);
+    }
+    if (candidates == null) {
+      return null;
+    }
+
+    Element result = null;
+    for (int i=0; i<candidates.size(); i++) {
+      Element candidate = candidates.get(i);
+      if (parent != null && !isSelfOrChildOf(candidate, parent)) {
+        continue;
+      }
+      if (result == null || isBefore(candidate, result)) {
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Add the given element and all of its child elements to the index.
+   * @param element the element to add
+   */
+  void add(final Element element) {
+    if (element.getIdIndex() == this) {
+      return;
+    }
+    element.setIdIndex(this);
+    register(element.getId(), element);
+
+    List < Element > children = element.getElements();
+    for (int i=0; i<children.size(); i++) {
+      add(children.get(i));
+    }
+  }
+
+  /**
+   * Remove the given element and all of its child elements from the index.
+   * @param element the element to remove
+   */
+  void remove(final Element element) {
+    if (element.getIdIndex() != this) {
+      return;
+    }
+    element.setIdIndex(null);
+    unregister(element.getId(), element);
+
+    List < Element > children = element.getElements();
+    for (int i=0; i<children.size(); i++) {
+      remove(children.get(i));
+    }
+  }
+
+  /**
+   * The id of an indexed element has been changed.
+   * @param element the element
+   * @param oldId the id the element has been registered with
+   * @param newId the new id of the element
+   */
+  void changeId(final Element element, final String oldId, final String newId) {
+    unregister(oldId, element);
+    register(newId, element);
+  }
+
+  private void register(final String id, final Element element) {
+    if (id == null) {
+      return;
+    }
+    put(idMap, id, element);
+
+    int index = id.indexOf('#');
+    while (index != -1) {
+      put(suffixMap, id.substring(index), element);
+      index = id.indexOf('#', index + 1);
+    }
+  }
+
+  private void unregister(final String id, final Element element) {
+    if (id == null) {
+      return;
+    }
+    delete(idMap, id, element);
+
+    int index = id.indexOf('#');
+    while (index != -1) {
+      delete(suffixMap, id.substring(index), element);
+      index = id.indexOf('#', index + 1);
+    }
+  }
+
+  private void put(final Map < String, List < Element >> map, final String key, final Element element) {
+    List < Element > list = map.get(key);
+    if (list == null) {
+      list = new ArrayList < Element >(1);
+      map.put(key, list);
+    }
+    list.add(element);
+  }
+
+  private void delete(final Map < String, List < Element >> map, final String key, final Element element) {
+    List < Element > list = map.get(key);
+    if (list == null) {
+      return;
+    }
+    list.remove(element);
+    if (list.isEmpty()) {
+      map.remove(key);
+    }
+  }
+
+  private boolean isSelfOrChildOf(final Element element, final Element parent) {
+    Element current = element;
+    while (current != null) {
+      if (current == parent) {
+        return true;
+      }
+      current = current.getParent();
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when the element a is found before the element b when the layers are searched depth first.
+   */
+  private boolean isBefore(final Element a, final Element b) {
+    List < Element > pathA = pathFromLayer(a);
+    List < Element > pathB = pathFromLayer(b);
+    if (pathA.get(0) != pathB.get(0)) {
+      return layers.indexOf(pathA.get(0)) < layers.indexOf(pathB.get(0));
+    }
+    int i = 1;
+    while (i < pathA.size() && i < pathB.size() && pathA.get(i) == pathB.get(i)) {
+      i++;
+    }
+    if (i == pathA.size()) {
+      // a is the same element as b or a parent of b
+      return true;
+    }
+    if (i == pathB.size()) {
+      return false;
+    }
+    List < Element > siblings = pathA.get(i - 1).getElements();
+    return siblings.indexOf(pathA.get(i)) < siblings.indexOf(pathB.get(i));
+  }
+
+  private List < Element > pathFromLayer(final Element element) {
+    List < Element > path = new ArrayList < Element >();
+    Element current = element;
+    while (current != null && current.getIdIndex() == this) {
+      path.add(0, current);
+      current = current.getParent();
+    }
+    return path;
+  }
+}
@@ -31,6 +31,10 @@ public class ElementInteraction {
     tertiary.resetMouseDown();
   }
 
+  public boolean isMouseDown() {
+    return primary.isMouseDown() || secondary.isMouseDown() || tertiary.isMouseDown();
+  }
+
   public ElementInteractionClickHandler getPrimary() {
     return primary;
   }
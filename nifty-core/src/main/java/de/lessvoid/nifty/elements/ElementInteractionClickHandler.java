@@ -96,6 +96,10 @@ public class ElementInteractionClickHandler {
     this.isMouseDown = false;
   }
 
+  public boolean isMouseDown() {
+    return isMouseDown;
+  }
+
   private void onInitialClick() {
     mouseMethods.onInitialClick();
   }
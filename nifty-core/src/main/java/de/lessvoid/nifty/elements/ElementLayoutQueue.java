@@ -0,0 +1,89 @@
+package de.lessvoid.nifty.elements;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects all layout requests of elements (see Element.requestLayout()) and processes them in one go. Instead of
+ * layouting the parent of each changed element twice we'll only walk up the element tree as far as the size of the
+ * elements actually changes and we'll layout each of the resulting elements only once.
+ *
+ * @author void
+ */
+public class ElementLayoutQueue {
+  /**
+   * The layout of an element can request the layout of other elements (automatic line wrapping of text
+   * changes the constraints of the text element for instance). So we process the requests up to two
+   * times per call which matches the two passes of Element.layoutElements().
+   */
+  private static final int MAX_PASSES = 2;
+
+  private List < Element > requests = new ArrayList < Element >();
+  private List < Element > roots = new ArrayList < Element >();
+  private Set < Element > rootSet = new HashSet < Element >();
+
+  /**
+   * Add a layout request for the given element.
+   * @param element the element that requested a layout
+   */
+  public void add(final Element element) {
+    requests.add(element);
+  }
+
+  /**
+   * Returns true when there are requests that have not been processed yet.
+   * @return true when requests are pending
+   */
+  public boolean hasRequests() {
+    return !requests.isEmpty();
+  }
+
+  /**
+   * Process all layout requests.
+   */
+  public void process() {
+    for (int pass=0; pass<MAX_PASSES && !requests.isEmpty(); pass++) {
+      List < Element > current = requests;
+      requests = new ArrayList < Element >();
+
+      for (int i=0; i<current.size(); i++) {
+        Element element = current.get(i);
+        // the request might already have been handled by an explicit call to layoutElements()
+        if (!element.isLayoutRequested()) {
+          continue;
+        }
+        // elements that are not connected to a screen will be layouted when they are added
+        if (element.getIdIndex() == null) {
+          element.cancelRequestedLayout();
+          continue;
+        }
+        Element root = element.prepareRequestedLayout();
+        if (rootSet.add(root)) {
+          roots.add(root);
+        }
+      }
+
+      for (int i=0; i<roots.size(); i++) {
+        Element root = roots.get(i);
+        if (!hasRootParent(root)) {
+          root.processRequestedLayout();
+        }
+      }
+      roots.clear();
+      rootSet.clear();
+    }
+  }
+
+  private boolean hasRootParent(final Element element) {
+    Element current = element.getParent();
+    while (current != null) {
+      if (rootSet.contains(current)) {
+        return true;
+      }
+      current = current.getParent();
+    }
+    return false;
+  }
+}
@@ -1,5 +1,6 @@
 package de.lessvoid.nifty.elements.render;
 
+import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.render.NiftyImage;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
@@ -11,6 +12,31 @@ import de.lessvoid.nifty.render.NiftyRenderEngine;
 public class ImageRenderer implements ElementRenderer {
   private NiftyImage image = null;
   private int inset = 0;
+  private Nifty nifty;
+  private Element element;
+
+  /**
+   * Default constructor.
+   */
+  public ImageRenderer() {
+  }
+
+  /**
+   * Create an ImageRenderer that tells Nifty when the image has been changed.
+   * @param nifty Nifty
+   */
+  public ImageRenderer(final Nifty nifty) {
+    this.nifty = nifty;
+  }
+
+  /**
+   * Set the element this renderer belongs to. This is called by the element itself and allows changes to be reported
+   * for the area of the element only.
+   * @param element the element
+   */
+  public void setElement(final Element element) {
+    this.element = element;
+  }
 
   /**
    * Set Insert.
@@ -18,6 +44,7 @@ public class ImageRenderer implements ElementRenderer {
    */
   public void setInset(final int insetParam) {
     inset = insetParam;
+    requestRender();
   }
 
   /**
@@ -50,5 +77,17 @@ public class ImageRenderer implements ElementRenderer {
    */
   public void setImage(final NiftyImage newImage) {
     image = newImage;
+    requestRender();
+  }
+
+  private void requestRender() {
+    if (nifty == null) {
+      return;
+    }
+    if (element == null) {
+      nifty.requestRender();
+    } else {
+      nifty.requestRender(element);
+    }
   }
 }
@@ -2,6 +2,7 @@ package de.lessvoid.nifty.elements.render;
 
 import java.util.Random;
 
+import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.tools.Color;
@@ -19,12 +20,32 @@ public class PanelRenderer implements ElementRenderer {
 
   private Color debugColor;
 
+  private Nifty nifty;
+  private Element element;
+
   /**
    * Default constructor.
    */
   public PanelRenderer() {
   }
 
+  /**
+   * Create a PanelRenderer that tells Nifty when the background color has been changed.
+   * @param nifty Nifty
+   */
+  public PanelRenderer(final Nifty nifty) {
+    this.nifty = nifty;
+  }
+
+  /**
+   * Set the element this renderer belongs to. This is called by the element itself and allows changes to be reported
+   * for the area of the element only.
+   * @param element the element
+   */
+  public void setElement(final Element element) {
+    this.element = element;
+  }
+
   /**
    * render it.
    *
@@ -70,5 +91,13 @@ public class PanelRenderer implements ElementRenderer {
    */
   public void setBackgroundColor(final Color newBackgroundColor) {
     this.backgroundColor = newBackgroundColor;
+    if (nifty == null) {
+      return;
+    }
+    if (element == null) {
+      nifty.requestRender();
+    } else {
+      nifty.requestRender(element);
+    }
   }
 }
@@ -5,8 +5,9 @@ import java.util.List;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.elements.Element;
-import de.lessvoid.nifty.elements.tools.FontHelper;
 import de.lessvoid.nifty.elements.tools.TextBreak;
+import de.lessvoid.nifty.elements.tools.TextMeasure;
+import de.lessvoid.nifty.elements.tools.TextWrapCache;
 import de.lessvoid.nifty.layout.align.HorizontalAlign;
 import de.lessvoid.nifty.layout.align.VerticalAlign;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
@@ -40,6 +41,12 @@ public class TextRenderer implements ElementRenderer {
    */
   private int maxWidth;
 
+  /**
+   * the width of each text line measured with lineWidthsFont.
+   */
+  private int[] lineWidths = new int[0];
+  private RenderFont lineWidthsFont;
+
    /**
    * can't remember what this is :>.
    */
@@ -107,6 +114,11 @@ public class TextRenderer implements ElementRenderer {
    */
   private Element hasBeenLayoutedElement;
 
+  /*
+   * The element this TextRenderer belongs to. Changes of the text only damage the area of this element.
+   */
+  private Element element;
+
   /**
    * default constructor.
    */
@@ -125,6 +137,15 @@ public class TextRenderer implements ElementRenderer {
     init(newFont, newText);
   }
 
+  /**
+   * Set the element this renderer belongs to. This is called by the element itself and allows changes to be reported
+   * for the area of the element only.
+   * @param element the element
+   */
+  public void setElement(final Element element) {
+    this.element = element;
+  }
+
   /**
    * set Text.
    * @param newText text
@@ -133,7 +154,18 @@ public class TextRenderer implements ElementRenderer {
     if (newText == null) {
       return;
     }
+    // the old text might overflow the element in a different way than the new one so we damage both areas
+    requestRender();
     initText(newText, true);
+    requestRender();
+  }
+
+  private void requestRender() {
+    if (element == null) {
+      nifty.requestRender();
+    } else {
+      nifty.requestRender(element);
+    }
   }
 
   /**
@@ -151,23 +183,62 @@ public class TextRenderer implements ElementRenderer {
    */
   private void initText(final String param, final boolean changeExistingText) {
     String newText = nifty.specialValuesReplace(param);
+    this.originalText = newText;
+    if (changeExistingText && hasBeenLayoutedElement != null && lineWrapping && isCalculatedLineWrapping) {
+      updateWrappedText();
+      return;
+    }
+
     if (lineWrapping && isCalculatedLineWrapping) {
       isCalculatedLineWrapping = false;
     }
 
-    this.originalText = newText;
     this.textLines = newText.split("\n", -1);
     if (changeExistingText && hasBeenLayoutedElement != null) {
-      hasBeenLayoutedElement.getParent().layoutElements();
+      hasBeenLayoutedElement.requestLayout();
     }
 
-    maxWidth = 0;
-    for (String line : textLines) {
-      int lineWidth = font.getWidth(line);
-      if (lineWidth > maxWidth) {
-        maxWidth = lineWidth;
+    maxWidth = measureLines();
+  }
+
+  /**
+   * The text of an element that has already been wrapped is wrapped again with the same width (which is what maxWidth
+   * keeps while isCalculatedLineWrapping is set). The element only needs a new layout when the wrapped text now
+   * needs a different height.
+   */
+  private void updateWrappedText() {
+    int oldHeight = getTextHeight();
+    textLines = wrapText(maxWidth, nifty.getRenderEngine(), originalText);
+    measureLines();
+    int newHeight = getTextHeight();
+    if (newHeight != oldHeight) {
+      hasBeenLayoutedElement.setConstraintHeight(new SizeValue(newHeight + "px"));
+    }
+  }
+
+  /**
+   * Measure all text lines with the current font and remember their widths for rendering.
+   * @return the width of the widest line
+   */
+  private int measureLines() {
+    lineWidths = new int[textLines.length];
+    lineWidthsFont = font;
+    int widest = 0;
+    for (int i = 0; i < textLines.length; i++) {
+      int lineWidth = font.getWidth(textLines[i]);
+      lineWidths[i] = lineWidth;
+      if (lineWidth > widest) {
+        widest = lineWidth;
       }
     }
+    return widest;
+  }
+
+  private int getLineWidth(final RenderFont font, final int lineIndex, final String line) {
+    if (font == lineWidthsFont && lineIndex < lineWidths.length) {
+      return lineWidths[lineIndex];
+    }
+    return font.getWidth(line);
   }
 
   /**
@@ -188,16 +259,17 @@ public class TextRenderer implements ElementRenderer {
     boolean stateSaved = prepareRenderEngine(r, font);
 
     int y = getStartYWithVerticalAlign(lines.length * font.getHeight(), w.getHeight(), textVAlign);
-    for (String line : lines) {
+    for (int i = 0; i < lines.length; i++) {
+      String line = lines[i];
       int yy = w.getY() + y;
       if (Math.abs(xoffsetHack) > 0) {
-        int fittingOffset = FontHelper.getVisibleCharactersFromStart(font, line, Math.abs(xoffsetHack), 1.0f);
-        String cut = line.substring(0, fittingOffset);
+        TextMeasure measure = r.getTextMeasureCache().get(font, line, 1.0f);
+        int fittingOffset = measure.getVisibleCharactersFromStart(Math.abs(xoffsetHack));
         String substring = line.substring(fittingOffset, line.length());
-        int xx = w.getX() + xoffsetHack + font.getWidth(cut);
+        int xx = w.getX() + xoffsetHack + measure.getOffset(fittingOffset);
         renderLine(xx, yy, substring, r, selectionStart - fittingOffset, selectionEnd - fittingOffset);
       } else {
-        int xx = w.getX() + getStartXWithHorizontalAlign(font.getWidth(line), w.getWidth(), textHAlign);
+        int xx = w.getX() + getStartXWithHorizontalAlign(getLineWidth(font, i, line), w.getWidth(), textHAlign);
         renderLine(xx, yy, line, r, selectionStart, selectionEnd);
       }
       y += font.getHeight();
@@ -339,6 +411,7 @@ public class TextRenderer implements ElementRenderer {
    */
   public void setXoffsetHack(final int newXoffsetHack) {
     this.xoffsetHack = newXoffsetHack;
+    requestRender();
   }
 
   /**
@@ -357,6 +430,7 @@ public class TextRenderer implements ElementRenderer {
   public void setSelection(final int selectionStartParam, final int selectionEndParam) {
     this.selectionStart = selectionStartParam;
     this.selectionEnd = selectionEndParam;
+    requestRender();
   }
 
   /**
@@ -367,7 +441,9 @@ public class TextRenderer implements ElementRenderer {
     if (fontParam == null) {
       return;
     }
+    requestRender();
     this.font = fontParam;
+    requestRender();
   }
 
   /**
@@ -376,6 +452,7 @@ public class TextRenderer implements ElementRenderer {
    */
   public void setTextSelectionColor(final Color textSelectionColorParam) {
     this.textSelectionColor = textSelectionColorParam;
+    requestRender();
   }
 
   /**
@@ -384,6 +461,7 @@ public class TextRenderer implements ElementRenderer {
    */
   public void setTextVAlign(final VerticalAlign newTextVAlign) {
     this.textVAlign = newTextVAlign;
+    requestRender();
   }
 
   /**
@@ -392,6 +470,7 @@ public class TextRenderer implements ElementRenderer {
    */
   public void setTextHAlign(final HorizontalAlign newTextHAlign) {
     this.textHAlign = newTextHAlign;
+    requestRender();
   }
 
   /**
@@ -401,6 +480,7 @@ public class TextRenderer implements ElementRenderer {
   public void setColor(final Color newColor) {
     if (newColor != null) {
       this.color = newColor;
+      requestRender();
     }
   }
 
@@ -454,8 +534,18 @@ public class TextRenderer implements ElementRenderer {
     }
   }
 
-  private String[] wrapText(final int width, final NiftyRenderEngine r, final String[] textLines) {
+  private String[] wrapText(final int width, final NiftyRenderEngine r, final String text) {
     RenderFont font = ensureFont(r);
+    TextWrapCache textWrapCache = r.getTextWrapCache();
+    String[] wrapped = textWrapCache.get(font, text, width);
+    if (wrapped == null) {
+      wrapped = wrapText(width, font, text.split("\n", -1));
+      textWrapCache.put(font, text, width, wrapped);
+    }
+    return wrapped;
+  }
+
+  private String[] wrapText(final int width, final RenderFont font, final String[] textLines) {
     List < String > lines = new ArrayList < String > ();
     for (String line : textLines) {
       int lineLengthInPixel = font.getWidth(line);
@@ -483,15 +573,11 @@ public class TextRenderer implements ElementRenderer {
     // remember some values so that we can correctly do auto word wrapping when someone changes the text
     this.hasBeenLayoutedElement = element;
 
-    this.textLines = wrapText(valueAsInt, renderEngine, originalText.split("\n", -1));
+    this.textLines = wrapText(valueAsInt, renderEngine, originalText);
+    int widestLine = measureLines();
     maxWidth = valueAsInt;
     if (maxWidth == 0) {
-      for (String line : textLines) {
-        int lineWidth = font.getWidth(line);
-        if (lineWidth > maxWidth) {
-          maxWidth = lineWidth;
-        }
-      }
+      maxWidth = widestLine;
     }
 
     // we'll now modify the element constraints so that the layout mechanism can later take this word wrapping
@@ -0,0 +1,180 @@
+package de.lessvoid.nifty.elements.tools;
+
+import java.util.Arrays;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+/**
+ * The measurements of a single text with a single font and size. The x offset of a character is the width of the text
+ * in front of it as the font reports it, so offsets include the same kerning as measuring the substring would. Each
+ * offset is measured when it is first needed and kept afterwards, so finding the x offset of a character or the
+ * characters fitting into some width doesn't need to ask the font again.
+ *
+ * Instances are usually taken from the TextMeasureCache of the NiftyRenderEngine.
+ */
+public class TextMeasure {
+  private static final int UNKNOWN = -1;
+
+  private final RenderFont font;
+  private final String text;
+  private final float size;
+  private final int[] offsets;
+
+  // the last measured part of the text that doesn't start at the first character
+  private int segmentStart = UNKNOWN;
+  private int segmentEnd;
+  private int segmentWidth;
+
+  /**
+   * Create the measurements of the given text. Widths are taken from RenderFont.getWidth(String) when the size is
+   * 1.0f and from RenderFont.getWidth(String, float) otherwise.
+   * @param font the font to measure the text with
+   * @param text the text
+   * @param size the font size
+   */
+  public TextMeasure(final RenderFont font, final String text, final float size) {
+    this.font = font;
+    this.text = text;
+    this.size = size;
+    offsets = new int[text.length() + 1];
+    Arrays.fill(offsets, 1, offsets.length, UNKNOWN);
+  }
+
+  /**
+   * @return the text that has been measured
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * @return the font size the text has been measured with
+   */
+  public float getSize() {
+    return size;
+  }
+
+  /**
+   * @return the number of characters of the text
+   */
+  public int length() {
+    return text.length();
+  }
+
+  /**
+   * @return the width of the whole text in pixel
+   */
+  public int getWidth() {
+    return getOffset(text.length());
+  }
+
+  /**
+   * Get the width of a part of the text.
+   * @param start the index of the first character
+   * @param end the index behind the last character
+   * @return the width in pixel
+   */
+  public int getWidth(final int start, final int end) {
+    if (start == 0) {
+      return getOffset(end);
+    }
+    if (start != segmentStart || end != segmentEnd) {
+      segmentWidth = measure(text.substring(start, end));
+      segmentStart = start;
+      segmentEnd = end;
+    }
+    return segmentWidth;
+  }
+
+  /**
+   * Get the advance of a single character, that is the distance between its x offset and the x offset of the
+   * following character.
+   * @param index the character index
+   * @return the advance in pixel
+   */
+  public int getAdvance(final int index) {
+    return getOffset(index + 1) - getOffset(index);
+  }
+
+  /**
+   * Get the x offset of a character, that is the width of all characters in front of it.
+   * @param index the character index, text length is allowed and returns the width of the whole text
+   * @return the x offset in pixel
+   */
+  public int getOffset(final int index) {
+    if (offsets[index] == UNKNOWN) {
+      offsets[index] = measure(text.substring(0, index));
+    }
+    return offsets[index];
+  }
+
+  /**
+   * Get the number of characters from the start of the text that fit into the given width.
+   * @param maxWidth the width in pixel
+   * @return the character index of the first character that doesn't fit or the text length when all characters fit
+   */
+  public int getVisibleCharactersFromStart(final int maxWidth) {
+    int low = 0;
+    int high = text.length();
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (getOffset(middle) <= maxWidth) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Get the index of the last character, counted from the end of the text, that doesn't fit into the given width
+   * anymore. The width of the end of the text is the width of the whole text minus the x offset of its first
+   * character.
+   * @param maxWidth the width in pixel
+   * @return the character index of the last character that doesn't fit or 0 when all characters fit
+   */
+  public int getVisibleCharactersFromEnd(final int maxWidth) {
+    int width = getWidth();
+    int low = 0;
+    int high = text.length();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (width - getOffset(middle) <= maxWidth) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return Math.max(low - 1, 0);
+  }
+
+  /**
+   * Get the index of the character at the given x offset.
+   * @param pixel the x offset in pixel
+   * @return the character index, -1 for negative offsets and the text length for offsets behind the text
+   */
+  public int getCharacterIndexFromPixelPosition(final int pixel) {
+    if (pixel < 0) {
+      return -1;
+    }
+    int low = 0;
+    int high = text.length();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (getOffset(middle + 1) >= pixel) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private int measure(final String part) {
+    if (size == 1.0f) {
+      return font.getWidth(part);
+    }
+    return font.getWidth(part, size);
+  }
+}
@@ -0,0 +1,120 @@
+package de.lessvoid.nifty.elements.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+/**
+ * A bounded cache of TextMeasure instances keyed by font, text and font size. Fonts are compared by identity. When
+ * the cache is full the least recently used measurement is dropped.
+ *
+ * This is not thread safe. Every NiftyRenderEngine owns one of these so that the measurements and the fonts they are
+ * keyed by only live as long as the render engine. The engine clears it whenever a screen ends or is removed.
+ */
+public class TextMeasureCache {
+  public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+  private final LinkedHashMap < Key, TextMeasure > entries;
+  private final Key lookupKey = new Key();
+  private int maxEntries;
+
+  public TextMeasureCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public TextMeasureCache(final int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap < Key, TextMeasure >(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry < Key, TextMeasure > eldest) {
+        return size() > TextMeasureCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Get the measurements of the given text. The text is measured when it's not in the cache yet.
+   * @param font the font
+   * @param text the text
+   * @param size the font size
+   * @return the TextMeasure
+   */
+  public TextMeasure get(final RenderFont font, final String text, final float size) {
+    lookupKey.set(font, text, size);
+    TextMeasure measure = entries.get(lookupKey);
+    if (measure == null) {
+      measure = new TextMeasure(font, text, size);
+      if (maxEntries > 0) {
+        entries.put(new Key(font, text, size), measure);
+      }
+    }
+    lookupKey.set(null, null, 0.0f);
+    return measure;
+  }
+
+  /**
+   * Change the maximum number of measurements to keep. Least recently used entries are dropped right away when the
+   * cache holds more than that.
+   * @param newMaxEntries the maximum number of entries, 0 disables the cache
+   */
+  public void setMaxEntries(final int newMaxEntries) {
+    maxEntries = newMaxEntries;
+    while (entries.size() > maxEntries) {
+      entries.remove(entries.keySet().iterator().next());
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Remove all measurements.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  private static class Key {
+    private RenderFont font;
+    private String text;
+    private float size;
+
+    private Key() {
+    }
+
+    private Key(final RenderFont font, final String text, final float size) {
+      set(font, text, size);
+    }
+
+    private void set(final RenderFont font, final String text, final float size) {
+      this.font = font;
+      this.text = text;
+      this.size = size;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(font);
+      result = 31 * result + text.hashCode();
+      result = 31 * result + Float.floatToIntBits(size);
+      return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return font == other.font && size == other.size && text.equals(other.text);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package de.lessvoid.nifty.elements.tools;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+/**
+ * A cache for the result of word wrapping a text. The wrapped lines are kept per font, original text and wrapping
+ * width so that a relayout at the same width doesn't need to break and measure the text again. Fonts are compared by
+ * identity.
+ *
+ * The memory used by the cache is limited. The size of an entry is estimated from the length of the original text and
+ * of the wrapped lines. When the limit is exceeded the least recently used entries are dropped.
+ *
+ * The line arrays stored in here are shared by everybody wrapping the same text. They must not be modified.
+ *
+ * This is not thread safe. Every NiftyRenderEngine owns one of these next to its TextMeasureCache and clears it
+ * together with that.
+ */
+public class TextWrapCache {
+  public static final int DEFAULT_MAX_BYTES = 1024 * 1024;
+
+  private static final int ENTRY_OVERHEAD = 64;
+  private static final int STRING_OVERHEAD = 40;
+
+  private final LinkedHashMap < Key, Entry > entries = new LinkedHashMap < Key, Entry >(16, 0.75f, true);
+  private final Key lookupKey = new Key();
+  private int maxBytes;
+  private int bytes;
+
+  public TextWrapCache() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * @param maxBytes the estimated memory in bytes the cache is allowed to use
+   */
+  public TextWrapCache(final int maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Get the wrapped lines of a text.
+   * @param font the font the text has been wrapped with
+   * @param text the original text
+   * @param width the wrapping width in pixel
+   * @return the wrapped lines or null when they are not in the cache
+   */
+  public String[] get(final RenderFont font, final String text, final int width) {
+    lookupKey.set(font, text, width);
+    Entry entry = entries.get(lookupKey);
+    lookupKey.set(null, null, 0);
+    if (entry == null) {
+      return null;
+    }
+    return entry.lines;
+  }
+
+  /**
+   * Add the wrapped lines of a text. Entries that are larger than the whole cache are not stored.
+   * @param font the font the text has been wrapped with
+   * @param text the original text
+   * @param width the wrapping width in pixel
+   * @param lines the wrapped lines, the array must not be modified afterwards
+   */
+  public void put(final RenderFont font, final String text, final int width, final String[] lines) {
+    int size = estimateSize(text, lines);
+    if (size > maxBytes) {
+      return;
+    }
+    Entry old = entries.put(new Key(font, text, width), new Entry(lines, size));
+    if (old != null) {
+      bytes -= old.size;
+    }
+    bytes += size;
+    shrink();
+  }
+
+  /**
+   * Change the memory limit. Least recently used entries are dropped right away when the cache uses more than that.
+   * @param newMaxBytes the estimated memory in bytes the cache is allowed to use, 0 disables the cache
+   */
+  public void setMaxBytes(final int newMaxBytes) {
+    maxBytes = newMaxBytes;
+    shrink();
+  }
+
+  public int getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * @return the estimated memory in bytes used by the cache
+   */
+  public int getBytes() {
+    return bytes;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  private void shrink() {
+    Iterator < Entry > it = entries.values().iterator();
+    while (bytes > maxBytes && it.hasNext()) {
+      bytes -= it.next().size;
+      it.remove();
+    }
+  }
+
+  private static int estimateSize(final String text, final String[] lines) {
+    int size = ENTRY_OVERHEAD + STRING_OVERHEAD + text.length() * 2;
+    for (String line : lines) {
+      size += STRING_OVERHEAD + line.length() * 2;
+    }
+    return size;
+  }
+
+  private static class Entry {
+    private final String[] lines;
+    private final int size;
+
+    private Entry(final String[] lines, final int size) {
+      this.lines = lines;
+      this.size = size;
+    }
+  }
+
+  private static class Key {
+    private RenderFont font;
+    private String text;
+    private int width;
+
+    private Key() {
+    }
+
+    private Key(final RenderFont font, final String text, final int width) {
+      set(font, text, width);
+    }
+
+    private void set(final RenderFont font, final String text, final int width) {
+      this.font = font;
+      this.text = text;
+      this.width = width;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(font);
+      result = 31 * result + text.hashCode();
+      result = 31 * result + width;
+      return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return font == other.font && width == other.width && text.equals(other.text);
+    }
+  }
+}
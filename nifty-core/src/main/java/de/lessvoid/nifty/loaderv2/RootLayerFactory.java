@@ -26,14 +26,14 @@ public class RootLayerFactory {
         screen.getFocusHandler(),
         false,
         time,
-        createPanelRenderer());
+        createPanelRenderer(nifty));
     return layer;
   }
 
-  public ElementRenderer[] createPanelRenderer() {
+  public ElementRenderer[] createPanelRenderer(final Nifty nifty) {
     ElementRenderer[] renderer = new ElementRenderer[2];
-    renderer[0] = new ImageRenderer();
-    renderer[1] = new PanelRenderer();
+    renderer[0] = new ImageRenderer(nifty);
+    renderer[1] = new PanelRenderer(nifty);
     return renderer;
   }
 
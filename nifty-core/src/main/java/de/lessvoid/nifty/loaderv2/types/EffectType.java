@@ -76,7 +76,7 @@ public class EffectType extends XmlBaseType {
     Effect effect = createEffect(nifty, effectEventId, attributes);
     effect.init(
         element,
-        createEffectImpl(effectClass),
+        createEffectImpl(nifty, effectClass),
         effectProperties,
         nifty.getTimeProvider(),
         controllers);
@@ -145,10 +145,10 @@ public class EffectType extends XmlBaseType {
     }
   }
 
-  private EffectImpl createEffectImpl(final Class < ? > effectClass) {
+  private EffectImpl createEffectImpl(final Nifty nifty, final Class < ? > effectClass) {
     try {
       if (EffectImpl.class.isAssignableFrom(effectClass)) {
-        return (EffectImpl) effectClass.newInstance();
+        return (EffectImpl) nifty.getInstanceFactoryRegistry().getFactory(effectClass).createInstance();
       } else {
         logger.warning("given effect class ["
             + effectClass.getName()
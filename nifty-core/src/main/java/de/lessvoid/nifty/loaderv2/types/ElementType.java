@@ -20,7 +20,6 @@ import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverControlDefin
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.tools.StringHelper;
-import de.lessvoid.xml.tools.ClassHelper;
 import de.lessvoid.xml.xpp3.Attributes;
 
 public class ElementType extends XmlBaseType {
@@ -186,7 +185,7 @@ public class ElementType extends XmlBaseType {
     applyPostAttributes(element, getAttributes(), nifty.getRenderEngine());
 
     if (controller != null) {
-      NiftyInputControl niftyInputControl = createNiftyInputControl(element.getId(), getAttributes(), controller);
+      NiftyInputControl niftyInputControl = createNiftyInputControl(nifty, element.getId(), getAttributes(), controller);
       element.attachInputControl(niftyInputControl);
     }
   }
@@ -203,20 +202,20 @@ public class ElementType extends XmlBaseType {
     return withScreenController;
   }
 
-  private Controller createLocalController(final String controllerClassParam) {
+  private Controller createLocalController(final Nifty nifty, final String controllerClassParam) {
     if (controllerClassParam == null) {
       return null;
     }
-    return ClassHelper.getInstance(controllerClassParam, Controller.class);
+    return nifty.getInstanceFactoryRegistry().getInstance(controllerClassParam, Controller.class);
   }
 
-  private NiftyInputControl createNiftyInputControl(final String elementId, final Attributes controlDefinitionAttributes, final Controller controller) {
+  private NiftyInputControl createNiftyInputControl(final Nifty nifty, final String elementId, final Attributes controlDefinitionAttributes, final Controller controller) {
     String inputMappingClass = controlDefinitionAttributes.get("inputMapping");
     if (inputMappingClass == null) {
       inputMappingClass = DefaultInputMapping.class.getName();
     }
 
-    NiftyInputMapping inputMapping = ClassHelper.getInstance(inputMappingClass, NiftyInputMapping.class);
+    NiftyInputMapping inputMapping = nifty.getInstanceFactoryRegistry().getInstance(inputMappingClass, NiftyInputMapping.class);
     return new NiftyInputControl(controller, inputMapping);
   }
 
@@ -276,7 +275,7 @@ public class ElementType extends XmlBaseType {
     applyPostAttributes(element, attrib, nifty.getRenderEngine());
     attributes.refreshEffects(effects);
 
-    element.getParent().layoutElements();
+    element.requestLayout();
   }
 
   public InteractType getInteract() {
@@ -302,7 +301,7 @@ public class ElementType extends XmlBaseType {
     translateSpecialValues(nifty, screen);
 
     resolveParameters(rootElementType.getAttributes());
-    resolveControllers(new LinkedList < Object >());
+    resolveControllers(nifty, new LinkedList < Object >());
   }
 
   public void translateSpecialValues(final Nifty nifty, final Screen screen) {
@@ -369,14 +368,14 @@ public class ElementType extends XmlBaseType {
     return styleResolver;
   }
 
-  void resolveControllers(final LinkedList < Object > controllerParam) {
+  void resolveControllers(final Nifty nifty, final LinkedList < Object > controllerParam) {
     controllers = new LinkedList < Object > (controllerParam);
-    controller = createLocalController(getAttributes().get("controller"));
+    controller = createLocalController(nifty, getAttributes().get("controller"));
     if (controller != null) {
       controllers.addFirst(controller);
     }
     for (ElementType elementType : elements) {
-      elementType.resolveControllers(controllers);
+      elementType.resolveControllers(nifty, controllers);
     }
   }
 
@@ -36,7 +36,7 @@ public class ImageType extends ElementType {
 //          niftyImage = nifty.getRenderEngine().createImage(filename, false); // FIXME filter
 //        }
 //        renderer[0] = new ImageRenderer(niftyImage);
-        renderer[0] = new ImageRenderer();
+        renderer[0] = new ImageRenderer(nifty);
         return renderer;
       }
     });
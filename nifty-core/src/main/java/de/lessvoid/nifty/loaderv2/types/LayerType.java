@@ -27,7 +27,7 @@ public class LayerType extends ElementType {
     setTagName("<layer>");
     setElementRendererCreator(new ElementRendererCreator() {
       public ElementRenderer[] createElementRenderer(final Nifty nifty) {
-        return nifty.getRootLayerFactory().createPanelRenderer();
+        return nifty.getRootLayerFactory().createPanelRenderer(nifty);
       }
     });
   }
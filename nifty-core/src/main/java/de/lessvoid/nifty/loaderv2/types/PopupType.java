@@ -27,7 +27,7 @@ public class PopupType extends ElementType {
     setTagName("<popup>");
     setElementRendererCreator(new ElementRendererCreator() {
       public ElementRenderer[] createElementRenderer(final Nifty nifty) {
-        return nifty.getRootLayerFactory().createPanelRenderer();
+        return nifty.getRootLayerFactory().createPanelRenderer(nifty);
       }
     });
   }
@@ -16,7 +16,6 @@ import de.lessvoid.nifty.screen.ScreenController;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.StopWatch;
 import de.lessvoid.nifty.tools.StringHelper;
-import de.lessvoid.xml.tools.ClassHelper;
 
 public class ScreenType extends XmlBaseType {
   private static Logger log = Logger.getLogger(ScreenType.class.getName());
@@ -47,7 +46,7 @@ public class ScreenType extends XmlBaseType {
 
     String inputMappingClass = getAttributes().get("inputMapping");
     if (inputMappingClass != null) {
-      NiftyInputMapping inputMapping = ClassHelper.getInstance(inputMappingClass, NiftyInputMapping.class);
+      NiftyInputMapping inputMapping = nifty.getInstanceFactoryRegistry().getInstance(inputMappingClass, NiftyInputMapping.class);
       if (!(screenController instanceof KeyInputHandler)) {
         log.warning("class [" + controller + "] tries to use inputMapping [" + inputMappingClass + "] but does not implement [" + KeyInputHandler.class.getName() + "]");
       } else {
@@ -56,7 +55,7 @@ public class ScreenType extends XmlBaseType {
     }
     String inputMappingPreClass = getAttributes().get("inputMappingPre");
     if (inputMappingPreClass != null) {
-      NiftyInputMapping inputMapping = ClassHelper.getInstance(inputMappingPreClass, NiftyInputMapping.class);
+      NiftyInputMapping inputMapping = nifty.getInstanceFactoryRegistry().getInstance(inputMappingPreClass, NiftyInputMapping.class);
       if (!(screenController instanceof KeyInputHandler)) {
         log.warning("class [" + controller + "] tries to use inputMapping [" + inputMappingPreClass + "] but does not implement [" + KeyInputHandler.class.getName() + "]");
       } else {
@@ -95,7 +94,7 @@ public class ScreenType extends XmlBaseType {
     if (controller != null) {
       screenController = nifty.findScreenController(controller);
       if (screenController == null) {
-        screenController = ClassHelper.getInstance(controller, ScreenController.class);
+        screenController = nifty.getInstanceFactoryRegistry().getInstance(controller, ScreenController.class);
       }
     }
     return screenController;
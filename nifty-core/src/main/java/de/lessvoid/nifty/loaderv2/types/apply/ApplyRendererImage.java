@@ -12,7 +12,7 @@ import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.xml.xpp3.Attributes;
 
 public class ApplyRendererImage implements ApplyRenderer {
-  private Convert convert;
+  private final Convert convert;
 
   public ApplyRendererImage(final Convert convertParam) {
     convert = convertParam;
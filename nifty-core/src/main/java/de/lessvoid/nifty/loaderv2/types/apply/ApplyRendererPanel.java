@@ -11,7 +11,7 @@ import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.xml.xpp3.Attributes;
 
 public class ApplyRendererPanel implements ApplyRenderer {
-  private Convert convert;
+  private final Convert convert;
 
   public ApplyRendererPanel(final Convert convertParam) {
     convert = convertParam;
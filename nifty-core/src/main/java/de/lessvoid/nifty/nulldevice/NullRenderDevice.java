@@ -2,13 +2,14 @@ package de.lessvoid.nifty.nulldevice;
 
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.spi.render.PackedColorRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
 
-public class NullRenderDevice implements RenderDevice {
+public class NullRenderDevice implements RenderDevice, PackedColorRenderDevice {
 
   @Override
   public void setResourceLoader(NiftyResourceLoader niftyResourceLoader) {
@@ -74,6 +75,10 @@ public class NullRenderDevice implements RenderDevice {
   public void renderQuad(int x, int y, int width, int height, Color topLeft, Color topRight, Color bottomRight, Color bottomLeft) {
   }
   
+  @Override
+  public void renderQuad(int x, int y, int width, int height, int topLeft, int topRight, int bottomRight, int bottomLeft) {
+  }
+  
   @Override
   public void setBlendMode(BlendMode renderMode) {
   }
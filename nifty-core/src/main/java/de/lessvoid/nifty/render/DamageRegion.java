@@ -0,0 +1,162 @@
+package de.lessvoid.nifty.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.lessvoid.nifty.layout.Box;
+
+/**
+ * The part of the screen that has been changed since the last frame. This is stored as a small list of non
+ * overlapping rectangles. Rectangles that overlap or touch each other are merged into their bounding box and when
+ * there are more than MAX_RECTANGLES rectangles the two that waste the least area are merged. So the region always
+ * covers everything that has been added but might be a bit larger.
+ *
+ * @author void
+ */
+public class DamageRegion {
+  private static final int MAX_RECTANGLES = 8;
+
+  private final List < Box > rectangles = new ArrayList < Box >();
+  private final List < Box > rectanglesReadOnly = Collections.unmodifiableList(rectangles);
+  private boolean full;
+
+  /**
+   * Add the given rectangle to the region. Empty rectangles are ignored.
+   * @param x x
+   * @param y y
+   * @param width width
+   * @param height height
+   */
+  public void add(final int x, final int y, final int width, final int height) {
+    if (full || width <= 0 || height <= 0) {
+      return;
+    }
+    add(new Box(x, y, width, height));
+    while (rectangles.size() > MAX_RECTANGLES) {
+      mergeCheapestPair();
+    }
+  }
+
+  /**
+   * Mark the whole screen as damaged. The region stays full until reset() is called.
+   */
+  public void addFullScreen() {
+    full = true;
+    rectangles.clear();
+  }
+
+  /**
+   * Add everything the given region contains to this region.
+   * @param region the region to add
+   */
+  public void add(final DamageRegion region) {
+    if (region.full) {
+      addFullScreen();
+      return;
+    }
+    for (int i=0; i<region.rectangles.size(); i++) {
+      Box box = region.rectangles.get(i);
+      add(box.getX(), box.getY(), box.getWidth(), box.getHeight());
+    }
+  }
+
+  /**
+   * Remove everything from this region.
+   */
+  public void reset() {
+    full = false;
+    rectangles.clear();
+  }
+
+  /**
+   * @return true when the whole screen has been damaged
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * @return true when nothing has been damaged at all
+   */
+  public boolean isEmpty() {
+    return !full && rectangles.isEmpty();
+  }
+
+  /**
+   * Get the rectangles of this region. This will be empty when the region isFull().
+   * @return the non overlapping rectangles of this region (read only)
+   */
+  public List < Box > getRectangles() {
+    return rectanglesReadOnly;
+  }
+
+  private void add(final Box newBox) {
+    Box box = newBox;
+    int i = 0;
+    while (i < rectangles.size()) {
+      Box current = rectangles.get(i);
+      if (contains(current, box)) {
+        return;
+      }
+      if (touches(current, box)) {
+        rectangles.remove(i);
+        box = union(current, box);
+        i = 0;
+      } else {
+        i++;
+      }
+    }
+    rectangles.add(box);
+  }
+
+  private void mergeCheapestPair() {
+    int bestA = 0;
+    int bestB = 1;
+    long bestWaste = Long.MAX_VALUE;
+    for (int a=0; a<rectangles.size(); a++) {
+      for (int b=a+1; b<rectangles.size(); b++) {
+        Box boxA = rectangles.get(a);
+        Box boxB = rectangles.get(b);
+        long waste = area(union(boxA, boxB)) - area(boxA) - area(boxB);
+        if (waste < bestWaste) {
+          bestWaste = waste;
+          bestA = a;
+          bestB = b;
+        }
+      }
+    }
+    Box merged = union(rectangles.get(bestA), rectangles.get(bestB));
+    rectangles.remove(bestB);
+    rectangles.remove(bestA);
+    add(merged);
+  }
+
+  private static boolean contains(final Box outer, final Box inner) {
+    return
+      inner.getX() >= outer.getX() &&
+      inner.getY() >= outer.getY() &&
+      inner.getX() + inner.getWidth() <= outer.getX() + outer.getWidth() &&
+      inner.getY() + inner.getHeight() <= outer.getY() + outer.getHeight();
+  }
+
+  private static boolean touches(final Box a, final Box b) {
+    return
+      a.getX() <= b.getX() + b.getWidth() &&
+      b.getX() <= a.getX() + a.getWidth() &&
+      a.getY() <= b.getY() + b.getHeight() &&
+      b.getY() <= a.getY() + a.getHeight();
+  }
+
+  private static Box union(final Box a, final Box b) {
+    int x0 = Math.min(a.getX(), b.getX());
+    int y0 = Math.min(a.getY(), b.getY());
+    int x1 = Math.max(a.getX() + a.getWidth(), b.getX() + b.getWidth());
+    int y1 = Math.max(a.getY() + a.getHeight(), b.getY() + b.getHeight());
+    return new Box(x0, y0, x1 - x0, y1 - y0);
+  }
+
+  private static long area(final Box box) {
+    return (long) box.getWidth() * box.getHeight();
+  }
+}
@@ -2,6 +2,8 @@ package de.lessvoid.nifty.render;
 
 import java.util.Collection;
 
+import de.lessvoid.nifty.elements.tools.TextMeasureCache;
+import de.lessvoid.nifty.elements.tools.TextWrapCache;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
@@ -86,6 +88,20 @@ public interface NiftyRenderEngine {
    */
   String getFontname(RenderFont font);
 
+  /**
+   * Get the cache of text measurements for the fonts created by this render engine. It is cleared when a screen ends or
+   * is removed.
+   * @return the TextMeasureCache
+   */
+  TextMeasureCache getTextMeasureCache();
+
+  /**
+   * Get the cache of word wrapped texts for the fonts created by this render engine. It is cleared together with the
+   * TextMeasureCache.
+   * @return the TextWrapCache
+   */
+  TextWrapCache getTextWrapCache();
+
   /**
    * render a quad.
    * @param x x
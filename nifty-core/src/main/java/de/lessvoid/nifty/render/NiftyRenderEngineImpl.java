@@ -9,6 +9,9 @@ import java.util.logging.Logger;
 
 import de.lessvoid.nifty.NiftyStopwatch;
 import de.lessvoid.nifty.elements.render.TextRenderer.RenderFontNull;
+import de.lessvoid.nifty.elements.tools.TextMeasure;
+import de.lessvoid.nifty.elements.tools.TextMeasureCache;
+import de.lessvoid.nifty.elements.tools.TextWrapCache;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
@@ -101,6 +104,16 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
    */
   private Map < String, RenderFont > fontCache = new Hashtable < String, RenderFont >();
 
+  /**
+   * measurements of the texts rendered with the fonts from the fontCache.
+   */
+  private TextMeasureCache textMeasureCache = new TextMeasureCache();
+
+  /**
+   * word wrapped texts for the fonts from the fontCache.
+   */
+  private TextWrapCache textWrapCache = new TextWrapCache();
+
   /**
    * stack to save data.
    */
@@ -192,6 +205,16 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     }
   }
 
+  @Override
+  public TextMeasureCache getTextMeasureCache() {
+    return textMeasureCache;
+  }
+
+  @Override
+  public TextWrapCache getTextWrapCache() {
+    return textWrapCache;
+  }
+
   @Override
   public String getFontname(final RenderFont font) {
     for (Map.Entry<String, RenderFont> entry : fontCache.entrySet()) {
@@ -215,11 +238,17 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   public void renderQuad(final int x, final int y, final int width, final int height, final Color topLeft, final Color topRight, final Color bottomRight, final Color bottomLeft) {
     if (isColorAlphaChanged()) {
-      Color a = new Color(topLeft, color.getAlpha());
-      Color b = new Color(topRight, color.getAlpha());
-      Color c = new Color(bottomRight, color.getAlpha());
-      Color d = new Color(bottomLeft, color.getAlpha());
-      renderDevice.renderQuad(x + getX(), y + getY(), width, height, a, b, c, d);
+      // packed colors so that we don't need to create new Color instances with the changed alpha
+      float alpha = color.getAlpha();
+      renderDevice.renderQuad(
+          x + getX(),
+          y + getY(),
+          width,
+          height,
+          Color.packARGB(topLeft, alpha),
+          Color.packARGB(topRight, alpha),
+          Color.packARGB(bottomRight, alpha),
+          Color.packARGB(bottomLeft, alpha));
     } else {
       renderDevice.renderQuad(x + getX(), y + getY(), width, height, topLeft, topRight, bottomRight, bottomLeft);
     }
@@ -306,27 +335,32 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
     if (isEverythingSelected(text, selectionStart, selectionEnd)) {
       renderDevice.renderFont(font, text, x, y, textSelectionColor, textSizeX, textSizeY);
-    } else if (isSelectionAtBeginning(selectionStart)) {
+      return;
+    }
+
+    // the x offsets of the parts are taken from the cached measure of the whole text
+    TextMeasure measure = textMeasureCache.get(font, text, 1.0f);
+    if (isSelectionAtBeginning(selectionStart)) {
       String selectedString = text.substring(selectionStart, selectionEnd);
       String unselectedString = text.substring(selectionEnd);
 
       renderDevice.renderFont(font, selectedString, x, y, textSelectionColor, textSizeX, textSizeY);
-      renderDevice.renderFont(font, unselectedString, x + font.getWidth(selectedString), y, textColor, textSizeX, textSizeY);
+      renderDevice.renderFont(font, unselectedString, x + measure.getOffset(selectionEnd), y, textColor, textSizeX, textSizeY);
     } else if (isSelectionAtEnd(text, selectionEnd)) {
       String unselectedString = text.substring(0, selectionStart);
       String selectedString = text.substring(selectionStart, selectionEnd);
 
       renderDevice.renderFont(font, unselectedString, x, y, textColor, textSizeX, textSizeY);
-      renderDevice.renderFont(font, selectedString, x + font.getWidth(unselectedString), y, textSelectionColor, textSizeX, textSizeY);
+      renderDevice.renderFont(font, selectedString, x + measure.getOffset(selectionStart), y, textSelectionColor, textSizeX, textSizeY);
     } else {
       String unselectedString1 = text.substring(0, selectionStart);
       String selectedString = text.substring(selectionStart, selectionEnd);
       String unselectedString2 = text.substring(selectionEnd, text.length());
 
       renderDevice.renderFont(font, unselectedString1, x, y, textColor, textSizeX, textSizeY);
-      int unselectedString1Len = font.getWidth(unselectedString1);
+      int unselectedString1Len = measure.getOffset(selectionStart);
       renderDevice.renderFont(font, selectedString, x + unselectedString1Len, y, textSelectionColor, textSizeX, textSizeY);
-      int selectedStringLen = font.getWidth(selectedString);
+      int selectedStringLen = measure.getWidth(selectionStart, selectionEnd);
       renderDevice.renderFont(font, unselectedString2, x + unselectedString1Len + selectedStringLen, y, textColor, textSizeX, textSizeY);
     }
   }
@@ -890,6 +924,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
   @Override
   public void screenEnded(final Screen screen) {
     imageManager.unloadScreenImages(screen);
+    clearTextCaches();
   }
 
   @Override
@@ -898,6 +933,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
       imageManager.unloadScreenImages(screen);
       imageManager.screenRemoved(screen);
     }
+    clearTextCaches();
   }
 
   @Override
@@ -908,5 +944,15 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
   @Override
   public void screenRemoved(final Screen screen) {
     imageManager.screenRemoved(screen);
+    clearTextCaches();
+  }
+
+  /**
+   * The texts of a screen that is gone are unlikely to be rendered again soon, so we forget all measurements and
+   * wrapped texts instead of waiting for them to drop out of the caches.
+   */
+  private void clearTextCaches() {
+    textMeasureCache.clear();
+    textWrapCache.clear();
   }
 }
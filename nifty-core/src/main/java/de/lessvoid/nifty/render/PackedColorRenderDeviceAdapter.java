@@ -0,0 +1,51 @@
+package de.lessvoid.nifty.render;
+
+import de.lessvoid.nifty.spi.render.PackedColorRenderDevice;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.tools.Color;
+
+/**
+ * Provides the PackedColorRenderDevice methods for a RenderDevice that only supports Color instances. The packed
+ * colors are unpacked into Color instances owned by this adapter, so nothing is allocated per call. These instances
+ * are changed with each call so the wrapped RenderDevice must not keep references to them.
+ */
+public class PackedColorRenderDeviceAdapter implements PackedColorRenderDevice {
+  private final RenderDevice renderDevice;
+  private final Color color1 = new Color(0.0f, 0.0f, 0.0f, 0.0f);
+  private final Color color2 = new Color(0.0f, 0.0f, 0.0f, 0.0f);
+  private final Color color3 = new Color(0.0f, 0.0f, 0.0f, 0.0f);
+  private final Color color4 = new Color(0.0f, 0.0f, 0.0f, 0.0f);
+
+  /**
+   * Get the PackedColorRenderDevice for the given RenderDevice.
+   * @param renderDevice the RenderDevice
+   * @return the RenderDevice itself when it implements PackedColorRenderDevice or an adapter for it
+   */
+  public static PackedColorRenderDevice adapt(final RenderDevice renderDevice) {
+    if (renderDevice instanceof PackedColorRenderDevice) {
+      return (PackedColorRenderDevice) renderDevice;
+    }
+    return new PackedColorRenderDeviceAdapter(renderDevice);
+  }
+
+  public PackedColorRenderDeviceAdapter(final RenderDevice renderDevice) {
+    this.renderDevice = renderDevice;
+  }
+
+  @Override
+  public void renderQuad(
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      final int topLeft,
+      final int topRight,
+      final int bottomRight,
+      final int bottomLeft) {
+    color1.fromARGB(topLeft);
+    color2.fromARGB(topRight);
+    color3.fromARGB(bottomRight);
+    color4.fromARGB(bottomLeft);
+    renderDevice.renderQuad(x, y, width, height, color1, color2, color3, color4);
+  }
+}
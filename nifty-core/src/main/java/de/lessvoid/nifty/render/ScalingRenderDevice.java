@@ -1,21 +1,28 @@
 package de.lessvoid.nifty.render;
 
 import java.io.IOException;
+import java.util.List;
 
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.spi.render.DamageRegionRenderDevice;
 import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.spi.render.PackedColorRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
 
-public class ScalingRenderDevice implements RenderDevice {
+public class ScalingRenderDevice implements RenderDevice, DamageRegionRenderDevice, PackedColorRenderDevice {
   private NiftyRenderEngine renderEngine;
   private RenderDevice internal;
+  private PackedColorRenderDevice packedInternal;
+  private DamageRegion nativeDamageRegion = new DamageRegion();
 
   public ScalingRenderDevice(final NiftyRenderEngine renderEngine, final RenderDevice interal) {
     this.renderEngine = renderEngine;
     this.internal = interal;
+    this.packedInternal = PackedColorRenderDeviceAdapter.adapt(interal);
   }
 
   @Override
@@ -42,6 +49,33 @@ public class ScalingRenderDevice implements RenderDevice {
     return internal.getHeight();
   }
 
+  /**
+   * Forwards the damage region to the internal RenderDevice in native coordinates. This does nothing when the
+   * internal RenderDevice doesn't support damage regions.
+   */
+  @Override
+  public void setDamageRegion(final DamageRegion damageRegion) {
+    if (!(internal instanceof DamageRegionRenderDevice)) {
+      return;
+    }
+    nativeDamageRegion.reset();
+    if (damageRegion.isFull()) {
+      nativeDamageRegion.addFullScreen();
+    } else {
+      List < Box > rectangles = damageRegion.getRectangles();
+      for (int i=0; i<rectangles.size(); i++) {
+        Box box = rectangles.get(i);
+        // the conversion rounds down so we add a pixel on each side to make sure we still cover the whole area
+        int x0 = renderEngine.convertToNativeX(box.getX()) - 1;
+        int y0 = renderEngine.convertToNativeY(box.getY()) - 1;
+        int x1 = renderEngine.convertToNativeX(box.getX() + box.getWidth()) + 1;
+        int y1 = renderEngine.convertToNativeY(box.getY() + box.getHeight()) + 1;
+        nativeDamageRegion.add(x0, y0, x1 - x0, y1 - y0);
+      }
+    }
+    ((DamageRegionRenderDevice) internal).setDamageRegion(nativeDamageRegion);
+  }
+
   @Override
   public void beginFrame() {
     internal.beginFrame();
@@ -108,6 +142,11 @@ public class ScalingRenderDevice implements RenderDevice {
     internal.renderFont(font, text, renderEngine.convertToNativeX(x), renderEngine.convertToNativeY(y), fontColor, renderEngine.convertToNativeTextSizeX(sizeX), renderEngine.convertToNativeTextSizeY(sizeY));
   }
 
+  @Override
+  public void renderQuad(int x, int y, int width, int height, int topLeft, int topRight, int bottomRight, int bottomLeft) {
+    packedInternal.renderQuad(renderEngine.convertToNativeX(x), renderEngine.convertToNativeY(y), renderEngine.convertToNativeWidth(width), renderEngine.convertToNativeHeight(height), topLeft, topRight, bottomRight, bottomLeft);
+  }
+
   @Override
   public void enableClip(int x0, int y0, int x1, int y1) {
     internal.enableClip(renderEngine.convertToNativeX(x0), renderEngine.convertToNativeY(y0), renderEngine.convertToNativeX(x1), renderEngine.convertToNativeY(y1));
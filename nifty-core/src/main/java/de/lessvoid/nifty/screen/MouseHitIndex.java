@@ -0,0 +1,390 @@
+package de.lessvoid.nifty.screen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.layout.Box;
+
+/**
+ * A uniform grid over the mouse areas of all elements of a list of layers. Instead of walking all elements
+ * of all layers for each mouse event the Screen uses this to only look at the elements in the grid cell
+ * below the mouse cursor.
+ *
+ * Besides the elements below the mouse we'll always process:
+ * - the elements that have been below the mouse at the last event (so that they can deactivate their hover effects)
+ * - the elements that have a mouse button down (so that they receive the mouse move and release events)
+ * - the elements with hover effects that use a falloff area (which might be larger than the element itself)
+ *
+ * All elements are processed in the same order as Element.buildMouseOverElements() would process them, so the
+ * front to back order and the "eat mouse event" behaviour stay the same. All lists are kept in that order so that
+ * the candidates of an event can be merged without sorting them.
+ *
+ * When the layout of an element changes only the cells of this element and its children are updated. The grid is
+ * rebuild when elements are added or removed or when the area covered by the layers changes.
+ *
+ * @author void
+ */
+public class MouseHitIndex {
+  private static final int CELL_SIZE = 64;
+
+  private boolean dirty = true;
+  private List < Element > indexedLayers;
+  private Map < Element, Entry > entries = new IdentityHashMap < Element, Entry >();
+  private List < List < Element >> cells = new ArrayList < List < Element >>();
+  private int gridX;
+  private int gridY;
+  private int gridWidth;
+  private int gridHeight;
+  private int columns;
+  private int rows;
+  private List < Element > falloffElements = new ArrayList < Element >();
+  private List < Element > stickyElements = new ArrayList < Element >();
+  private List < Element > candidates = new ArrayList < Element >();
+  private List < Element > mergedCandidates = new ArrayList < Element >();
+  private Set < Element > candidateSet = Collections.newSetFromMap(new IdentityHashMap < Element, Boolean >());
+  private Comparator < Element > elementOrderComparator = new Comparator < Element >() {
+    @Override
+    public int compare(final Element o1, final Element o2) {
+      return order(o1) - order(o2);
+    }
+  };
+
+  /**
+   * Mark the index as outdated. It will be rebuild with the next mouse event.
+   */
+  public void invalidate() {
+    dirty = true;
+  }
+
+  /**
+   * Update the cells of the given element and all of its child elements after their layout has been changed.
+   * @param element the element that has been layouted
+   */
+  public void layoutChanged(final Element element) {
+    if (dirty) {
+      return;
+    }
+    if (gridChanged()) {
+      dirty = true;
+      return;
+    }
+    updateTree(element);
+  }
+
+  /**
+   * Update the cells of the given element only. This is used when the element changes the way it reacts to the
+   * mouse, for instance when it becomes visible to mouse events or gets hover effects.
+   * @param element the element that has been changed
+   */
+  public void elementChanged(final Element element) {
+    if (dirty) {
+      return;
+    }
+    updateElement(element);
+  }
+
+  /**
+   * Add all elements to the MouseOverHandler that need to process the given mouse event.
+   * @param layerList the layers
+   * @param mouseEvent the mouse event
+   * @param eventTime the time of the event
+   * @param mouseOverHandler the MouseOverHandler to add the elements to
+   * @return false when the mouse is outside of the indexed area and nothing has been added
+   */
+  public boolean buildMouseOverElements(
+      final List < Element > layerList,
+      final NiftyMouseInputEvent mouseEvent,
+      final long eventTime,
+      final MouseOverHandler mouseOverHandler) {
+    if (dirty || layerList != indexedLayers) {
+      rebuild(layerList);
+    }
+
+    int column = (mouseEvent.getMouseX() - gridX) / CELL_SIZE;
+    int row = (mouseEvent.getMouseY() - gridY) / CELL_SIZE;
+    if (mouseEvent.getMouseX() < gridX || mouseEvent.getMouseY() < gridY || column >= columns || row >= rows) {
+      stickyElements.clear();
+      return false;
+    }
+
+    candidates.clear();
+    candidateSet.clear();
+    List < Element > cell = cells.get(row * columns + column);
+    if (cell != null) {
+      addCandidates(cell);
+    }
+    addCandidates(falloffElements);
+    addCandidates(stickyElements);
+
+    for (int i=0; i<candidates.size(); i++) {
+      Element element = candidates.get(i);
+      if (isReachable(element, layerList)) {
+        element.buildMouseOverElement(mouseEvent, eventTime, mouseOverHandler);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Remember the elements we'll need to process with the next mouse event even when the mouse has left them.
+   * @param mouseOverHandler the MouseOverHandler that has processed the current event
+   */
+  public void processed(final MouseOverHandler mouseOverHandler) {
+    stickyElements.clear();
+    for (int i=0; i<candidates.size(); i++) {
+      Element element = candidates.get(i);
+      if (mouseOverHandler.isMouseOverElement(element) || element.isMouseDown()) {
+        stickyElements.add(element);
+      }
+    }
+    candidates.clear();
+    candidateSet.clear();
+  }
+
+  /**
+   * Merge the given list into the candidates. Both lists are sorted by the element order, so the result is too.
+   * Elements that are candidates already and elements that are not indexed anymore are skipped.
+   */
+  private void addCandidates(final List < Element > elements) {
+    mergedCandidates.clear();
+    int current = 0;
+    for (int i=0; i<elements.size(); i++) {
+      Element element = elements.get(i);
+      Entry entry = entries.get(element);
+      if (entry == null || !candidateSet.add(element)) {
+        continue;
+      }
+      while (current < candidates.size() && order(candidates.get(current)) < entry.order) {
+        mergedCandidates.add(candidates.get(current++));
+      }
+      mergedCandidates.add(element);
+    }
+    while (current < candidates.size()) {
+      mergedCandidates.add(candidates.get(current++));
+    }
+
+    List < Element > swap = candidates;
+    candidates = mergedCandidates;
+    mergedCandidates = swap;
+  }
+
+  /**
+   * Element.buildMouseOverElements() does not process the child elements of invisible elements so we'll
+   * need to check all parents up to the layer. This makes sure too that the element is still connected to one of the
+   * layers. Layers are child elements of the root element of the Screen so we can't just walk up to the top.
+   */
+  private boolean isReachable(final Element element, final List < Element > layerList) {
+    Element current = element;
+    while (!layerList.contains(current)) {
+      current = current.getParent();
+      if (current == null || !current.isVisible()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int order(final Element element) {
+    return entries.get(element).order;
+  }
+
+  private void rebuild(final List < Element > layerList) {
+    dirty = false;
+    indexedLayers = layerList;
+    entries.clear();
+    falloffElements.clear();
+    cells.clear();
+
+    // the grid covers all layers
+    if (!calculateGrid()) {
+      columns = 0;
+      rows = 0;
+      return;
+    }
+    columns = gridWidth / CELL_SIZE + 1;
+    rows = gridHeight / CELL_SIZE + 1;
+    for (int i=0; i<columns * rows; i++) {
+      cells.add(null);
+    }
+
+    for (int i=0; i<layerList.size(); i++) {
+      addElement(layerList.get(i));
+    }
+
+    // the order of the remaining sticky elements might have been changed
+    for (int i=stickyElements.size() - 1; i>=0; i--) {
+      if (!entries.containsKey(stickyElements.get(i))) {
+        stickyElements.remove(i);
+      }
+    }
+    Collections.sort(stickyElements, elementOrderComparator);
+  }
+
+  private boolean gridChanged() {
+    int oldGridX = gridX;
+    int oldGridY = gridY;
+    int oldGridWidth = gridWidth;
+    int oldGridHeight = gridHeight;
+    return !calculateGrid()
+        || gridX != oldGridX
+        || gridY != oldGridY
+        || gridWidth != oldGridWidth
+        || gridHeight != oldGridHeight;
+  }
+
+  private boolean calculateGrid() {
+    int x0 = Integer.MAX_VALUE;
+    int y0 = Integer.MAX_VALUE;
+    int x1 = Integer.MIN_VALUE;
+    int y1 = Integer.MIN_VALUE;
+    for (int i=0; i<indexedLayers.size(); i++) {
+      Element layer = indexedLayers.get(i);
+      x0 = Math.min(x0, layer.getX());
+      y0 = Math.min(y0, layer.getY());
+      x1 = Math.max(x1, layer.getX() + layer.getWidth());
+      y1 = Math.max(y1, layer.getY() + layer.getHeight());
+    }
+    if (x0 > x1 || y0 > y1) {
+      return false;
+    }
+    gridX = x0;
+    gridY = y0;
+    gridWidth = x1 - x0;
+    gridHeight = y1 - y0;
+    return true;
+  }
+
+  private void addElement(final Element element) {
+    Entry entry = new Entry(entries.size());
+    entries.put(element, entry);
+    place(element, entry);
+
+    List < Element > children = element.getElements();
+    for (int i=0; i<children.size(); i++) {
+      addElement(children.get(i));
+    }
+  }
+
+  private void updateTree(final Element element) {
+    updateElement(element);
+
+    List < Element > children = element.getElements();
+    for (int i=0; i<children.size() && !dirty; i++) {
+      updateTree(children.get(i));
+    }
+  }
+
+  private void updateElement(final Element element) {
+    Entry entry = entries.get(element);
+    if (entry == null) {
+      // new elements change the order of all following elements
+      dirty = true;
+      return;
+    }
+    unplace(element, entry);
+    place(element, entry);
+  }
+
+  private void place(final Element element, final Entry entry) {
+    if (!element.isVisibleToMouseEvents()) {
+      return;
+    }
+    if (element.getEffectManager().hasHoverFalloff()) {
+      entry.falloff = true;
+      insertSorted(falloffElements, element, entry.order);
+      return;
+    }
+
+    Box area = element.getMouseArea();
+    if (area == null) {
+      return;
+    }
+    entry.firstColumn = Math.max(0, (area.getX() - gridX) / CELL_SIZE);
+    entry.firstRow = Math.max(0, (area.getY() - gridY) / CELL_SIZE);
+    entry.lastColumn = Math.min(columns - 1, (area.getX() + area.getWidth() - gridX) / CELL_SIZE);
+    entry.lastRow = Math.min(rows - 1, (area.getY() + area.getHeight() - gridY) / CELL_SIZE);
+    for (int row=entry.firstRow; row<=entry.lastRow; row++) {
+      for (int column=entry.firstColumn; column<=entry.lastColumn; column++) {
+        int index = row * columns + column;
+        List < Element > cell = cells.get(index);
+        if (cell == null) {
+          cell = new ArrayList < Element >();
+          cells.set(index, cell);
+        }
+        insertSorted(cell, element, entry.order);
+      }
+    }
+  }
+
+  private void unplace(final Element element, final Entry entry) {
+    if (entry.falloff) {
+      removeSorted(falloffElements, element, entry.order);
+      entry.falloff = false;
+    }
+    for (int row=entry.firstRow; row<=entry.lastRow; row++) {
+      for (int column=entry.firstColumn; column<=entry.lastColumn; column++) {
+        removeSorted(cells.get(row * columns + column), element, entry.order);
+      }
+    }
+    entry.clearCells();
+  }
+
+  private void insertSorted(final List < Element > elements, final Element element, final int order) {
+    elements.add(findPosition(elements, order), element);
+  }
+
+  private void removeSorted(final List < Element > elements, final Element element, final int order) {
+    int index = findPosition(elements, order);
+    if (index < elements.size() && elements.get(index) == element) {
+      elements.remove(index);
+    }
+  }
+
+  /**
+   * Returns the index of the first element of the sorted list with an order that is not less than the given one.
+   */
+  private int findPosition(final List < Element > elements, final int order) {
+    int low = 0;
+    int high = elements.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (order(elements.get(middle)) < order) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The position of an element in the processing order and the cells it has been added to.
+   */
+  private static class Entry {
+    private final int order;
+    private boolean falloff;
+    private int firstColumn;
+    private int firstRow;
+    private int lastColumn;
+    private int lastRow;
+
+    public Entry(final int order) {
+      this.order = order;
+      clearCells();
+    }
+
+    public void clearCells() {
+      firstColumn = 0;
+      firstRow = 0;
+      lastColumn = -1;
+      lastRow = -1;
+    }
+  }
+}
@@ -21,6 +21,11 @@ public class MouseOverHandler {
    */
   private ArrayList < Element > mouseElements = new ArrayList < Element >();
 
+  /**
+   * The mouseElements that have hover effects. Only these need to deactivate their hover effects.
+   */
+  private ArrayList < Element > hoverElements = new ArrayList < Element >();
+
   /**
    * This is set to true when there is at least a single element that can handle mouse events but is at the moment
    * temporarily not able to do so due to a onStartScreen/onEndScreen/blockedInteration flag. This is treated
@@ -35,6 +40,7 @@ public class MouseOverHandler {
   public void reset() {
     mouseOverElements.clear();
     mouseElements.clear();
+    hoverElements.clear();
     interactElementInTransitAvailable = false;
   }
 
@@ -48,6 +54,13 @@ public class MouseOverHandler {
 
   public void addMouseElement(final Element element) {
     mouseElements.add(element);
+    if (element.getEffectManager().hasHoverEffects()) {
+      hoverElements.add(element);
+    }
+  }
+
+  public boolean isMouseOverElement(final Element element) {
+    return mouseOverElements.contains(element);
   }
 
   /**
@@ -94,8 +107,9 @@ public class MouseOverHandler {
     // work correctly when you quickly changed hover from one element to another it was possible
     // that the hover effect for the new element started before the old one was deactivated so
     // the reset of the mousecursor (see ChangeMouseCursor effect) did not worked correctly.
-    for (int i = mouseElements.size() - 1; i >= 0; i--) {
-      Element element = mouseElements.get(i);
+    // Elements without any hover effects don't have anything to deactivate so we only look at the hoverElements.
+    for (int i = hoverElements.size() - 1; i >= 0; i--) {
+      Element element = hoverElements.get(i);
       element.mouseEventHoverPreprocess(mouseEvent, eventTime);
     }
 
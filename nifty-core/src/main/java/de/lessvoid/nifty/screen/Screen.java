@@ -15,10 +15,13 @@ import de.lessvoid.nifty.controls.Controller;
 import de.lessvoid.nifty.controls.FocusHandler;
 import de.lessvoid.nifty.controls.NiftyControl;
 import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.effects.EffectScheduler;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.ElementIdIndex;
 import de.lessvoid.nifty.input.NiftyInputMapping;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
+import de.lessvoid.nifty.render.DamageRegion;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.NullObjectFactory;
@@ -53,6 +56,9 @@ public class Screen {
   private TimeProvider timeProvider;
   private FocusHandler focusHandler;
   private MouseOverHandler mouseOverHandler;
+  private MouseHitIndex mouseHitIndex = new MouseHitIndex();
+  private int renderCulledCount;
+  private EffectScheduler effectScheduler = new EffectScheduler();
   private Nifty nifty;
   private List < InputHandlerWithMapping > postInputHandlers = new ArrayList < InputHandlerWithMapping >();
   private List < InputHandlerWithMapping > preInputHandlers = new ArrayList < InputHandlerWithMapping >();
@@ -60,6 +66,7 @@ public class Screen {
   private String defaultFocusElementId;
   private boolean running = false;
   private Set<String> registeredIds = new HashSet<String>();
+  private ElementIdIndex elementIdIndex = new ElementIdIndex();
 
   private boolean bound;
 
@@ -157,7 +164,9 @@ public class Screen {
 
     focusHandler.pushState();
 
-    // prepare pop up for display
+    // prepare pop up for display. the popup might have been created while another screen was active so we make sure
+    // that its effects are advanced together with the effects of this screen.
+    popup.bindEffectScheduler(effectScheduler);
     popup.resetEffects();
     popup.layoutElements();
     popup.initControls(true);
@@ -306,17 +315,49 @@ public class Screen {
     }
   }
 
+  /**
+   * Update all active effects of this screen with the current time and fire the end notifications of the effects that
+   * have ended. This is called once per frame before the layers are rendered.
+   */
+  public void advanceEffects() {
+    if (!effectScheduler.isEmpty()) {
+      effectScheduler.advance(timeProvider.getMsTime());
+    }
+  }
+
+  /**
+   * Get the EffectScheduler that advances the active effects of all elements of this screen.
+   * @return the EffectScheduler
+   */
+  public EffectScheduler getEffectScheduler() {
+    return effectScheduler;
+  }
+
   /**
    * render all layers.
    * @param renderDevice the renderDevice to use
    */
   public final void renderLayers(final NiftyRenderEngine renderDevice) {
+    renderCulledCount = 0;
     for (int i=0; i<layerElements.size(); i++) {
       Element layer = layerElements.get(i);
       layer.render(renderDevice);
+      renderCulledCount += layer.getRenderCulledCount();
+    }
+    if (log.isLoggable(Level.FINE)) {
+      log.fine("culled element subtrees: " + renderCulledCount);
     }
   }
 
+  /**
+   * Get the number of element subtrees that have not been rendered during the last renderLayers() call because they
+   * have been completely outside of the clip area of their parent elements.
+   * @return the number of culled element subtrees
+   */
+  public int getRenderCulledCount() {
+    return renderCulledCount;
+  }
+
   public void resetLayout() {
     for (int i=0; i<layerElements.size(); i++) {
       Element layer = layerElements.get(i);
@@ -351,9 +392,12 @@ public class Screen {
 
     long eventTime = timeProvider.getMsTime();
 
+    boolean indexed = false;
     if (focusHandler.hasAnyElementTheMouseFocus()) {
       Element e = focusHandler.getMouseFocusElement();
       mouseOverHandler.addMouseOverElement(e);
+    } else if (mouseHitIndex.buildMouseOverElements(layerList, inputEvent, eventTime, mouseOverHandler)) {
+      indexed = true;
     } else {
       for (int i=0; i<layerList.size(); i++) {
         Element layer = layerList.get(i);
@@ -368,9 +412,30 @@ public class Screen {
     mouseOverHandler.processMouseOverEvent(rootElement, inputEvent, eventTime);
     mouseOverHandler.processMouseEvent(inputEvent, eventTime);
 
+    if (indexed) {
+      mouseHitIndex.processed(mouseOverHandler);
+    }
     return mouseOverHandler.hitsElement();
   }
 
+  /**
+   * This is called when the layout of elements of this screen has been changed.
+   * @param element the element that has been layouted together with all of its child elements
+   */
+  public void layoutChanged(final Element element) {
+    mouseHitIndex.layoutChanged(element);
+    nifty.requestRender(element);
+  }
+
+  /**
+   * This is called when an element changes the way it reacts to the mouse, for instance when it becomes visible to
+   * mouse events or when hover effects are added or removed.
+   * @param element the element that has been changed
+   */
+  public void mouseAreaChanged(final Element element) {
+    mouseHitIndex.elementChanged(element);
+  }
+
   /**
    * find an element by name.
    * this method is deprecated, use findElementById() instead
@@ -391,14 +456,7 @@ public class Screen {
    * @return the element or null
    */
   public Element findElementById(final String findId) {
-    for (int i=0; i<layerElements.size(); i++) {
-      Element layer = layerElements.get(i);
-      Element found = layer.findElementById(findId);
-      if (found != null) {
-        return found;
-      }
-    }
-    return null;
+    return elementIdIndex.findElementById(findId);
   }
 
   public < T extends Controller > T findControl(final String elementName, final Class < T > requestedControlClass) {
@@ -427,7 +485,7 @@ public class Screen {
     Element element = findElementById(elementName);
     if (element == null) {
       log.warning("missing element/control with id [" + elementName + "] for requested control class [" + requestedControlClass.getName() + "]");
-      return NullObjectFactory.createNull(requestedControlClass);
+      return NullObjectFactory.createNull(requestedControlClass, nifty.getInstanceFactoryRegistry());
     }
     return element.getNiftyControl(requestedControlClass);
   }
@@ -597,11 +655,20 @@ public class Screen {
    * Do things when the current frame has ended.
    */
   public void processAddAndRemoveLayerElements() {
+    if (hasDynamicElements()) {
+      mouseHitIndex.invalidate();
+      nifty.requestRender();
+    }
+
     // add/remove layer elements
+    boolean layersChanged = !layerElementsToAdd.isEmpty() || !layerElementsToRemove.isEmpty();
     layerElements.addAll(layerElementsToAdd);
     layerElements.removeAll(layerElementsToRemove);
     layerElementsToAdd.clear();
     layerElementsToRemove.clear();
+    if (layersChanged) {
+      elementIdIndex.updateLayers(layerElements);
+    }
 
     // add/remove popup elements
     popupElements.addAll(popupElementsToAdd);
@@ -779,6 +846,29 @@ public class Screen {
     }
   }
 
+  /**
+   * Check if any effect of any element of this screen still changes what is rendered.
+   * @return true when at least one effect is changing
+   */
+  public boolean isAnyEffectChanging() {
+    for (int i=0; i<layerElements.size(); i++) {
+      if (layerElements.get(i).isAnyEffectChanging()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add the render area of all elements with changing effects of this screen to the given DamageRegion.
+   * @param damageRegion the DamageRegion to add the areas to
+   */
+  public void addActiveEffectsRenderArea(final DamageRegion damageRegion) {
+    for (int i=0; i<layerElements.size(); i++) {
+      layerElements.get(i).addActiveEffectsRenderArea(damageRegion);
+    }
+  }
+
   private boolean isEffectActive(final List < Element > elements, final EffectEventId effectEventId) {
     for (int i=0; i<elements.size(); i++) {
       Element element = elements.get(i);
@@ -840,6 +930,7 @@ public class Screen {
 
     public void remove() {
       popupElements.remove(element);
+      mouseHitIndex.invalidate();
       focusHandler.popState();
       if (closeNotify != null) {
         closeNotify.perform();
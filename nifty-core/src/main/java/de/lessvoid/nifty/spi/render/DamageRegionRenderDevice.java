@@ -0,0 +1,24 @@
+package de.lessvoid.nifty.spi.render;
+
+import de.lessvoid.nifty.render.DamageRegion;
+
+/**
+ * Optional interface a RenderDevice can implement when it is able to keep the content of the last frame and only
+ * repaint the parts of the screen that have been changed. This is only used when the damage region mode has been
+ * enabled with Nifty.setDamageRegionMode().
+ *
+ * @author void
+ */
+public interface DamageRegionRenderDevice {
+
+  /**
+   * Called right before beginFrame() with the part of the screen that needs to be repainted in this frame. Everything
+   * outside of the region is still valid from the last frame and should be kept as it is. When the region isFull()
+   * the whole screen needs to be repainted. The region is only valid for the frame that follows. A frame without a
+   * call to this method (the damage region mode has been disabled in the meantime) needs to be repainted completely.
+   *
+   * @param damageRegion the damaged region in screen coordinates. This instance is reused by Nifty and is only valid
+   * until the next call to this method.
+   */
+  void setDamageRegion(DamageRegion damageRegion);
+}
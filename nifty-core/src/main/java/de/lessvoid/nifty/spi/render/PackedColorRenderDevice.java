@@ -0,0 +1,15 @@
+package de.lessvoid.nifty.spi.render;
+
+/**
+ * Optional interface a RenderDevice can implement to receive colors as packed ARGB ints (8 bit per component, alpha
+ * in the highest byte, see Color.getARGB()) instead of Color instances. Nifty uses this when it would need to create
+ * new Color instances otherwise, which is when the alpha of a gradient is changed by an effect. RenderDevices that
+ * don't implement this interface are wrapped with PackedColorRenderDeviceAdapter.
+ */
+public interface PackedColorRenderDevice {
+
+  /**
+   * Same as RenderDevice.renderQuad() with four colors.
+   */
+  void renderQuad(int x, int y, int width, int height, int topLeft, int topRight, int bottomRight, int bottomLeft);
+}
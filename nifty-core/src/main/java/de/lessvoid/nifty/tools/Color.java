@@ -191,6 +191,74 @@ public class Color {
       return alpha;
   }
 
+  /**
+   * Get this color packed into an int with 8 bit per component: alpha in the highest byte followed by red, green and
+   * blue.
+   * @return the packed ARGB value
+   */
+  public int getARGB() {
+    return packARGB(red, green, blue, alpha);
+  }
+
+  /**
+   * Set all components of this color from a packed ARGB value. The color string is not updated.
+   * @param argb the packed ARGB value
+   */
+  public void fromARGB(final int argb) {
+    alpha = unpackAlpha(argb);
+    red = unpackRed(argb);
+    green = unpackGreen(argb);
+    blue = unpackBlue(argb);
+  }
+
+  /**
+   * Pack the given components into an int with 8 bit per component.
+   * @param redValue red [0,1]
+   * @param greenValue green [0,1]
+   * @param blueValue blue [0,1]
+   * @param alphaValue alpha [0,1]
+   * @return the packed ARGB value
+   */
+  public static int packARGB(final float redValue, final float greenValue, final float blueValue, final float alphaValue) {
+    return (toByte(alphaValue) << 24) | (toByte(redValue) << 16) | (toByte(greenValue) << 8) | toByte(blueValue);
+  }
+
+  /**
+   * Pack the given color with the given alpha instead of the alpha of the color.
+   * @param color the color
+   * @param alphaValue alpha [0,1]
+   * @return the packed ARGB value
+   */
+  public static int packARGB(final Color color, final float alphaValue) {
+    return packARGB(color.red, color.green, color.blue, alphaValue);
+  }
+
+  public static float unpackAlpha(final int argb) {
+    return ((argb >>> 24) & 0xFF) / MAX_INT_VALUE;
+  }
+
+  public static float unpackRed(final int argb) {
+    return ((argb >>> 16) & 0xFF) / MAX_INT_VALUE;
+  }
+
+  public static float unpackGreen(final int argb) {
+    return ((argb >>> 8) & 0xFF) / MAX_INT_VALUE;
+  }
+
+  public static float unpackBlue(final int argb) {
+    return (argb & 0xFF) / MAX_INT_VALUE;
+  }
+
+  private static int toByte(final float value) {
+    if (value <= 0.0f) {
+      return 0;
+    }
+    if (value >= 1.0f) {
+      return 0xFF;
+    }
+    return (int) (value * MAX_INT_VALUE + 0.5f);
+  }
+
   /**
    * helper to get red from a string value.
    * @param color color string
@@ -1,16 +1,70 @@
 package de.lessvoid.nifty.tools;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import de.lessvoid.nifty.controls.NiftyControl;
+import de.lessvoid.xml.tools.ClassHelper;
+import de.lessvoid.xml.tools.InstanceFactoryRegistry;
 
 public class NullObjectFactory {
+  // the name of the null object class for each control class we've been asked for. "" when there is none. the control
+  // classes are weak keys so that this doesn't keep their class loader alive.
+  private static final Map < Class < ? >, String > nullObjectClassNames =
+    Collections.synchronizedMap(new WeakHashMap < Class < ? >, String >());
+
+  /**
+   * Create the null object of the given control class without an InstanceFactoryRegistry. The constructor of the null
+   * object class is looked up again with every call, so prefer createNull(Class, InstanceFactoryRegistry).
+   * @param requestedControlClass the control class
+   * @param <T> the control class
+   * @return the null object or null when there is no null object class for the control class
+   */
   public static < T extends NiftyControl > T createNull(final Class < T > requestedControlClass) {
+    return createNull(requestedControlClass, null);
+  }
+
+  /**
+   * Create the null object of the given control class. The null object class is the class with the name of the
+   * control class and the suffix "Null" in the "nullobjects" sub package of the control class.
+   * @param requestedControlClass the control class
+   * @param instanceFactoryRegistry the registry that creates the null object and keeps its constructor. when this is
+   *        null the constructor is looked up again.
+   * @param <T> the control class
+   * @return the null object or null when there is no null object class for the control class
+   */
+  public static < T extends NiftyControl > T createNull(
+      final Class < T > requestedControlClass,
+      final InstanceFactoryRegistry instanceFactoryRegistry) {
+    String nullObjectClassName = nullObjectClassNames.get(requestedControlClass);
+    if (nullObjectClassName == null) {
+      nullObjectClassName = findNullObjectClassName(requestedControlClass);
+      nullObjectClassNames.put(requestedControlClass, nullObjectClassName);
+    }
+    if (nullObjectClassName.length() == 0) {
+      return null;
+    }
+    try {
+      Class < ? > nullObjectClass = ClassHelper.findClass(nullObjectClassName, requestedControlClass.getClassLoader());
+      if (instanceFactoryRegistry == null) {
+        return requestedControlClass.cast(ClassHelper.createFactory(nullObjectClass).createInstance());
+      }
+      return requestedControlClass.cast(instanceFactoryRegistry.getFactory(nullObjectClass).createInstance());
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static String findNullObjectClassName(final Class < ? > requestedControlClass) {
     try {
       String packageName = requestedControlClass.getPackage().getName();
       String className = requestedControlClass.getSimpleName();
-      return requestedControlClass.cast(((Class<?>) Class.forName(packageName + ".nullobjects." + className + "Null")).newInstance());
+      String nullObjectClassName = packageName + ".nullobjects." + className + "Null";
+      ClassHelper.createFactory(ClassHelper.findClass(nullObjectClassName, requestedControlClass.getClassLoader()));
+      return nullObjectClassName;
     } catch (Exception e) {
-      return null;
+      return "";
     }
   }
 }
@@ -1,11 +1,18 @@
 package de.lessvoid.nifty.tools;
 
+import de.lessvoid.nifty.tools.time.FrameClock;
+
 public class StopWatch {
   private de.lessvoid.nifty.spi.time.TimeProvider timeProvider;
   private long startTime;
 
   public StopWatch(final de.lessvoid.nifty.spi.time.TimeProvider timeProviderParam) {
-    timeProvider = timeProviderParam;
+    // the time of a FrameClock doesn't change within a frame but we want to measure what happens within a frame
+    if (timeProviderParam instanceof FrameClock) {
+      timeProvider = ((FrameClock) timeProviderParam).getSource();
+    } else {
+      timeProvider = timeProviderParam;
+    }
   }
 
   public long stop() {
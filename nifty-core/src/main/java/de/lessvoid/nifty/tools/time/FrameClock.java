@@ -0,0 +1,87 @@
+package de.lessvoid.nifty.tools.time;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+/**
+ * A TimeProvider that only changes its time when sample() is called. Nifty samples it once at the start of a frame and
+ * hands it to everything that needs the current time (effects, mouse events, sound and so on). So all of them see the
+ * same time during a frame and the source TimeProvider is only asked once per frame.
+ *
+ * By default the time is read from the TimeProvider given to Nifty. You can replace that source with a TimeProvider
+ * of your own or drive the clock directly with setTime() and advance(), for instance to replay recorded input or to
+ * run with a fixed time step.
+ */
+public class FrameClock implements TimeProvider {
+  private TimeProvider source;
+  private boolean manual;
+  private long time;
+
+  /**
+   * Create a new FrameClock. The time is sampled from the source right away.
+   * @param source the TimeProvider to sample
+   */
+  public FrameClock(final TimeProvider source) {
+    this.source = source;
+    this.time = source.getMsTime();
+  }
+
+  /**
+   * Get the time of the current frame.
+   * @return the time in ms that has been sampled last
+   */
+  @Override
+  public long getMsTime() {
+    return time;
+  }
+
+  /**
+   * Start a new frame. This reads the time from the source unless the clock is driven with setTime() or advance().
+   */
+  public void sample() {
+    if (!manual) {
+      time = source.getMsTime();
+    }
+  }
+
+  /**
+   * @return the TimeProvider this clock samples
+   */
+  public TimeProvider getSource() {
+    return source;
+  }
+
+  /**
+   * Sample the given TimeProvider from now on. This ends the manual mode and samples the new source right away.
+   * @param newSource the new TimeProvider to sample
+   */
+  public void setSource(final TimeProvider newSource) {
+    source = newSource;
+    manual = false;
+    sample();
+  }
+
+  /**
+   * Set the time directly. The source is ignored until setSource() is called again.
+   * @param newTime the new time in ms
+   */
+  public void setTime(final long newTime) {
+    manual = true;
+    time = newTime;
+  }
+
+  /**
+   * Advance the time by the given amount. The source is ignored until setSource() is called again.
+   * @param deltaTime the time in ms to add
+   */
+  public void advance(final long deltaTime) {
+    manual = true;
+    time += deltaTime;
+  }
+
+  /**
+   * @return true when the time is set with setTime() or advance() and false when it is read from the source
+   */
+  public boolean isManual() {
+    return manual;
+  }
+}
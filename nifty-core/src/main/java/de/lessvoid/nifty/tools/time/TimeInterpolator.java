@@ -51,6 +51,11 @@ public class TimeInterpolator {
    */
   private long startDelayParam = 0;
 
+  /**
+   * true when the value has reached its end.
+   */
+  private boolean finished;
+
   /**
    * Initialize with the given parameters.
    * <p />
@@ -117,6 +122,7 @@ public class TimeInterpolator {
   public void start() {
     interpolatorProvider.start();
     value = 0.0f;
+    finished = false;
     startTime = timeProvider.getMsTime() + startDelayParam;
   }
 
@@ -125,7 +131,15 @@ public class TimeInterpolator {
    * @return true when still active and false when done
    */
   public final boolean update() {
-    long now = timeProvider.getMsTime();
+    return update(timeProvider.getMsTime());
+  }
+
+  /**
+   * update the value with the given time.
+   * @param now the current time in ms
+   * @return true when still active and false when done
+   */
+  public final boolean update(final long now) {
     long timePassed = now - startTime;
 
     if (timePassed < 0) {
@@ -136,12 +150,22 @@ public class TimeInterpolator {
 
     if (this.value > 1.0f) {
       this.value = 1.0f;
+      finished = true;
       return false;
     } else {
       return true;
     }
   }
 
+  /**
+   * Returns true as long as update() can still change the value. This is false for infinite interpolations which
+   * always return the same value and for interpolations that have reached their end.
+   * @return true when the value still changes
+   */
+  public boolean isChanging() {
+    return !finished && !(interpolatorProvider instanceof NullTime);
+  }
+
   /**
    * get the current value [0.0, 1.0].
    * @return the current value
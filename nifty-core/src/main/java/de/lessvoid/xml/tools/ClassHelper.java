@@ -1,9 +1,19 @@
 package de.lessvoid.xml.tools;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 
 /**
  * Helper to get Class from class name.
+ *
+ * Loaded classes are cached by class loader and class name. The class loaders are only weakly referenced, and so are
+ * the classes, so the cache never keeps an unused class loader alive. Registered InstanceFactory instances don't live
+ * here but in the InstanceFactoryRegistry of each Nifty instance.
  * @author void
  */
 public final class ClassHelper {
@@ -13,6 +23,12 @@ public final class ClassHelper {
    */
   private static Logger log = Logger.getLogger(ClassHelper.class.getName());
 
+  /**
+   * classes we've already loaded by class loader and class name.
+   */
+  private static final Map < ClassLoader, Map < String, WeakReference < Class < ? > > > > classes =
+    new WeakHashMap < ClassLoader, Map < String, WeakReference < Class < ? > > > >();
+
   /**
    * You can't initialize this class.
    */
@@ -26,14 +42,55 @@ public final class ClassHelper {
    */
   public static Class < ? > loadClass(final String className) {
     try {
-      Class < ? > cls = ClassHelper.class.getClassLoader().loadClass(className);
-      return cls;
+      return findClass(className, ClassHelper.class.getClassLoader());
     } catch (Exception e) {
       log.warning("class [" + className + "] could not be found (" + e.getMessage() + ")");
     }
     return null;
   }
 
+  /**
+   * Load the Class with the given full qualified name from the given class loader. Classes that have been found once
+   * are cached.
+   * @param className name of class to load
+   * @param classLoader the class loader to use
+   * @return the Class
+   * @throws ClassNotFoundException when there is no such class
+   */
+  public static Class < ? > findClass(final String className, final ClassLoader classLoader)
+      throws ClassNotFoundException {
+    synchronized (classes) {
+      Map < String, WeakReference < Class < ? > > > loaderClasses = classes.get(classLoader);
+      if (loaderClasses != null) {
+        WeakReference < Class < ? > > cls = loaderClasses.get(className);
+        if (cls != null && cls.get() != null) {
+          return cls.get();
+        }
+      }
+    }
+    Class < ? > cls = Class.forName(className, false, classLoader);
+    synchronized (classes) {
+      Map < String, WeakReference < Class < ? > > > loaderClasses = classes.get(classLoader);
+      if (loaderClasses == null) {
+        loaderClasses = new HashMap < String, WeakReference < Class < ? > > >();
+        classes.put(classLoader, loaderClasses);
+      }
+      loaderClasses.put(className, new WeakReference < Class < ? > >(cls));
+    }
+    return cls;
+  }
+
+  /**
+   * Create an InstanceFactory that calls the public default constructor of the given class.
+   * @param cls the class
+   * @param <T> class
+   * @return the InstanceFactory
+   * @throws NoSuchMethodException when the class has no public default constructor
+   */
+  public static < T > InstanceFactory < T > createFactory(final Class < T > cls) throws NoSuchMethodException {
+    return new ConstructorFactory < T >(cls, cls.getConstructor());
+  }
+
   /**
    * dynamically load the given class, create and return a new instance.
    * @param className className
@@ -43,9 +100,9 @@ public final class ClassHelper {
    */
   public static < T > T getInstance(final String className, final Class < T > type) {
     try {
-      Class < ? > cls = ClassHelper.class.getClassLoader().loadClass(className);
+      Class < ? > cls = findClass(className, ClassHelper.class.getClassLoader());
       if (type.isAssignableFrom(cls)) {
-        return type.cast(cls.newInstance());
+        return type.cast(createFactory(cls).createInstance());
       } else {
         log.warning(
             "given class [" + className + "] does not implement [" + type.getName() + "]");
@@ -58,11 +115,39 @@ public final class ClassHelper {
 
   public static < T > T getInstance(final Class < T > clazz) {
     try {
-      return clazz.newInstance();
+      return createFactory(clazz).createInstance();
     } catch (Exception e) {
       log.warning("class [" + clazz.getName() + "] could not be instantiated");
     }
     return null;
   }
-}
 
+  /**
+   * InstanceFactory that calls the default constructor.
+   * @param <T> class
+   */
+  static class ConstructorFactory < T > implements InstanceFactory < T > {
+    private final Class < T > type;
+    private final Constructor < T > constructor;
+
+    private ConstructorFactory(final Class < T > type, final Constructor < T > constructor) {
+      this.type = type;
+      this.constructor = constructor;
+    }
+
+    public Class < T > getType() {
+      return type;
+    }
+
+    @Override
+    public T createInstance() {
+      try {
+        return constructor.newInstance();
+      } catch (InvocationTargetException e) {
+        throw new RuntimeException("constructor of [" + type.getName() + "] failed", e.getCause());
+      } catch (Exception e) {
+        throw new RuntimeException("class [" + type.getName() + "] could not be instantiated", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package de.lessvoid.xml.tools;
+
+/**
+ * Creates new instances of a class. You can register an InstanceFactory for your controllers, input mappings or
+ * effects with Nifty.getInstanceFactoryRegistry().registerFactory() to create them without reflection.
+ * @param <T> the type of the created instances
+ */
+public interface InstanceFactory < T > {
+  /**
+   * Create a new instance.
+   * @return the new instance
+   */
+  T createInstance();
+}
@@ -0,0 +1,158 @@
+package de.lessvoid.xml.tools;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Creates the controllers, input mappings and effects Nifty instantiates by class name. Applications can register
+ * their own InstanceFactory for a class to avoid reflection completely. For all other classes the public default
+ * constructor is looked up once and kept.
+ *
+ * This is not thread safe. Every Nifty instance owns one of these so that registered factories don't leak into other
+ * Nifty instances and the cached constructors only live as long as the Nifty instance.
+ */
+public class InstanceFactoryRegistry {
+  private static Logger log = Logger.getLogger(InstanceFactoryRegistry.class.getName());
+
+  private final ClassLoader classLoader;
+  private final Map < String, InstanceFactory < ? > > registeredFactories = new HashMap < String, InstanceFactory < ? > >();
+  private final Map < Class < ? >, InstanceFactory < ? > > constructorFactories =
+      new HashMap < Class < ? >, InstanceFactory < ? > >();
+
+  /**
+   * Create a registry that loads classes with the class loader of Nifty.
+   */
+  public InstanceFactoryRegistry() {
+    this(InstanceFactoryRegistry.class.getClassLoader());
+  }
+
+  /**
+   * Create a registry that loads classes with the given class loader.
+   * @param classLoader the class loader to use
+   */
+  public InstanceFactoryRegistry(final ClassLoader classLoader) {
+    this.classLoader = classLoader;
+  }
+
+  /**
+   * Register a factory that is used instead of reflection to create instances of the given class.
+   * @param cls the class
+   * @param factory the factory
+   * @param <T> class
+   */
+  public < T > void registerFactory(final Class < T > cls, final InstanceFactory < ? extends T > factory) {
+    registerFactory(cls.getName(), factory);
+  }
+
+  /**
+   * Register a factory that is used instead of reflection to create instances of the class with the given name.
+   * @param className the full qualified name of the class
+   * @param factory the factory
+   */
+  public void registerFactory(final String className, final InstanceFactory < ? > factory) {
+    registeredFactories.put(className, factory);
+  }
+
+  /**
+   * Remove a factory registered with registerFactory(). Instances will be created with reflection again.
+   * @param className the full qualified name of the class
+   */
+  public void unregisterFactory(final String className) {
+    registeredFactories.remove(className);
+  }
+
+  /**
+   * Get the InstanceFactory for the class with the given name. This is either a registered one or one that calls the
+   * public default constructor of the class.
+   * @param className the full qualified name of the class
+   * @return the InstanceFactory
+   * @throws ClassNotFoundException when there is no such class
+   * @throws NoSuchMethodException when the class has no public default constructor
+   */
+  public InstanceFactory < ? > getFactory(final String className)
+      throws ClassNotFoundException, NoSuchMethodException {
+    InstanceFactory < ? > factory = registeredFactories.get(className);
+    if (factory != null) {
+      return factory;
+    }
+    return getConstructorFactory(ClassHelper.findClass(className, classLoader));
+  }
+
+  /**
+   * Get the InstanceFactory for the given class. This is either a registered one or one that calls the public default
+   * constructor of the class.
+   * @param cls the class
+   * @param <T> class
+   * @return the InstanceFactory
+   * @throws NoSuchMethodException when the class has no public default constructor
+   */
+  @SuppressWarnings("unchecked")
+  public < T > InstanceFactory < ? extends T > getFactory(final Class < T > cls) throws NoSuchMethodException {
+    InstanceFactory < ? > factory = registeredFactories.get(cls.getName());
+    if (factory != null) {
+      return (InstanceFactory < ? extends T >) factory;
+    }
+    return getConstructorFactory(cls);
+  }
+
+  /**
+   * Create a new instance of the class with the given name.
+   * @param className className
+   * @param type type
+   * @param <T> class
+   * @return the new instance or null when it could not be created
+   */
+  public < T > T getInstance(final String className, final Class < T > type) {
+    try {
+      InstanceFactory < ? > factory = getFactory(className);
+      // for classes we know we can check the type before we create an instance
+      boolean assignable = factory instanceof ClassHelper.ConstructorFactory
+        ? type.isAssignableFrom(((ClassHelper.ConstructorFactory < ? >) factory).getType())
+        : true;
+      Object instance = assignable ? factory.createInstance() : null;
+      if (assignable && type.isInstance(instance)) {
+        return type.cast(instance);
+      } else {
+        log.warning(
+            "given class [" + className + "] does not implement [" + type.getName() + "]");
+      }
+    } catch (Exception e) {
+      log.warning("class [" + className + "] could not be instantiated (" + e.toString() + ")");
+    }
+    return null;
+  }
+
+  /**
+   * Create a new instance of the given class.
+   * @param cls the class
+   * @param <T> class
+   * @return the new instance or null when it could not be created
+   */
+  public < T > T getInstance(final Class < T > cls) {
+    try {
+      return getFactory(cls).createInstance();
+    } catch (Exception e) {
+      log.warning("class [" + cls.getName() + "] could not be instantiated");
+    }
+    return null;
+  }
+
+  /**
+   * Forget all registered factories and cached constructors.
+   */
+  public void clear() {
+    registeredFactories.clear();
+    constructorFactories.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private < T > InstanceFactory < T > getConstructorFactory(final Class < T > cls) throws NoSuchMethodException {
+    InstanceFactory < T > factory = (InstanceFactory < T >) constructorFactories.get(cls);
+    if (factory == null) {
+      factory = ClassHelper.createFactory(cls);
+      constructorFactories.put(cls, factory);
+    }
+    return factory;
+  }
+}
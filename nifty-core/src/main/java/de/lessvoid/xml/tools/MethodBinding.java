@@ -0,0 +1,80 @@
+package de.lessvoid.xml.tools;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The result of resolving a method string like "method(a,b)" for a class: the Method to call together with the
+ * literal parameters encoded in the string. Resolving involves scanning all methods of the class and parsing the
+ * string so the MethodInvoker and NiftyMethodInvoker do this once and keep the MethodBinding.
+ */
+public class MethodBinding {
+  private static Logger log = Logger.getLogger(MethodBinding.class.getName());
+
+  private final Method method;
+  private final Object[] parameters;
+  private final int methodParameterCount;
+
+  private MethodBinding(final Method method, final Object[] parameters) {
+    this.method = method;
+    this.parameters = parameters;
+    this.methodParameterCount = method == null ? 0 : method.getParameterTypes().length;
+  }
+
+  /**
+   * Resolve the given method string for the given class.
+   * @param c the class
+   * @param methodWithName the method string
+   * @return the MethodBinding. getMethod() of it will return null when there is no such method.
+   */
+  public static MethodBinding resolve(final Class < ? > c, final String methodWithName) {
+    Method method = MethodResolver.findMethod(c, methodWithName);
+    if (method != null) {
+      try {
+        // skips the access check on each invoke and allows public methods of non public classes
+        method.setAccessible(true);
+      } catch (SecurityException e) {
+        if (log.isLoggable(Level.FINE)) {
+          log.fine("could not make method [" + method + "] accessible: " + e.getMessage());
+        }
+      }
+    }
+    return new MethodBinding(method, MethodResolver.extractParameters(methodWithName));
+  }
+
+  /**
+   * @return the method or null if the method string couldn't be resolved
+   */
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * @return the parameters encoded in the method string. Don't modify the returned array.
+   */
+  public Object[] getParameters() {
+    return parameters;
+  }
+
+  /**
+   * @return the number of parameters the method expects
+   */
+  public int getMethodParameterCount() {
+    return methodParameterCount;
+  }
+
+  /**
+   * Invoke the method on the given object.
+   * @param targetObject the object
+   * @param invokeParameters the parameters
+   * @return the result of the call
+   * @throws IllegalAccessException see Method.invoke()
+   * @throws InvocationTargetException see Method.invoke()
+   */
+  public Object invoke(final Object targetObject, final Object[] invokeParameters)
+      throws IllegalAccessException, InvocationTargetException {
+    return method.invoke(targetObject, invokeParameters);
+  }
+}
@@ -0,0 +1,43 @@
+package de.lessvoid.xml.tools;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the MethodBinding for each (class, method string) pair once it has been resolved. All invokers that call the
+ * same method string on objects of the same class share a single MethodBinding this way.
+ *
+ * This is not thread safe. Every Nifty instance owns one of these so that the cache only lives as long as the Nifty
+ * instance and doesn't keep any classes alive after that.
+ */
+public class MethodBindingCache {
+  private final Map < Class < ? >, Map < String, MethodBinding >> bindings =
+      new HashMap < Class < ? >, Map < String, MethodBinding >>();
+
+  /**
+   * Get the MethodBinding for the given class and method string. It is resolved on the first call.
+   * @param c the class
+   * @param methodWithName the method string
+   * @return the MethodBinding. getMethod() of it will return null when there is no such method.
+   */
+  public MethodBinding get(final Class < ? > c, final String methodWithName) {
+    Map < String, MethodBinding > classBindings = bindings.get(c);
+    if (classBindings == null) {
+      classBindings = new HashMap < String, MethodBinding >();
+      bindings.put(c, classBindings);
+    }
+    MethodBinding binding = classBindings.get(methodWithName);
+    if (binding == null) {
+      binding = MethodBinding.resolve(c, methodWithName);
+      classBindings.put(methodWithName, binding);
+    }
+    return binding;
+  }
+
+  /**
+   * Forget all resolved bindings.
+   */
+  public void clear() {
+    bindings.clear();
+  }
+}
@@ -1,6 +1,5 @@
 package de.lessvoid.xml.tools;
 
-import java.lang.reflect.Method;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,6 +14,9 @@ public class MethodInvoker {
   private Object[] target;
   private String methodWithName;
 
+  // the resolved methods for the target objects. this is created on the first invoke and reset when target changes.
+  private MethodBinding[] bindings;
+
   /**
    * create null MethodInvoker.
    */
@@ -53,6 +55,7 @@ public class MethodInvoker {
     if (target == null) {
       target = new Object[1];
       target[0] = object;
+      bindings = null;
     } else {
       // scan current target array for the given object (is this already attached to the param object?)
       for (Object o : target) {
@@ -67,6 +70,7 @@ public class MethodInvoker {
       System.arraycopy(target, 0, copy, 0, target.length);
       copy[copy.length - 1] = object;
       target = copy;
+      bindings = null;
     }
   }
 
@@ -81,11 +85,19 @@ public class MethodInvoker {
       return null;
     }
 
+    if (bindings == null) {
+      bindings = new MethodBinding[target.length];
+    }
+
     // process all methods (first one wins)
-    for (Object object : target) {
+    for (int i=0; i<target.length; i++) {
+      Object object = target[i];
       if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
-        if (method != null) {
+        if (bindings[i] == null) {
+          bindings[i] = MethodBinding.resolve(object.getClass(), methodWithName);
+        }
+        MethodBinding binding = bindings[i];
+        if (binding.getMethod() != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
           // 1) if the target method has parameters encoded we ignore the invokeParametersParam we've been
@@ -94,42 +106,42 @@ public class MethodInvoker {
           //    2a) invokeParametersParam are given, in this case we'll try to forward them to the method
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = binding.getParameters();
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
-            if (getMethodParameterCount(method) == invokeParameters.length) {
+            if (binding.getMethodParameterCount() == invokeParameters.length) {
               if (log.isLoggable(Level.FINE)) {
                 log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
               }
-              return callMethod(object, method, invokeParameters);
+              return callMethod(object, binding, invokeParameters);
             } else {
               if (log.isLoggable(Level.FINE)) {
                 log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
               }
-              return callMethod(object, method, new Object[0]);
+              return callMethod(object, binding, new Object[0]);
             }
           } else {
             // no invokeParameters encoded. this means we can call the method as is or with the invokeParametersParam
             if (invokeParametersParam.length > 0) {
-              if (getMethodParameterCount(method) == invokeParametersParam.length) {
+              if (binding.getMethodParameterCount() == invokeParametersParam.length) {
                 if (log.isLoggable(Level.FINE)) {
                   log.fine("invoking method '" + methodWithName + "' with the actual parameters ("
                     + debugParaString(invokeParametersParam) + ")");
                 }
-                return callMethod(object, method, invokeParametersParam);
+                return callMethod(object, binding, invokeParametersParam);
               } else {
                 if (log.isLoggable(Level.FINE)) {
                   log.fine("invoking method '" + methodWithName
                     + "' without parameters (invokeParametersParam mismatch)");
                 }
-                return callMethod(object, method, null);
+                return callMethod(object, binding, null);
               }
             } else {
               if (log.isLoggable(Level.FINE)) {
                 log.fine("invoking method '" + methodWithName + "' without parameters");
               }
-              return callMethod(object, method, null);
+              return callMethod(object, binding, null);
             }
           }
         }
@@ -142,24 +154,22 @@ public class MethodInvoker {
   /**
    * Invoke the given method on the given object.
    * @param targetObject target object to invoke method on
-   * @param method method to invoke
+   * @param binding method to invoke
    * @param invokeParameters parameters to use
    * @return result
    */
-  private Object callMethod(final Object targetObject, final Method method, final Object[] invokeParameters) {
+  private Object callMethod(final Object targetObject, final MethodBinding binding, final Object[] invokeParameters) {
     try {
       if (log.isLoggable(Level.FINE)) {
-        log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + invokeParameters);
-        if (method != null) {
-          log.fine(method.getName());
-        }
+        log.fine("method: " + binding.getMethod() + "on targetObject: " + targetObject + ", parameters: " + invokeParameters);
+        log.fine(binding.getMethod().getName());
         if (invokeParameters != null) {
           for (Object o : invokeParameters) {
             log.fine("parameter: " + o);
           }
         }
       }
-      return method.invoke(targetObject, invokeParameters);
+      return binding.invoke(targetObject, invokeParameters);
     } catch (Exception e) {
       log.warning("error: " + e.getMessage());
       StackTraceElement[] elements = e.getStackTrace();
@@ -178,16 +188,6 @@ public class MethodInvoker {
     }
   }
 
-  /**
-   * return count of actual method parameters.
-   * @param method method
-   * @return count of parameters the method needs
-   */
-  private int getMethodParameterCount(final Method method) {
-    Class < ? > [] parameterTypes = method.getParameterTypes();
-    return parameterTypes.length;
-  }
-
   /**
    * helper method to convert the given parameter object array into a string for debugging.
    * @param invokeParameters parameter array
@@ -0,0 +1,34 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+/**
+ * A RenderFont for tests. Every character is 10 pixel wide and the font is 10 pixel high. Widths scale with the size.
+ */
+public class FixedWidthFont implements RenderFont {
+  public static final int CHARACTER_WIDTH = 10;
+
+  @Override
+  public int getWidth(final String text) {
+    return getWidth(text, 1.0f);
+  }
+
+  @Override
+  public int getWidth(final String text, final float size) {
+    return (int) (text.length() * CHARACTER_WIDTH * size);
+  }
+
+  @Override
+  public int getHeight() {
+    return 10;
+  }
+
+  @Override
+  public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+    return (int) (CHARACTER_WIDTH * size);
+  }
+
+  @Override
+  public void dispose() {
+  }
+}
@@ -0,0 +1,200 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.junit.Test;
+
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import de.lessvoid.nifty.tools.Color;
+
+/**
+ * Two Nifty instances with their own render devices are updated and rendered at the same time on two threads. The
+ * threads wait for each other before every frame so that the frames really overlap.
+ */
+public class NiftyConcurrencyTest {
+  private static final int FRAMES = 200;
+  private static final long TIMEOUT_SECONDS = 30;
+
+  @Test
+  public void testTwoInstancesOnSeparateThreads() throws Exception {
+    final String[] names = { "alpha", "beta" };
+    final CyclicBarrier barrier = new CyclicBarrier(names.length);
+    ExecutorService executor = Executors.newFixedThreadPool(names.length);
+    try {
+      List < Future < Session > > futures = new ArrayList < Future < Session > >();
+      for (final String name : names) {
+        futures.add(executor.submit(new Callable < Session >() {
+          @Override
+          public Session call() throws Exception {
+            Session session = new Session(name);
+            session.run(barrier);
+            return session;
+          }
+        }));
+      }
+
+      for (int i = 0; i < names.length; i++) {
+        Session session = futures.get(i).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        String other = names[(i + 1) % names.length];
+
+        assertEquals(names[i] + "-" + FRAMES, session.device.lastCounterText);
+        assertFalse(session.device.renderedOtherThread);
+        assertFalse(session.device.renderedText.toString().contains(other));
+        assertTrue(session.device.renderedText.toString().contains("wrapped " + names[i]));
+        assertEquals(FRAMES, session.events.size());
+        for (SessionEvent event : session.events) {
+          assertEquals(names[i], event.name);
+        }
+        assertTrue(session.fadeStarted);
+        assertFalse(session.fading.isEffectActive(EffectEventId.onStartScreen));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class Session implements TimeProvider, EventTopicSubscriber < SessionEvent > {
+    private final String name;
+    private final RecordingDevice device = new RecordingDevice();
+    private final List < SessionEvent > events = new ArrayList < SessionEvent >();
+    private long time;
+    private Element fading;
+    private boolean fadeStarted;
+
+    private Session(final String name) {
+      this.name = name;
+    }
+
+    private void run(final CyclicBarrier barrier) throws Exception {
+      device.thread = Thread.currentThread();
+      device.counterPrefix = name + "-";
+      Nifty nifty = new Nifty(device, new NullSoundDevice(), new NullInputSystem(), this);
+      new ScreenBuilder("start") {{
+        layer(new LayerBuilder("layer") {{
+          childLayoutVertical();
+          text(new TextBuilder("counter") {{
+            font("test.fnt");
+            text(name + "-0");
+          }});
+          text(new TextBuilder("wrapped") {{
+            font("test.fnt");
+            wrap(true);
+            width("100px");
+            text("wrapped " + name + " text with a few more words");
+          }});
+          panel(new PanelBuilder("fading") {{
+            width("100px");
+            height("100px");
+            backgroundColor("#fff");
+            onStartScreenEffect(new EffectBuilder("fade") {{
+              length(500);
+              effectParameter("start", "#0");
+              effectParameter("end", "#f");
+            }});
+          }});
+        }});
+      }}.build(nifty);
+      nifty.gotoScreen("start");
+      Screen screen = nifty.getCurrentScreen();
+      nifty.subscribe(screen, "counter", SessionEvent.class, this);
+      Element counter = screen.findElementById("counter");
+      fading = screen.findElementById("fading");
+
+      for (int frame = 1; frame <= FRAMES; frame++) {
+        barrier.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        counter.getRenderer(TextRenderer.class).setText(name + "-" + frame);
+        nifty.publishEvent("counter", new SessionEvent(name));
+        time += 10;
+        nifty.update();
+        nifty.render(true);
+        if (frame == 1) {
+          fadeStarted = fading.isEffectActive(EffectEventId.onStartScreen);
+        }
+      }
+    }
+
+    @Override
+    public long getMsTime() {
+      return time;
+    }
+
+    @Override
+    public void onEvent(final String topic, final SessionEvent data) {
+      events.add(data);
+    }
+  }
+
+  private static class SessionEvent implements NiftyEvent {
+    private final String name;
+
+    private SessionEvent(final String name) {
+      this.name = name;
+    }
+  }
+
+  private static class RecordingDevice extends NullRenderDevice {
+    private Thread thread;
+    private String counterPrefix;
+    private boolean renderedOtherThread;
+    private String lastCounterText;
+    private StringBuilder renderedText = new StringBuilder();
+
+    @Override
+    public int getWidth() {
+      return 800;
+    }
+
+    @Override
+    public int getHeight() {
+      return 600;
+    }
+
+    @Override
+    public RenderFont createFont(final String filename) {
+      return new FixedWidthFont();
+    }
+
+    @Override
+    public void renderFont(
+        final RenderFont font,
+        final String text,
+        final int x,
+        final int y,
+        final Color fontColor,
+        final float sizeX,
+        final float sizeY) {
+      if (Thread.currentThread() != thread) {
+        renderedOtherThread = true;
+      }
+      if (text.startsWith(counterPrefix)) {
+        lastCounterText = text;
+      }
+      renderedText.append(text).append(' ');
+    }
+  }
+}
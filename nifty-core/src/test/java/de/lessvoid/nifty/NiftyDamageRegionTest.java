@@ -0,0 +1,149 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.render.DamageRegion;
+import de.lessvoid.nifty.spi.render.DamageRegionRenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import de.lessvoid.nifty.tools.SizeValue;
+
+public class NiftyDamageRegionTest {
+  private DamageRegionDevice renderDevice = new DamageRegionDevice();
+  private Nifty nifty;
+  private Element counter;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(renderDevice, new NullSoundDevice(), new NullInputSystem(), new AccurateTimeProvider());
+    new ScreenBuilder("start") {{
+      layer(new LayerBuilder("layer") {{
+        childLayoutVertical();
+        text(new TextBuilder("counter") {{
+          font("test.fnt");
+          text("000");
+        }});
+        text(new TextBuilder("other") {{
+          font("test.fnt");
+          text("other text");
+        }});
+      }});
+    }}.build(nifty);
+    nifty.gotoScreen("start");
+    nifty.setDamageRegionMode(true);
+    counter = nifty.getCurrentScreen().findElementById("counter");
+
+    frame();
+    assertTrue(renderDevice.damageRegion.isFull());
+  }
+
+  @Test
+  public void testNothingChanged() {
+    frame();
+    assertTrue(renderDevice.damageRegion.isEmpty());
+  }
+
+  @Test
+  public void testTextChangeOnlyDamagesTheElement() {
+    counter.getRenderer(TextRenderer.class).setText("001");
+    assertTrue(nifty.needsRender());
+    frame();
+
+    assertFalse(renderDevice.damageRegion.isFull());
+    assertEquals(1, renderDevice.damageRegion.getRectangles().size());
+    assertNativeBox(counter.getX(), counter.getY(), 30, 10, renderDevice.damageRegion.getRectangles().get(0));
+  }
+
+  @Test
+  public void testLongerTextDamagesTheOverflowToo() {
+    counter.getRenderer(TextRenderer.class).setText("00000");
+    frame();
+
+    assertFalse(renderDevice.damageRegion.isFull());
+    assertEquals(1, renderDevice.damageRegion.getRectangles().size());
+    assertNativeBox(counter.getX() - 20, counter.getY(), 70, 10, renderDevice.damageRegion.getRectangles().get(0));
+  }
+
+  @Test
+  public void testConstraintChangeDamagesOldAndNewArea() {
+    int oldX = counter.getX();
+    counter.setConstraintWidth(SizeValue.px(50));
+    frame();
+
+    assertEquals(50, counter.getWidth());
+    assertFalse(renderDevice.damageRegion.isFull());
+    assertTrue(covers(renderDevice.damageRegion, oldX, counter.getY(), 30, 10));
+    assertTrue(covers(renderDevice.damageRegion, counter.getX(), counter.getY(), 50, 10));
+  }
+
+  @Test
+  public void testScreenChangeDamagesEverything() {
+    nifty.gotoScreen("start");
+    frame();
+    assertTrue(renderDevice.damageRegion.isFull());
+  }
+
+  private void frame() {
+    nifty.update();
+    nifty.render(true);
+  }
+
+  private boolean covers(final DamageRegion region, final int x, final int y, final int width, final int height) {
+    for (Box box : region.getRectangles()) {
+      if (box.getX() <= x &&
+          box.getY() <= y &&
+          box.getX() + box.getWidth() >= x + width &&
+          box.getY() + box.getHeight() >= y + height) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // the ScalingRenderDevice adds a pixel on each side when it converts the region to native coordinates
+  private void assertNativeBox(final int x, final int y, final int width, final int height, final Box box) {
+    assertEquals(x - 1, box.getX());
+    assertEquals(y - 1, box.getY());
+    assertEquals(width + 2, box.getWidth());
+    assertEquals(height + 2, box.getHeight());
+  }
+
+  private static class DamageRegionDevice extends NullRenderDevice implements DamageRegionRenderDevice {
+    private DamageRegion damageRegion = new DamageRegion();
+
+    @Override
+    public void setDamageRegion(final DamageRegion newDamageRegion) {
+      damageRegion.reset();
+      damageRegion.add(newDamageRegion);
+    }
+
+    @Override
+    public int getWidth() {
+      return 800;
+    }
+
+    @Override
+    public int getHeight() {
+      return 600;
+    }
+
+    @Override
+    public RenderFont createFont(final String filename) {
+      return new FixedWidthFont();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class NiftyEventAnnotationProcessorTest {
+  private NiftyEventDispatcher dispatcher = new NiftyEventDispatcher();
+
+  @Test
+  public void testIdSubscription() {
+    Controller controller = new Controller();
+    NiftyEventAnnotationProcessor.process(controller, dispatcher);
+    dispatcher.publish("button", "clicked");
+    dispatcher.publish("other", "clicked");
+    assertEquals("[button:clicked]", controller.received.toString());
+  }
+
+  @Test
+  public void testPatternSubscription() {
+    Controller controller = new Controller();
+    NiftyEventAnnotationProcessor.process(controller, dispatcher);
+    dispatcher.publish("slider1", Integer.valueOf(1));
+    dispatcher.publish("slider2", Integer.valueOf(2));
+    dispatcher.publish("slider2", "ignored");
+    assertEquals("(slider1:1)(slider2:2)", controller.received.toString());
+  }
+
+  @Test
+  public void testUnprocess() {
+    Controller controller = new Controller();
+    NiftyEventAnnotationProcessor.process(controller, dispatcher);
+    NiftyEventAnnotationProcessor.unprocess(controller, dispatcher);
+    dispatcher.publish("button", "clicked");
+    dispatcher.publish("slider1", Integer.valueOf(1));
+    assertEquals("", controller.received.toString());
+    assertFalse(dispatcher.hasSubscriptions());
+  }
+
+  @Test
+  public void testInstancesOfTheSameClassAreIndependent() {
+    Controller first = new Controller();
+    Controller second = new Controller();
+    NiftyEventAnnotationProcessor.process(first, dispatcher);
+    NiftyEventAnnotationProcessor.process(second, dispatcher);
+    NiftyEventAnnotationProcessor.unprocess(first, dispatcher);
+    dispatcher.publish("button", "clicked");
+    assertEquals("", first.received.toString());
+    assertEquals("[button:clicked]", second.received.toString());
+  }
+
+  @Test
+  public void testClassesAreOnlyLookedAtOncePerDispatcher() {
+    NiftyEventAnnotationProcessor.process(new Controller(), dispatcher);
+    NiftyEventAnnotationProcessor.process(new Controller(), dispatcher);
+    assertEquals(1, dispatcher.getRegistrationCount());
+
+    NiftyEventDispatcher other = new NiftyEventDispatcher();
+    assertEquals(0, other.getRegistrationCount());
+    Controller controller = new Controller();
+    NiftyEventAnnotationProcessor.process(controller, other);
+    other.publish("button", "clicked");
+    assertEquals("[button:clicked]", controller.received.toString());
+  }
+
+  @Test
+  public void testNull() {
+    NiftyEventAnnotationProcessor.process(null, dispatcher);
+    assertFalse(dispatcher.hasSubscriptions());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMethod() {
+    NiftyEventAnnotationProcessor.process(new InvalidController(), dispatcher);
+  }
+
+  private static class Controller {
+    private StringBuilder received = new StringBuilder();
+
+    @NiftyEventSubscriber(id = "button")
+    public void onButton(final String id, final String event) {
+      received.append("[" + id + ":" + event + "]");
+    }
+
+    @NiftyEventSubscriber(pattern = "slider.*")
+    public void onSlider(final String id, final Integer event) {
+      received.append("(" + id + ":" + event + ")");
+    }
+  }
+
+  private static class InvalidController {
+    @NiftyEventSubscriber(id = "button")
+    public void onButton(final String event) {
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.junit.Test;
+
+public class NiftyEventDispatcherTest {
+  private NiftyEventDispatcher dispatcher = new NiftyEventDispatcher();
+  private StringBuilder received = new StringBuilder();
+
+  @Test
+  public void testPublishWithoutSubscribers() {
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("", received.toString());
+    assertFalse(dispatcher.hasSubscriptions());
+  }
+
+  @Test
+  public void testSubscribe() {
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("a"), this);
+    dispatcher.publish("id", new BaseEvent());
+    dispatcher.publish("other", new BaseEvent());
+    assertEquals("[a:id]", received.toString());
+  }
+
+  @Test
+  public void testEventClassIsRespected() {
+    dispatcher.subscribe("id", SubEvent.class, new Recorder("sub"), this);
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("base"), this);
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("[base:id]", received.toString());
+
+    received.setLength(0);
+    dispatcher.publish("id", new SubEvent());
+    assertEquals("[sub:id][base:id]", received.toString());
+  }
+
+  @Test
+  public void testPatternSubscription() {
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("p"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    dispatcher.publish("button", new BaseEvent());
+    dispatcher.publish("slider2", new BaseEvent());
+    assertEquals("[p:slider1][p:slider2]", received.toString());
+  }
+
+  @Test
+  public void testPatternSubscriptionAddedAfterPublish() {
+    dispatcher.subscribe("slider1", BaseEvent.class, new Recorder("a"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("p"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    assertEquals("[a:slider1][a:slider1][p:slider1]", received.toString());
+  }
+
+  @Test
+  public void testUnsubscribeSubscription() {
+    NiftyEventDispatcher.Subscription a = dispatcher.subscribe("id", BaseEvent.class, new Recorder("a"), this);
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("b"), this);
+    dispatcher.unsubscribe(a);
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("[b:id]", received.toString());
+  }
+
+  @Test
+  public void testUnsubscribeOwner() {
+    Object owner = new Object();
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("a"), owner);
+    dispatcher.subscribe("id", SubEvent.class, new Recorder("b"), owner);
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("c"), this);
+    dispatcher.unsubscribe("id", owner);
+    dispatcher.publish("id", new SubEvent());
+    assertEquals("[c:id]", received.toString());
+  }
+
+  @Test
+  public void testUnsubscribePattern() {
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("p"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    dispatcher.unsubscribe(Pattern.compile("slider.*"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    assertEquals("[p:slider1]", received.toString());
+    assertFalse(dispatcher.hasSubscriptions());
+  }
+
+  @Test
+  public void testUnsubscribeWhileDelivering() {
+    final NiftyEventDispatcher.Subscription[] b = new NiftyEventDispatcher.Subscription[1];
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("a") {
+      @Override
+      public void onEvent(final String topic, final BaseEvent data) {
+        super.onEvent(topic, data);
+        dispatcher.unsubscribe(b[0]);
+      }
+    }, this);
+    b[0] = dispatcher.subscribe("id", BaseEvent.class, new Recorder("b"), this);
+    dispatcher.publish("id", new BaseEvent());
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("[a:id][a:id]", received.toString());
+  }
+
+  @Test
+  public void testSubscribeWhileDelivering() {
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("a") {
+      private boolean done;
+
+      @Override
+      public void onEvent(final String topic, final BaseEvent data) {
+        super.onEvent(topic, data);
+        if (!done) {
+          done = true;
+          dispatcher.subscribe("id", BaseEvent.class, new Recorder("b"), this);
+        }
+      }
+    }, this);
+    dispatcher.publish("id", new BaseEvent());
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("[a:id][a:id][b:id]", received.toString());
+  }
+
+  @Test
+  public void testPublishToTopicWithoutMatchingPatternIsNotRemembered() {
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("p"), this);
+    dispatcher.publish("button1", new BaseEvent());
+    dispatcher.publish("button2", new BaseEvent());
+    assertEquals(0, dispatcher.getTopicCount());
+
+    dispatcher.publish("slider1", new BaseEvent());
+    assertEquals(1, dispatcher.getTopicCount());
+    assertEquals("[p:slider1]", received.toString());
+  }
+
+  @Test
+  public void testUnsubscribePrunesTopicWhilePatternSubscriptionsExist() {
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("p"), this);
+    NiftyEventDispatcher.Subscription button = dispatcher.subscribe("button", BaseEvent.class, new Recorder("a"), this);
+    NiftyEventDispatcher.Subscription slider = dispatcher.subscribe("slider1", BaseEvent.class, new Recorder("b"), this);
+    dispatcher.publish("button", new BaseEvent());
+    dispatcher.publish("slider1", new BaseEvent());
+    assertEquals(2, dispatcher.getTopicCount());
+
+    dispatcher.unsubscribe(button);
+    dispatcher.unsubscribe(slider);
+    assertEquals(1, dispatcher.getTopicCount());
+
+    dispatcher.publish("slider1", new BaseEvent());
+    assertEquals("[a:button][b:slider1][p:slider1][p:slider1]", received.toString());
+  }
+
+  @Test
+  public void testUnsubscribePatternPrunesTopicsOfThatPatternOnly() {
+    dispatcher.subscribe(Pattern.compile("slider.*"), BaseEvent.class, new Recorder("s"), this);
+    dispatcher.subscribe(Pattern.compile("button.*"), BaseEvent.class, new Recorder("b"), this);
+    dispatcher.publish("slider1", new BaseEvent());
+    dispatcher.publish("button1", new BaseEvent());
+    assertEquals(2, dispatcher.getTopicCount());
+
+    dispatcher.unsubscribe(Pattern.compile("slider.*"), this);
+    assertEquals(1, dispatcher.getTopicCount());
+
+    dispatcher.publish("button1", new BaseEvent());
+    assertEquals("[s:slider1][b:button1][b:button1]", received.toString());
+  }
+
+  @Test
+  public void testFailingSubscriberDoesNotStopDelivery() {
+    dispatcher.subscribe("id", BaseEvent.class, new EventTopicSubscriber < BaseEvent >() {
+      @Override
+      public void onEvent(final String topic, final BaseEvent data) {
+        throw new RuntimeException("expected");
+      }
+    }, this);
+    dispatcher.subscribe("id", BaseEvent.class, new Recorder("b"), this);
+    dispatcher.publish("id", new BaseEvent());
+    assertEquals("[b:id]", received.toString());
+    assertTrue(dispatcher.hasSubscriptions());
+  }
+
+  private static class BaseEvent {
+  }
+
+  private static class SubEvent extends BaseEvent {
+  }
+
+  private class Recorder implements EventTopicSubscriber < BaseEvent > {
+    private final String name;
+
+    private Recorder(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void onEvent(final String topic, final BaseEvent data) {
+      received.append("[" + name + ":" + topic + "]");
+    }
+  }
+}
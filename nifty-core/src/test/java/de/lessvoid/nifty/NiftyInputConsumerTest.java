@@ -0,0 +1,162 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyInputEvent;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.input.mapping.DefaultScreenMapping;
+import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.KeyInputHandler;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.screen.ScreenController;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+
+public class NiftyInputConsumerTest {
+  private ScriptedInputSystem inputSystem = new ScriptedInputSystem();
+  private List < String > log = new ArrayList < String >();
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new TestRenderDevice(), new NullSoundDevice(), inputSystem, new AccurateTimeProvider());
+    final LogController controller = new LogController();
+    new ScreenBuilder("start") {{
+      controller(controller);
+      layer(new LayerBuilder("layer") {{
+        childLayoutAbsolute();
+        panel(new PanelBuilder("panel") {{
+          x("0px");
+          y("0px");
+          width("100px");
+          height("100px");
+          interactOnMouseOver("over()");
+        }});
+      }});
+    }}.build(nifty);
+    nifty.gotoScreen("start");
+    nifty.getCurrentScreen().addPreKeyboardInputHandler(new DefaultScreenMapping(), new KeyInputHandler() {
+      @Override
+      public boolean keyEvent(final NiftyInputEvent inputEvent) {
+        log.add("key");
+        return true;
+      }
+    });
+    nifty.update();
+  }
+
+  @Test
+  public void testMouseMovesWithoutCoalescing() {
+    inputSystem.move(10, 10).move(20, 20).move(30, 30);
+    nifty.update();
+    assertEquals("[over 10, over 20, over 30]", log.toString());
+    assertEquals("[true, true, true]", inputSystem.results.toString());
+  }
+
+  @Test
+  public void testMouseMovesAreCoalesced() {
+    nifty.setCoalesceMouseMoveEvents(true);
+    inputSystem.move(10, 10).move(20, 20).move(30, 30);
+    nifty.update();
+    assertEquals("[over 30]", log.toString());
+  }
+
+  @Test
+  public void testCoalescedMouseMoveReportsTheLastProcessedEvent() {
+    nifty.setCoalesceMouseMoveEvents(true);
+    inputSystem.move(500, 500).button(500, 500, true).move(10, 10).button(10, 10, false).move(20, 20);
+    nifty.update();
+    assertEquals("[false, false, false, true, true]", inputSystem.results.toString());
+  }
+
+  @Test
+  public void testButtonEventProcessesPendingMouseMoveFirst() {
+    nifty.setCoalesceMouseMoveEvents(true);
+    inputSystem.move(10, 10).move(20, 20).button(30, 30, true);
+    nifty.update();
+    assertEquals("[over 20, over 30]", log.toString());
+  }
+
+  @Test
+  public void testKeyEventProcessesPendingMouseMoveFirst() {
+    nifty.setCoalesceMouseMoveEvents(true);
+    inputSystem.move(10, 10).move(20, 20).key().move(30, 30).move(40, 40);
+    nifty.update();
+    assertEquals("[over 20, key, over 40]", log.toString());
+  }
+
+  public class LogController implements ScreenController {
+    @Override
+    public void bind(final Nifty nifty, final Screen screen) {
+    }
+
+    @Override
+    public void onStartScreen() {
+    }
+
+    @Override
+    public void onEndScreen() {
+    }
+
+    public void over(final Element element, final NiftyMouseInputEvent event) {
+      log.add("over " + event.getMouseX());
+    }
+  }
+
+  private static class ScriptedInputSystem extends NullInputSystem {
+    private List < Object[] > events = new ArrayList < Object[] >();
+    private List < Boolean > results = new ArrayList < Boolean >();
+
+    public ScriptedInputSystem move(final int x, final int y) {
+      events.add(new Object[] { x, y, -1, false });
+      return this;
+    }
+
+    public ScriptedInputSystem button(final int x, final int y, final boolean down) {
+      events.add(new Object[] { x, y, 0, down });
+      return this;
+    }
+
+    public ScriptedInputSystem key() {
+      events.add(new Object[] { new KeyboardInputEvent(KeyboardInputEvent.KEY_ESCAPE, (char) 0, true, false, false) });
+      return this;
+    }
+
+    @Override
+    public void forwardEvents(final NiftyInputConsumer inputEventConsumer) {
+      for (Object[] event : events) {
+        if (event.length == 1) {
+          results.add(inputEventConsumer.processKeyboardEvent((KeyboardInputEvent) event[0]));
+        } else {
+          results.add(inputEventConsumer.processMouseEvent(
+              (Integer) event[0], (Integer) event[1], 0, (Integer) event[2], (Boolean) event[3]));
+        }
+      }
+      events.clear();
+    }
+  }
+
+  private static class TestRenderDevice extends NullRenderDevice {
+    @Override
+    public int getWidth() {
+      return 800;
+    }
+
+    @Override
+    public int getHeight() {
+      return 600;
+    }
+  }
+}
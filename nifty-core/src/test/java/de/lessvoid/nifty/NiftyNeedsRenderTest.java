@@ -0,0 +1,94 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+public class NiftyNeedsRenderTest implements TimeProvider {
+  private long time;
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(), new NullSoundDevice(), new NullInputSystem(), this);
+  }
+
+  @Test
+  public void testStaticOnActiveEffectDoesNotKeepRendering() {
+    start(new EffectBuilder("colorBar") {{
+      effectParameter("color", "#f00");
+    }});
+    assertTrue(panel().isEffectActive(EffectEventId.onActive));
+    assertFalse(nifty.needsRender());
+  }
+
+  @Test
+  public void testNeverStopRenderingEffectKeepsRendering() {
+    start(new EffectBuilder("colorBar") {{
+      effectParameter("color", "#f00");
+      neverStopRendering(true);
+    }});
+    assertTrue(nifty.needsRender());
+    frame();
+    assertTrue(nifty.needsRender());
+  }
+
+  @Test
+  public void testOnActiveEffectWithLengthRendersUntilItEnds() {
+    start(new EffectBuilder("colorBar") {{
+      effectParameter("color", "#f00");
+      length(500);
+    }});
+    assertTrue(nifty.needsRender());
+
+    for (int i = 0; i < 60 && nifty.needsRender(); i++) {
+      frame();
+    }
+    assertTrue(time >= 500);
+    assertFalse(nifty.needsRender());
+  }
+
+  @Override
+  public long getMsTime() {
+    return time;
+  }
+
+  private void start(final EffectBuilder onActiveEffect) {
+    new ScreenBuilder("start") {{
+      layer(new LayerBuilder("layer") {{
+        childLayoutVertical();
+        panel(new PanelBuilder("panel") {{
+          width("100px");
+          height("100px");
+          onActiveEffect(onActiveEffect);
+        }});
+      }});
+    }}.build(nifty);
+    nifty.gotoScreen("start");
+    frame();
+    frame();
+  }
+
+  private Element panel() {
+    return nifty.getCurrentScreen().findElementById("panel");
+  }
+
+  private void frame() {
+    time += 10;
+    nifty.update();
+    nifty.render(true);
+  }
+}
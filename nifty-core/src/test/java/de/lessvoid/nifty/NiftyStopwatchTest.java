@@ -0,0 +1,45 @@
+package de.lessvoid.nifty;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.EmptyStackException;
+
+import org.junit.Test;
+
+public class NiftyStopwatchTest {
+
+  @Test
+  public void testNested() {
+    NiftyStopwatch.start();
+    NiftyStopwatch.start();
+    assertTrue(NiftyStopwatch.stop() >= 0);
+    assertTrue(NiftyStopwatch.stop() >= 0);
+  }
+
+  @Test(expected = EmptyStackException.class)
+  public void testStopWithoutStart() {
+    NiftyStopwatch.stop();
+  }
+
+  @Test
+  public void testEachThreadHasItsOwnMeasurements() throws Exception {
+    NiftyStopwatch.start();
+
+    final boolean[] otherThreadEmpty = new boolean[1];
+    Thread other = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          NiftyStopwatch.stop();
+        } catch (EmptyStackException e) {
+          otherThreadEmpty[0] = true;
+        }
+      }
+    });
+    other.start();
+    other.join();
+
+    assertTrue(otherThreadEmpty[0]);
+    assertTrue(NiftyStopwatch.stop() >= 0);
+  }
+}
@@ -1,6 +1,7 @@
 package de.lessvoid.nifty;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -54,6 +55,14 @@ public class ParameterizedObjectFactoryTest {
 		assertEquals(DummyParameterizable.class, parameterizable.getClass());
 	}
 
+	@Test
+	public void testEveryCreateReturnsANewInstance() {
+		Parameterizable first = m_parameterizableFactory.create("dummy:first");
+		Parameterizable second = m_parameterizableFactory.create("dummy:second");
+		assertNotSame(first, second);
+		assertEquals("first", ((DummyParameterizable) first).getParameters());
+	}
+
 	public static class DummyParameterizable implements Parameterizable {
 
 		private String m_parameters;
@@ -0,0 +1,72 @@
+package de.lessvoid.nifty.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.tools.Color;
+
+public class BatchRenderDeviceAtlasTest {
+  private HeadlessBatchRenderBackend backend = new HeadlessBatchRenderBackend(800, 600);
+  private BatchRenderDevice device;
+
+  @Before
+  public void before() {
+    backend.setImageSize("a.png", 100, 100);
+    backend.setImageSize("b.png", 100, 100);
+    backend.setImageSize("c.png", 50, 50);
+    device = new BatchRenderDevice(backend, 256, 256);
+  }
+
+  @Test
+  public void testDefragmentRelocatesUploadedImages() {
+    BatchRenderImage a = (BatchRenderImage) device.createImage("a.png", true);
+    BatchRenderImage b = (BatchRenderImage) device.createImage("b.png", true);
+    device.beginFrame();
+    device.renderImage(a, 0, 0, 100, 100, Color.WHITE, 1.0f);
+    device.renderImage(b, 0, 0, 100, 100, Color.WHITE, 1.0f);
+    device.endFrame();
+    assertEquals(0, a.getX());
+    assertEquals(105, b.getX());
+
+    a.unload();
+    assertEquals(1, device.defragmentTextureAtlas());
+    assertEquals(0, b.getX());
+    assertEquals(0, b.getY());
+    // the free space is L shaped now, the larger one of the two free rectangles is 151x256
+    assertEquals(1.f - (151.f * 256) / (256 * 256 - 105 * 105), device.getTextureAtlasFragmentation(), 0.0001f);
+    assertEquals(10000.f / (256 * 256), device.getTextureAtlasOccupancy(), 0.0001f);
+  }
+
+  @Test
+  public void testSameFileUploadedTwice() {
+    BatchRenderImage a1 = (BatchRenderImage) device.createImage("a.png", true);
+    BatchRenderImage a2 = (BatchRenderImage) device.createImage("a.png", false);
+    a1.upload();
+    a2.upload();
+    assertFalse(overlap(a1, a2));
+
+    a1.unload();
+    BatchRenderImage b = (BatchRenderImage) device.createImage("b.png", true);
+    BatchRenderImage c = (BatchRenderImage) device.createImage("c.png", true);
+    b.upload();
+    c.upload();
+    assertFalse(overlap(a2, b));
+    assertFalse(overlap(a2, c));
+    assertFalse(overlap(b, c));
+
+    // defragment must still know the second image
+    b.unload();
+    c.unload();
+    assertEquals(1, device.defragmentTextureAtlas());
+    assertEquals(0, a2.getX());
+    assertEquals(0, a2.getY());
+  }
+
+  private boolean overlap(final BatchRenderImage a, final BatchRenderImage b) {
+    return a.getX() < b.getX() + b.getWidth() && b.getX() < a.getX() + a.getWidth()
+        && a.getY() < b.getY() + b.getHeight() && b.getY() < a.getY() + a.getHeight();
+  }
+}
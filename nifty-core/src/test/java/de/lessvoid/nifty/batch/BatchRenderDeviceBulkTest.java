@@ -0,0 +1,114 @@
+package de.lessvoid.nifty.batch;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.batch.spi.BulkBatchRenderBackend;
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.tools.Color;
+
+public class BatchRenderDeviceBulkTest {
+  private static final float DELTA = 0.0001f;
+  private HeadlessBatchRenderBackend backend = new HeadlessBatchRenderBackend(800, 600);
+  private BatchRenderDevice device;
+
+  @Before
+  public void before() {
+    device = new BatchRenderDevice(backend, 256, 256);
+    device.beginFrame();
+  }
+
+  @Test
+  public void testQuadIsWrittenDirectly() {
+    device.renderQuad(10, 20, 30, 40, Color.WHITE);
+    assertEquals(1, backend.getQuadCount());
+    assertEquals(1, backend.getBatchCount());
+    assertVertex(0, 0, 10, 20);
+    assertVertex(0, 1, 40, 20);
+    assertVertex(0, 2, 40, 60);
+    assertVertex(0, 3, 10, 60);
+    for (int i = 0; i < 4; i++) {
+      assertColor(0, i, Color.WHITE);
+    }
+
+    device.endFrame();
+    assertEquals(1, backend.getQuadCount());
+  }
+
+  @Test
+  public void testVertexColors() {
+    Color topLeft = new Color(0.1f, 0.2f, 0.3f, 0.4f);
+    Color topRight = new Color(0.5f, 0.6f, 0.7f, 0.8f);
+    Color bottomRight = new Color(0.9f, 1.0f, 0.0f, 0.1f);
+    Color bottomLeft = new Color(0.2f, 0.3f, 0.4f, 0.5f);
+    device.renderQuad(0, 0, 10, 10, topLeft, topRight, bottomRight, bottomLeft);
+    device.endFrame();
+
+    assertColor(0, 0, topLeft);
+    assertColor(0, 1, topRight);
+    assertColor(0, 2, bottomRight);
+    assertColor(0, 3, bottomLeft);
+  }
+
+  @Test
+  public void testManyQuads() {
+    for (int i = 0; i < 2000; i++) {
+      device.renderQuad(i % 400, i / 400, 1, 1, Color.BLACK);
+    }
+    device.endFrame();
+
+    assertEquals(2000, backend.getQuadCount());
+    assertVertex(0, 0, 0, 0);
+    assertVertex(1999, 0, 399, 4);
+    assertColor(1999, 3, Color.BLACK);
+  }
+
+  @Test
+  public void testQuadsAreAddedBeforeNewBatch() {
+    device.renderQuad(0, 0, 10, 10, Color.WHITE);
+    device.setBlendMode(BlendMode.MULIPLY);
+    device.renderQuad(0, 0, 10, 10, Color.WHITE);
+    device.endFrame();
+
+    assertEquals(2, backend.getBatchCount());
+    assertEquals(BlendMode.BLEND, backend.getBatchBlendMode(0));
+    assertEquals(BlendMode.MULIPLY, backend.getBatchBlendMode(1));
+    assertEquals(0, backend.getBatchStart(0));
+    assertEquals(1, backend.getBatchStart(1));
+  }
+
+  @Test
+  public void testAddQuadWritesTheSameLayout() {
+    Color red = new Color(1.0f, 0.0f, 0.0f, 1.0f);
+    Color green = new Color(0.0f, 1.0f, 0.0f, 0.5f);
+    backend.beginFrame();
+    backend.beginBatch(BlendMode.BLEND);
+    backend.addQuad(1, 2, 3, 4, red, green, red, green, 0.1f, 0.2f, 0.3f, 0.4f);
+
+    assertEquals(1, backend.getQuadCount());
+    assertVertex(0, 2, 4, 6);
+    assertColor(0, 0, red);
+    assertColor(0, 1, green);
+    // color4 is the bottom right and color3 the bottom left color
+    assertColor(0, 2, green);
+    assertColor(0, 3, red);
+    assertEquals(0.4f, backend.getVertexData(2 * BulkBatchRenderBackend.VERTEX_SIZE + 6), DELTA);
+    assertEquals(0.6f, backend.getVertexData(2 * BulkBatchRenderBackend.VERTEX_SIZE + 7), DELTA);
+  }
+
+  private void assertVertex(final int quad, final int vertex, final float x, final float y) {
+    int index = quad * BulkBatchRenderBackend.QUAD_SIZE + vertex * BulkBatchRenderBackend.VERTEX_SIZE;
+    assertEquals(x, backend.getVertexData(index), DELTA);
+    assertEquals(y, backend.getVertexData(index + 1), DELTA);
+  }
+
+  private void assertColor(final int quad, final int vertex, final Color color) {
+    int index = quad * BulkBatchRenderBackend.QUAD_SIZE + vertex * BulkBatchRenderBackend.VERTEX_SIZE + 2;
+    assertEquals(color.getRed(), backend.getVertexData(index), DELTA);
+    assertEquals(color.getGreen(), backend.getVertexData(index + 1), DELTA);
+    assertEquals(color.getBlue(), backend.getVertexData(index + 2), DELTA);
+    assertEquals(color.getAlpha(), backend.getVertexData(index + 3), DELTA);
+  }
+}
@@ -1,9 +1,20 @@
 package de.lessvoid.nifty.batch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
+import de.lessvoid.nifty.batch.TextureAtlasGenerator.Algorithm;
+import de.lessvoid.nifty.batch.TextureAtlasGenerator.Relocation;
 import de.lessvoid.nifty.batch.TextureAtlasGenerator.Result;
 
 public class TextureAtlasGeneratorTest {
@@ -24,6 +35,138 @@ public class TextureAtlasGeneratorTest {
     assertResult(55, 0, 5, 5, result);
   }
 
+  @Test
+  public void testDuplicateNameIsRejected() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(100, 100, Algorithm.MAX_RECTS);
+    maxRects.addImage(50, 50, "a", 0);
+    try {
+      maxRects.addImage(50, 50, "a", 0);
+      fail("expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+    }
+    assertResult(50, 0, 50, 50, maxRects.addImage(50, 50, "b", 0));
+  }
+
+  @Test
+  public void testMaxRectsPadding() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(100, 100, Algorithm.MAX_RECTS);
+    assertResult(0, 0, 50, 50, maxRects.addImage(50, 50, "name-1", 5));
+    // no padding necessary at the right border
+    assertResult(55, 0, 45, 45, maxRects.addImage(45, 45, "name-2", 5));
+  }
+
+  @Test
+  public void testMaxRectsMergesFreedSpace() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(100, 100, Algorithm.MAX_RECTS);
+    assertResult(0, 0, 50, 50, maxRects.addImage(50, 50, "a", 0));
+    assertResult(50, 0, 50, 50, maxRects.addImage(50, 50, "b", 0));
+    assertResult(0, 50, 50, 50, maxRects.addImage(50, 50, "c", 0));
+    assertResult(50, 50, 50, 50, maxRects.addImage(50, 50, "d", 0));
+    assertEquals(1.f, maxRects.getOccupancy(), 0.0001f);
+
+    maxRects.removeImage("a");
+    maxRects.removeImage("b");
+    assertResult(0, 0, 100, 50, maxRects.addImage(100, 50, "e", 0));
+  }
+
+  @Test
+  public void testMaxRectsMergesFreedSpaceWithSeveralRectangles() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(90, 30, Algorithm.MAX_RECTS);
+    maxRects.addImage(30, 30, "a", 0);
+    maxRects.addImage(30, 30, "b", 0);
+    maxRects.addImage(30, 30, "c", 0);
+    maxRects.removeImage("a");
+    maxRects.removeImage("c");
+    maxRects.removeImage("b");
+    assertEquals(0.f, maxRects.getFragmentation(), 0.0001f);
+    assertResult(0, 0, 90, 30, maxRects.addImage(90, 30, "d", 0));
+  }
+
+  @Test(timeout = 2000)
+  public void testMaxRectsRemoveAndAddOnFullAtlas() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(1024, 1024, Algorithm.MAX_RECTS);
+    Map<String, Result> images = new HashMap<String, Result>();
+    int count = 0;
+    try {
+      while (true) {
+        int size = 20 + (count * 7) % 21;
+        images.put("image-" + count, maxRects.addImage(size, size, "image-" + count, 1));
+        count++;
+      }
+    } catch (TextureAtlasGeneratorException e) {
+      // the atlas is full now
+    }
+    assertTrue(count > 600);
+
+    // every image is replaced by one of the same size once
+    for (int i = 0; i < count; i++) {
+      Result removed = maxRects.removeImage("image-" + i);
+      images.remove("image-" + i);
+      String name = "replaced-" + i;
+      images.put(name, maxRects.addImage(removed.getOriginalImageWidth(), removed.getOriginalImageHeight(), name, 1));
+    }
+    assertNoOverlap(images.values());
+  }
+
+  @Test
+  public void testDefragment() throws Exception {
+    TextureAtlasGenerator maxRects = new TextureAtlasGenerator(100, 100, Algorithm.MAX_RECTS);
+    maxRects.addImage(50, 50, "a", 0);
+    maxRects.addImage(50, 50, "b", 0);
+    maxRects.addImage(50, 50, "c", 0);
+    maxRects.removeImage("a");
+    assertEquals(0.5f, maxRects.getOccupancy(), 0.0001f);
+    assertEquals(0.5f, maxRects.getFragmentation(), 0.0001f);
+    try {
+      maxRects.addImage(100, 50, "d", 0);
+      fail("expected TextureAtlasGeneratorException");
+    } catch (TextureAtlasGeneratorException e) {
+      assertEquals("d", e.getName());
+    }
+
+    List<Relocation> relocations = maxRects.defragment(0);
+    assertEquals(2, relocations.size());
+    assertRelocation("b", 50, 0, 0, 0, relocations.get(0));
+    assertRelocation("c", 0, 50, 50, 0, relocations.get(1));
+    assertEquals(0.f, maxRects.getFragmentation(), 0.0001f);
+    assertResult(0, 50, 100, 50, maxRects.addImage(100, 50, "d", 0));
+  }
+
+  @Test
+  public void testBinaryTreeFragmentation() throws Exception {
+    assertEquals(0.f, generator.getFragmentation(), 0.0001f);
+    generator.addImage(50, 50, "name-1", 0);
+    assertEquals(0.25f, generator.getOccupancy(), 0.0001f);
+    // free space is split into a 50x50 and a 100x50 node
+    assertEquals(1.f / 3.f, generator.getFragmentation(), 0.0001f);
+  }
+
+  private void assertRelocation(
+      final String name,
+      final int oldX,
+      final int oldY,
+      final int newX,
+      final int newY,
+      final Relocation relocation) {
+    assertEquals(name, relocation.getName());
+    assertEquals(oldX, relocation.getOldX());
+    assertEquals(oldY, relocation.getOldY());
+    assertEquals(newX, relocation.getNewX());
+    assertEquals(newY, relocation.getNewY());
+  }
+
+  private void assertNoOverlap(final Collection<Result> results) {
+    List<Result> list = new ArrayList<Result>(results);
+    for (int i = 0; i < list.size(); i++) {
+      Result a = list.get(i);
+      for (int j = i + 1; j < list.size(); j++) {
+        Result b = list.get(j);
+        assertFalse(a.getX() < b.getX() + b.getOriginalImageWidth() && b.getX() < a.getX() + a.getOriginalImageWidth()
+            && a.getY() < b.getY() + b.getOriginalImageHeight() && b.getY() < a.getY() + a.getOriginalImageHeight());
+      }
+    }
+  }
+
   private void assertResult(final int x, final int y, final int w, final int h, final Result result) {
     assertEquals(x, result.getX());
     assertEquals(y, result.getY());
@@ -26,6 +26,7 @@ import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.screen.ScreenController;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import de.lessvoid.xml.tools.InstanceFactoryRegistry;
 
 public class ScreenCreatorTest {
   private Nifty niftyMock;
@@ -42,6 +43,7 @@ public class ScreenCreatorTest {
     expect(niftyMock.getTimeProvider()).andReturn(timeProvider).times(2);
     expect(niftyMock.getRootLayerFactory()).andReturn(rootLayerFactoryMock);
     niftyMock.addScreen(eq("myid"), isA(Screen.class));
+    expect(niftyMock.getInstanceFactoryRegistry()).andStubReturn(new InstanceFactoryRegistry());
     replay(niftyMock);
 
     expect(rootLayerFactoryMock.createRootLayer(eq("root"), eq(niftyMock), isA(Screen.class), eq(timeProvider))).andReturn(rootElement);
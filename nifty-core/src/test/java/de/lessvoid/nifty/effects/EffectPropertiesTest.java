@@ -1,8 +1,11 @@
 package de.lessvoid.nifty.effects;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Properties;
@@ -10,6 +13,8 @@ import java.util.Properties;
 import org.junit.Before;
 import org.junit.Test;
 
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.xml.xpp3.Attributes;
 
 
@@ -46,4 +51,74 @@ public class EffectPropertiesTest {
     assertFalse(effectProperties.isTimeInterpolator());
     assertNull(effectProperties.getInterpolator());
   }
+
+  @Test
+  public void testPrimitiveDefaults() {
+    assertEquals(12L, effectProperties.getLong("length", 12L));
+    assertEquals(3, effectProperties.getInt("offsetX", 3));
+    assertEquals(1.5f, effectProperties.getFloat("startSize", 1.5f), 0.0001f);
+    assertTrue(effectProperties.getBoolean("center", true));
+  }
+
+  @Test
+  public void testPrimitiveValues() {
+    effectProperties.setProperty("length", "500");
+    effectProperties.setProperty("offsetX", "-4");
+    effectProperties.setProperty("startSize", "2.5");
+    effectProperties.setProperty("center", "true");
+    assertEquals(500L, effectProperties.getLong("length", 12L));
+    assertEquals(-4, effectProperties.getInt("offsetX", 3));
+    assertEquals(2.5f, effectProperties.getFloat("startSize", 1.5f), 0.0001f);
+    assertTrue(effectProperties.getBoolean("center", false));
+  }
+
+  @Test
+  public void testColorIsParsedOnce() {
+    effectProperties.setProperty("color", "#f00f");
+    Color color = effectProperties.getColor("color", "#ffff");
+    assertEquals(1.0f, color.getRed(), 0.0001f);
+    assertEquals(0.0f, color.getGreen(), 0.0001f);
+    assertSame(color, effectProperties.getColor("color", "#ffff"));
+  }
+
+  @Test
+  public void testColorDefault() {
+    Color color = effectProperties.getColor("color", "#0f0f");
+    assertEquals(1.0f, color.getGreen(), 0.0001f);
+    assertNull(effectProperties.getColor("other", null));
+  }
+
+  @Test
+  public void testChangedPropertyIsParsedAgain() {
+    effectProperties.setProperty("width", "10px");
+    SizeValue first = effectProperties.getSizeValue("width", null);
+    effectProperties.setProperty("width", "20px");
+    SizeValue second = effectProperties.getSizeValue("width", null);
+    assertNotSame(first, second);
+    assertEquals(20, second.getValueAsInt(100));
+  }
+
+  @Test
+  public void testSameKeyWithDifferentParsers() {
+    effectProperties.setProperty("value", "42");
+    assertEquals(42, effectProperties.getInt("value", 0));
+    assertEquals(42L, effectProperties.getLong("value", 0L));
+    assertEquals(42, effectProperties.getInt("value", 0));
+  }
+
+  @Test
+  public void testSides() {
+    effectProperties.setProperty("border", "1px,2px,3px,4px");
+    SizeValue[] border = effectProperties.getParsed("border", "0px", EffectProperties.SIZE_VALUE_SIDES);
+    assertEquals(4, border[0].getValueAsInt(100));
+    assertEquals(2, border[1].getValueAsInt(100));
+    assertEquals(1, border[2].getValueAsInt(100));
+    assertEquals(3, border[3].getValueAsInt(100));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSides() {
+    effectProperties.setProperty("border", "1px,2px,3px,4px,5px");
+    effectProperties.getParsed("border", "0px", EffectProperties.SIZE_VALUE_SIDES);
+  }
 }
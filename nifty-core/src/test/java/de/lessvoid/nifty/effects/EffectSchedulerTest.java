@@ -0,0 +1,258 @@
+package de.lessvoid.nifty.effects;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.EndNotify;
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.PopupBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.effects.impl.Nop;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.DefaultScreenController;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+public class EffectSchedulerTest {
+  private EffectScheduler scheduler = new EffectScheduler();
+  private StringBuilder events = new StringBuilder();
+  private int timeRequests;
+  private EffectProcessorImpl processor;
+  private Effect effect;
+
+  @Before
+  public void before() {
+    processor = new EffectProcessorImpl(new EffectProcessorImpl.Notify() {
+      @Override
+      public void effectProcessorStateChanged(final boolean active) {
+        events.append("[" + active + "]");
+      }
+    }, false);
+    effect = createEffect("100");
+    processor.registerEffect(effect);
+    processor.setScheduler(scheduler);
+  }
+
+  @Test
+  public void testActivateSchedules() {
+    assertTrue(scheduler.isEmpty());
+    processor.activate(new Recorder(), null, null);
+    assertEquals(1, scheduler.size());
+    processor.activate(new Recorder(), null, null);
+    assertEquals(1, scheduler.size());
+  }
+
+  @Test
+  public void testAdvance() {
+    processor.activate(new Recorder(), null, null);
+    timeRequests = 0;
+
+    scheduler.advance(50);
+    assertTrue(effect.isActive());
+    assertEquals("[true]", events.toString());
+
+    scheduler.advance(150);
+    assertFalse(effect.isActive());
+    assertFalse(processor.isActive());
+    assertEquals("[true][false][end]", events.toString());
+    assertTrue(scheduler.isEmpty());
+
+    scheduler.advance(200);
+    assertTrue(scheduler.isEmpty());
+    assertEquals("[true][false][end]", events.toString());
+    assertEquals(0, timeRequests);
+  }
+
+  @Test
+  public void testRenderDoesNotUpdateScheduledEffects() {
+    processor.activate(new Recorder(), null, null);
+    timeRequests = 0;
+
+    scheduler.advance(50);
+    processor.renderOverlay(null);
+    processor.renderOverlay(null);
+    assertEquals(0, timeRequests);
+    assertTrue(processor.isActive());
+  }
+
+  @Test
+  public void testRenderUpdatesEffectsWithoutScheduler() {
+    processor.setScheduler(null);
+    processor.activate(new Recorder(), null, null);
+    timeRequests = 0;
+
+    processor.renderOverlay(null);
+    assertEquals(1, timeRequests);
+  }
+
+  @Test
+  public void testRestartAfterEnd() {
+    processor.activate(new Recorder(), null, null);
+    scheduler.advance(150);
+    scheduler.advance(150);
+    assertTrue(scheduler.isEmpty());
+
+    processor.activate(new Recorder(), null, null);
+    assertEquals(1, scheduler.size());
+  }
+
+  @Test
+  public void testReset() {
+    processor.activate(new Recorder(), null, null);
+    processor.reset();
+    scheduler.advance(50);
+    assertTrue(scheduler.isEmpty());
+    assertEquals("[true][false]", events.toString());
+  }
+
+  @Test
+  public void testEndNotificationMayStartEffects() {
+    processor.activate(new EndNotify() {
+      @Override
+      public void perform() {
+        processor.activate(new Recorder(), null, null);
+      }
+    }, null, null);
+
+    scheduler.advance(150);
+    assertTrue(processor.isActive());
+    assertTrue(effect.isActive());
+    assertEquals(1, scheduler.size());
+  }
+
+  @Test
+  public void testChangedSchedulerIsRespected() {
+    processor.activate(new Recorder(), null, null);
+    EffectScheduler other = new EffectScheduler();
+    processor.setScheduler(other);
+    assertEquals(1, other.size());
+
+    scheduler.advance(150);
+    assertTrue(scheduler.isEmpty());
+    assertTrue(effect.isActive());
+
+    other.advance(150);
+    assertFalse(effect.isActive());
+  }
+
+  @Test
+  public void testPopupShownOnAnotherScreen() {
+    Nifty niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+    Screen screenA = new Screen(niftyMock, "a", new DefaultScreenController(), new TestTimeProvider());
+    Screen screenB = new Screen(niftyMock, "b", new DefaultScreenController(), new TestTimeProvider());
+
+    // the popup is created while screenA is the current screen
+    LayoutPart layoutPart = new LayoutPart(new Box(0, 0, 100, 100), new BoxConstraints());
+    Element popup = new Element(niftyMock, null, "popup", null, layoutPart, new FocusHandler(), true, null);
+    popup.bindControls(screenA);
+    Effect popupEffect = createEffect(popup, "100", EffectEventId.onStartScreen);
+    popup.registerEffect(EffectEventId.onStartScreen, popupEffect);
+
+    screenB.addPopup(popup, null);
+    assertTrue(popupEffect.isActive());
+    assertTrue(screenA.getEffectScheduler().isEmpty());
+    assertEquals(1, screenB.getEffectScheduler().size());
+
+    screenB.getEffectScheduler().advance(150);
+    assertFalse(popupEffect.isActive());
+    assertTrue(screenB.getEffectScheduler().isEmpty());
+  }
+
+  @Test
+  public void testElementAddedToPopupOnAnotherScreen() {
+    Nifty nifty = new Nifty(new NullRenderDevice(), new NullSoundDevice(), new NullInputSystem(), new TestTimeProvider());
+    createScreen(nifty, "a");
+    createScreen(nifty, "b");
+    new PopupBuilder("popup") {{
+      childLayoutCenter();
+      panel(new PanelBuilder("popupPanel") {{
+        childLayoutVertical();
+      }});
+    }}.registerPopup(nifty);
+
+    // the popup is created while screen a is the current screen but it is shown on screen b
+    nifty.gotoScreen("a");
+    nifty.update();
+    Element popup = nifty.createPopupWithId("popup", "popup");
+    Screen screenA = nifty.getScreen("a");
+    nifty.gotoScreen("b");
+    nifty.update();
+    Screen screenB = nifty.getCurrentScreen();
+    nifty.showPopup(screenB, "popup", null);
+    nifty.update();
+
+    Element dynamic = new PanelBuilder("dynamic") {{
+      onStartScreenEffect(new EffectBuilder("fade") {{
+        length(100);
+        effectParameter("start", "#0");
+        effectParameter("end", "#f");
+      }});
+    }}.build(nifty, screenA, popup.findElementByName("popupPanel"));
+
+    assertSame(screenB.getEffectScheduler(), dynamic.getEffectManager().getEffectScheduler());
+    assertTrue(dynamic.isEffectActive(EffectEventId.onStartScreen));
+    assertTrue(screenA.getEffectScheduler().isEmpty());
+    assertFalse(screenB.getEffectScheduler().isEmpty());
+  }
+
+  private void createScreen(final Nifty nifty, final String id) {
+    new ScreenBuilder(id) {{
+      layer(new LayerBuilder("layer") {{
+        childLayoutCenter();
+      }});
+    }}.build(nifty);
+  }
+
+  private Effect createEffect(final String length) {
+    return createEffect(null, length, EffectEventId.onCustom);
+  }
+
+  private Effect createEffect(final Element element, final String length, final EffectEventId effectEventId) {
+    Properties properties = new Properties();
+    properties.setProperty("length", length);
+    Effect result = new Effect(null, false, false, true, null, null, null, false, effectEventId);
+    result.init(element, new Nop(), new EffectProperties(properties), new TimeProvider() {
+      @Override
+      public long getMsTime() {
+        timeRequests++;
+        return 0;
+      }
+    }, new LinkedList<Object>());
+    return result;
+  }
+
+  private class TestTimeProvider implements TimeProvider {
+    @Override
+    public long getMsTime() {
+      return 0;
+    }
+  }
+
+  private class Recorder implements EndNotify {
+    @Override
+    public void perform() {
+      events.append("[end]");
+    }
+  }
+}
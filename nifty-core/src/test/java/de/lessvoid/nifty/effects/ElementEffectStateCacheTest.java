@@ -0,0 +1,76 @@
+package de.lessvoid.nifty.effects;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ElementEffectStateCacheTest {
+  private ElementEffectStateCache cache = new ElementEffectStateCache();
+
+  @Test
+  public void testDefault() {
+    assertFalse(cache.isAnyActive());
+    assertFalse(cache.get(EffectEventId.onHover));
+  }
+
+  @Test
+  public void testSingleActive() {
+    cache.set(EffectEventId.onHover, true);
+    assertTrue(cache.isAnyActive());
+    assertTrue(cache.get(EffectEventId.onHover));
+
+    cache.set(EffectEventId.onHover, false);
+    assertFalse(cache.isAnyActive());
+  }
+
+  @Test
+  public void testMultipleActive() {
+    cache.set(EffectEventId.onHover, true);
+    cache.set(EffectEventId.onActive, true);
+    cache.set(EffectEventId.onHover, false);
+    assertTrue(cache.isAnyActive());
+
+    cache.set(EffectEventId.onActive, false);
+    assertFalse(cache.isAnyActive());
+  }
+
+  @Test
+  public void testSetSameStateTwice() {
+    cache.set(EffectEventId.onHover, true);
+    cache.set(EffectEventId.onHover, true);
+    cache.set(EffectEventId.onHover, false);
+    assertFalse(cache.isAnyActive());
+
+    cache.set(EffectEventId.onHover, false);
+    assertFalse(cache.isAnyActive());
+  }
+
+  @Test
+  public void testChangingIsTrackedApartFromActive() {
+    cache.set(EffectEventId.onActive, true);
+    assertFalse(cache.isAnyChanging());
+    assertFalse(cache.isChanging(EffectEventId.onActive));
+
+    cache.setChanging(EffectEventId.onActive, true);
+    assertTrue(cache.isAnyChanging());
+    assertTrue(cache.isChanging(EffectEventId.onActive));
+
+    cache.setChanging(EffectEventId.onActive, false);
+    assertFalse(cache.isAnyChanging());
+    assertTrue(cache.isAnyActive());
+  }
+
+  @Test
+  public void testSetSameChangingStateTwice() {
+    cache.setChanging(EffectEventId.onHover, true);
+    cache.setChanging(EffectEventId.onHover, true);
+    cache.setChanging(EffectEventId.onActive, true);
+    cache.setChanging(EffectEventId.onHover, false);
+    assertTrue(cache.isAnyChanging());
+
+    cache.setChanging(EffectEventId.onActive, false);
+    cache.setChanging(EffectEventId.onActive, false);
+    assertFalse(cache.isAnyChanging());
+  }
+}
@@ -0,0 +1,139 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+
+public class ElementIdIndexTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private ElementIdIndex index = new ElementIdIndex();
+  private List < Element > layers = new ArrayList < Element >();
+  private Element layer1;
+  private Element layer2;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+
+    layer1 = createElement("layer1", null);
+    layer2 = createElement("layer2", null);
+    layers.add(layer1);
+    layers.add(layer2);
+  }
+
+  @Test
+  public void testFindById() {
+    Element panel = createElement("panel", layer1);
+    Element text = createElement("text", panel);
+    index.updateLayers(layers);
+
+    assertEquals(panel, index.findElementById("panel"));
+    assertEquals(text, index.findElementById("text"));
+    assertEquals(layer2, index.findElementById("layer2"));
+    assertNull(index.findElementById("unknown"));
+    assertNull(index.findElementById(null));
+  }
+
+  @Test
+  public void testFindBySuffix() {
+    Element window = createElement("window", layer1);
+    Element content = createElement("window#content", window);
+    Element text = createElement("window#content#text", content);
+    index.updateLayers(layers);
+
+    assertEquals(content, index.findElementById("#content"));
+    assertEquals(text, index.findElementById("#text"));
+    assertEquals(text, index.findElementById("#content#text"));
+    assertNull(index.findElementById("#window"));
+    assertNull(index.findElementById("content"));
+  }
+
+  @Test
+  public void testFindReturnsFirstElementInDepthFirstOrder() {
+    Element a = createElement("a", layer1);
+    Element first = createElement("x#item", a);
+    createElement("x#item", layer1);
+    createElement("x#item", layer2);
+    index.updateLayers(layers);
+
+    assertEquals(first, index.findElementById("#item"));
+    assertEquals(first, index.findElementById("x#item"));
+  }
+
+  @Test
+  public void testElementFindElementByIdIsScoped() {
+    createElement("item", layer1);
+    Element second = createElement("item", layer2);
+    index.updateLayers(layers);
+
+    assertEquals(second, layer2.findElementById("item"));
+    assertEquals(layer2, layer2.findElementById("layer2"));
+    assertNull(layer2.findElementById("layer1"));
+  }
+
+  @Test
+  public void testAddAfterIndexing() {
+    index.updateLayers(layers);
+    Element panel = createElement("panel", layer1);
+    Element text = createElement("panel#text", panel);
+
+    assertEquals(panel, index.findElementById("panel"));
+    assertEquals(text, index.findElementById("#text"));
+  }
+
+  @Test
+  public void testRemove() {
+    Element panel = createElement("panel", layer1);
+    createElement("text", panel);
+    index.updateLayers(layers);
+
+    layer1.internalRemoveElement(panel);
+
+    assertNull(index.findElementById("panel"));
+    assertNull(index.findElementById("text"));
+  }
+
+  @Test
+  public void testChangeId() {
+    Element panel = createElement("panel", layer1);
+    index.updateLayers(layers);
+
+    panel.setId("popup#panel");
+
+    assertNull(index.findElementById("panel"));
+    assertEquals(panel, index.findElementById("popup#panel"));
+    assertEquals(panel, index.findElementById("#panel"));
+  }
+
+  @Test
+  public void testRemoveLayer() {
+    createElement("text", layer2);
+    index.updateLayers(layers);
+
+    layers.remove(layer2);
+    index.updateLayers(layers);
+
+    assertNull(index.findElementById("layer2"));
+    assertNull(index.findElementById("text"));
+  }
+
+  private Element createElement(final String id, final Element parent) {
+    Element element = new Element(niftyMock, null, id, parent, focusHandler, false, null);
+    if (parent != null) {
+      parent.add(element);
+    }
+    return element;
+  }
+}
@@ -0,0 +1,194 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.expect;
+import static org.easymock.classextension.EasyMock.getCurrentArguments;
+import static org.easymock.classextension.EasyMock.isA;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.easymock.IAnswer;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.FixedWidthFont;
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.elements.tools.TextWrapCache;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.layout.manager.VerticalLayout;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.tools.SizeValue;
+
+public class ElementLayoutQueueTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private ElementLayoutQueue queue = new ElementLayoutQueue();
+  private ElementIdIndex index = new ElementIdIndex();
+  private Element layer;
+  private Element panel;
+  private Element text;
+  private Element footer;
+
+  @Before
+  public void before() {
+    NiftyRenderEngine renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    expect(renderEngineMock.getTextWrapCache()).andStubReturn(new TextWrapCache());
+    replay(renderEngineMock);
+
+    niftyMock = createNiceMock(Nifty.class);
+    expect(niftyMock.getRenderEngine()).andReturn(renderEngineMock).anyTimes();
+    expect(niftyMock.specialValuesReplace(isA(String.class))).andAnswer(new IAnswer < String >() {
+      @Override
+      public String answer() {
+        return (String) getCurrentArguments()[0];
+      }
+    }).anyTimes();
+    replay(niftyMock);
+
+    // layer (vertical)
+    //   panel (vertical, height calculated from the children)
+    //     text (20px)
+    //   footer (10px)
+    layer = createElement("layer", null, "100px", "100px");
+    layer.getLayoutPart().getBox().setWidth(100);
+    layer.getLayoutPart().getBox().setHeight(100);
+    layer.setLayoutManager(new VerticalLayout());
+    panel = createElement("panel", layer, "100px", null);
+    panel.setLayoutManager(new VerticalLayout());
+    text = createElement("text", panel, "100px", "20px");
+    footer = createElement("footer", layer, "100px", "10px");
+
+    List < Element > layers = new ArrayList < Element >();
+    layers.add(layer);
+    index.updateLayers(layers);
+
+    layer.layoutElements();
+  }
+
+  @Test
+  public void testInitialLayout() {
+    assertEquals(20, panel.getHeight());
+    assertEquals(20, text.getHeight());
+    assertEquals(20, footer.getY());
+    assertFalse(text.isLayoutRequested());
+    assertFalse(panel.isLayoutRequested());
+  }
+
+  @Test
+  public void testConstraintChangeRequestsLayout() {
+    text.setConstraintHeight(SizeValue.px(40));
+    assertTrue(text.isLayoutRequested());
+  }
+
+  @Test
+  public void testSameConstraintDoesNotRequestLayout() {
+    text.setConstraintHeight(SizeValue.px(20));
+    assertFalse(text.isLayoutRequested());
+  }
+
+  @Test
+  public void testProcessWalksUpWhenParentSizeChanges() {
+    text.setConstraintHeight(SizeValue.px(40));
+    queue.add(text);
+    queue.process();
+
+    assertEquals(40, text.getHeight());
+    assertEquals(40, panel.getHeight());
+    assertEquals(40, footer.getY());
+    assertFalse(text.isLayoutRequested());
+    assertFalse(queue.hasRequests());
+  }
+
+  @Test
+  public void testProcessOnlyParentWhenParentSizeDoesNotChange() {
+    text.setConstraintWidth(SizeValue.px(50));
+    queue.add(text);
+    queue.process();
+
+    assertEquals(50, text.getWidth());
+    assertEquals(20, panel.getHeight());
+    assertEquals(20, footer.getY());
+  }
+
+  @Test
+  public void testLayoutElementsHandlesPendingRequestsOfChildElements() {
+    text.setConstraintHeight(SizeValue.px(40));
+    layer.layoutElements();
+
+    assertFalse(text.isLayoutRequested());
+    assertEquals(40, footer.getY());
+  }
+
+  @Test
+  public void testRequestOfUnconnectedElementIsCanceled() {
+    Element other = createElement("other", null, "10px", "10px");
+    other.setConstraintHeight(SizeValue.px(20));
+    queue.add(other);
+    queue.process();
+
+    assertFalse(other.isLayoutRequested());
+  }
+
+  @Test
+  public void testWrappedTextChangeWithSameHeightDoesNotRequestLayout() {
+    TextRenderer textRenderer = createWrappedText("aaa bbb");
+    assertEquals(20, textRenderer.getTextHeight());
+
+    textRenderer.setText("ccc ddd");
+    assertFalse(panel.getElements().get(1).isLayoutRequested());
+    assertEquals("ccc\nddd", textRenderer.getWrappedText());
+  }
+
+  @Test
+  public void testWrappedTextChangeWithNewHeightRequestsLayout() {
+    TextRenderer textRenderer = createWrappedText("aaa bbb");
+    Element wrapped = panel.getElements().get(1);
+
+    textRenderer.setText("aaa bbb ccc");
+    assertTrue(wrapped.isLayoutRequested());
+    assertEquals(new SizeValue("30px"), wrapped.getConstraintHeight());
+
+    queue.add(wrapped);
+    queue.process();
+    assertEquals(30, wrapped.getHeight());
+    assertEquals(50, panel.getHeight());
+  }
+
+  private TextRenderer createWrappedText(final String text) {
+    TextRenderer textRenderer = new TextRenderer(niftyMock, new FixedWidthFont(), text);
+    textRenderer.setLineWrapping(true);
+    createElement("wrapped", panel, "50px", null, textRenderer);
+    layer.layoutElements();
+    return textRenderer;
+  }
+
+  private Element createElement(final String id, final Element parent, final String width, final String height) {
+    return createElement(id, parent, width, height, new TextRenderer[0]);
+  }
+
+  private Element createElement(
+      final String id,
+      final Element parent,
+      final String width,
+      final String height,
+      final TextRenderer ... renderers) {
+    BoxConstraints constraints = new BoxConstraints();
+    constraints.setWidth(width == null ? null : new SizeValue(width));
+    constraints.setHeight(height == null ? null : new SizeValue(height));
+    Element element = new Element(
+        niftyMock, null, id, parent, new LayoutPart(new Box(), constraints), focusHandler, false, null, renderers);
+    if (parent != null) {
+      parent.add(element);
+    }
+    return element;
+  }
+}
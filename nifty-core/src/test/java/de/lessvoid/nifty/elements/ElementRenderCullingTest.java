@@ -0,0 +1,113 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.elements.render.PanelRenderer;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+
+public class ElementRenderCullingTest {
+  private Nifty niftyMock;
+  private NiftyRenderEngine renderEngineMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private Element layer;
+  private Element scrollArea;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+    renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    replay(renderEngineMock);
+
+    layer = createElement(null, 0, 0, 400, 400);
+    scrollArea = createElement(layer, 0, 0, 100, 100);
+    scrollArea.setClipChildren(true);
+  }
+
+  @Test
+  public void testChildOutsideOfClipAreaIsCulled() {
+    createElement(scrollArea, 10, 10, 10, 10);
+    createElement(scrollArea, 200, 200, 10, 10);
+    createElement(scrollArea, 0, 100, 100, 10);
+
+    layer.render(renderEngineMock);
+    assertEquals(2, layer.getRenderCulledCount());
+    assertEquals(2, scrollArea.getRenderCulledCount());
+  }
+
+  @Test
+  public void testSubtreeIsCulledOnce() {
+    Element row = createElement(scrollArea, 0, 200, 100, 10);
+    createElement(row, 0, 200, 10, 10);
+    createElement(row, 10, 200, 10, 10);
+
+    layer.render(renderEngineMock);
+    assertEquals(1, layer.getRenderCulledCount());
+  }
+
+  @Test
+  public void testChildInsideOfClipAreaKeepsParentAlive() {
+    Element row = createElement(scrollArea, 0, 200, 100, 10);
+    createElement(row, 0, 50, 10, 10);
+    createElement(row, 0, 300, 10, 10);
+
+    layer.render(renderEngineMock);
+    assertEquals(1, layer.getRenderCulledCount());
+    assertEquals(1, row.getRenderCulledCount());
+  }
+
+  @Test
+  public void testNoCullingWithoutClipArea() {
+    scrollArea.setClipChildren(false);
+    createElement(scrollArea, 200, 200, 10, 10);
+
+    layer.render(renderEngineMock);
+    assertEquals(0, layer.getRenderCulledCount());
+  }
+
+  @Test
+  public void testInvisibleElementIsNotCounted() {
+    Element child = createElement(scrollArea, 200, 200, 10, 10);
+    child.setVisible(false);
+
+    layer.render(renderEngineMock);
+    assertEquals(0, layer.getRenderCulledCount());
+  }
+
+  @Test
+  public void testUnknownRendererIsNotCulled() {
+    Element child = new Element(
+        niftyMock, null, null, scrollArea, new LayoutPart(new Box(200, 200, 10, 10), new BoxConstraints()),
+        focusHandler, false, null, new CustomRenderer());
+    scrollArea.add(child);
+
+    layer.render(renderEngineMock);
+    assertEquals(0, layer.getRenderCulledCount());
+  }
+
+  private Element createElement(final Element parent, final int x, final int y, final int width, final int height) {
+    LayoutPart layoutPart = new LayoutPart(new Box(x, y, width, height), new BoxConstraints());
+    Element element = new Element(niftyMock, null, null, parent, layoutPart, focusHandler, false, null, new PanelRenderer());
+    if (parent != null) {
+      parent.add(element);
+    }
+    return element;
+  }
+
+  private static class CustomRenderer implements ElementRenderer {
+    @Override
+    public void render(final Element element, final NiftyRenderEngine r) {
+    }
+  }
+}
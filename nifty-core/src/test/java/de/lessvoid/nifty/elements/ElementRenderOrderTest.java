@@ -0,0 +1,91 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+
+public class ElementRenderOrderTest {
+  private Nifty niftyMock;
+  private NiftyRenderEngine renderEngineMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private StringBuilder rendered = new StringBuilder();
+  private Element parent;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+    renderEngineMock = createNiceMock(NiftyRenderEngine.class);
+    replay(renderEngineMock);
+
+    parent = createElement("parent");
+  }
+
+  @Test
+  public void testElementOrder() {
+    parent.add(createElement("a"));
+    parent.add(createElement("b"));
+    parent.add(createElement("c"));
+    assertEquals("[parent][a][b][c]", render());
+  }
+
+  @Test
+  public void testInsert() {
+    parent.add(createElement("a"));
+    parent.add(createElement("c"));
+    assertEquals("[parent][a][c]", render());
+
+    parent.add(createElement("b"), 1);
+    assertEquals("[parent][a][b][c]", render());
+  }
+
+  @Test
+  public void testRenderOrder() {
+    Element a = createElement("a");
+    parent.add(a);
+    parent.add(createElement("b"));
+    parent.add(createElement("c"));
+    a.setRenderOrder(1000);
+    assertEquals("[parent][b][c][a]", render());
+
+    a.setRenderOrder(0);
+    assertEquals("[parent][a][b][c]", render());
+  }
+
+  @Test
+  public void testRemove() {
+    Element b = createElement("b");
+    parent.add(createElement("a"));
+    parent.add(b);
+    parent.add(createElement("c"));
+    assertEquals("[parent][a][b][c]", render());
+
+    parent.internalRemoveElement(b);
+    assertEquals("[parent][a][c]", render());
+  }
+
+  private String render() {
+    rendered.setLength(0);
+    parent.render(renderEngineMock);
+    return rendered.toString();
+  }
+
+  private Element createElement(final String id) {
+    return new Element(niftyMock, null, id, parent, focusHandler, false, null, new RecordingRenderer());
+  }
+
+  private class RecordingRenderer implements ElementRenderer {
+    @Override
+    public void render(final Element element, final NiftyRenderEngine r) {
+      rendered.append("[" + element.getId() + "]");
+    }
+  }
+}
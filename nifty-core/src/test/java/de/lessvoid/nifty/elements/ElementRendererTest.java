@@ -0,0 +1,71 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.elements.render.ImageRenderer;
+import de.lessvoid.nifty.elements.render.PanelRenderer;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+
+public class ElementRendererTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler = new FocusHandler();
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+  }
+
+  @Test
+  public void testBuiltInRenderers() {
+    PanelRenderer panelRenderer = new PanelRenderer();
+    TextRenderer textRenderer = new TextRenderer(niftyMock);
+    Element element = new Element(niftyMock, null, "id", null, focusHandler, false, null, panelRenderer, textRenderer);
+
+    assertEquals(textRenderer, element.getRenderer(TextRenderer.class));
+    assertEquals(textRenderer, element.getTextRenderer());
+    assertEquals(panelRenderer, element.getRenderer(PanelRenderer.class));
+    assertEquals(panelRenderer, element.getPanelRenderer());
+    assertNull(element.getRenderer(ImageRenderer.class));
+    assertNull(element.getImageRenderer());
+  }
+
+  @Test
+  public void testFirstMatchingRendererIsReturned() {
+    PanelRenderer first = new PanelRenderer();
+    PanelRenderer second = new PanelRenderer();
+    Element element = new Element(niftyMock, null, "id", null, focusHandler, false, null, first, second);
+
+    assertEquals(first, element.getRenderer(PanelRenderer.class));
+    assertEquals(first, element.getRenderer(ElementRenderer.class));
+  }
+
+  @Test
+  public void testSubclassOfBuiltInRenderer() {
+    CustomPanelRenderer custom = new CustomPanelRenderer();
+    Element element = new Element(niftyMock, null, "id", null, focusHandler, false, null, custom);
+
+    assertEquals(custom, element.getRenderer(PanelRenderer.class));
+    assertEquals(custom, element.getRenderer(CustomPanelRenderer.class));
+  }
+
+  @Test
+  public void testWithoutRenderers() {
+    Element element = new Element(niftyMock, null, "id", null, focusHandler, false, null);
+
+    assertNull(element.getRenderer(TextRenderer.class));
+    assertNull(element.getRenderer(ElementRenderer.class));
+  }
+
+  private static class CustomPanelRenderer extends PanelRenderer {
+  }
+}
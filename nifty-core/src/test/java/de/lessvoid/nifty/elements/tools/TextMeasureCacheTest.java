@@ -0,0 +1,147 @@
+package de.lessvoid.nifty.elements.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.lessvoid.nifty.FixedWidthFont;
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+public class TextMeasureCacheTest {
+  private CountingRenderFont font = new CountingRenderFont();
+  private TextMeasureCache cache = new TextMeasureCache(2);
+
+  @Test
+  public void testMeasure() {
+    TextMeasure measure = cache.get(font, "abc", 1.0f);
+    assertEquals(3, measure.length());
+    assertEquals(30, measure.getWidth());
+    assertEquals(0, measure.getOffset(0));
+    assertEquals(10, measure.getOffset(1));
+    assertEquals(30, measure.getOffset(3));
+    assertEquals(10, measure.getAdvance(2));
+  }
+
+  @Test
+  public void testOffsetsUseTheWidthOfTheFont() {
+    TextMeasure measure = cache.get(font, "a?b", 1.0f);
+    assertEquals(0, measure.getAdvance(1));
+    assertEquals(10, measure.getOffset(2));
+    assertEquals(20, measure.getOffset(3));
+  }
+
+  @Test
+  public void testMeasureIsCached() {
+    TextMeasure measure = cache.get(font, "abc", 1.0f);
+    measure.getWidth();
+    measure.getOffset(1);
+    int widthRequests = font.widthRequests;
+    assertSame(measure, cache.get(font, new String("abc"), 1.0f));
+    assertEquals(30, measure.getWidth());
+    assertEquals(10, measure.getOffset(1));
+    assertEquals(widthRequests, font.widthRequests);
+  }
+
+  @Test
+  public void testWidthOfPart() {
+    TextMeasure measure = cache.get(font, "abcd", 1.0f);
+    assertEquals(20, measure.getWidth(0, 2));
+    assertEquals(20, measure.getWidth(1, 3));
+    int widthRequests = font.widthRequests;
+    assertEquals(20, measure.getWidth(1, 3));
+    assertEquals(widthRequests, font.widthRequests);
+  }
+
+  @Test
+  public void testKeyContainsFontAndSize() {
+    TextMeasure measure = cache.get(font, "abc", 1.0f);
+    assertNotSame(measure, cache.get(new CountingRenderFont(), "abc", 1.0f));
+
+    TextMeasure scaled = cache.get(font, "abc", 2.0f);
+    assertEquals(60, scaled.getWidth());
+    assertEquals(20, scaled.getOffset(1));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsDropped() {
+    TextMeasure a = cache.get(font, "a", 1.0f);
+    cache.get(font, "b", 1.0f);
+    cache.get(font, "a", 1.0f);
+    cache.get(font, "c", 1.0f);
+    assertEquals(2, cache.size());
+    assertSame(a, cache.get(font, "a", 1.0f));
+
+    cache.setMaxEntries(1);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testVisibleCharactersFromStart() {
+    assertEquals(0, FontHelper.getVisibleCharactersFromStart(font, "abcd", 9, 1.0f));
+    assertEquals(2, FontHelper.getVisibleCharactersFromStart(font, "abcd", 25, 1.0f));
+    assertEquals(4, FontHelper.getVisibleCharactersFromStart(font, "abcd", 40, 1.0f));
+    assertEquals(2, FontHelper.getVisibleCharactersFromStart(font, new StringBuilder("abcd"), 25, 1.0f));
+  }
+
+  @Test
+  public void testVisibleCharactersFromEnd() {
+    TextMeasure measure = cache.get(font, "abcd", 1.0f);
+    assertEquals(FontHelper.getVisibleCharactersFromEnd(font, "abcd", 25, 1.0f), measure.getVisibleCharactersFromEnd(25));
+    assertEquals(1, measure.getVisibleCharactersFromEnd(25));
+    assertEquals(0, measure.getVisibleCharactersFromEnd(40));
+    assertEquals(3, measure.getVisibleCharactersFromEnd(5));
+  }
+
+  @Test
+  public void testOffsetsIncludeTheKerningOfTheFont() {
+    RenderFont kerningFont = new CountingRenderFont() {
+      @Override
+      public int getWidth(final String text, final float size) {
+        // "AV" is kerned by 2 pixel
+        return super.getWidth(text, size) - (text.contains("AV") ? 2 : 0);
+      }
+    };
+    TextMeasure measure = cache.get(kerningFont, "AVA", 1.0f);
+    assertEquals(kerningFont.getWidth("AV"), measure.getOffset(2));
+    assertEquals(kerningFont.getWidth("AVA"), measure.getWidth());
+    assertEquals(1, measure.getVisibleCharactersFromStart(17));
+    assertEquals(2, measure.getVisibleCharactersFromStart(18));
+  }
+
+  @Test
+  public void testCharacterIndexFromPixelPosition() {
+    assertEquals(-1, FontHelper.getCharacterIndexFromPixelPosition(font, "abcd", -1, 1.0f));
+    assertEquals(1, FontHelper.getCharacterIndexFromPixelPosition(font, "abcd", 15, 1.0f));
+    assertEquals(4, FontHelper.getCharacterIndexFromPixelPosition(font, "abcd", 50, 1.0f));
+    assertEquals(1, FontHelper.getCharacterIndexFromPixelPosition(font, new StringBuilder("abcd"), 15, 1.0f));
+  }
+
+  /**
+   * Every character is 10 pixel wide, '?' is unknown and has no width.
+   */
+  private static class CountingRenderFont extends FixedWidthFont {
+    private int widthRequests;
+
+    @Override
+    public int getWidth(final String text, final float size) {
+      widthRequests++;
+      int known = 0;
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) != '?') {
+          known++;
+        }
+      }
+      return (int) (known * CHARACTER_WIDTH * size);
+    }
+
+    @Override
+    public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+      if (currentCharacter == '?') {
+        return -1;
+      }
+      return super.getCharacterAdvance(currentCharacter, nextCharacter, size);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package de.lessvoid.nifty.elements.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.lessvoid.nifty.FixedWidthFont;
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+public class TextWrapCacheTest {
+  private RenderFont font = new FixedWidthFont();
+  private TextWrapCache cache = new TextWrapCache(1000);
+
+  @Test
+  public void testGet() {
+    String[] lines = new String[] { "abc", "def" };
+    assertNull(cache.get(font, "abc def", 100));
+
+    cache.put(font, "abc def", 100, lines);
+    assertSame(lines, cache.get(font, new String("abc def"), 100));
+    assertNull(cache.get(font, "abc def", 99));
+    assertNull(cache.get(new FixedWidthFont(), "abc def", 100));
+  }
+
+  @Test
+  public void testSizeIsEstimated() {
+    cache.put(font, "abc def", 100, new String[] { "abc", "def" });
+    assertEquals(64 + 40 + 14 + 2 * (40 + 6), cache.getBytes());
+
+    cache.put(font, "abc def", 100, new String[] { "abc def" });
+    assertEquals(1, cache.size());
+    assertEquals(64 + 40 + 14 + 40 + 14, cache.getBytes());
+
+    cache.clear();
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsDropped() {
+    String[] a = new String[] { "a" };
+    for (int i = 0; i < 6; i++) {
+      cache.put(font, "text" + i, 100, new String[] { "text" + i });
+      cache.put(font, "a", 100, a);
+    }
+    assertEquals(6, cache.size());
+    assertSame(a, cache.get(font, "a", 100));
+    assertNull(cache.get(font, "text0", 100));
+    assertEquals("text5", cache.get(font, "text5", 100)[0]);
+
+    cache.setMaxBytes(200);
+    assertEquals(1, cache.size());
+    assertNull(cache.get(font, "a", 100));
+  }
+
+  @Test
+  public void testEntryLargerThanCacheIsNotStored() {
+    cache.setMaxBytes(100);
+    cache.put(font, "abc", 100, new String[] { "abc" });
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytes());
+  }
+}
@@ -0,0 +1,103 @@
+package de.lessvoid.nifty.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.lessvoid.nifty.layout.Box;
+
+public class DamageRegionTest {
+  private DamageRegion region = new DamageRegion();
+
+  @Test
+  public void testDefault() {
+    assertTrue(region.isEmpty());
+    assertFalse(region.isFull());
+  }
+
+  @Test
+  public void testEmptyRectangleIsIgnored() {
+    region.add(10, 10, 0, 10);
+    region.add(10, 10, 10, -1);
+    assertTrue(region.isEmpty());
+  }
+
+  @Test
+  public void testSeparateRectangles() {
+    region.add(0, 0, 10, 10);
+    region.add(100, 100, 10, 10);
+    assertEquals(2, region.getRectangles().size());
+    assertBox(0, 0, 10, 10, region.getRectangles().get(0));
+    assertBox(100, 100, 10, 10, region.getRectangles().get(1));
+  }
+
+  @Test
+  public void testContainedRectangle() {
+    region.add(0, 0, 100, 100);
+    region.add(10, 10, 10, 10);
+    assertEquals(1, region.getRectangles().size());
+    assertBox(0, 0, 100, 100, region.getRectangles().get(0));
+  }
+
+  @Test
+  public void testOverlappingRectanglesAreMerged() {
+    region.add(0, 0, 10, 10);
+    region.add(5, 5, 10, 10);
+    assertEquals(1, region.getRectangles().size());
+    assertBox(0, 0, 15, 15, region.getRectangles().get(0));
+  }
+
+  @Test
+  public void testMergeCascades() {
+    region.add(0, 0, 10, 10);
+    region.add(20, 0, 10, 10);
+    region.add(5, 0, 20, 5);
+    assertEquals(1, region.getRectangles().size());
+    assertBox(0, 0, 30, 10, region.getRectangles().get(0));
+  }
+
+  @Test
+  public void testTooManyRectanglesAreMerged() {
+    for (int i=0; i<20; i++) {
+      region.add(i * 100, 0, 10, 10);
+    }
+    assertTrue(region.getRectangles().size() <= 8);
+    Box first = region.getRectangles().get(0);
+    assertEquals(0, first.getY());
+    assertEquals(10, first.getHeight());
+  }
+
+  @Test
+  public void testFullScreen() {
+    region.add(0, 0, 10, 10);
+    region.addFullScreen();
+    region.add(20, 20, 10, 10);
+    assertTrue(region.isFull());
+    assertFalse(region.isEmpty());
+    assertTrue(region.getRectangles().isEmpty());
+
+    region.reset();
+    assertTrue(region.isEmpty());
+  }
+
+  @Test
+  public void testAddRegion() {
+    DamageRegion other = new DamageRegion();
+    other.add(0, 0, 10, 10);
+    region.add(other);
+    assertBox(0, 0, 10, 10, region.getRectangles().get(0));
+
+    other.addFullScreen();
+    region.add(other);
+    assertTrue(region.isFull());
+  }
+
+  private void assertBox(final int x, final int y, final int width, final int height, final Box box) {
+    assertEquals(x, box.getX());
+    assertEquals(y, box.getY());
+    assertEquals(width, box.getWidth());
+    assertEquals(height, box.getHeight());
+  }
+}
@@ -3,6 +3,7 @@ package de.lessvoid.nifty.render;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.createStrictMock;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import junit.framework.TestCase;
@@ -97,4 +98,24 @@ public class NiftyRenderEngineRenderSelectionTextTest extends TestCase {
     engine.renderSelectionText(TEXT, X, Y, TEXT_COLOR, TEXT_SELECTION_COLOR, TEXT_SIZE, TEXT_SIZE, 5, 6);
     verify(font);
   }
+
+  public void testSelectionIsMeasuredOnce() {
+    renderDeviceMock.renderFont(font, "Hello", X, Y, TEXT_COLOR, TEXT_SIZE, TEXT_SIZE);
+    expectLastCall().times(2);
+    expect(font.getWidth("Hello")).andReturn(50);
+    renderDeviceMock.renderFont(font, " ", X + 50, Y, TEXT_SELECTION_COLOR, TEXT_SIZE, TEXT_SIZE);
+    expectLastCall().times(2);
+    expect(font.getWidth(" ")).andReturn(10);
+    renderDeviceMock.renderFont(font, "World", X + 60, Y, TEXT_COLOR, TEXT_SIZE, TEXT_SIZE);
+    expectLastCall().times(2);
+    replay(font);
+    replay(renderDeviceMock);
+
+    engine = new NiftyRenderEngineImpl(renderDeviceMock);
+    engine.setFont(font);
+    engine.renderSelectionText(TEXT, X, Y, TEXT_COLOR, TEXT_SELECTION_COLOR, TEXT_SIZE, TEXT_SIZE, 5, 6);
+    engine.renderSelectionText(TEXT, X, Y, TEXT_COLOR, TEXT_SELECTION_COLOR, TEXT_SIZE, TEXT_SIZE, 5, 6);
+    verify(font);
+    verify(renderDeviceMock);
+  }
 }
@@ -0,0 +1,76 @@
+package de.lessvoid.nifty.render;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.expect;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+public class NiftyRenderEngineTextCacheTest {
+  private NiftyRenderEngineImpl engine;
+  private RenderFont font;
+  private Screen screen;
+
+  @Before
+  public void before() {
+    engine = createEngine();
+    font = createNiceMock(RenderFont.class);
+    replay(font);
+    screen = createNiceMock(Screen.class);
+    replay(screen);
+  }
+
+  @Test
+  public void testEveryEngineHasItsOwnCaches() {
+    assertNotSame(engine.getTextMeasureCache(), createEngine().getTextMeasureCache());
+    assertNotSame(engine.getTextWrapCache(), createEngine().getTextWrapCache());
+  }
+
+  @Test
+  public void testScreenEndedClearsCaches() {
+    fillCaches();
+    engine.screenEnded(screen);
+    assertCachesEmpty();
+  }
+
+  @Test
+  public void testScreenRemovedClearsCaches() {
+    fillCaches();
+    engine.screenRemoved(screen);
+    assertCachesEmpty();
+  }
+
+  @Test
+  public void testScreensClearClearsCaches() {
+    fillCaches();
+    engine.screensClear(Collections.< Screen > emptyList());
+    assertCachesEmpty();
+  }
+
+  private void fillCaches() {
+    engine.getTextMeasureCache().get(font, "text", 1.0f);
+    engine.getTextWrapCache().put(font, "text", 100, new String[] { "text" });
+  }
+
+  private void assertCachesEmpty() {
+    assertEquals(0, engine.getTextMeasureCache().size());
+    assertEquals(0, engine.getTextWrapCache().size());
+  }
+
+  private NiftyRenderEngineImpl createEngine() {
+    RenderDevice renderDevice = createNiceMock(RenderDevice.class);
+    expect(renderDevice.getWidth()).andStubReturn(1024);
+    expect(renderDevice.getHeight()).andStubReturn(768);
+    replay(renderDevice);
+    return new NiftyRenderEngineImpl(renderDevice);
+  }
+}
@@ -0,0 +1,194 @@
+package de.lessvoid.nifty.screen;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.easymock.classextension.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.effects.Effect;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+
+public class MouseHitIndexTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private MouseHitIndex index = new MouseHitIndex();
+  private MouseOverHandler mouseOverHandler = new MouseOverHandler();
+  private List < Element > layers = new ArrayList < Element >();
+  private Element layer;
+  private Element panel;
+  private Element button;
+  private Element other;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+
+    layer = createElement("layer", null, 0, 0, 400, 400, false);
+    panel = createElement("panel", layer, 0, 0, 100, 100, true);
+    button = createElement("button", panel, 10, 10, 20, 20, true);
+    other = createElement("other", layer, 300, 300, 50, 50, true);
+    layers.add(layer);
+  }
+
+  @Test
+  public void testElementsBelowMouseInFrontToBackOrder() {
+    assertTrue(process(15, 15));
+    assertTrue(mouseOverHandler.isMouseOverElement(panel));
+    assertTrue(mouseOverHandler.isMouseOverElement(button));
+    assertFalse(mouseOverHandler.isMouseOverElement(other));
+    assertEquals("mouse over elements: [button][panel] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testElementsInOtherCellsAreIgnored() {
+    assertTrue(process(320, 320));
+    assertEquals("mouse over elements: [other] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testLastMouseOverElementsAreProcessedAgain() {
+    process(15, 15);
+    process(320, 320);
+    assertEquals("mouse over elements: [other] mouse elements: [button][panel]", mouseOverHandler.getInfoString());
+
+    process(200, 200);
+    assertEquals("mouse over elements: --- mouse elements: [other]", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testChildrenOfInvisibleElementsAreIgnored() {
+    process(15, 15);
+    panel.setVisible(false);
+    process(15, 15);
+    assertEquals("mouse over elements: --- mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testInvalidate() {
+    process(320, 320);
+    other.getLayoutPart().getBox().setX(200);
+    other.getLayoutPart().getBox().setY(200);
+    index.invalidate();
+
+    process(220, 220);
+    assertEquals("mouse over elements: [other] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testLayoutChangeOnlyUpdatesTheChangedElement() {
+    process(320, 320);
+    other.getLayoutPart().getBox().setX(0);
+    other.getLayoutPart().getBox().setY(0);
+    index.layoutChanged(other);
+
+    process(15, 15);
+    assertEquals("mouse over elements: [other][button][panel] mouse elements: ---", mouseOverHandler.getInfoString());
+    process(320, 320);
+    assertEquals("mouse over elements: --- mouse elements: [other][button][panel]", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testLayoutChangeUpdatesTheChildElements() {
+    panel.getLayoutPart().getBox().setX(200);
+    button.getLayoutPart().getBox().setX(210);
+    index.layoutChanged(panel);
+
+    process(15, 15);
+    assertEquals("mouse over elements: --- mouse elements: ---", mouseOverHandler.getInfoString());
+    process(215, 15);
+    assertEquals("mouse over elements: [button][panel] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testVisibleToMouseEventsChange() {
+    process(320, 320);
+    other.setVisibleToMouseEvents(false);
+    index.elementChanged(other);
+    process(200, 200);
+
+    process(320, 320);
+    assertEquals("mouse over elements: --- mouse elements: ---", mouseOverHandler.getInfoString());
+
+    other.setVisibleToMouseEvents(true);
+    index.elementChanged(other);
+    process(320, 320);
+    assertEquals("mouse over elements: [other] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testElementsReportMouseAreaChangesToTheScreen() {
+    Screen screenMock = createNiceMock(Screen.class);
+    screenMock.mouseAreaChanged(other);
+    screenMock.mouseAreaChanged(other);
+    replay(screenMock);
+    other.bindControls(screenMock);
+
+    other.setVisibleToMouseEvents(false);
+    other.setVisibleToMouseEvents(false);
+    Effect hoverEffect = createNiceMock(Effect.class);
+    replay(hoverEffect);
+    other.registerEffect(EffectEventId.onHover, hoverEffect);
+    other.registerEffect(EffectEventId.onStartScreen, hoverEffect);
+
+    verify(screenMock);
+  }
+
+  @Test
+  public void testLayersWithRootElement() {
+    Element root = createElement("root", null, 0, 0, 400, 400, false);
+    layer.setParent(root);
+    root.add(layer);
+
+    assertTrue(process(15, 15));
+    assertEquals("mouse over elements: [button][panel] mouse elements: ---", mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testMouseOutsideOfLayers() {
+    assertFalse(process(500, 500));
+    assertFalse(process(-1, 10));
+  }
+
+  private boolean process(final int x, final int y) {
+    NiftyMouseInputEvent event = new NiftyMouseInputEvent();
+    event.initialize(x, y, 0, false, false, false);
+    mouseOverHandler.reset();
+    boolean result = index.buildMouseOverElements(layers, event, 0, mouseOverHandler);
+    if (result) {
+      index.processed(mouseOverHandler);
+    }
+    return result;
+  }
+
+  private Element createElement(
+      final String id,
+      final Element parent,
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      final boolean visibleToMouse) {
+    LayoutPart layoutPart = new LayoutPart(new Box(x, y, width, height), new BoxConstraints());
+    Element element = new Element(niftyMock, null, id, parent, layoutPart, focusHandler, visibleToMouse, null);
+    if (parent != null) {
+      parent.add(element);
+    }
+    return element;
+  }
+}
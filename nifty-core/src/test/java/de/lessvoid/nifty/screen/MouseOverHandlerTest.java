@@ -0,0 +1,116 @@
+package de.lessvoid.nifty.screen;
+
+import static org.easymock.classextension.EasyMock.createNiceMock;
+import static org.easymock.classextension.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.effects.Effect;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.effects.EffectProperties;
+import de.lessvoid.nifty.effects.impl.Nop;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.layout.BoxConstraints;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+
+public class MouseOverHandlerTest {
+  private Nifty niftyMock;
+  private Screen screen;
+  private FocusHandler focusHandler = new FocusHandler();
+  private MouseOverHandler mouseOverHandler = new MouseOverHandler();
+  private StringBuilder preprocessed = new StringBuilder();
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+    screen = new Screen(niftyMock, "screen", new DefaultScreenController(), new AccurateTimeProvider());
+  }
+
+  @Test
+  public void testHoverEffectsAreRegistered() {
+    Element element = createElement("element");
+    assertFalse(element.getEffectManager().hasHoverEffects());
+    assertFalse(element.getEffectManager().hasHoverFalloff());
+
+    registerEffect(element, EffectEventId.onCustom);
+    assertFalse(element.getEffectManager().hasHoverEffects());
+
+    registerEffect(element, EffectEventId.onStartHover);
+    assertTrue(element.getEffectManager().hasHoverEffects());
+
+    element.getEffectManager().removeAllEffects();
+    assertFalse(element.getEffectManager().hasHoverEffects());
+  }
+
+  @Test
+  public void testOnlyElementsWithHoverEffectsArePreprocessed() {
+    Element plain = createElement("plain");
+    Element hover = createElement("hover");
+    registerEffect(hover, EffectEventId.onHover);
+
+    mouseOverHandler.addMouseElement(plain);
+    mouseOverHandler.addMouseElement(hover);
+    mouseOverHandler.processMouseEvent(createEvent(500, 500), 0);
+    assertEquals("[hover]", preprocessed.toString());
+
+    preprocessed.setLength(0);
+    mouseOverHandler.reset();
+    mouseOverHandler.processMouseEvent(createEvent(500, 500), 0);
+    assertEquals("", preprocessed.toString());
+  }
+
+  @Test
+  public void testHoverEffectIsDeactivated() {
+    Element hover = createElement("hover");
+    Effect effect = registerEffect(hover, EffectEventId.onHover);
+
+    mouseOverHandler.addMouseOverElement(hover);
+    mouseOverHandler.processMouseEvent(createEvent(10, 10), 0);
+    assertTrue(effect.isActive());
+
+    mouseOverHandler.reset();
+    mouseOverHandler.addMouseElement(hover);
+    mouseOverHandler.processMouseEvent(createEvent(500, 500), 0);
+    assertFalse(effect.isActive());
+  }
+
+  private Effect registerEffect(final Element element, final EffectEventId effectEventId) {
+    Effect effect = new Effect(niftyMock, false, false, false, null, null, null, false, effectEventId);
+    effect.enableHover(null);
+    effect.init(element, new Nop(), new EffectProperties(new Properties()), new AccurateTimeProvider(), new LinkedList<Object>());
+    element.registerEffect(effectEventId, effect);
+    return effect;
+  }
+
+  private NiftyMouseInputEvent createEvent(final int x, final int y) {
+    NiftyMouseInputEvent event = new NiftyMouseInputEvent();
+    event.initialize(x, y, 0, false, false, false);
+    return event;
+  }
+
+  private Element createElement(final String id) {
+    LayoutPart layoutPart = new LayoutPart(new Box(0, 0, 100, 100), new BoxConstraints());
+    Element element = new Element(niftyMock, null, id, null, layoutPart, focusHandler, true, null) {
+      @Override
+      public void mouseEventHoverPreprocess(final NiftyMouseInputEvent mouseEvent, final long eventTime) {
+        preprocessed.append("[" + getId() + "]");
+        super.mouseEventHoverPreprocess(mouseEvent, eventTime);
+      }
+    };
+    element.bindControls(screen);
+    return element;
+  }
+}
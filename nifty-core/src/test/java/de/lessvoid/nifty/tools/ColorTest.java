@@ -62,6 +62,22 @@ public class ColorTest {
     assertEquals("#0f7f", c.getColorString());
   }
 
+  @Test
+  public void testPackARGB() {
+    assertEquals(0x80ff0000, new Color(1.0f, 0.0f, 0.0f, 0.5f).getARGB());
+    assertEquals(0xff00ff00, Color.packARGB(0.0f, 1.0f, 0.0f, 1.0f));
+    assertEquals(0x000000ff, Color.packARGB(-1.0f, 0.0f, 2.0f, 0.0f));
+    assertEquals(0x400000ff, Color.packARGB(new Color("#00ff"), 0.25f));
+  }
+
+  @Test
+  public void testFromARGB() {
+    Color c = new Color(0.0f, 0.0f, 0.0f, 0.0f);
+    c.fromARGB(0x80ff4000);
+    checkColor(c, 1.0f, 0.25f, 0.0f, 0.5f);
+    assertEquals(0x80ff4000, c.getARGB());
+  }
+
   private void checkColor(Color m, float red, float green, float blue, float alpha) {
     assertEquals(red, m.getRed(), EPSILON);
     assertEquals(green, m.getGreen(), EPSILON);
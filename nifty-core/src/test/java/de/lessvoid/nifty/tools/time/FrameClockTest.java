@@ -0,0 +1,76 @@
+package de.lessvoid.nifty.tools.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import de.lessvoid.nifty.tools.StopWatch;
+
+public class FrameClockTest {
+  private CountingTimeProvider source = new CountingTimeProvider(100);
+  private FrameClock clock = new FrameClock(source);
+
+  @Test
+  public void testTimeIsSampledOnConstruction() {
+    assertEquals(100, clock.getMsTime());
+    assertEquals(1, source.requests);
+  }
+
+  @Test
+  public void testTimeOnlyChangesWithSample() {
+    source.time = 150;
+    assertEquals(100, clock.getMsTime());
+    assertEquals(100, clock.getMsTime());
+    assertEquals(1, source.requests);
+
+    clock.sample();
+    assertEquals(150, clock.getMsTime());
+    assertEquals(2, source.requests);
+  }
+
+  @Test
+  public void testManualTime() {
+    clock.setTime(1000);
+    assertTrue(clock.isManual());
+    assertEquals(1000, clock.getMsTime());
+
+    clock.advance(16);
+    clock.sample();
+    assertEquals(1016, clock.getMsTime());
+    assertEquals(1, source.requests);
+  }
+
+  @Test
+  public void testSetSource() {
+    clock.setTime(1000);
+    clock.setSource(new CountingTimeProvider(50));
+    assertFalse(clock.isManual());
+    assertEquals(50, clock.getMsTime());
+  }
+
+  @Test
+  public void testStopWatchUsesSource() {
+    StopWatch stopWatch = new StopWatch(clock);
+    stopWatch.start();
+    source.time = 120;
+    assertEquals(20, stopWatch.stop());
+  }
+
+  private static class CountingTimeProvider implements TimeProvider {
+    private long time;
+    private int requests;
+
+    private CountingTimeProvider(final long time) {
+      this.time = time;
+    }
+
+    @Override
+    public long getMsTime() {
+      requests++;
+      return time;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package de.lessvoid.xml.tools;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ClassHelperTest {
+
+  @Test
+  public void testLoadClass() {
+    assertSame(Sample.class, ClassHelper.loadClass(Sample.class.getName()));
+    assertSame(Sample.class, ClassHelper.loadClass(Sample.class.getName()));
+  }
+
+  @Test
+  public void testLoadUnknownClass() {
+    assertNull(ClassHelper.loadClass("de.lessvoid.DoesNotExist"));
+  }
+
+  @Test
+  public void testGetInstance() {
+    Sample first = ClassHelper.getInstance(Sample.class.getName(), Sample.class);
+    Sample second = ClassHelper.getInstance(Sample.class.getName(), Sample.class);
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testGetInstanceWithWrongType() {
+    assertNull(ClassHelper.getInstance(Sample.class.getName(), Runnable.class));
+  }
+
+  @Test
+  public void testGetInstanceOfUnknownClass() {
+    assertNull(ClassHelper.getInstance("de.lessvoid.DoesNotExist", Object.class));
+  }
+
+  @Test
+  public void testGetInstanceWithoutDefaultConstructor() {
+    assertNull(ClassHelper.getInstance(NoDefaultConstructor.class));
+  }
+
+  @Test
+  public void testGetInstanceOfClass() {
+    assertTrue(ClassHelper.getInstance(Sample.class) instanceof Sample);
+  }
+
+  @Test
+  public void testNonPublicClass() {
+    assertNull(ClassHelper.getInstance(Hidden.class.getName(), Hidden.class));
+  }
+
+  @Test
+  public void testFindClass() throws Exception {
+    ClassLoader classLoader = ClassHelperTest.class.getClassLoader();
+    assertSame(Sample.class, ClassHelper.findClass(Sample.class.getName(), classLoader));
+    assertSame(Sample.class, ClassHelper.findClass(Sample.class.getName(), classLoader));
+  }
+
+  @Test(expected = ClassNotFoundException.class)
+  public void testFindUnknownClass() throws Exception {
+    ClassHelper.findClass("de.lessvoid.DoesNotExist", ClassHelperTest.class.getClassLoader());
+  }
+
+  public static class Sample {
+    private String value;
+
+    public Sample() {
+    }
+
+    public Sample(final String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  public static class NoDefaultConstructor {
+    public NoDefaultConstructor(final String value) {
+    }
+  }
+
+  private static class Hidden {
+    private Hidden() {
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package de.lessvoid.xml.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.lessvoid.xml.tools.ClassHelperTest.Sample;
+
+public class InstanceFactoryRegistryTest {
+  private InstanceFactoryRegistry registry = new InstanceFactoryRegistry();
+
+  @Test
+  public void testGetInstance() {
+    Sample first = registry.getInstance(Sample.class.getName(), Sample.class);
+    Sample second = registry.getInstance(Sample.class.getName(), Sample.class);
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testConstructorFactoryIsKept() throws Exception {
+    assertSame(registry.getFactory(Sample.class), registry.getFactory(Sample.class.getName()));
+  }
+
+  @Test
+  public void testGetInstanceWithWrongType() {
+    assertNull(registry.getInstance(Sample.class.getName(), Runnable.class));
+  }
+
+  @Test
+  public void testGetInstanceOfUnknownClass() {
+    assertNull(registry.getInstance("de.lessvoid.DoesNotExist", Object.class));
+  }
+
+  @Test
+  public void testNonPublicClass() {
+    assertNull(registry.getInstance(Hidden.class.getName(), Hidden.class));
+    assertNull(registry.getInstance(Hidden.class));
+  }
+
+  @Test
+  public void testRegisteredFactory() {
+    final Sample sample = new Sample();
+    registry.registerFactory(Sample.class, new InstanceFactory < Sample >() {
+      @Override
+      public Sample createInstance() {
+        return sample;
+      }
+    });
+    assertSame(sample, registry.getInstance(Sample.class.getName(), Sample.class));
+    assertSame(sample, registry.getInstance(Sample.class));
+
+    registry.unregisterFactory(Sample.class.getName());
+    assertNotSame(sample, registry.getInstance(Sample.class));
+  }
+
+  @Test
+  public void testRegisteredFactoryWithWrongType() {
+    registry.registerFactory(Runnable.class.getName(), new InstanceFactory < Sample >() {
+      @Override
+      public Sample createInstance() {
+        return new Sample();
+      }
+    });
+    assertNull(registry.getInstance(Runnable.class.getName(), Runnable.class));
+  }
+
+  @Test
+  public void testRegisteredFactoryForUnknownClass() {
+    registry.registerFactory("de.lessvoid.Generated", new InstanceFactory < Sample >() {
+      @Override
+      public Sample createInstance() {
+        return new Sample("generated");
+      }
+    });
+    assertEquals("generated", registry.getInstance("de.lessvoid.Generated", Sample.class).getValue());
+  }
+
+  @Test
+  public void testRegisteredFactoryIsOnlyUsedByItsRegistry() {
+    final Sample sample = new Sample();
+    registry.registerFactory(Sample.class, new InstanceFactory < Sample >() {
+      @Override
+      public Sample createInstance() {
+        return sample;
+      }
+    });
+    InstanceFactoryRegistry other = new InstanceFactoryRegistry();
+    assertNotSame(sample, other.getInstance(Sample.class));
+  }
+
+  @Test
+  public void testClear() {
+    final Sample sample = new Sample();
+    registry.registerFactory(Sample.class, new InstanceFactory < Sample >() {
+      @Override
+      public Sample createInstance() {
+        return sample;
+      }
+    });
+    registry.clear();
+    assertNotSame(sample, registry.getInstance(Sample.class));
+  }
+
+  private static class Hidden {
+    private Hidden() {
+    }
+  }
+}
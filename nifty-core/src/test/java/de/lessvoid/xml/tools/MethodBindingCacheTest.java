@@ -0,0 +1,52 @@
+package de.lessvoid.xml.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class MethodBindingCacheTest {
+  private MethodBindingCache cache = new MethodBindingCache();
+
+  @Test
+  public void testSameClassAndMethodShareTheBinding() {
+    MethodBinding binding = cache.get(Target.class, "method(a)");
+    assertEquals("method", binding.getMethod().getName());
+    assertSame(binding, cache.get(Target.class, "method(a)"));
+  }
+
+  @Test
+  public void testDifferentMethodStrings() {
+    assertNotSame(cache.get(Target.class, "method(a)"), cache.get(Target.class, "method(b)"));
+  }
+
+  @Test
+  public void testDifferentClasses() {
+    assertNotSame(cache.get(Target.class, "method(a)"), cache.get(SubTarget.class, "method(a)"));
+  }
+
+  @Test
+  public void testUnknownMethodIsCachedToo() {
+    MethodBinding binding = cache.get(Target.class, "unknown()");
+    assertNull(binding.getMethod());
+    assertSame(binding, cache.get(Target.class, "unknown()"));
+  }
+
+  @Test
+  public void testClear() {
+    MethodBinding binding = cache.get(Target.class, "method(a)");
+    cache.clear();
+    assertNotSame(binding, cache.get(Target.class, "method(a)"));
+  }
+
+  public static class Target {
+    public String method(final String value) {
+      return value;
+    }
+  }
+
+  public static class SubTarget extends Target {
+  }
+}
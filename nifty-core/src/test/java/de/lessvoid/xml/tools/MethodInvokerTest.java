@@ -0,0 +1,81 @@
+package de.lessvoid.xml.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class MethodInvokerTest {
+
+  @Test
+  public void testNullInvoker() {
+    assertNull(new MethodInvoker().invoke());
+  }
+
+  @Test
+  public void testWithoutParameters() {
+    Target target = new Target();
+    MethodInvoker invoker = new MethodInvoker("noParameters()", target);
+    assertEquals("noParameters", invoker.invoke());
+    assertEquals("noParameters", invoker.invoke());
+    assertEquals(2, target.calls);
+  }
+
+  @Test
+  public void testEncodedParameters() {
+    MethodInvoker invoker = new MethodInvoker("twoParameters(a, b)", new Target());
+    assertEquals("a-b", invoker.invoke());
+    assertEquals("a-b", invoker.invoke("ignored", "too"));
+  }
+
+  @Test
+  public void testForwardedParameters() {
+    MethodInvoker invoker = new MethodInvoker("twoParameters()", new Target());
+    assertEquals("x-y", invoker.invoke("x", "y"));
+    assertEquals("1-2", invoker.invoke("1", "2"));
+  }
+
+  @Test
+  public void testMethodNotFound() {
+    assertNull(new MethodInvoker("unknown()", new Target()).invoke());
+  }
+
+  @Test
+  public void testSetFirstAddsTarget() {
+    MethodInvoker invoker = new MethodInvoker("other()", new Target());
+    assertNull(invoker.invoke());
+    invoker.setFirst(new OtherTarget());
+    assertEquals("other", invoker.invoke());
+  }
+
+  @Test
+  public void testNonPublicClass() {
+    assertEquals("hidden", new MethodInvoker("hidden()", new HiddenTarget()).invoke());
+  }
+
+  public static class Target {
+    private int calls;
+
+    public String noParameters() {
+      calls++;
+      return "noParameters";
+    }
+
+    public String twoParameters(final String a, final String b) {
+      return a + "-" + b;
+    }
+  }
+
+  public static class OtherTarget {
+    public String other() {
+      return "other";
+    }
+  }
+
+  private static class HiddenTarget {
+    @SuppressWarnings("unused")
+    public String hidden() {
+      return "hidden";
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package de.lessvoid.nifty.java2d.headless;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.screen.Screen;
+
+/**
+ * A single frame to render with the HeadlessRenderService.
+ */
+public interface HeadlessRenderJob {
+
+	/**
+	 * @return the id of the screen to render
+	 */
+	String getScreenId();
+
+	/**
+	 * Fill in the data of this job. This is called on the worker thread after
+	 * the screen with getScreenId() has been made the current screen and right
+	 * before the frame is rendered. Effects started here are advanced until
+	 * they have ended before the frame is captured. The Nifty instance is
+	 * confined to this job and is discarded afterwards, so don't keep any
+	 * references to it.
+	 * 
+	 * @param nifty
+	 *            the Nifty instance this job is rendered with
+	 * @param screen
+	 *            the current screen
+	 */
+	void apply(Nifty nifty, Screen screen);
+}
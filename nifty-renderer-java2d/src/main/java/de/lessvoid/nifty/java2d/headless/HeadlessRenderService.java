@@ -0,0 +1,363 @@
+package de.lessvoid.nifty.java2d.headless;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.java2d.renderer.BufferedImageGraphicsWrapper;
+import de.lessvoid.nifty.java2d.renderer.FontProviderJava2dImpl;
+import de.lessvoid.nifty.java2d.renderer.ImageProviderJava2dImpl;
+import de.lessvoid.nifty.java2d.renderer.RenderDeviceJava2dImpl;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+/**
+ * Renders Nifty screens offscreen on a pool of worker threads. The service
+ * holds one pre-warmed Nifty instance per worker thread, each with its own
+ * offscreen BufferedImage, NullInputSystem and NullSoundDevice. Submitted jobs
+ * are queued and processed by the next free worker.
+ * 
+ * Each Nifty instance is only used for a single job. A job changes the state
+ * of its instance (current screen, popups, event subscriptions, element
+ * properties) so it is replaced with a freshly initialized instance once the
+ * job has been rendered. The replacement is created on a separate refill
+ * thread after the frame has been handed back, so creating it doesn't delay
+ * the result of the job. Decoded images and fonts are shared
+ * read-only between all instances so memory doesn't grow with the pool size
+ * (apart from the frame buffers themselves).
+ * 
+ * Time doesn't pass in real time for the instances. Each rendered frame
+ * advances the clock of the instance by a fixed step and a job is only
+ * captured when all effects of the screen have ended (or a maximum time has
+ * been simulated), so the result doesn't depend on the speed of the machine.
+ * 
+ * This doesn't need a window so it works on machines without a display (you
+ * might want to start the JVM with -Djava.awt.headless=true).
+ */
+public class HeadlessRenderService {
+
+	private static final Logger log = Logger
+			.getLogger(HeadlessRenderService.class.getName());
+
+	/**
+	 * Prepares a new Nifty instance of the pool, for instance by loading the
+	 * xml with all the screens. This is called once for each instance when the
+	 * service is created.
+	 */
+	public interface Initializer {
+		void initialize(Nifty nifty);
+	}
+
+	private final ExecutorService executor;
+
+	private final ExecutorService refiller;
+
+	private final BlockingQueue<Session> idleSessions;
+
+	private final ImageProviderJava2dImpl imageProvider = new ImageProviderJava2dImpl();
+
+	private final FontProviderJava2dImpl fontProvider;
+
+	private final int width;
+
+	private final int height;
+
+	private final Initializer initializer;
+
+	private volatile long screenSwitchTimeout = 5000;
+
+	private volatile long maxSettleTime = 2000;
+
+	private volatile long frameTime = 16;
+
+	/**
+	 * Create the service and pre-warm all Nifty instances. The instances are
+	 * created on the worker threads in parallel.
+	 * 
+	 * @param poolSize
+	 *            the number of worker threads and Nifty instances
+	 * @param width
+	 *            the width of the rendered frames
+	 * @param height
+	 *            the height of the rendered frames
+	 * @param fontProvider
+	 *            the fonts shared by all instances. this must not be changed
+	 *            anymore once the service has been created.
+	 * @param initializer
+	 *            called once for each new Nifty instance
+	 */
+	public HeadlessRenderService(int poolSize, final int width,
+			final int height, FontProviderJava2dImpl fontProvider,
+			final Initializer initializer) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("poolSize must be at least 1");
+		}
+		this.fontProvider = fontProvider;
+		this.width = width;
+		this.height = height;
+		this.initializer = initializer;
+		this.refiller = Executors.newFixedThreadPool(poolSize,
+				new WorkerThreadFactory("nifty-headless-refill-"));
+		// queued jobs might still need new instances while the service shuts
+		// down, so the refill threads are stopped once all jobs are done
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L,
+				TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+				new WorkerThreadFactory("nifty-headless-")) {
+			@Override
+			protected void terminated() {
+				refiller.shutdown();
+			}
+		};
+		this.idleSessions = new ArrayBlockingQueue<Session>(poolSize);
+
+		List<Future<Session>> created = new ArrayList<Future<Session>>();
+		for (int i = 0; i < poolSize; i++) {
+			created.add(executor.submit(new Callable<Session>() {
+				@Override
+				public Session call() {
+					return createSession();
+				}
+			}));
+		}
+		try {
+			for (int i = 0; i < created.size(); i++) {
+				idleSessions.add(created.get(i).get());
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			refiller.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while creating the Nifty instances", e);
+		} catch (ExecutionException e) {
+			executor.shutdownNow();
+			refiller.shutdownNow();
+			throw new IllegalStateException("failed to create the Nifty instances", e.getCause());
+		}
+		log.fine("created " + poolSize + " headless Nifty instances");
+	}
+
+	/**
+	 * Set the maximum time in ms to wait for a screen change to complete
+	 * (onEndScreen effects of the last screen might need some time). Default
+	 * is 5000.
+	 * 
+	 * @param screenSwitchTimeout
+	 *            the timeout in ms
+	 */
+	public void setScreenSwitchTimeout(long screenSwitchTimeout) {
+		this.screenSwitchTimeout = screenSwitchTimeout;
+	}
+
+	/**
+	 * Set the maximum time in ms the effects of a screen are advanced before
+	 * the frame of a job is captured. Frames are usually captured as soon as
+	 * all effects have ended. Infinite effects never end, so the frame is
+	 * captured after this time in that case. Default is 2000.
+	 * 
+	 * @param maxSettleTime
+	 *            the maximum time in ms
+	 */
+	public void setMaxSettleTime(long maxSettleTime) {
+		this.maxSettleTime = maxSettleTime;
+	}
+
+	/**
+	 * Set the time in ms the clock of an instance is advanced with each
+	 * rendered frame. Default is 16.
+	 * 
+	 * @param frameTime
+	 *            the time of a frame in ms
+	 */
+	public void setFrameTime(long frameTime) {
+		if (frameTime < 1) {
+			throw new IllegalArgumentException("frameTime must be at least 1");
+		}
+		this.frameTime = frameTime;
+	}
+
+	/**
+	 * Queue the job for rendering.
+	 * 
+	 * @param job
+	 *            the job to render
+	 * @return the rendered frame. This is a copy owned by the caller.
+	 */
+	public Future<BufferedImage> submit(final HeadlessRenderJob job) {
+		return executor.submit(new Callable<BufferedImage>() {
+			@Override
+			public BufferedImage call() throws Exception {
+				Session session = idleSessions.take();
+				try {
+					return session.render(job);
+				} finally {
+					refill(session);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return the images shared between all Nifty instances of this service
+	 */
+	public ImageProviderJava2dImpl getImageProvider() {
+		return imageProvider;
+	}
+
+	/**
+	 * Finish all queued jobs and stop the worker threads.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private Session createSession() {
+		BufferedImageGraphicsWrapper graphicsWrapper = new BufferedImageGraphicsWrapper(width, height);
+		RenderDeviceJava2dImpl renderDevice = new RenderDeviceJava2dImpl(graphicsWrapper);
+		renderDevice.setFontProvider(fontProvider);
+		renderDevice.setImageProvider(imageProvider);
+
+		FrameTimeProvider timeProvider = new FrameTimeProvider();
+		Nifty nifty = new Nifty(renderDevice, new NullSoundDevice(),
+				new NullInputSystem(), timeProvider);
+		initializer.initialize(nifty);
+		return new Session(nifty, graphicsWrapper, timeProvider);
+	}
+
+	/**
+	 * Put a new instance into the pool in place of the used one without
+	 * waiting for it to be created.
+	 */
+	private void refill(final Session used) {
+		refiller.execute(new Runnable() {
+			@Override
+			public void run() {
+				idleSessions.add(replace(used));
+			}
+		});
+	}
+
+	/**
+	 * The used instance can't be reset reliably so we create a new one. If
+	 * that fails we keep the used one instead of shrinking the pool.
+	 */
+	private Session replace(Session used) {
+		try {
+			return createSession();
+		} catch (RuntimeException e) {
+			log.log(Level.WARNING, "failed to create a new Nifty instance, reusing the last one", e);
+			return used;
+		}
+	}
+
+	private class Session {
+		private final Nifty nifty;
+		private final BufferedImageGraphicsWrapper graphicsWrapper;
+		private final FrameTimeProvider timeProvider;
+
+		private Session(Nifty nifty, BufferedImageGraphicsWrapper graphicsWrapper, FrameTimeProvider timeProvider) {
+			this.nifty = nifty;
+			this.graphicsWrapper = graphicsWrapper;
+			this.timeProvider = timeProvider;
+		}
+
+		private BufferedImage render(HeadlessRenderJob job) {
+			switchScreen(job.getScreenId());
+			job.apply(nifty, nifty.getCurrentScreen());
+
+			// render until the effects started by the screen or the job have ended
+			long end = timeProvider.getMsTime() + maxSettleTime;
+			renderFrame();
+			while (!isSettled() && timeProvider.getMsTime() < end) {
+				renderFrame();
+			}
+			return copy(graphicsWrapper.getImage());
+		}
+
+		private void switchScreen(String screenId) {
+			if (isCurrentScreen(screenId)) {
+				return;
+			}
+			nifty.gotoScreen(screenId);
+
+			// the end effects of the current screen are processed while rendering
+			long end = timeProvider.getMsTime() + screenSwitchTimeout;
+			while (!isCurrentScreen(screenId)) {
+				if (timeProvider.getMsTime() > end) {
+					throw new IllegalStateException("timeout while switching to screen [" + screenId + "]");
+				}
+				renderFrame();
+			}
+		}
+
+		private void renderFrame() {
+			timeProvider.advance(frameTime);
+			nifty.update();
+			nifty.render(true);
+		}
+
+		private boolean isSettled() {
+			// effects that only keep rendering the same state (onActive) stay scheduled but don't change the image
+			return nifty.getCurrentScreen().isRunning() && !nifty.needsRender();
+		}
+
+		private boolean isCurrentScreen(String screenId) {
+			return screenId.equals(nifty.getCurrentScreen().getScreenId());
+		}
+
+		private BufferedImage copy(BufferedImage image) {
+			BufferedImage result = new BufferedImage(image.getWidth(),
+					image.getHeight(), image.getType());
+			image.copyData(result.getRaster());
+			return result;
+		}
+	}
+
+	/**
+	 * The clock of a single Nifty instance. It only advances when a frame is
+	 * rendered.
+	 */
+	private static class FrameTimeProvider implements TimeProvider {
+		private long now;
+
+		@Override
+		public long getMsTime() {
+			return now;
+		}
+
+		private void advance(long ms) {
+			now += ms;
+		}
+	}
+
+	private static class WorkerThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+		private final String prefix;
+
+		private WorkerThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * GraphicsWrapper that renders into an offscreen BufferedImage. This doesn't
+ * need a window or a screen so it can be used in headless environments.
+ */
+public class BufferedImageGraphicsWrapper implements GraphicsWrapper {
+
+	private final BufferedImage image;
+
+	private final Graphics2D graphics;
+
+	public BufferedImageGraphicsWrapper(int width, int height) {
+		this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+	}
+
+	public BufferedImageGraphicsWrapper(BufferedImage image) {
+		this.image = image;
+		this.graphics = image.createGraphics();
+	}
+
+	/**
+	 * @return the image everything is rendered to
+	 */
+	public BufferedImage getImage() {
+		return image;
+	}
+
+	@Override
+	public Graphics2D getGraphics2d() {
+		return graphics;
+	}
+
+	@Override
+	public int getHeight() {
+		return image.getHeight();
+	}
+
+	@Override
+	public int getWidth() {
+		return image.getWidth();
+	}
+
+	/**
+	 * Release the Graphics2D of the image. The wrapper can't be used anymore
+	 * after this has been called.
+	 */
+	public void dispose() {
+		graphics.dispose();
+	}
+}
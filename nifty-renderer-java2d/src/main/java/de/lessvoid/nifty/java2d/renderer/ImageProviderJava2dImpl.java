@@ -0,0 +1,73 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.imageio.ImageIO;
+
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+/**
+ * Decodes images and keeps them so that every image is only decoded once. The
+ * images are only read while rendering so a single ImageProviderJava2dImpl can
+ * be shared between several RenderDeviceJava2dImpl instances, even when they
+ * are used on different threads.
+ */
+public class ImageProviderJava2dImpl {
+
+	private final ConcurrentMap<String, RenderImageJava2dImpl> images = new ConcurrentHashMap<String, RenderImageJava2dImpl>();
+
+	/**
+	 * Get the image with the given filename. The image is loaded with the given
+	 * resourceLoader when it has not been loaded before.
+	 * 
+	 * @param filename
+	 *            the filename of the image
+	 * @param resourceLoader
+	 *            the NiftyResourceLoader to load the image with
+	 * @return the image
+	 */
+	public RenderImageJava2dImpl getImage(String filename,
+			NiftyResourceLoader resourceLoader) {
+		RenderImageJava2dImpl image = images.get(filename);
+		if (image != null) {
+			return image;
+		}
+
+		// two threads might load the same image at the same time. only the
+		// first one is kept and returned to both of them.
+		image = loadImage(filename, resourceLoader);
+		RenderImageJava2dImpl existing = images.putIfAbsent(filename, image);
+		if (existing != null) {
+			return existing;
+		}
+		return image;
+	}
+
+	/**
+	 * @return the number of decoded images
+	 */
+	public int size() {
+		return images.size();
+	}
+
+	static RenderImageJava2dImpl loadImage(String filename,
+			NiftyResourceLoader resourceLoader) {
+		try {
+			BufferedImage image = ImageIO.read(resourceLoader.getResource(filename));
+			// convert the image to ARGB model
+			BufferedImage bufferedImage = new BufferedImage(image
+					.getWidth(null), image.getHeight(null),
+					BufferedImage.TYPE_INT_ARGB);
+			Graphics g = bufferedImage.getGraphics();
+			g.drawImage(image, 0, 0, null);
+			g.dispose();
+			return new RenderImageJava2dImpl(bufferedImage);
+		} catch (IOException e) {
+			throw new RuntimeException("failed to create image " + filename, e);
+		}
+	}
+}
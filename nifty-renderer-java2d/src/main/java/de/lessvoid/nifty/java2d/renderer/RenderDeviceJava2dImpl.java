@@ -1,30 +1,34 @@
 package de.lessvoid.nifty.java2d.renderer;
 
 import java.awt.AlphaComposite;
+import java.awt.Composite;
 import java.awt.GradientPaint;
-import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.List;
 import java.util.Stack;
 import java.util.logging.Logger;
 
-import javax.imageio.ImageIO;
-
 import de.lessvoid.nifty.java2d.renderer.fonts.AngelCodeFont;
 import de.lessvoid.nifty.java2d.renderer.fonts.CharacterInfo;
+import de.lessvoid.nifty.layout.Box;
 import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.DamageRegion;
+import de.lessvoid.nifty.spi.render.DamageRegionRenderDevice;
 import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.spi.render.PackedColorRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
 
-public class RenderDeviceJava2dImpl implements RenderDevice {
+public class RenderDeviceJava2dImpl implements RenderDevice, DamageRegionRenderDevice, PackedColorRenderDevice {
 
 	protected static final Logger logger = Logger.getLogger(RenderDeviceJava2dImpl.class.getName());
 
@@ -37,9 +41,40 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 
 	private FontProviderJava2dImpl fontProvider = new FontProviderJava2dImpl();
 
+	private ImageProviderJava2dImpl imageProvider = null;
+
 	private GraphicsWrapper graphicsWrapper;
+
+	/**
+	 * When Nifty has passed a damage region for the current frame we render
+	 * into this persistent back buffer instead of the graphics of the
+	 * GraphicsWrapper. This is reset at the end of each frame.
+	 */
+	private boolean damageRegionMode = false;
+
+	private BufferedImage backBuffer;
+
+	private Graphics2D backBufferGraphics;
+
+	/**
+	 * False when the back buffer doesn't contain the last frame (it has just
+	 * been created or the last frame has been rendered without a damage
+	 * region).
+	 */
+	private boolean backBufferValid = false;
+
+	/**
+	 * The part of the back buffer that is repainted in the current frame or
+	 * null when the whole back buffer is repainted.
+	 */
+	private Area damageArea = null;
 	
 	protected Graphics2D getGraphics() {
+		// fonts need the graphics to measure text which might happen before the
+		// first frame has been started
+		if (graphics == null) {
+			return graphicsWrapper.getGraphics2d();
+		}
 		return graphics;
 	}
 
@@ -57,20 +92,94 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 		this.graphicsWrapper = graphicsWrapper;
 	}
 
+	@Override
+	public void setDamageRegion(DamageRegion damageRegion) {
+		damageRegionMode = true;
+		if (damageRegion.isFull()) {
+			damageArea = null;
+			return;
+		}
+		damageArea = new Area();
+		List<Box> rectangles = damageRegion.getRectangles();
+		for (int i = 0; i < rectangles.size(); i++) {
+			Box box = rectangles.get(i);
+			damageArea.add(new Area(new Rectangle(box.getX(), box.getY(), box
+					.getWidth(), box.getHeight())));
+		}
+	}
+
 	@Override
 	public void beginFrame() {
-		graphics = graphicsWrapper.getGraphics2d();
+		if (!damageRegionMode) {
+			// this frame is rendered directly so the back buffer is outdated now
+			backBufferValid = false;
+			graphics = graphicsWrapper.getGraphics2d();
+			graphics2dHelper = new Graphics2dHelper(graphics);
+			return;
+		}
+
+		if (backBuffer == null || backBuffer.getWidth() != getWidth()
+				|| backBuffer.getHeight() != getHeight()) {
+			if (backBufferGraphics != null) {
+				backBufferGraphics.dispose();
+			}
+			// translucent layers need to keep their alpha in the back buffer
+			backBuffer = new BufferedImage(getWidth(), getHeight(),
+					BufferedImage.TYPE_INT_ARGB);
+			backBufferGraphics = backBuffer.createGraphics();
+			backBufferValid = false;
+		}
+		if (!backBufferValid) {
+			damageArea = null;
+		}
+		graphics = backBufferGraphics;
 		graphics2dHelper = new Graphics2dHelper(graphics);
 	}
 
 	@Override
 	public void endFrame() {
-//		graphicsWrapper.endFrame();
+		if (!damageRegionMode) {
+			return;
+		}
+
+		// the GraphicsWrapper might use page flipping so we always present the
+		// whole back buffer. this is a single image copy while rendering the
+		// elements is restricted to the damaged area. the back buffer replaces
+		// the content including its alpha.
+		Graphics2D target = graphicsWrapper.getGraphics2d();
+		Composite composite = target.getComposite();
+		target.setClip(null);
+		target.setComposite(AlphaComposite.Src);
+		target.drawImage(backBuffer, 0, 0, null);
+		target.setComposite(composite);
+
+		// the damage region has only been valid for this frame
+		backBufferValid = true;
+		damageRegionMode = false;
+		damageArea = null;
 	}
 
 	@Override
 	public void clear() {
-		graphics.clearRect(0, 0, getWidth(), getHeight());
+		graphics.setClip(damageArea);
+		if (!damageRegionMode) {
+			graphics.clearRect(0, 0, getWidth(), getHeight());
+			return;
+		}
+
+		// clearRect() would fill the back buffer with the opaque background
+		// color. we clear it to transparent instead.
+		Composite composite = graphics.getComposite();
+		graphics.setComposite(AlphaComposite.Clear);
+		graphics.fillRect(0, 0, getWidth(), getHeight());
+		graphics.setComposite(composite);
+	}
+
+	private void applyClip() {
+		graphics.setClip(clipRectangle);
+		if (damageArea != null) {
+			graphics.clip(damageArea);
+		}
 	}
 
 	public void setFontProvider(FontProviderJava2dImpl fontProvider) {
@@ -96,20 +205,21 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 		// textureImages);
 	}
 
+	/**
+	 * Share decoded images with other RenderDeviceJava2dImpl instances. When no
+	 * ImageProviderJava2dImpl is set every image is decoded again each time it
+	 * is created.
+	 */
+	public void setImageProvider(ImageProviderJava2dImpl imageProvider) {
+		this.imageProvider = imageProvider;
+	}
+
 	@Override
 	public RenderImage createImage(String filename, boolean filterLinear) {
-		try {
-			BufferedImage image = ImageIO.read(resourceLoader.getResource(filename));
-			// convert the image to ARGB model
-			BufferedImage bufferedImage = new BufferedImage(image
-					.getWidth(null), image.getHeight(null),
-					BufferedImage.TYPE_INT_ARGB);
-			Graphics g = bufferedImage.getGraphics();
-			g.drawImage(image, 0, 0, null);
-			return new RenderImageJava2dImpl(bufferedImage);
-		} catch (IOException e) {
-			throw new RuntimeException("failed to create image " + filename, e);
+		if (imageProvider != null) {
+			return imageProvider.getImage(filename, resourceLoader);
 		}
+		return ImageProviderJava2dImpl.loadImage(filename, resourceLoader);
 	}
 
 	@Override
@@ -141,7 +251,7 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 
 		RenderImageJava2dImpl renderImage = (RenderImageJava2dImpl) image;
 
-		graphics.setClip(clipRectangle);
+		applyClip();
 
 		width = renderImage.getWidth();
 		height = renderImage.getHeight();
@@ -197,7 +307,7 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 			return;
 
 		RenderImageJava2dImpl renderImage = (RenderImageJava2dImpl) image;
-		graphics.setClip(clipRectangle);
+		applyClip();
 		graphics.setComposite(AlphaComposite.getInstance(
 				AlphaComposite.SRC_OVER, color.getAlpha()));
 		graphics.drawImage(renderImage.image, x, y, x + w, y + h, srcX, srcY,
@@ -207,7 +317,7 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 
 	@Override
 	public void renderQuad(int x, int y, int width, int height, Color color) {
-		graphics.setClip(clipRectangle);
+		applyClip();
 		graphics.setColor(convertNiftyColor(color));
 		graphics.fillRect(x, y, width, height);
 	}
@@ -225,7 +335,7 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 	@Override
 	public void renderQuad(int x, int y, int width, int height, Color topLeft,
 			Color topRight, Color bottomRight, Color bottomLeft) {
-		graphics.setClip(clipRectangle);
+		applyClip();
 
 		// TODO: learn how to do gradient of 4 colors
 		Graphics2D graphics2d = (Graphics2D) graphics;
@@ -246,6 +356,24 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 		graphics.fillRect(x, y, width, height);
 	}
 
+	@Override
+	public void renderQuad(int x, int y, int width, int height, int topLeft,
+			int topRight, int bottomRight, int bottomLeft) {
+		applyClip();
+
+		GradientPaint grad;
+		if (topLeft == topRight) {
+			grad = new GradientPaint(x, y, new java.awt.Color(topLeft, true), x,
+					y + height, new java.awt.Color(bottomLeft, true));
+		} else {
+			grad = new GradientPaint(x, y, new java.awt.Color(topLeft, true), x
+					+ width, y, new java.awt.Color(bottomRight, true));
+		}
+
+		graphics.setPaint(grad);
+		graphics.fillRect(x, y, width, height);
+	}
+
 	@Override
 	public void setBlendMode(BlendMode blendMode) {
 
@@ -306,7 +434,7 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 
 	private void renderFontJava2dImpl(String text, int x, int y,
 			Color fontColor, RenderFontJava2dImpl font) {
-		graphics.setClip(clipRectangle);
+		applyClip();
 		graphics.setFont(font.getFont());
 		graphics.setColor(convertNiftyColor(fontColor));
 		graphics.drawString(text, x, y + font.getHeight() / 2);
@@ -329,4 +457,4 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
     // TODO Auto-generated method stub
     
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package de.lessvoid.nifty.java2d.headless;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.PanelRenderer;
+import de.lessvoid.nifty.java2d.renderer.FontProviderJava2dImpl;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.tools.Color;
+
+public class HeadlessRenderServiceTest {
+	private static final int RED = 0xffff0000;
+	private static final int GREEN = 0xff00ff00;
+	private static final int BLUE = 0xff0000ff;
+
+	private HeadlessRenderService service;
+
+	@After
+	public void after() {
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentJobsRenderTheirOwnScreen() throws Exception {
+		service = createService(2);
+		CountDownLatch bothStarted = new CountDownLatch(2);
+
+		Future<BufferedImage> red = service.submit(new WaitingJob("red", bothStarted, null));
+		Future<BufferedImage> green = service.submit(new WaitingJob("green", bothStarted, null));
+
+		assertImage(RED, red.get(10, TimeUnit.SECONDS));
+		assertImage(GREEN, green.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testConcurrentJobsDontSeeTheChangesOfEachOther() throws Exception {
+		service = createService(2);
+		CountDownLatch bothStarted = new CountDownLatch(2);
+
+		Future<BufferedImage> changed = service.submit(new WaitingJob("red", bothStarted, new Color("#00f")));
+		Future<BufferedImage> unchanged = service.submit(new WaitingJob("red", bothStarted, null));
+
+		assertImage(BLUE, changed.get(10, TimeUnit.SECONDS));
+		assertImage(RED, unchanged.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testChangesOfAJobDontLeakIntoTheNextJob() throws Exception {
+		service = createService(1);
+
+		assertImage(BLUE, service.submit(new WaitingJob("red", null, new Color("#00f"))).get(10, TimeUnit.SECONDS));
+		assertImage(RED, service.submit(new WaitingJob("red", null, null)).get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFrameIsHandedBackBeforeTheInstanceIsReplaced() throws Exception {
+		final CountDownLatch replacementAllowed = new CountDownLatch(1);
+		final AtomicInteger created = new AtomicInteger();
+		service = new HeadlessRenderService(1, 100, 100, new FontProviderJava2dImpl(),
+				new HeadlessRenderService.Initializer() {
+					@Override
+					public void initialize(final Nifty nifty) {
+						if (created.incrementAndGet() > 1) {
+							try {
+								replacementAllowed.await(10, TimeUnit.SECONDS);
+							} catch (InterruptedException e) {
+								throw new IllegalStateException(e);
+							}
+						}
+						createScreen(nifty, "red", "#f00", 0);
+					}
+				});
+
+		try {
+			assertImage(RED, service.submit(new WaitingJob("red", null, null)).get(5, TimeUnit.SECONDS));
+		} finally {
+			replacementAllowed.countDown();
+		}
+		// the next job waits for the replacement
+		assertImage(RED, service.submit(new WaitingJob("red", null, null)).get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFrameIsCapturedWhenTheStartEffectsHaveEnded() throws Exception {
+		service = createService(1);
+
+		assertImage(GREEN, service.submit(new WaitingJob("fadeIn", null, null)).get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFrameIsCapturedAfterTheMaxSettleTime() throws Exception {
+		service = createService(1);
+		service.setMaxSettleTime(100);
+
+		BufferedImage image = service.submit(new WaitingJob("slowFadeIn", null, null)).get(10, TimeUnit.SECONDS);
+		// the panel is still faded in over the black background
+		int green = (image.getRGB(50, 50) >> 8) & 0xff;
+		assertTrue("green " + green, green > 0 && green < 0xff);
+	}
+
+	@Test
+	public void testStaticOnActiveEffectDoesNotDelayTheFrame() throws Exception {
+		service = createService(1);
+		// the frame would only be captured after the max settle time if the
+		// onActive effect counted as unsettled
+		service.setFrameTime(1);
+		service.setMaxSettleTime(Long.MAX_VALUE / 2);
+
+		assertImage(BLUE, service.submit(new WaitingJob("activeBar", null, null)).get(10, TimeUnit.SECONDS));
+	}
+
+	private HeadlessRenderService createService(final int poolSize) {
+		return new HeadlessRenderService(poolSize, 100, 100, new FontProviderJava2dImpl(),
+				new HeadlessRenderService.Initializer() {
+					@Override
+					public void initialize(final Nifty nifty) {
+						createScreen(nifty, "red", "#f00", 0);
+						createScreen(nifty, "green", "#0f0", 0);
+						createScreen(nifty, "fadeIn", "#0f0", 500);
+						createScreen(nifty, "slowFadeIn", "#0f0", 1000);
+						createActiveBarScreen(nifty, "activeBar", "#00f");
+					}
+				});
+	}
+
+	private void createScreen(final Nifty nifty, final String id, final String color, final int fadeIn) {
+		new ScreenBuilder(id) {{
+			layer(new LayerBuilder("layer") {{
+				childLayoutCenter();
+				panel(new PanelBuilder("panel") {{
+					width("100%");
+					height("100%");
+					backgroundColor(color);
+					if (fadeIn > 0) {
+						onStartScreenEffect(new EffectBuilder("fade") {{
+							length(fadeIn);
+							effectParameter("start", "#0");
+							effectParameter("end", "#f");
+						}});
+					}
+				}});
+			}});
+		}}.build(nifty);
+	}
+
+	private void createActiveBarScreen(final Nifty nifty, final String id, final String color) {
+		new ScreenBuilder(id) {{
+			layer(new LayerBuilder("layer") {{
+				childLayoutCenter();
+				panel(new PanelBuilder("panel") {{
+					width("100%");
+					height("100%");
+					onActiveEffect(new EffectBuilder("colorBar") {{
+						effectParameter("color", color);
+					}});
+				}});
+			}});
+		}}.build(nifty);
+	}
+
+	private void assertImage(final int expectedColor, final BufferedImage image) {
+		for (int y = 0; y < image.getHeight(); y += 10) {
+			for (int x = 0; x < image.getWidth(); x += 10) {
+				assertEquals("pixel at " + x + ", " + y, Integer.toHexString(expectedColor),
+						Integer.toHexString(image.getRGB(x, y)));
+			}
+		}
+	}
+
+	/**
+	 * Waits for the other jobs to start so that all of them are rendered at
+	 * the same time and optionally changes the color of the panel.
+	 */
+	private static class WaitingJob implements HeadlessRenderJob {
+		private final String screenId;
+		private final CountDownLatch started;
+		private final Color color;
+
+		private WaitingJob(String screenId, CountDownLatch started, Color color) {
+			this.screenId = screenId;
+			this.started = started;
+			this.color = color;
+		}
+
+		@Override
+		public String getScreenId() {
+			return screenId;
+		}
+
+		@Override
+		public void apply(Nifty nifty, Screen screen) {
+			if (started != null) {
+				started.countDown();
+				try {
+					assertTrue(started.await(10, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+			if (color != null) {
+				Element panel = screen.findElementById("panel");
+				panel.getRenderer(PanelRenderer.class).setBackgroundColor(color);
+			}
+		}
+	}
+}
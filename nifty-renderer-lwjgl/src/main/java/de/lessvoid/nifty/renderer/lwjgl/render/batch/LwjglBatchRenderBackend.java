@@ -19,6 +19,7 @@ import org.lwjgl.opengl.GL11;
 import org.lwjgl.util.glu.GLU;
 
 import de.lessvoid.nifty.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.batch.spi.BulkBatchRenderBackend;
 import de.lessvoid.nifty.render.BlendMode;
 import de.lessvoid.nifty.renderer.lwjgl.render.LwjglMouseCursor;
 import de.lessvoid.nifty.renderer.lwjgl.render.io.ImageData;
@@ -34,7 +35,7 @@ import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
  * Lwjgl RenderDevice Implementation.
  * @author void
  */
-public class LwjglBatchRenderBackend implements BatchRenderBackend {
+public class LwjglBatchRenderBackend implements BatchRenderBackend, BulkBatchRenderBackend {
   private static Logger log = Logger.getLogger(LwjglBatchRenderBackend.class.getName());
   private static IntBuffer viewportBuffer = BufferUtils.createIntBuffer(4 * 4);
   private NiftyResourceLoader resourceLoader;
@@ -226,6 +227,14 @@ public class LwjglBatchRenderBackend implements BatchRenderBackend {
     currentBatch.addQuadInternal(x, y, width, height, color1, color2, color3, color4, textureX, textureY, textureWidth, textureHeight);
   }
 
+  @Override
+  public FloatBuffer getQuadBuffer() {
+    if (!currentBatch.canAddQuad()) {
+      beginBatch(currentBatch.getBlendMode());
+    }
+    return currentBatch.reserveQuad();
+  }
+
   @Override
   public int render() {
     bind();
@@ -481,6 +490,15 @@ public class LwjglBatchRenderBackend implements BatchRenderBackend {
       return ((primitiveCount + 1) * PRIMITIVE_SIZE) < SIZE;
     }
 
+    /**
+     * Count one more quad and return the vertexBuffer the caller writes the vertices of the quad to. This is the same
+     * vertex layout addQuadInternal() uses.
+     */
+    private FloatBuffer reserveQuad() {
+      primitiveCount++;
+      return vertexBuffer;
+    }
+
     private void addQuadInternal(
         final float x,
         final float y,